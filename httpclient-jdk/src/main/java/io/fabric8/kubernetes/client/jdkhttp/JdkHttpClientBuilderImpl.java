@@ -50,9 +50,12 @@ class JdkHttpClientBuilderImpl
   @Override
   public HttpClient build() {
     if (client != null) {
-      return new JdkHttpClientImpl(this, client.getHttpClient());
+      return new JdkHttpClientImpl(this, client.getHttpClient(), client.getConnections());
     }
     java.net.http.HttpClient.Builder builder = clientFactory.createNewHttpClientBuilder();
+    if (virtualThreads) {
+      builder.executor(clientFactory.createVirtualThreadExecutor());
+    }
     if (connectTimeout != null && !java.time.Duration.ZERO.equals(connectTimeout)) {
       builder.connectTimeout(connectTimeout);
     }
@@ -85,7 +88,12 @@ class JdkHttpClientBuilderImpl
           Arrays.asList(tlsVersions).stream().map(TlsVersion::javaName).toArray(String[]::new)));
     }
     clientFactory.additionalConfig(builder);
-    return new JdkHttpClientImpl(this, builder.build());
+    java.net.http.HttpClient httpClient = builder.build();
+    MultiplexedConnections connections = null;
+    if (maxStreamsPerConnection > 0 && !preferHttp11) {
+      connections = new MultiplexedConnections(builder, httpClient, maxConnections, maxStreamsPerConnection);
+    }
+    return new JdkHttpClientImpl(this, httpClient, connections);
   }
 
   @Override
@@ -70,6 +70,16 @@ public class JdkHttpClientFactory implements HttpClient.Factory {
     return java.net.http.HttpClient.newBuilder().executor(new ShutdownableExecutor(ex));
   }
 
+  /**
+   * Create the executor used instead of the default when virtual threads are requested. It will be
+   * shut down by {@link #closeHttpClient(JdkHttpClientImpl)}.
+   *
+   * @return the executor
+   */
+  protected Executor createVirtualThreadExecutor() {
+    return new ShutdownableExecutor(Utils.newVirtualThreadPerTaskExecutor(this));
+  }
+
   /**
    * Cleanup hook called by {@link HttpClient#close()}
    *
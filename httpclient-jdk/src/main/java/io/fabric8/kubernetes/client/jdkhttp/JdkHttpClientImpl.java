@@ -223,10 +223,16 @@ public class JdkHttpClientImpl extends StandardHttpClient<JdkHttpClientImpl, Jdk
   }
 
   private java.net.http.HttpClient httpClient;
+  private MultiplexedConnections connections;
 
   public JdkHttpClientImpl(JdkHttpClientBuilderImpl builder, HttpClient httpClient) {
+    this(builder, httpClient, null);
+  }
+
+  JdkHttpClientImpl(JdkHttpClientBuilderImpl builder, HttpClient httpClient, MultiplexedConnections connections) {
     super(builder);
     this.httpClient = httpClient;
+    this.connections = connections;
   }
 
   @Override
@@ -235,8 +241,17 @@ public class JdkHttpClientImpl extends StandardHttpClient<JdkHttpClientImpl, Jdk
       return;
     }
     builder.getClientFactory().closeHttpClient(this);
+    if (this.connections != null) {
+      this.connections.close();
+    }
     // help with default cleanup, which is based upon garbarge collection
     this.httpClient = null;
+    this.connections = null;
+  }
+
+  @Override
+  public boolean isMultiplexed() {
+    return connections != null;
   }
 
   @Override
@@ -251,7 +266,30 @@ public class JdkHttpClientImpl extends StandardHttpClient<JdkHttpClientImpl, Jdk
     BodyHandler<Void> handler = BodyHandlers.fromSubscriber(subscriber);
     BodyHandler<AsyncBody> handlerAdapter = new BodyHandlerAdapter(subscriber, handler);
 
-    return this.getHttpClient().sendAsync(requestBuilder(request).build(), handlerAdapter)
+    MultiplexedConnections multiplexed = this.connections;
+    if (multiplexed == null) {
+      return this.getHttpClient().sendAsync(requestBuilder(request).build(), handlerAdapter)
+          .thenApply(r -> new JdkHttpResponseImpl<AsyncBody>(r, r.body()));
+    }
+    java.net.http.HttpRequest httpRequest = requestBuilder(request).build();
+    // acquired only once nothing but the send itself can fail
+    int index = multiplexed.acquire();
+    CompletableFuture<java.net.http.HttpResponse<AsyncBody>> sent;
+    try {
+      sent = multiplexed.send(index, client -> client.sendAsync(httpRequest, handlerAdapter));
+    } catch (RuntimeException e) {
+      multiplexed.release(index);
+      throw e;
+    }
+    return sent
+        .whenComplete((r, t) -> {
+          if (t != null) {
+            multiplexed.release(index);
+          } else {
+            // the stream remains open until the body is done
+            subscriber.done().whenComplete((v, e) -> multiplexed.release(index));
+          }
+        })
         .thenApply(r -> new JdkHttpResponseImpl<AsyncBody>(r, r.body()));
   }
 
@@ -324,27 +362,33 @@ public class JdkHttpClientImpl extends StandardHttpClient<JdkHttpClientImpl, Jdk
     CompletableFuture<WebSocketResponse> response = new CompletableFuture<>();
 
     URI uri = WebSocket.toWebSocketUri(request.uri());
-    newBuilder.buildAsync(uri, new JdkWebSocketImpl.ListenerAdapter(listener, queueSize)).whenComplete((w, t) -> {
+    JdkWebSocketImpl.ListenerAdapter adapter = new JdkWebSocketImpl.ListenerAdapter(listener, queueSize,
+        builder.getBufferPool());
+    newBuilder.buildAsync(uri, adapter).whenComplete((w, t) -> {
       if (t instanceof CompletionException && t.getCause() != null) {
         t = t.getCause();
       }
       if (t instanceof java.net.http.WebSocketHandshakeException) {
         response
             .complete(
-                new WebSocketResponse(new JdkWebSocketImpl(queueSize, w),
+                new WebSocketResponse(new JdkWebSocketImpl(queueSize, w, builder.getBufferPool()),
                     new io.fabric8.kubernetes.client.http.WebSocketHandshakeException(
                         new JdkHttpResponseImpl<>(((java.net.http.WebSocketHandshakeException) t).getResponse()))
                             .initCause(t)));
       } else if (t != null) {
         response.completeExceptionally(t);
       } else {
-        response.complete(new WebSocketResponse(new JdkWebSocketImpl(queueSize, w), null));
+        response.complete(new WebSocketResponse(new JdkWebSocketImpl(queueSize, w, builder.getBufferPool()), null));
       }
     });
 
     return response;
   }
 
+  MultiplexedConnections getConnections() {
+    return connections;
+  }
+
   java.net.http.HttpClient getHttpClient() {
     if (httpClient == null) {
       throw new IllegalStateException("Client already closed");
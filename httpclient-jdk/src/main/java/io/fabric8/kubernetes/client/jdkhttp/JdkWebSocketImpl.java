@@ -16,7 +16,9 @@
 
 package io.fabric8.kubernetes.client.jdkhttp;
 
+import io.fabric8.kubernetes.client.http.BufferPool;
 import io.fabric8.kubernetes.client.http.BufferUtil;
+import io.fabric8.kubernetes.client.http.PooledBuffer;
 import io.fabric8.kubernetes.client.http.WebSocket;
 
 import java.io.ByteArrayOutputStream;
@@ -35,17 +37,33 @@ class JdkWebSocketImpl implements WebSocket {
 
     private final Listener listener;
     private final AtomicLong queueSize;
+    private final BufferPool bufferPool;
     private final StringBuilder stringBuilder = new StringBuilder();
     private final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
     private final WritableByteChannel byteChannel = Channels.newChannel(byteArrayOutputStream);
+    private PooledBuffer pooled;
+    private JdkWebSocketImpl wrapper;
 
-    ListenerAdapter(Listener listener, AtomicLong queueSize) {
+    ListenerAdapter(Listener listener, AtomicLong queueSize, BufferPool bufferPool) {
       this.listener = listener;
       this.queueSize = queueSize;
+      this.bufferPool = bufferPool;
     }
 
     @Override
     public CompletionStage<?> onBinary(java.net.http.WebSocket webSocket, ByteBuffer data, boolean last) {
+      if (bufferPool != null) {
+        append(data);
+        if (last) {
+          PooledBuffer value = pooled;
+          pooled = null;
+          value.buffer().flip();
+          listener.onMessage(wrap(webSocket), value);
+        } else {
+          webSocket.request(1);
+        }
+        return null;
+      }
       try {
         byteChannel.write(data);
       } catch (IOException e) {
@@ -54,20 +72,52 @@ class JdkWebSocketImpl implements WebSocket {
       if (last) {
         ByteBuffer value = ByteBuffer.wrap(byteArrayOutputStream.toByteArray());
         byteArrayOutputStream.reset();
-        listener.onMessage(new JdkWebSocketImpl(queueSize, webSocket), value);
+        listener.onMessage(wrap(webSocket), value);
       } else {
         webSocket.request(1);
       }
       return null;
     }
 
+    /**
+     * Copy the fragment into the pooled buffer of the message, moving to a larger one if needed
+     */
+    private void append(ByteBuffer data) {
+      if (pooled == null) {
+        pooled = bufferPool.acquire(data.remaining());
+      } else if (pooled.buffer().remaining() < data.remaining()) {
+        PooledBuffer larger = bufferPool.acquire(pooled.buffer().position() + data.remaining());
+        pooled.buffer().flip();
+        larger.buffer().put(pooled.buffer());
+        pooled.release();
+        pooled = larger;
+      }
+      pooled.buffer().put(data);
+    }
+
+    private JdkWebSocketImpl wrap(java.net.http.WebSocket webSocket) {
+      JdkWebSocketImpl result = wrapper;
+      if (result == null || result.webSocket != webSocket) {
+        result = new JdkWebSocketImpl(queueSize, webSocket, bufferPool);
+        wrapper = result;
+      }
+      return result;
+    }
+
+    private void releasePartial() {
+      if (pooled != null) {
+        pooled.release();
+        pooled = null;
+      }
+    }
+
     @Override
     public CompletionStage<?> onText(java.net.http.WebSocket webSocket, CharSequence data, boolean last) {
       stringBuilder.append(data);
       if (last) {
         String value = stringBuilder.toString();
         stringBuilder.setLength(0);
-        listener.onMessage(new JdkWebSocketImpl(queueSize, webSocket), value);
+        listener.onMessage(wrap(webSocket), value);
       } else {
         webSocket.request(1);
       }
@@ -76,37 +126,57 @@ class JdkWebSocketImpl implements WebSocket {
 
     @Override
     public CompletionStage<?> onClose(java.net.http.WebSocket webSocket, int statusCode, String reason) {
-      listener.onClose(new JdkWebSocketImpl(queueSize, webSocket), statusCode, reason);
+      releasePartial();
+      listener.onClose(wrap(webSocket), statusCode, reason);
       return null;
     }
 
     @Override
     public void onError(java.net.http.WebSocket webSocket, Throwable error) {
-      listener.onError(new JdkWebSocketImpl(queueSize, webSocket), error);
+      releasePartial();
+      listener.onError(wrap(webSocket), error);
     }
 
     @Override
     public void onOpen(java.net.http.WebSocket webSocket) {
       webSocket.request(1);
-      listener.onOpen(new JdkWebSocketImpl(queueSize, webSocket));
+      listener.onOpen(wrap(webSocket));
     }
   }
 
   private java.net.http.WebSocket webSocket;
   private AtomicLong queueSize;
+  private BufferPool bufferPool;
 
   public JdkWebSocketImpl(AtomicLong queueSize, java.net.http.WebSocket webSocket) {
+    this(queueSize, webSocket, null);
+  }
+
+  JdkWebSocketImpl(AtomicLong queueSize, java.net.http.WebSocket webSocket, BufferPool bufferPool) {
     this.queueSize = queueSize;
     this.webSocket = webSocket;
+    this.bufferPool = bufferPool;
   }
 
   @Override
   public boolean send(ByteBuffer buffer) {
-    buffer = BufferUtil.copy(buffer);
+    PooledBuffer pooled = null;
+    if (bufferPool != null) {
+      pooled = bufferPool.copyOf(buffer);
+      buffer = pooled.buffer();
+    } else {
+      buffer = BufferUtil.copy(buffer);
+    }
     final int size = buffer.remaining();
     queueSize.addAndGet(size);
     CompletableFuture<java.net.http.WebSocket> cf = webSocket.sendBinary(buffer, true);
-    cf.whenComplete((b, t) -> queueSize.addAndGet(-size));
+    final PooledBuffer sent = pooled;
+    cf.whenComplete((b, t) -> {
+      queueSize.addAndGet(-size);
+      if (sent != null) {
+        sent.release();
+      }
+    });
     return asBoolean(cf);
   }
 
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.jdkhttp;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.http.HttpClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Spreads HTTP/2 streams over several {@link HttpClient}s, each of which keeps its own connection to a host.
+ * <p>
+ * Streams are packed onto the first client with capacity so that as few connections as possible are used. Once
+ * every client carries the maximum number of streams, further streams go to the least loaded client.
+ * <p>
+ * A client opens a connection for each request that is started before it has one, so only the first
+ * request on a client is sent right away and the others wait for it to connect.
+ */
+class MultiplexedConnections {
+
+  // HttpClient.shutdownNow is only available from Java 21
+  private static final Method SHUTDOWN_NOW = shutdownNowMethod();
+
+  private final HttpClient[] clients;
+  private final AtomicIntegerArray streams;
+  private final AtomicReferenceArray<CompletableFuture<Void>> connected;
+  private final int maxStreamsPerConnection;
+
+  MultiplexedConnections(HttpClient.Builder builder, HttpClient first, int maxConnections, int maxStreamsPerConnection) {
+    this.clients = new HttpClient[Math.max(1, maxConnections)];
+    this.streams = new AtomicIntegerArray(clients.length);
+    this.connected = new AtomicReferenceArray<>(clients.length);
+    this.maxStreamsPerConnection = maxStreamsPerConnection;
+    // the clients are built from the same builder, and so share its executor
+    clients[0] = first;
+    for (int i = 1; i < clients.length; i++) {
+      clients[i] = builder.build();
+    }
+  }
+
+  /**
+   * Reserve a stream, which must be released with {@link #release(int)} once it completes
+   *
+   * @return the index of the client to use
+   */
+  int acquire() {
+    for (int i = 0; i < clients.length; i++) {
+      int current;
+      while ((current = streams.get(i)) < maxStreamsPerConnection) {
+        if (streams.compareAndSet(i, current, current + 1)) {
+          return i;
+        }
+      }
+    }
+    int leastLoaded = 0;
+    for (int i = 1; i < clients.length; i++) {
+      if (streams.get(i) < streams.get(leastLoaded)) {
+        leastLoaded = i;
+      }
+    }
+    streams.incrementAndGet(leastLoaded);
+    return leastLoaded;
+  }
+
+  void release(int index) {
+    streams.decrementAndGet(index);
+  }
+
+  /**
+   * Close the clients built in addition to the first, which is closed by its owner.
+   * <p>
+   * Before Java 21 a client is only cleaned up once it is garbage collected, so the references are dropped,
+   * on later versions the clients are also shut down.
+   */
+  void close() {
+    for (int i = 1; i < clients.length; i++) {
+      HttpClient client = clients[i];
+      clients[i] = null;
+      if (client != null && SHUTDOWN_NOW != null) {
+        try {
+          SHUTDOWN_NOW.invoke(client);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+          // left for garbage collection
+        }
+      }
+    }
+  }
+
+  boolean isClosed() {
+    for (int i = 1; i < clients.length; i++) {
+      if (clients[i] != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Method shutdownNowMethod() {
+    try {
+      return HttpClient.class.getMethod("shutdownNow");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Send a request with the client acquired by {@link #acquire()}
+   *
+   * @param index the index of the client
+   * @param send sends the request with the given client
+   * @return the response future
+   */
+  <T> CompletableFuture<T> send(int index, Function<HttpClient, CompletableFuture<T>> send) {
+    CompletableFuture<Void> connection;
+    while ((connection = connected.get(index)) == null) {
+      CompletableFuture<Void> first = new CompletableFuture<>();
+      if (connected.compareAndSet(index, null, first)) {
+        CompletableFuture<T> result = send.apply(clients[index]);
+        result.whenComplete((r, t) -> {
+          if (t != null) {
+            // let the next request try to connect
+            connected.compareAndSet(index, first, null);
+          }
+          first.complete(null);
+        });
+        return result;
+      }
+    }
+    return connection.thenCompose(v -> send.apply(clients[index]));
+  }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.jdkhttp;
+
+import io.fabric8.kubernetes.client.http.AbstractHttp2MultiplexingTest;
+import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SuppressWarnings("java:S2187")
+public class JdkHttpClientHttp2MultiplexingTest extends AbstractHttp2MultiplexingTest {
+  @Override
+  protected HttpClient.Factory getHttpClientFactory() {
+    return new JdkHttpClientFactory();
+  }
+
+  @Test
+  void closeClosesTheAdditionalClients() {
+    JdkHttpClientImpl client = (JdkHttpClientImpl) new JdkHttpClientFactory().newBuilder().multiplexing(3, 10).build();
+    MultiplexedConnections connections = client.getConnections();
+    assertThat(connections.isClosed()).isFalse();
+
+    client.close();
+
+    assertThat(connections.isClosed()).isTrue();
+  }
+
+  @Test
+  void requestThatCannotBeBuiltDoesNotHoldAStream() {
+    JdkHttpClientImpl client = (JdkHttpClientImpl) new JdkHttpClientFactory().newBuilder().multiplexing(2, 1).build();
+    // the jdk client does not allow the host header to be set
+    StandardHttpRequest request = (StandardHttpRequest) client.newHttpRequestBuilder().uri("https://localhost")
+        .header("Host", "other").build();
+
+    assertThatThrownBy(() -> client.consumeBytesDirect(request, (buffers, body) -> {
+    })).isInstanceOf(IllegalArgumentException.class);
+
+    // the stream of the first connection is still available
+    assertThat(client.getConnections().acquire()).isZero();
+    client.close();
+  }
+}
@@ -67,6 +67,11 @@ public class JettyHttpClient extends StandardHttpClient<JettyHttpClient, JettyHt
     this.jettyWs = jettyWs;
   }
 
+  @Override
+  public boolean isMultiplexed() {
+    return ((JettyHttpClientBuilder) builder).isMultiplexing();
+  }
+
   @Override
   public void close() {
     try {
@@ -147,7 +152,7 @@ public class JettyHttpClient extends StandardHttpClient<JettyHttpClient, JettyHt
       }
       // Extra-future required because we can't Map the UpgradeException to a WebSocketHandshakeException easily
       final CompletableFuture<WebSocketResponse> future = new CompletableFuture<>();
-      final JettyWebSocket webSocket = new JettyWebSocket(listener);
+      final JettyWebSocket webSocket = new JettyWebSocket(listener, builder.getBufferPool());
       jettyWs.connect(webSocket, Objects.requireNonNull(WebSocket.toWebSocketUri(request.uri())), cur)
           .whenComplete((s, ex) -> {
             if (ex != null) {
@@ -20,6 +20,7 @@ import io.fabric8.kubernetes.client.http.TlsVersion;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpClientTransport;
 import org.eclipse.jetty.client.HttpProxy;
+import org.eclipse.jetty.client.MultiplexConnectionPool;
 import org.eclipse.jetty.client.Origin;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.dynamic.HttpClientTransportDynamic;
@@ -40,6 +41,9 @@ public class JettyHttpClientBuilder
 
   private static final int MAX_CONNECTIONS = Integer.MAX_VALUE;
 
+  // true if http/1.1 was requested rather than defaulted
+  private boolean http11Requested;
+
   public JettyHttpClientBuilder(JettyHttpClientFactory clientFactory) {
     super(clientFactory);
     // TODO: HTTP2 disabled, MockWebServer support is limited and requires changes
@@ -48,6 +52,12 @@ public class JettyHttpClientBuilder
     this.preferHttp11 = true;
   }
 
+  @Override
+  public JettyHttpClientBuilder preferHttp11() {
+    this.http11Requested = true;
+    return super.preferHttp11();
+  }
+
   @Override
   public JettyHttpClient build() {
     if (client != null) {
@@ -60,7 +70,14 @@ public class JettyHttpClientBuilder
     if (tlsVersions != null && tlsVersions.length > 0) {
       sslContextFactory.setIncludeProtocols(Stream.of(tlsVersions).map(TlsVersion::javaName).toArray(String[]::new));
     }
-    HttpClient sharedHttpClient = new HttpClient(newTransport(sslContextFactory, preferHttp11));
+    final boolean multiplexing = isMultiplexing();
+    HttpClientTransport transport = newTransport(sslContextFactory, preferHttp11 && !multiplexing);
+    if (multiplexing) {
+      // once every connection carries the maximum number of streams, requests are queued until a stream is available
+      transport.setConnectionPoolFactory(destination -> new MultiplexConnectionPool(destination,
+          Math.max(1, maxConnections), destination, maxStreamsPerConnection));
+    }
+    HttpClient sharedHttpClient = new HttpClient(transport);
     WebSocketClient sharedWebSocketClient = new WebSocketClient(new HttpClient(newTransport(sslContextFactory, preferHttp11)));
     sharedWebSocketClient.setIdleTimeout(Duration.ZERO);
     if (connectTimeout != null) {
@@ -70,7 +87,7 @@ public class JettyHttpClientBuilder
     sharedHttpClient.setFollowRedirects(followRedirects);
     // long running http requests count against this and eventually exhaust
     // the work that can be done
-    sharedHttpClient.setMaxConnectionsPerDestination(MAX_CONNECTIONS);
+    sharedHttpClient.setMaxConnectionsPerDestination(multiplexing ? Math.max(1, maxConnections) : MAX_CONNECTIONS);
     sharedWebSocketClient.getHttpClient().setMaxConnectionsPerDestination(MAX_CONNECTIONS);
     if (proxyAddress != null) {
       sharedHttpClient.getProxyConfiguration().getProxies()
@@ -87,6 +104,20 @@ public class JettyHttpClientBuilder
     return new JettyHttpClient(this, sharedHttpClient, sharedWebSocketClient);
   }
 
+  /**
+   * Multiplexing opts in to HTTP/2 for requests, unless HTTP/1.1 was explicitly requested. Websockets are unchanged.
+   */
+  boolean isMultiplexing() {
+    return maxStreamsPerConnection > 0 && (!preferHttp11 || !http11Requested);
+  }
+
+  @Override
+  public JettyHttpClientBuilder copy(JettyHttpClient client) {
+    JettyHttpClientBuilder copy = super.copy(client);
+    copy.http11Requested = this.http11Requested;
+    return copy;
+  }
+
   private static HttpClientTransport newTransport(SslContextFactory.Client sslContextFactory, boolean preferHttp11) {
     final var clientConnector = new ClientConnector();
     clientConnector.setSslContextFactory(sslContextFactory);
@@ -16,7 +16,9 @@
 package io.fabric8.kubernetes.client.jetty;
 
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.http.BufferPool;
 import io.fabric8.kubernetes.client.http.BufferUtil;
+import io.fabric8.kubernetes.client.http.PooledBuffer;
 import io.fabric8.kubernetes.client.http.StandardHttpRequest;
 import io.fabric8.kubernetes.client.http.WebSocket;
 import io.fabric8.kubernetes.client.http.WebSocketHandshakeException;
@@ -38,6 +40,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public class JettyWebSocket implements WebSocket, WebSocketListener {
   private final WebSocket.Listener listener;
+  private final BufferPool bufferPool;
   private final AtomicLong sendQueue;
   private final Lock lock;
   private final Condition backPressure;
@@ -46,7 +49,12 @@ public class JettyWebSocket implements WebSocket, WebSocketListener {
   private volatile Session webSocketSession;
 
   public JettyWebSocket(WebSocket.Listener listener) {
+    this(listener, null);
+  }
+
+  public JettyWebSocket(WebSocket.Listener listener, BufferPool bufferPool) {
     this.listener = listener;
+    this.bufferPool = bufferPool;
     sendQueue = new AtomicLong();
     lock = new ReentrantLock();
     backPressure = lock.newCondition();
@@ -67,18 +75,26 @@ public class JettyWebSocket implements WebSocket, WebSocketListener {
     if (closed.get() || !webSocketSession.isOpen()) {
       return false;
     }
-    buffer = BufferUtil.copy(buffer);
+    final PooledBuffer pooled = bufferPool != null ? bufferPool.copyOf(buffer) : null;
+    buffer = pooled != null ? pooled.buffer() : BufferUtil.copy(buffer);
     final int size = buffer.remaining();
     sendQueue.addAndGet(size);
     webSocketSession.getRemote().sendBytes(buffer, new WriteCallback() {
       @Override
       public void writeFailed(Throwable x) {
-        sendQueue.addAndGet(-size);
+        sent();
       }
 
       @Override
       public void writeSuccess() {
+        sent();
+      }
+
+      private void sent() {
         sendQueue.addAndGet(-size);
+        if (pooled != null) {
+          pooled.release();
+        }
       }
     });
     return true;
@@ -112,6 +128,12 @@ public class JettyWebSocket implements WebSocket, WebSocketListener {
   @Override
   public void onWebSocketBinary(byte[] payload, int offset, int len) {
     backPressure();
+    if (bufferPool != null) {
+      final var pooled = bufferPool.acquire(len);
+      pooled.buffer().put(payload, offset, len).flip();
+      listener.onMessage(this, pooled);
+      return;
+    }
     final var buffer = ByteBuffer.allocate(len);
     buffer.put(payload, offset, len).rewind();
     listener.onMessage(this, buffer.asReadOnlyBuffer());
@@ -33,6 +33,8 @@ import java.util.regex.Pattern;
 
 /**
  * Holds state related to crds by manipulating the crds known to the attributes extractor
+ * <p>
+ * Synchronized as resources of different plurals may be processed concurrently
  */
 public class CustomResourceDefinitionProcessor implements Resetable {
 
@@ -44,7 +46,7 @@ public class CustomResourceDefinitionProcessor implements Resetable {
 
   private final Map<List<String>, Map<String, CustomResourceDefinitionContext>> crdContexts = new LinkedHashMap<>();
 
-  public void process(String path, String crdString, boolean delete) {
+  public synchronized void process(String path, String crdString, boolean delete) {
     CustomResourceDefinitionContext context = null;
     if (path.startsWith(V1BETA1_PATH)) {
       io.fabric8.kubernetes.api.model.apiextensions.v1beta1.CustomResourceDefinition crd = Serialization
@@ -63,7 +65,7 @@ public class CustomResourceDefinitionProcessor implements Resetable {
     }
   }
 
-  public boolean isStatusSubresourceEnabledForResource(Map<String, String> pathValues) {
+  public synchronized boolean isStatusSubresourceEnabledForResource(Map<String, String> pathValues) {
     Optional<CustomResourceDefinitionContext> context = getCrdContext(pathValues.get(KubernetesAttributesExtractor.API),
         pathValues.get(KubernetesAttributesExtractor.VERSION), pathValues.get(KubernetesAttributesExtractor.PLURAL));
     return context.map(CustomResourceDefinitionContext::isStatusSubresource).orElse(false);
@@ -77,23 +79,23 @@ public class CustomResourceDefinitionProcessor implements Resetable {
     return Arrays.asList(group, version);
   }
 
-  public Optional<CustomResourceDefinitionContext> getCrdContext(String api, String version, String plural) {
+  public synchronized Optional<CustomResourceDefinitionContext> getCrdContext(String api, String version, String plural) {
     return Optional.ofNullable(this.crdContexts.get(Arrays.asList(api, version))).map(v -> v.get(plural));
   }
 
-  public Optional<CustomResourceDefinitionContext> findCrd(String api, String version, String kind) {
+  public synchronized Optional<CustomResourceDefinitionContext> findCrd(String api, String version, String kind) {
     return Optional.ofNullable(crdContexts.get(Arrays.asList(api, version)))
         .flatMap(m -> m.values().stream().filter(c -> c.getKind().equals(kind)).findFirst());
   }
 
-  public void removeCrdContext(CustomResourceDefinitionContext context) {
+  public synchronized void removeCrdContext(CustomResourceDefinitionContext context) {
     this.crdContexts.computeIfPresent(key(context), (k, v) -> {
       v.remove(context.getPlural());
       return v;
     });
   }
 
-  public void addCrdContext(CustomResourceDefinitionContext context) {
+  public synchronized void addCrdContext(CustomResourceDefinitionContext context) {
     this.crdContexts.compute(key(context), (k, v) -> {
       if (v == null) {
         v = new LinkedHashMap<>();
@@ -104,11 +106,11 @@ public class CustomResourceDefinitionProcessor implements Resetable {
   }
 
   @Override
-  public void reset() {
+  public synchronized void reset() {
     this.crdContexts.clear();
   }
 
-  public String getApiResources(String path) {
+  public synchronized String getApiResources(String path) {
     Matcher matcher = API_PATH_PATTERN.matcher(path);
     if (!matcher.matches()) {
       return null;
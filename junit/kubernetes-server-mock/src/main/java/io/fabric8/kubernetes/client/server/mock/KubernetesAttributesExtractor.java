@@ -230,6 +230,27 @@ public class KubernetesAttributesExtractor implements AttributeExtractor {
     return attributes;
   }
 
+  /**
+   * Get the label requirements of the path that select a single value, key=value or key==value
+   */
+  public Map<String, String> labelEqualities(String s) {
+    if (s == null || s.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    String labelSelector = parseUrlFromPathAndQuery(s).queryParameter("labelSelector");
+    if (labelSelector == null) {
+      return Collections.emptyMap();
+    }
+    Map<String, String> result = new HashMap<>();
+    for (String requirement : labelSelector.split(",")) {
+      Matcher m = LABEL_REQUIREMENT_EQUALITY.matcher(requirement);
+      if (m.matches()) {
+        result.put(m.group(KEY), m.group(VALUE));
+      }
+    }
+    return result;
+  }
+
   private static AttributeSet extractQueryParameters(HttpUrl url) {
     return AttributeSet.merge(extractLabelSelector(url), extractFieldSelector(url));
   }
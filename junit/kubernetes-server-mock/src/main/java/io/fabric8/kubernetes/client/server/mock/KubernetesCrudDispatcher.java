@@ -16,6 +16,10 @@
 package io.fabric8.kubernetes.client.server.mock;
 
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
 import io.fabric8.kubernetes.client.Watcher.Action;
 import io.fabric8.kubernetes.client.dsl.base.CustomResourceDefinitionContext;
 import io.fabric8.kubernetes.client.server.mock.crud.KubernetesCrudDispatcherException;
@@ -48,12 +52,22 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
-public class KubernetesCrudDispatcher extends CrudDispatcher implements KubernetesCrudPersistence, CustomResourceAware {
+public class KubernetesCrudDispatcher extends CrudDispatcher
+    implements KubernetesCrudPersistence, CustomResourceAware, ResourceVersionAware {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesCrudDispatcher.class);
+  private static final String SEND_INITIAL_EVENTS = "sendInitialEvents";
+  private static final String INITIAL_EVENTS_END_ANNOTATION = "k8s.io/initial-events-end";
+  private static final String ALLOW_WATCH_BOOKMARKS = "allowWatchBookmarks";
+  private static final String RESOURCE_VERSION = "resourceVersion";
+  private static final String RESOURCE_VERSION_MATCH = "resourceVersionMatch";
+  private static final String LIMIT = "limit";
+  private static final String CONTINUE = "continue";
+  private static final String EXPIRED = "Expired";
+  private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
   private final Set<WatchEventsListener> watchEventListeners;
   private final CustomResourceDefinitionProcessor crdProcessor;
   private final KubernetesAttributesExtractor kubernetesAttributesExtractor;
@@ -62,7 +76,8 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
   private final KubernetesCrudDispatcherHandler postHandler;
   private final KubernetesCrudDispatcherHandler putHandler;
   private final KubernetesCrudDispatcherHandler patchHandler;
-  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final KubernetesCrudStore store = new KubernetesCrudStore();
+  private final KubernetesCrudHistory history = new KubernetesCrudHistory();
 
   public KubernetesCrudDispatcher() {
     this(Collections.emptyList());
@@ -84,13 +99,14 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
   }
 
   MockResponse process(RecordedRequest request, KubernetesCrudDispatcherHandler handler) {
-    lock.writeLock().lock();
+    Lock lock = store.writeLock(getKey(request.getPath()));
+    lock.lock();
     try {
       return handler.handle(request);
     } catch (KubernetesCrudDispatcherException e) {
       return new MockResponse().setResponseCode(e.getCode()).setBody(e.toStatusBody());
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -124,15 +140,14 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
    */
   @Override
   public MockResponse handleGet(String path) {
-    lock.readLock().lock();
-    try {
-      if (detectWatchMode(path)) {
-        return handleWatch(path);
-      }
-      return handle(path, null);
-    } finally {
-      lock.readLock().unlock();
+    if (detectWatchMode(path)) {
+      return handleWatch(path);
     }
+    AttributeSet query = attributeExtractor.fromPath(path);
+    if (!query.containsKey(KubernetesAttributesExtractor.NAME)) {
+      return handleList(path, query);
+    }
+    return handle(path, null);
   }
 
   private interface EventProcessor {
@@ -144,8 +159,7 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
     List<String> items = new ArrayList<>();
     AttributeSet query = attributeExtractor.fromPath(path);
 
-    new ArrayList<>(map.entrySet()).stream()
-        .filter(entry -> entry.getKey().matches(query))
+    store.find(query, kubernetesAttributesExtractor.labelEqualities(path))
         .forEach(entry -> {
           LOGGER.debug("Entry found for query {} : {}", query, entry);
           items.add(entry.getValue());
@@ -162,19 +176,118 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
         response.setResponseCode(HttpURLConnection.HTTP_NOT_FOUND);
       }
     } else {
-      // if there are no items, and this is a get it may be an api metadata request
-      String metadataResult = null;
-      if (items.isEmpty() && eventProcessor == null) {
-        metadataResult = crdProcessor.getApiResources(path);
+      response.setBody(kubernetesResponseComposer.compose(items, String.valueOf(resourceVersion.get())));
+      response.setResponseCode(HttpURLConnection.HTTP_OK);
+    }
+    return response;
+  }
+
+  /**
+   * List the resources matching the query, a page at a time if there is a limit.
+   * <p>
+   * The first page of a list that exceeds the limit takes a snapshot of the matching resources, the following
+   * pages are served from that snapshot with the same resourceVersion until it expires.
+   */
+  private MockResponse handleList(String path, AttributeSet query) {
+    Long limit = null;
+    String limitParameter = getQueryParameter(path, LIMIT);
+    if (Utils.isNotNullOrEmpty(limitParameter)) {
+      try {
+        limit = Long.parseLong(limitParameter);
+      } catch (NumberFormatException e) {
+        return status(HttpURLConnection.HTTP_BAD_REQUEST, "BadRequest", "Invalid value for limit: " + limitParameter);
+      }
+      // as with an api server, a limit that is not positive means no limit
+      if (limit <= 0) {
+        limit = null;
+      }
+    }
+    KubernetesCrudHistory.Page page;
+    String continueToken = getQueryParameter(path, CONTINUE);
+    if (Utils.isNotNullOrEmpty(continueToken)) {
+      try {
+        page = history.page(continueToken);
+      } catch (IllegalArgumentException e) {
+        return status(HttpURLConnection.HTTP_BAD_REQUEST, "BadRequest", "continue key is not valid: " + continueToken);
+      }
+      if (page == null) {
+        return status(HttpURLConnection.HTTP_GONE, EXPIRED, "The provided continue parameter is too old to display "
+            + "a consistent list result. You can start a new list without the continue parameter.");
       }
+    } else {
+      MockResponse rejected = checkListResourceVersion(path, limit != null);
+      if (rejected != null) {
+        return rejected;
+      }
+      long listResourceVersion;
+      List<String> items;
+      // writes are assigned their resourceVersion under the write lock, so the resources read under the read lock
+      // are exactly those as of the resourceVersion
+      Lock lock = store.readLock(query);
+      lock.lock();
+      try {
+        listResourceVersion = resourceVersion.get();
+        items = store.find(query, kubernetesAttributesExtractor.labelEqualities(path)).stream()
+            .map(Map.Entry::getValue)
+            .collect(Collectors.toList());
+      } finally {
+        lock.unlock();
+      }
+      // if there are no items it may be an api metadata request
+      String metadataResult = items.isEmpty() ? crdProcessor.getApiResources(path) : null;
       if (metadataResult != null) {
-        response.setBody(metadataResult);
-      } else {
-        response.setBody(kubernetesResponseComposer.compose(items, String.valueOf(resourceVersion.get())));
+        return new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(metadataResult);
       }
-      response.setResponseCode(HttpURLConnection.HTTP_OK);
+      if (limit == null || items.size() <= limit) {
+        return new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+            .setBody(kubernetesResponseComposer.compose(items, String.valueOf(listResourceVersion)));
+      }
+      page = history.snapshot(listResourceVersion, items);
     }
-    return response;
+    List<String> items = page.snapshot.items;
+    int start = Math.min(page.start, items.size());
+    int end = limit == null ? items.size() : (int) Math.min(items.size(), start + limit);
+    String nextToken = null;
+    Integer remainingItemCount = null;
+    if (end < items.size()) {
+      nextToken = history.continueToken(page, end);
+      remainingItemCount = items.size() - end;
+    } else {
+      history.release(page);
+    }
+    return new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK)
+        .setBody(kubernetesResponseComposer.compose(items.subList(start, end),
+            String.valueOf(page.snapshot.resourceVersion), nextToken, remainingItemCount));
+  }
+
+  /**
+   * Only the current state is retained, so an Exact match can only be served for the current resourceVersion
+   *
+   * @return the response rejecting the requested resourceVersion, or null if the current state satisfies it
+   */
+  private MockResponse checkListResourceVersion(String path, boolean paginated) {
+    String requested = getQueryParameter(path, RESOURCE_VERSION);
+    if (Utils.isNullOrEmpty(requested) || "0".equals(requested)) {
+      return null;
+    }
+    long requestedVersion;
+    try {
+      requestedVersion = Long.parseLong(requested);
+    } catch (NumberFormatException e) {
+      return status(HttpURLConnection.HTTP_BAD_REQUEST, "BadRequest", "Invalid value for resourceVersion: " + requested);
+    }
+    long current = resourceVersion.get();
+    if (requestedVersion > current) {
+      return status(HttpURLConnection.HTTP_GATEWAY_TIMEOUT, "Timeout",
+          String.format("Too large resource version: %s, current: %s", requestedVersion, current));
+    }
+    String match = getQueryParameter(path, RESOURCE_VERSION_MATCH);
+    // a paginated list with a resourceVersion and no match is an exact match
+    boolean exact = "Exact".equals(match) || (match == null && paginated);
+    if (exact && requestedVersion != current) {
+      return status(HttpURLConnection.HTTP_GONE, EXPIRED, "The resourceVersion for the provided list is too old.");
+    }
+    return null;
   }
 
   /**
@@ -195,16 +308,17 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
    */
   @Override
   public MockResponse handleDelete(String path) {
-    lock.writeLock().lock();
+    Lock lock = store.writeLock(getKey(path));
+    lock.lock();
     try {
       return handle(path, this::processDelete);
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
   private void processDelete(String path, AttributeSet pathAttributes, AttributeSet oldAttributes) {
-    String jsonStringOfResource = map.get(oldAttributes);
+    String jsonStringOfResource = store.get(oldAttributes);
     final GenericKubernetesResource resource = Serialization.unmarshal(jsonStringOfResource, GenericKubernetesResource.class);
     if (resource.getFinalizers().isEmpty()) {
       // No finalizers left, actually remove the resource.
@@ -233,9 +347,8 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
 
   @Override
   public Map.Entry<AttributeSet, String> findResource(AttributeSet attributes) {
-    return map.entrySet().stream()
-        .filter(entry -> entry.getKey().matches(attributes))
-        .findFirst().orElse(null);
+    List<Map.Entry<AttributeSet, String>> found = store.find(attributes, Collections.emptyMap());
+    return found.isEmpty() ? null : found.get(0);
   }
 
   @Override
@@ -246,38 +359,59 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
   @Override
   public void processEvent(String path, AttributeSet pathAttributes, AttributeSet oldAttributes,
       GenericKubernetesResource resource, String newState) {
-    String existing = map.remove(oldAttributes);
+    String existing = store.remove(oldAttributes);
     AttributeSet newAttributes = null;
+    long eventResourceVersion = resourceVersion.get();
     if (newState != null) {
-      if (resource != null) {
-        newAttributes = kubernetesAttributesExtractor.extract(resource);
-      } else {
-        newAttributes = kubernetesAttributesExtractor.fromResource(newState);
+      HasMetadata hasMetadata = resource;
+      if (hasMetadata == null) {
+        hasMetadata = KubernetesAttributesExtractor.toKubernetesResource(newState);
       }
+      newAttributes = hasMetadata == null ? new AttributeSet() : kubernetesAttributesExtractor.extract(hasMetadata);
       // corner case - we need to get the plural from the path
       if (!newAttributes.containsKey(KubernetesAttributesExtractor.PLURAL)) {
         newAttributes = AttributeSet.merge(pathAttributes, newAttributes);
       }
-      map.put(newAttributes, newState);
+      store.put(newAttributes, newState, hasMetadata == null ? null : hasMetadata.getMetadata().getLabels());
+      if (hasMetadata != null) {
+        eventResourceVersion = parseResourceVersion(hasMetadata.getMetadata().getResourceVersion(), eventResourceVersion);
+      }
+    } else if (existing != null) {
+      // as with an api server, the deletion is a change with a resourceVersion of its own
+      eventResourceVersion = requestResourceVersion();
+      GenericKubernetesResource deleted = Serialization.unmarshal(existing, GenericKubernetesResource.class);
+      deleted.getMetadata().setResourceVersion(String.valueOf(eventResourceVersion));
+      existing = Serialization.asJson(deleted);
     }
     if (!Objects.equals(existing, newState)) {
-      AttributeSet finalAttributeSet = newAttributes;
-      watchEventListeners.forEach(listener -> {
-        boolean matchesOld = oldAttributes != null && listener.attributeMatches(oldAttributes);
-        boolean matchesNew = finalAttributeSet != null && listener.attributeMatches(finalAttributeSet);
-        if (matchesOld && matchesNew) {
-          listener.sendWebSocketResponse(newState, Action.MODIFIED);
-        } else if (matchesOld) {
-          listener.sendWebSocketResponse(existing, Action.DELETED);
-        } else if (matchesNew) {
-          listener.sendWebSocketResponse(newState, Action.ADDED);
-        }
-      });
+      // published under the write lock held by the caller, which keeps the events of the resources in order
+      history.record(new KubernetesCrudHistory.Event(eventResourceVersion, oldAttributes, newAttributes, existing, newState),
+          () -> new ArrayList<>(watchEventListeners), KubernetesCrudDispatcher::sendEvent);
 
       crdProcessor.process(path, Utils.getNonNullOrElse(newState, existing), newState == null);
     }
   }
 
+  private static void sendEvent(WatchEventsListener listener, KubernetesCrudHistory.Event event) {
+    boolean matchesOld = event.oldAttributes != null && listener.attributeMatches(event.oldAttributes);
+    boolean matchesNew = event.newAttributes != null && listener.attributeMatches(event.newAttributes);
+    if (matchesOld && matchesNew) {
+      listener.sendWebSocketResponse(event.newState, Action.MODIFIED);
+    } else if (matchesOld) {
+      listener.sendWebSocketResponse(event.oldState, Action.DELETED);
+    } else if (matchesNew) {
+      listener.sendWebSocketResponse(event.newState, Action.ADDED);
+    }
+  }
+
+  private static long parseResourceVersion(String value, long defaultValue) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
   /**
    * Watch the resource list on `path` endpoint
    *
@@ -291,15 +425,98 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
     if (resourceName != null) {
       query = query.add(new Attribute("name", resourceName));
     }
+    boolean sendInitialEvents = Boolean.parseBoolean(getQueryParameter(path, SEND_INITIAL_EVENTS));
+    if (sendInitialEvents && !"NotOlderThan".equals(getQueryParameter(path, "resourceVersionMatch"))) {
+      return new MockResponse().setResponseCode(HTTP_UNPROCESSABLE_ENTITY)
+          .setBody(new KubernetesCrudDispatcherException(
+              "resourceVersionMatch: must be NotOlderThan when sendInitialEvents is true",
+              HTTP_UNPROCESSABLE_ENTITY).toStatusBody());
+    }
+    String watchResourceVersion = getQueryParameter(path, RESOURCE_VERSION);
+    // without a resourceVersion, or with 0, the watch starts with the current state
+    boolean fromCurrentState = sendInitialEvents || Utils.isNullOrEmpty(watchResourceVersion)
+        || "0".equals(watchResourceVersion);
+    long requestedVersion = fromCurrentState ? 0 : parseResourceVersion(watchResourceVersion, -1);
+    if (requestedVersion < 0) {
+      return status(HttpURLConnection.HTTP_BAD_REQUEST, "BadRequest",
+          "Invalid value for resourceVersion: " + watchResourceVersion);
+    }
+    AttributeSet watchQuery = query;
+    Map<String, String> labels = kubernetesAttributesExtractor.labelEqualities(path);
     WatchEventsListener watchEventListener = new WatchEventsListener(context, query, watchEventListeners, LOGGER,
-        watch -> map.entrySet().stream()
-            .filter(entry -> watch.attributeMatches(entry.getKey()))
-            .forEach(entry -> watch.sendWebSocketResponse(entry.getValue(), Action.ADDED)));
-    watchEventListeners.add(watchEventListener);
+        watch -> {
+          long from = requestedVersion;
+          boolean subscribed;
+          // as with a list, no resource of the plural changes while the read lock is held, so the resources are
+          // exactly those as of the resourceVersion and no event is published before the watch is subscribed
+          Lock lock = store.readLock(watchQuery);
+          lock.lock();
+          try {
+            if (fromCurrentState) {
+              from = resourceVersion.get();
+              store.find(watchQuery, labels)
+                  .forEach(entry -> watch.sendWebSocketResponse(entry.getValue(), Action.ADDED));
+              if (sendInitialEvents) {
+                watch.sendWebSocketResponse(bookmark(from, true), Action.BOOKMARK);
+              }
+            }
+            subscribed = history.replayAndSubscribe(from, event -> sendEvent(watch, event),
+                () -> watchEventListeners.add(watch));
+          } finally {
+            lock.unlock();
+          }
+          if (!subscribed) {
+            String message = String.format("too old resource version: %s (%s)", from, history.getCompacted());
+            watch.sendWebSocketResponse(Serialization.asJson(toStatus(HttpURLConnection.HTTP_GONE, EXPIRED, message)),
+                Action.ERROR);
+            watch.close(1000, message);
+          }
+        }, Boolean.parseBoolean(getQueryParameter(path, ALLOW_WATCH_BOOKMARKS)));
     mockResponse.setSocketPolicy(SocketPolicy.KEEP_OPEN);
     return mockResponse.withWebSocketUpgrade(watchEventListener);
   }
 
+  /**
+   * @param initialEventsEnd true for the bookmark sent after the initial events of a watch list request
+   */
+  private static String bookmark(long resourceVersion, boolean initialEventsEnd) {
+    GenericKubernetesResource bookmark = new GenericKubernetesResource();
+    ObjectMetaBuilder metadata = new ObjectMetaBuilder().withResourceVersion(String.valueOf(resourceVersion));
+    if (initialEventsEnd) {
+      metadata.addToAnnotations(INITIAL_EVENTS_END_ANNOTATION, "true");
+    }
+    bookmark.setMetadata(metadata.build());
+    return Serialization.asJson(bookmark);
+  }
+
+  private static Status toStatus(int code, String reason, String message) {
+    return new StatusBuilder().withStatus("Failure").withCode(code).withReason(reason).withMessage(message).build();
+  }
+
+  private static MockResponse status(int code, String reason, String message) {
+    return new MockResponse().setResponseCode(code).setBody(Serialization.asJson(toStatus(code, reason, message)));
+  }
+
+  private static String getQueryParameter(String path, String name) {
+    String queryString = null;
+    try {
+      queryString = new URI(path).getQuery();
+    } catch (URISyntaxException e) {
+      LOGGER.debug("Incorrect URI string: [{}]", path);
+      return null;
+    }
+    if (queryString == null) {
+      return null;
+    }
+    for (String q : queryString.split("&")) {
+      String[] s = q.split("=", 2);
+      if (s.length == 2 && s[0].equals(name)) {
+        return s[1];
+      }
+    }
+    return null;
+  }
+
   private boolean detectWatchMode(String path) {
     String queryString = null;
     try {
@@ -339,7 +556,8 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
 
   @Override
   public void reset() {
-    map.clear();
+    store.clear();
+    history.clear();
     // what about the initial crds? That should likely be deprecated
     this.crdProcessor.reset();
   }
@@ -348,4 +566,27 @@ public class KubernetesCrudDispatcher extends CrudDispatcher implements Kubernet
   public void expectCustomResource(CustomResourceDefinitionContext rdc) {
     this.crdProcessor.addCrdContext(rdc);
   }
+
+  @Override
+  public void compact() {
+    history.compact(resourceVersion.get());
+  }
+
+  @Override
+  public void sendBookmarks() {
+    for (WatchEventsListener listener : watchEventListeners) {
+      if (!listener.isAllowBookmarks()) {
+        continue;
+      }
+      // under the read lock every recorded event of the watched resources has been published, so none is older
+      // than the bookmark
+      Lock lock = store.readLock(listener.getAttributeSet());
+      lock.lock();
+      try {
+        listener.sendWebSocketResponse(bookmark(history.getLatest(), false), Action.BOOKMARK);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
 }
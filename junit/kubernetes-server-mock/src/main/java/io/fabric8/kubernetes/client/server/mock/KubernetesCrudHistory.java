@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.server.mock;
+
+import io.fabric8.mockwebserver.crud.AttributeSet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The resourceVersion history of the {@link KubernetesCrudDispatcher}, the role etcd and the watch cache play
+ * for an api server.
+ * <p>
+ * The most recent events are retained so that watches can resume from a resourceVersion, and the results of
+ * paginated lists are retained so that each page is served from the same snapshot. Anything older than the
+ * compacted resourceVersion is gone.
+ */
+final class KubernetesCrudHistory {
+
+  static final int DEFAULT_EVENT_LIMIT = 1000;
+  static final int DEFAULT_SNAPSHOT_LIMIT = 100;
+
+  static final class Event {
+
+    final long resourceVersion;
+    final AttributeSet oldAttributes;
+    final AttributeSet newAttributes;
+    final String oldState;
+    final String newState;
+
+    Event(long resourceVersion, AttributeSet oldAttributes, AttributeSet newAttributes, String oldState,
+        String newState) {
+      this.resourceVersion = resourceVersion;
+      this.oldAttributes = oldAttributes;
+      this.newAttributes = newAttributes;
+      this.oldState = oldState;
+      this.newState = newState;
+    }
+
+  }
+
+  static final class Snapshot {
+
+    final long resourceVersion;
+    final List<String> items;
+    private final long id;
+
+    private Snapshot(long id, long resourceVersion, List<String> items) {
+      this.id = id;
+      this.resourceVersion = resourceVersion;
+      this.items = items;
+    }
+
+  }
+
+  /**
+   * A page of a {@link Snapshot}
+   */
+  static final class Page {
+
+    final Snapshot snapshot;
+    final int start;
+
+    private Page(Snapshot snapshot, int start) {
+      this.snapshot = snapshot;
+      this.start = start;
+    }
+
+  }
+
+  private final int eventLimit;
+  private final Deque<Event> events = new ArrayDeque<>();
+  private final Map<Long, Snapshot> snapshots;
+  private long nextSnapshotId;
+  private long latest;
+  private long compacted;
+
+  KubernetesCrudHistory() {
+    this(DEFAULT_EVENT_LIMIT, DEFAULT_SNAPSHOT_LIMIT);
+  }
+
+  KubernetesCrudHistory(int eventLimit, int snapshotLimit) {
+    this.eventLimit = eventLimit;
+    this.snapshots = new LinkedHashMap<Long, Snapshot>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+        return size() > snapshotLimit;
+      }
+    };
+  }
+
+  /**
+   * Record the event, then publish it to the subscribers as of the recording. A subscriber is either published to
+   * or replayed the event by {@link #replayAndSubscribe(long, Consumer, Runnable)}, never both.
+   * <p>
+   * The event is published outside of the monitor, the caller keeps the events of the same resources in order.
+   *
+   * @param subscribers a copy of the current subscribers
+   */
+  <T> void record(Event event, Supplier<List<T>> subscribers, BiConsumer<T, Event> publish) {
+    List<T> current;
+    synchronized (this) {
+      events.addLast(event);
+      latest = Math.max(latest, event.resourceVersion);
+      while (events.size() > eventLimit) {
+        compacted = Math.max(compacted, events.removeFirst().resourceVersion);
+      }
+      current = subscribers.get();
+    }
+    current.forEach(subscriber -> publish.accept(subscriber, event));
+  }
+
+  /**
+   * Replay the retained events newer than the resourceVersion, then subscribe to new events.
+   *
+   * @return false, without replaying or subscribing, if the events after the resourceVersion are no longer retained
+   */
+  synchronized boolean replayAndSubscribe(long resourceVersion, Consumer<Event> replay, Runnable subscribe) {
+    if (resourceVersion < compacted) {
+      return false;
+    }
+    events.stream().filter(e -> e.resourceVersion > resourceVersion).forEach(replay);
+    subscribe.run();
+    return true;
+  }
+
+  /**
+   * @return the resourceVersion of the latest recorded event
+   */
+  synchronized long getLatest() {
+    return latest;
+  }
+
+  /**
+   * Discard all of the retained events and snapshots
+   *
+   * @param resourceVersion the current resourceVersion
+   */
+  synchronized void compact(long resourceVersion) {
+    events.clear();
+    snapshots.clear();
+    compacted = Math.max(compacted, resourceVersion);
+  }
+
+  synchronized long getCompacted() {
+    return compacted;
+  }
+
+  synchronized Page snapshot(long resourceVersion, List<String> items) {
+    Snapshot snapshot = new Snapshot(++nextSnapshotId, resourceVersion, items);
+    snapshots.put(snapshot.id, snapshot);
+    return new Page(snapshot, 0);
+  }
+
+  /**
+   * @param continueToken a token returned by {@link #continueToken(Page, int)}
+   * @return the page, or null if the snapshot is no longer retained
+   * @throws IllegalArgumentException if the token is not valid
+   */
+  synchronized Page page(String continueToken) {
+    String[] parts = new String(Base64.getUrlDecoder().decode(continueToken), StandardCharsets.UTF_8).split("/");
+    if (parts.length != 2) {
+      throw new IllegalArgumentException("invalid continue token");
+    }
+    Snapshot snapshot = snapshots.get(Long.parseLong(parts[0]));
+    return snapshot == null ? null : new Page(snapshot, Integer.parseInt(parts[1]));
+  }
+
+  /**
+   * @return the token for the remainder of the snapshot, starting with the item at index end
+   */
+  String continueToken(Page page, int end) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((page.snapshot.id + "/" + end).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Release the snapshot once its last page has been served
+   */
+  synchronized void release(Page page) {
+    snapshots.remove(page.snapshot.id);
+  }
+
+  synchronized void clear() {
+    events.clear();
+    snapshots.clear();
+    latest = 0;
+    compacted = 0;
+  }
+
+}
@@ -0,0 +1,309 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.server.mock;
+
+import io.fabric8.mockwebserver.crud.Attribute;
+import io.fabric8.mockwebserver.crud.AttributeSet;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static io.fabric8.kubernetes.client.server.mock.KubernetesAttributesExtractor.API;
+import static io.fabric8.kubernetes.client.server.mock.KubernetesAttributesExtractor.NAME;
+import static io.fabric8.kubernetes.client.server.mock.KubernetesAttributesExtractor.NAMESPACE;
+import static io.fabric8.kubernetes.client.server.mock.KubernetesAttributesExtractor.PLURAL;
+import static io.fabric8.kubernetes.client.server.mock.KubernetesAttributesExtractor.VERSION;
+
+/**
+ * The resources of the {@link KubernetesCrudDispatcher}, partitioned by plural.
+ * <p>
+ * Each partition has its own lock and indexes its entries by namespace, name and label, so that a get by name
+ * does not depend on the number of stored resources and a list by namespace or label only visits the matching
+ * entries. The candidates of the indexes are still checked with {@link AttributeSet#matches(AttributeSet)}, so
+ * the results are the same as scanning all of the entries.
+ * <p>
+ * Entries are returned in the order they were stored.
+ */
+final class KubernetesCrudStore {
+
+  private static final String NO_PLURAL = "";
+
+  private static final class Stored {
+
+    private final long sequence;
+    private final AttributeSet key;
+    private final String value;
+    private final String namespace;
+    private final String name;
+    private final List<String> labels;
+
+    private Stored(long sequence, AttributeSet key, String value, Map<String, String> labels) {
+      this.sequence = sequence;
+      this.key = key;
+      this.value = value;
+      this.namespace = valueOf(key, NAMESPACE);
+      this.name = valueOf(key, NAME);
+      this.labels = new ArrayList<>(labels.size());
+      labels.forEach((k, v) -> this.labels.add(label(k, v)));
+    }
+
+    private Map.Entry<AttributeSet, String> toEntry() {
+      return new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }
+
+  }
+
+  private static final class Partition {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<AttributeSet, Stored> entries = new HashMap<>();
+    private final NavigableMap<Long, Stored> all = new TreeMap<>();
+    private final Map<String, NavigableMap<Long, Stored>> byNamespace = new HashMap<>();
+    private final Map<String, NavigableMap<Long, Stored>> byName = new HashMap<>();
+    private final Map<String, NavigableMap<Long, Stored>> byLabel = new HashMap<>();
+
+    private void add(Stored stored) {
+      entries.put(stored.key, stored);
+      all.put(stored.sequence, stored);
+      if (stored.namespace != null) {
+        byNamespace.computeIfAbsent(stored.namespace, k -> new TreeMap<>()).put(stored.sequence, stored);
+      }
+      if (stored.name != null) {
+        byName.computeIfAbsent(stored.name, k -> new TreeMap<>()).put(stored.sequence, stored);
+      }
+      stored.labels.forEach(l -> byLabel.computeIfAbsent(l, k -> new TreeMap<>()).put(stored.sequence, stored));
+    }
+
+    private Stored remove(AttributeSet key) {
+      Stored stored = entries.remove(key);
+      if (stored != null) {
+        all.remove(stored.sequence);
+        removeFrom(byNamespace, stored.namespace, stored);
+        removeFrom(byName, stored.name, stored);
+        stored.labels.forEach(l -> removeFrom(byLabel, l, stored));
+      }
+      return stored;
+    }
+
+    /**
+     * Remove the entry of the same resource as the key, whose other attributes such as its labels may differ
+     */
+    private void replace(AttributeSet key) {
+      Stored same = entries.get(key);
+      String name = valueOf(key, NAME);
+      if (same == null && name != null) {
+        String namespace = valueOf(key, NAMESPACE);
+        same = byName.getOrDefault(name, Collections.emptyNavigableMap()).values().stream()
+            .filter(stored -> Objects.equals(namespace, stored.namespace)
+                && Objects.equals(valueOf(key, API), valueOf(stored.key, API))
+                && Objects.equals(valueOf(key, VERSION), valueOf(stored.key, VERSION)))
+            .findFirst().orElse(null);
+      }
+      if (same != null) {
+        remove(same.key);
+      }
+    }
+
+    private static void removeFrom(Map<String, NavigableMap<Long, Stored>> index, String indexKey, Stored stored) {
+      if (indexKey == null) {
+        return;
+      }
+      NavigableMap<Long, Stored> values = index.get(indexKey);
+      if (values != null) {
+        values.remove(stored.sequence);
+        if (values.isEmpty()) {
+          index.remove(indexKey);
+        }
+      }
+    }
+
+    /**
+     * The smallest set of entries that may match the query
+     */
+    private Collection<Stored> candidates(AttributeSet query, Map<String, String> labels) {
+      String name = valueOf(query, NAME);
+      if (name != null) {
+        return byName.getOrDefault(name, Collections.emptyNavigableMap()).values();
+      }
+      NavigableMap<Long, Stored> result = all;
+      String namespace = valueOf(query, NAMESPACE);
+      if (namespace != null) {
+        result = byNamespace.getOrDefault(namespace, Collections.emptyNavigableMap());
+      }
+      for (Map.Entry<String, String> label : labels.entrySet()) {
+        NavigableMap<Long, Stored> withLabel = byLabel.getOrDefault(label(label.getKey(), label.getValue()),
+            Collections.emptyNavigableMap());
+        if (withLabel.size() < result.size()) {
+          result = withLabel;
+        }
+      }
+      return result.values();
+    }
+
+  }
+
+  private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * @param key the attributes of a resource or a request path
+   * @return the lock to hold while reading and modifying the resources of the same plural
+   */
+  Lock writeLock(AttributeSet key) {
+    return partition(key).lock.writeLock();
+  }
+
+  /**
+   * @param key the attributes of a resource or a request path
+   * @return the lock to hold for a consistent view of the resources of the same plural
+   */
+  Lock readLock(AttributeSet key) {
+    return partition(key).lock.readLock();
+  }
+
+  String get(AttributeSet key) {
+    Partition partition = partitions.get(pluralOf(key));
+    if (partition == null) {
+      return null;
+    }
+    partition.lock.readLock().lock();
+    try {
+      Stored stored = partition.entries.get(key);
+      return stored == null ? null : stored.value;
+    } finally {
+      partition.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Store the resource, replacing the value of the same resource even if its labels changed
+   *
+   * @param key the attributes of the resource
+   * @param value the resource
+   * @param labels the labels of the resource
+   */
+  void put(AttributeSet key, String value, Map<String, String> labels) {
+    Partition partition = partition(key);
+    partition.lock.writeLock().lock();
+    try {
+      partition.replace(key);
+      partition.add(new Stored(sequence.incrementAndGet(), key, value, labels == null ? Collections.emptyMap() : labels));
+    } finally {
+      partition.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @param key the attributes of the resource
+   * @return the removed resource, or null if there was none
+   */
+  String remove(AttributeSet key) {
+    if (key == null) {
+      return null;
+    }
+    Partition partition = partitions.get(pluralOf(key));
+    if (partition == null) {
+      return null;
+    }
+    partition.lock.writeLock().lock();
+    try {
+      Stored stored = partition.remove(key);
+      return stored == null ? null : stored.value;
+    } finally {
+      partition.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Find the resources whose attributes match the query
+   *
+   * @param query the attributes of the request
+   * @param labels the label requirements of the request of the form key=value, used to narrow the candidates
+   * @return the matching entries, in the order they were stored
+   */
+  List<Map.Entry<AttributeSet, String>> find(AttributeSet query, Map<String, String> labels) {
+    String plural = valueOf(query, PLURAL);
+    if (plural != null) {
+      Partition partition = partitions.get(plural);
+      List<Stored> result = new ArrayList<>();
+      if (partition != null) {
+        find(partition, query, labels, result);
+      }
+      return toEntries(result);
+    }
+    // a query without a plural may match any partition
+    List<Stored> result = new ArrayList<>();
+    partitions.values().forEach(p -> find(p, query, labels, result));
+    result.sort(Comparator.comparingLong(s -> s.sequence));
+    return toEntries(result);
+  }
+
+  private static void find(Partition partition, AttributeSet query, Map<String, String> labels, List<Stored> result) {
+    partition.lock.readLock().lock();
+    try {
+      for (Stored stored : partition.candidates(query, labels)) {
+        if (stored.key.matches(query)) {
+          result.add(stored);
+        }
+      }
+    } finally {
+      partition.lock.readLock().unlock();
+    }
+  }
+
+  void clear() {
+    partitions.clear();
+  }
+
+  private Partition partition(AttributeSet key) {
+    return partitions.computeIfAbsent(pluralOf(key), k -> new Partition());
+  }
+
+  private static List<Map.Entry<AttributeSet, String>> toEntries(List<Stored> stored) {
+    List<Map.Entry<AttributeSet, String>> result = new ArrayList<>(stored.size());
+    stored.forEach(s -> result.add(s.toEntry()));
+    return result;
+  }
+
+  private static String pluralOf(AttributeSet key) {
+    String plural = valueOf(key, PLURAL);
+    return plural == null ? NO_PLURAL : plural;
+  }
+
+  private static String valueOf(AttributeSet attributes, String name) {
+    Attribute attribute = attributes.getAttribute(name);
+    return attribute == null ? null : attribute.getValue().toString();
+  }
+
+  private static String label(String key, String value) {
+    return key + "=" + value;
+  }
+
+}
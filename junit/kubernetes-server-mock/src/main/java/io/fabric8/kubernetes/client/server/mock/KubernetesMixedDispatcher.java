@@ -40,7 +40,7 @@ import java.util.Queue;
  * <p>
  * This dispatcher is useful to use the KubernetesMockServer in a mixed CRUD mode.
  */
-public class KubernetesMixedDispatcher extends Dispatcher implements Resetable, CustomResourceAware {
+public class KubernetesMixedDispatcher extends Dispatcher implements Resetable, CustomResourceAware, ResourceVersionAware {
 
   private final Map<ServerRequest, Queue<ServerResponse>> responses;
   private final MockDispatcher mockDispatcher;
@@ -76,4 +76,14 @@ public class KubernetesMixedDispatcher extends Dispatcher implements Resetable,
   public void expectCustomResource(CustomResourceDefinitionContext rdc) {
     this.kubernetesCrudDispatcher.expectCustomResource(rdc);
   }
+
+  @Override
+  public void compact() {
+    this.kubernetesCrudDispatcher.compact();
+  }
+
+  @Override
+  public void sendBookmarks() {
+    this.kubernetesCrudDispatcher.sendBookmarks();
+  }
 }
@@ -54,7 +54,8 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.regex.Pattern;
 
-public class KubernetesMockServer extends DefaultMockServer implements Resetable, CustomResourceAware {
+public class KubernetesMockServer extends DefaultMockServer
+    implements Resetable, CustomResourceAware, ResourceVersionAware {
 
   private final Map<ServerRequest, Queue<ServerResponse>> responses;
   private final Dispatcher dispatcher;
@@ -238,4 +239,28 @@ public class KubernetesMockServer extends DefaultMockServer implements Resetable
           .once();
     }
   }
+
+  /**
+   * Discard the history of a crud server before the current resourceVersion, as an etcd compaction would.
+   * <p>
+   * Outstanding continue tokens expire, and watches from an older resourceVersion are answered with 410 Gone.
+   * This has no effect if this server is not crud.
+   */
+  @Override
+  public void compact() {
+    if (this.dispatcher instanceof ResourceVersionAware) {
+      ((ResourceVersionAware) this.dispatcher).compact();
+    }
+  }
+
+  /**
+   * Send a bookmark with the latest resourceVersion to each watch of a crud server that allows bookmarks.
+   * This has no effect if this server is not crud.
+   */
+  @Override
+  public void sendBookmarks() {
+    if (this.dispatcher instanceof ResourceVersionAware) {
+      ((ResourceVersionAware) this.dispatcher).sendBookmarks();
+    }
+  }
 }
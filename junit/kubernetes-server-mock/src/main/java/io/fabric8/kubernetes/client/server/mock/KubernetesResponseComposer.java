@@ -27,9 +27,22 @@ public class KubernetesResponseComposer implements ResponseComposer {
   }
 
   public String compose(Collection<String> collection, String resourceVersion) {
+    return compose(collection, resourceVersion, null, null);
+  }
+
+  /**
+   * @param continueToken the token for the next page, or null if this is the last page
+   * @param remainingItemCount the number of items after this page, or null if this is the last page
+   */
+  public String compose(Collection<String> collection, String resourceVersion, String continueToken,
+      Integer remainingItemCount) {
+    String page = "";
+    if (continueToken != null) {
+      page = String.format(", \"continue\": \"%s\", \"remainingItemCount\": %d", continueToken, remainingItemCount);
+    }
     return String.format(
         "{\"apiVersion\":\"v1\",\"kind\":\"List\", \"items\": [%s], " +
-            "\"metadata\": {\"resourceVersion\": \"%s\", \"selfLink\": \"\"}}",
-        String.join(",", collection), resourceVersion);
+            "\"metadata\": {\"resourceVersion\": \"%s\", \"selfLink\": \"\"%s}}",
+        String.join(",", collection), resourceVersion, page);
   }
 }
@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.server.mock;
+
+public interface ResourceVersionAware {
+
+  /**
+   * Discard the history before the current resourceVersion, as an etcd compaction would.
+   * <p>
+   * Outstanding continue tokens expire, and watches from an older resourceVersion are answered with 410 Gone.
+   */
+  void compact();
+
+  /**
+   * Send a bookmark with the latest resourceVersion to each watch that allows bookmarks
+   */
+  void sendBookmarks();
+
+}
@@ -43,20 +43,35 @@ class WatchEventsListener extends WebSocketListener {
   private final Set<WatchEventsListener> watchEventListenerList;
   private final Logger logger;
   private final Consumer<WatchEventsListener> onOpenAction;
+  private final boolean allowBookmarks;
 
   public WatchEventsListener(Context context, AttributeSet attributeSet, final Set<WatchEventsListener> watchEventListenerList,
       Logger logger, Consumer<WatchEventsListener> onOpenAction) {
+    this(context, attributeSet, watchEventListenerList, logger, onOpenAction, false);
+  }
+
+  public WatchEventsListener(Context context, AttributeSet attributeSet, final Set<WatchEventsListener> watchEventListenerList,
+      Logger logger, Consumer<WatchEventsListener> onOpenAction, boolean allowBookmarks) {
     this.logger = logger;
     this.context = context;
     this.attributeSet = attributeSet;
     this.watchEventListenerList = watchEventListenerList;
     this.onOpenAction = onOpenAction;
+    this.allowBookmarks = allowBookmarks;
   }
 
   public boolean attributeMatches(AttributeSet set) {
     return set.matches(attributeSet);
   }
 
+  AttributeSet getAttributeSet() {
+    return attributeSet;
+  }
+
+  public boolean isAllowBookmarks() {
+    return allowBookmarks;
+  }
+
   @Override
   public void onOpen(WebSocket webSocket, Response response) {
     webSocketRef.set(webSocket);
@@ -102,6 +117,13 @@ class WatchEventsListener extends WebSocketListener {
     executor.schedule(() -> webSocketRef.get().send(message.getBody()), message.getDelay(), TimeUnit.SECONDS);
   }
 
+  /**
+   * Close the watch once the responses sent so far have been delivered
+   */
+  public void close(int code, String reason) {
+    executor.execute(() -> webSocketRef.get().close(code, reason));
+  }
+
   private static WebSocketMessage toWebSocketMessage(Context context, Object content) {
     return toWebSocketMessage(context, content, true);
   }
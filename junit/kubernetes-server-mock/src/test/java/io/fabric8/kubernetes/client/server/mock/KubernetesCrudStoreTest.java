@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.server.mock;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.mockwebserver.crud.Attribute;
+import io.fabric8.mockwebserver.crud.AttributeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class KubernetesCrudStoreTest {
+
+  private KubernetesAttributesExtractor extractor;
+  private KubernetesCrudStore store;
+
+  @BeforeEach
+  void setUp() {
+    extractor = new KubernetesAttributesExtractor();
+    store = new KubernetesCrudStore();
+    put("ns1", "pod-b", "app", "one");
+    put("ns2", "pod-a", "app", "two");
+    put("ns1", "pod-a", "app", "two");
+  }
+
+  @Test
+  void findByName() {
+    assertEquals(Collections.singletonList("ns1/pod-a"), find("/api/v1/namespaces/ns1/pods/pod-a"));
+    assertEquals(Collections.emptyList(), find("/api/v1/namespaces/ns3/pods/pod-a"));
+  }
+
+  @Test
+  void findByNamespaceInStoredOrder() {
+    assertEquals(Arrays.asList("ns1/pod-b", "ns1/pod-a"), find("/api/v1/namespaces/ns1/pods"));
+  }
+
+  @Test
+  void findByLabel() {
+    assertEquals(Arrays.asList("ns2/pod-a", "ns1/pod-a"), find("/api/v1/pods?labelSelector=app%3Dtwo"));
+    assertEquals(Collections.singletonList("ns1/pod-b"), find("/api/v1/namespaces/ns1/pods?labelSelector=app%3Done"));
+    assertEquals(Collections.singletonList("ns1/pod-b"), find("/api/v1/pods?labelSelector=app%21%3Dtwo"));
+  }
+
+  @Test
+  void findWithoutPlural() {
+    AttributeSet query = new AttributeSet().add(new Attribute(KubernetesAttributesExtractor.NAME, "pod-a"));
+
+    assertEquals(Arrays.asList("ns2/pod-a", "ns1/pod-a"), store.find(query, Collections.emptyMap()).stream()
+        .map(e -> name(e.getValue()))
+        .collect(Collectors.toList()));
+  }
+
+  @Test
+  void replaceMovesToTheEndAndUpdatesIndexes() {
+    put("ns1", "pod-b", "app", "two");
+
+    assertEquals(Arrays.asList("ns1/pod-a", "ns1/pod-b"), find("/api/v1/namespaces/ns1/pods"));
+    assertEquals(Collections.emptyList(), find("/api/v1/pods?labelSelector=app%3Done"));
+  }
+
+  @Test
+  void remove() {
+    AttributeSet key = extractor.fromPath("/api/v1/namespaces/ns1/pods/pod-a");
+    String removed = store.remove(store.find(key, Collections.emptyMap()).get(0).getKey());
+
+    assertEquals("ns1/pod-a", name(removed));
+    assertEquals(Collections.singletonList("ns1/pod-b"), find("/api/v1/namespaces/ns1/pods"));
+    assertNull(store.remove(key));
+  }
+
+  private void put(String namespace, String name, String labelKey, String labelValue) {
+    Pod pod = new PodBuilder().withNewMetadata().withNamespace(namespace).withName(name)
+        .addToLabels(labelKey, labelValue).endMetadata().build();
+    store.put(extractor.extract(pod), Serialization.asJson(pod), pod.getMetadata().getLabels());
+  }
+
+  private List<String> find(String path) {
+    Map<String, String> labels = extractor.labelEqualities(path);
+    return store.find(extractor.fromPath(path), labels).stream()
+        .map(e -> name(e.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  private static String name(String json) {
+    Pod pod = Serialization.unmarshal(json, Pod.class);
+    return pod.getMetadata().getNamespace() + "/" + pod.getMetadata().getName();
+  }
+
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.server.mock.crud;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapList;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.mockwebserver.Context;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KubernetesCrudDispatcherResourceVersionTest {
+
+  private KubernetesMockServer server;
+  private KubernetesClient client;
+
+  @BeforeEach
+  void setUp() {
+    server = new KubernetesMockServer(new Context(Serialization.jsonMapper()),
+        new MockWebServer(), new HashMap<>(), new KubernetesCrudDispatcher(), false);
+    server.start();
+    client = server.createClient();
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+    server.shutdown();
+  }
+
+  private ConfigMap create(String name) {
+    return client.configMaps().inNamespace("ns").resource(new ConfigMapBuilder()
+        .withNewMetadata().withName(name).endMetadata()
+        .build()).create();
+  }
+
+  @Test
+  @DisplayName("list with a limit, pages are served from a consistent snapshot")
+  void paginatedListIsConsistent() {
+    for (int i = 0; i < 5; i++) {
+      create("cm" + i);
+    }
+
+    final ConfigMapList first = client.configMaps().inNamespace("ns").list(new ListOptionsBuilder().withLimit(2L).build());
+    create("cm5");
+    client.configMaps().inNamespace("ns").withName("cm4").delete();
+    final ConfigMapList second = client.configMaps().inNamespace("ns").list(new ListOptionsBuilder()
+        .withLimit(2L).withContinue(first.getMetadata().getContinue()).build());
+    final ConfigMapList third = client.configMaps().inNamespace("ns").list(new ListOptionsBuilder()
+        .withLimit(2L).withContinue(second.getMetadata().getContinue()).build());
+
+    assertThat(first.getItems()).extracting("metadata.name").containsExactly("cm0", "cm1");
+    assertThat(first.getMetadata().getRemainingItemCount()).isEqualTo(3L);
+    assertThat(second.getItems()).extracting("metadata.name").containsExactly("cm2", "cm3");
+    assertThat(third.getItems()).extracting("metadata.name").containsExactly("cm4");
+    assertThat(third.getMetadata().getContinue()).isNull();
+    assertThat(second.getMetadata().getResourceVersion())
+        .isEqualTo(first.getMetadata().getResourceVersion())
+        .isEqualTo(third.getMetadata().getResourceVersion());
+  }
+
+  @Test
+  @DisplayName("list with a limit, following all continue tokens returns every item")
+  void listFollowsContinueTokens() {
+    for (int i = 0; i < 5; i++) {
+      create("cm" + i);
+    }
+    final List<String> names = new ArrayList<>();
+
+    client.configMaps().inNamespace("ns").list(new ListOptionsBuilder().withLimit(2L).build(),
+        c -> names.add(c.getMetadata().getName()));
+
+    assertThat(names).containsExactly("cm0", "cm1", "cm2", "cm3", "cm4");
+  }
+
+  @Test
+  @DisplayName("list with an expired continue token, returns 410 Gone")
+  void expiredContinueToken() {
+    create("cm0");
+    create("cm1");
+    final ConfigMapList first = client.configMaps().inNamespace("ns").list(new ListOptionsBuilder().withLimit(1L).build());
+
+    server.compact();
+
+    assertThatThrownBy(() -> client.configMaps().inNamespace("ns").list(new ListOptionsBuilder()
+        .withLimit(1L).withContinue(first.getMetadata().getContinue()).build()))
+        .isInstanceOf(KubernetesClientException.class)
+        .extracting("code").isEqualTo(HttpURLConnection.HTTP_GONE);
+  }
+
+  @Test
+  @DisplayName("list with an exact older resourceVersion, returns 410 Gone")
+  void exactOlderResourceVersion() {
+    final String resourceVersion = create("cm0").getMetadata().getResourceVersion();
+    create("cm1");
+
+    assertThatThrownBy(() -> client.configMaps().inNamespace("ns").list(new ListOptionsBuilder()
+        .withResourceVersion(resourceVersion).withResourceVersionMatch("Exact").build()))
+        .isInstanceOf(KubernetesClientException.class)
+        .extracting("code").isEqualTo(HttpURLConnection.HTTP_GONE);
+    assertThat(client.configMaps().inNamespace("ns").list(new ListOptionsBuilder()
+        .withResourceVersion(resourceVersion).withResourceVersionMatch("NotOlderThan").build()).getItems())
+        .hasSize(2);
+  }
+
+  @Test
+  @DisplayName("watch from a resourceVersion, replays only the later events")
+  void watchFromResourceVersion() throws Exception {
+    final String resourceVersion = create("cm0").getMetadata().getResourceVersion();
+    create("cm1");
+    client.configMaps().inNamespace("ns").withName("cm0").delete();
+    final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    try (Watch ignored = client.configMaps().inNamespace("ns")
+        .watch(new ListOptionsBuilder().withResourceVersion(resourceVersion).build(), new Watcher<ConfigMap>() {
+          @Override
+          public void eventReceived(Action action, ConfigMap resource) {
+            events.add(action + " " + resource.getMetadata().getName());
+          }
+
+          @Override
+          public void onClose(WatcherException cause) {
+          }
+        })) {
+      create("cm2");
+
+      final List<String> received = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        received.add(events.poll(10, TimeUnit.SECONDS));
+      }
+      assertThat(received).containsExactly("ADDED cm1", "DELETED cm0", "ADDED cm2");
+    }
+  }
+
+  @Test
+  @DisplayName("watch from a compacted resourceVersion, is closed with 410 Gone")
+  void watchFromCompactedResourceVersion() throws Exception {
+    final String resourceVersion = create("cm0").getMetadata().getResourceVersion();
+    create("cm1");
+    server.compact();
+    final CompletableFuture<WatcherException> closed = new CompletableFuture<>();
+
+    client.configMaps().inNamespace("ns")
+        .watch(new ListOptionsBuilder().withResourceVersion(resourceVersion).build(), new Watcher<ConfigMap>() {
+          @Override
+          public void eventReceived(Action action, ConfigMap resource) {
+          }
+
+          @Override
+          public void onClose(WatcherException cause) {
+            closed.complete(cause);
+          }
+        });
+
+    assertThat(closed.get(10, TimeUnit.SECONDS).isHttpGone()).isTrue();
+  }
+
+  @Test
+  @DisplayName("send bookmarks, received by the watches that allow them")
+  void sendBookmarks() throws Exception {
+    final String resourceVersion = create("cm0").getMetadata().getResourceVersion();
+    final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    try (Watch ignored = client.configMaps().inNamespace("ns")
+        .watch(new ListOptionsBuilder().withAllowWatchBookmarks(true).build(), new Watcher<ConfigMap>() {
+          @Override
+          public void eventReceived(Action action, ConfigMap resource) {
+            events.add(action + " " + resource.getMetadata().getResourceVersion());
+          }
+
+          @Override
+          public void onClose(WatcherException cause) {
+          }
+        })) {
+      // the watch is subscribed by the time its initial event is received
+      assertThat(events.poll(10, TimeUnit.SECONDS)).isEqualTo("ADDED " + resourceVersion);
+
+      server.sendBookmarks();
+
+      assertThat(events.poll(10, TimeUnit.SECONDS)).isEqualTo("BOOKMARK " + resourceVersion);
+    }
+  }
+
+}
@@ -47,8 +47,9 @@ public interface Client extends Closeable {
    * Checks the Kubernetes server for support for the given KubernetesResource type.
    *
    * <p>
-   * The response is not cached, a new check will be performed for each method invocation. In case custom resource
-   * definition is installed in between invocations, this method might return different values.
+   * The response is not cached unless a {@link DiscoveryCache} is used, a new check will be performed for each method
+   * invocation. In case custom resource definition is installed in between invocations, this method might return
+   * different values.
    *
    * @param type to check for support
    * @return boolean value indicating whether this type is supported
@@ -59,8 +60,9 @@ public interface Client extends Closeable {
    * Checks the Kubernetes server for support for the given type.
    *
    * <p>
-   * The response is not cached, a new check will be performed for each method invocation. In case custom resource
-   * definition is installed in between invocations, this method might return different values.
+   * The response is not cached unless a {@link DiscoveryCache} is used, a new check will be performed for each method
+   * invocation. In case custom resource definition is installed in between invocations, this method might return
+   * different values.
    *
    * @param apiVersion the api/version. This should be fully qualified - that is for openshift, please include the api.
    * @param kind the resource kind
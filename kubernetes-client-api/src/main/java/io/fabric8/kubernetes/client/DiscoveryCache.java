@@ -0,0 +1,349 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client;
+
+import io.fabric8.kubernetes.api.model.APIGroupList;
+import io.fabric8.kubernetes.api.model.APIResourceList;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the api discovery results of one or more servers, see {@link KubernetesClientBuilder#withDiscoveryCache(DiscoveryCache)}.
+ * <p>
+ * Entries are reloaded from the server once they are older than the ttl. When a directory is given the entries
+ * are also persisted there, using the same layout as kubectl's discovery cache:
+ * {@code <directory>/<host>_<port>/servergroups.json} and
+ * {@code <directory>/<host>_<port>/<group>/<version>/serverresources.json}, so that new clients for the same
+ * server can start without any discovery requests.
+ * <p>
+ * A lookup that misses in the cached entries, such as of a newly installed custom resource, refreshes them at most
+ * once per minimum refresh interval, so that repeated lookups of something the server does not have do not each
+ * make discovery requests.
+ * <p>
+ * The cached objects are shared and must not be modified.
+ */
+public class DiscoveryCache {
+
+  public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+  public static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(10);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiscoveryCache.class);
+
+  private static final String SERVER_GROUPS = "servergroups.json";
+  private static final String SERVER_RESOURCES = "serverresources.json";
+
+  private static final class Entry<T> {
+
+    private final T value;
+    private final long fetched;
+
+    private Entry(T value, long fetched) {
+      this.value = value;
+      this.fetched = fetched;
+    }
+
+  }
+
+  private final long ttl;
+  private final long minRefreshInterval;
+  private final File directory;
+  private final Map<String, Entry<APIGroupList>> groups = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Entry<APIResourceList>>> resources = new ConcurrentHashMap<>();
+
+  /**
+   * An in-memory cache with the {@link #DEFAULT_TTL}
+   */
+  public DiscoveryCache() {
+    this(DEFAULT_TTL, null);
+  }
+
+  /**
+   * @param ttl how long entries are used before they are reloaded
+   * @param directory the directory to persist entries to, or null to only keep them in memory
+   */
+  public DiscoveryCache(Duration ttl, File directory) {
+    this(ttl, DEFAULT_MIN_REFRESH_INTERVAL, directory);
+  }
+
+  /**
+   * @param ttl how long entries are used before they are reloaded
+   * @param minRefreshInterval how long entries are used before a lookup missing in them reloads them
+   * @param directory the directory to persist entries to, or null to only keep them in memory
+   */
+  public DiscoveryCache(Duration ttl, Duration minRefreshInterval, File directory) {
+    if (ttl == null || ttl.isNegative()) {
+      throw new IllegalArgumentException("ttl must not be negative");
+    }
+    if (minRefreshInterval == null || minRefreshInterval.isNegative()) {
+      throw new IllegalArgumentException("minRefreshInterval must not be negative");
+    }
+    this.ttl = ttl.toMillis();
+    this.minRefreshInterval = Math.min(this.ttl, minRefreshInterval.toMillis());
+    this.directory = directory;
+  }
+
+  /**
+   * @return the kubectl discovery cache directory, ~/.kube/cache/discovery
+   */
+  public static File defaultDirectory() {
+    return new File(new File(new File(System.getProperty("user.home"), ".kube"), "cache"), "discovery");
+  }
+
+  /**
+   * Get the api groups of the server, using the loader if there are none cached or they are expired.
+   * Null results of the loader are not cached.
+   *
+   * @param server the server url
+   * @param loader loads the groups from the server
+   * @return the groups, or null
+   */
+  public APIGroupList getApiGroups(String server, Supplier<APIGroupList> loader) {
+    Entry<APIGroupList> entry = groups.get(server);
+    long now = System.currentTimeMillis();
+    if (entry == null || isExpired(entry, now)) {
+      entry = read(server, SERVER_GROUPS, APIGroupList.class, now);
+      if (entry == null) {
+        APIGroupList value = loader.get();
+        if (value == null) {
+          return null;
+        }
+        entry = new Entry<>(value, System.currentTimeMillis());
+        write(server, SERVER_GROUPS, value);
+      }
+      groups.put(server, entry);
+    }
+    return entry.value;
+  }
+
+  /**
+   * Get the api resources of a group version of the server, using the loader if there are none cached or they are
+   * expired. Null results of the loader are not cached.
+   *
+   * @param server the server url
+   * @param groupVersion the group version, or v1 for the core group
+   * @param loader loads the resources from the server
+   * @return the resources, or null
+   */
+  public APIResourceList getApiResources(String server, String groupVersion, Supplier<APIResourceList> loader) {
+    Map<String, Entry<APIResourceList>> serverResources = resources.computeIfAbsent(server,
+        k -> new ConcurrentHashMap<>());
+    Entry<APIResourceList> entry = serverResources.get(groupVersion);
+    long now = System.currentTimeMillis();
+    if (entry == null || isExpired(entry, now)) {
+      entry = read(server, resourcesPath(groupVersion), APIResourceList.class, now);
+      if (entry == null) {
+        APIResourceList value = loader.get();
+        if (value == null) {
+          return null;
+        }
+        // the loader may have already stored the value
+        entry = serverResources.get(groupVersion);
+        if (entry != null && entry.value == value) {
+          return value;
+        }
+        entry = new Entry<>(value, System.currentTimeMillis());
+        write(server, resourcesPath(groupVersion), value);
+      }
+      serverResources.put(groupVersion, entry);
+    }
+    return entry.value;
+  }
+
+  /**
+   * Store the api resources of a group version, such as when all of them are returned by a single aggregated
+   * discovery request
+   *
+   * @param server the server url
+   * @param groupVersion the group version, or v1 for the core group
+   * @param value the resources
+   */
+  public void putApiResources(String server, String groupVersion, APIResourceList value) {
+    resources.computeIfAbsent(server, k -> new ConcurrentHashMap<>())
+        .put(groupVersion, new Entry<>(value, System.currentTimeMillis()));
+    write(server, resourcesPath(groupVersion), value);
+  }
+
+  /**
+   * Remove the api groups of the server if they were fetched before the given time, such as when they no
+   * longer match what the server returns
+   *
+   * @param server the server url
+   * @param fetchedBefore the time in milliseconds since the epoch
+   * @return true if the groups were removed
+   */
+  public boolean invalidateApiGroups(String server, long fetchedBefore) {
+    Entry<APIGroupList> entry = groups.get(server);
+    if (entry == null || entry.fetched >= fetchedBefore) {
+      return false;
+    }
+    groups.remove(server, entry);
+    delete(server, SERVER_GROUPS);
+    return true;
+  }
+
+  /**
+   * Remove the api groups of the server after a lookup missed in them, if they were fetched before the lookup
+   * started and at least the minimum refresh interval ago
+   *
+   * @param server the server url
+   * @param lookupStart the time in milliseconds since the epoch the lookup started
+   * @return true if the groups were removed
+   */
+  public boolean invalidateApiGroupsOnMiss(String server, long lookupStart) {
+    return invalidateApiGroups(server, refreshBefore(lookupStart));
+  }
+
+  /**
+   * Remove the api resources of a group version if they were fetched before the given time
+   *
+   * @param server the server url
+   * @param groupVersion the group version, or v1 for the core group
+   * @param fetchedBefore the time in milliseconds since the epoch
+   * @return true if the resources were removed
+   */
+  public boolean invalidateApiResources(String server, String groupVersion, long fetchedBefore) {
+    Map<String, Entry<APIResourceList>> serverResources = resources.get(server);
+    Entry<APIResourceList> entry = serverResources == null ? null : serverResources.get(groupVersion);
+    if (entry == null || entry.fetched >= fetchedBefore) {
+      return false;
+    }
+    serverResources.remove(groupVersion, entry);
+    delete(server, resourcesPath(groupVersion));
+    return true;
+  }
+
+  /**
+   * Remove the api resources of a group version after a lookup missed in them, if they were fetched before the
+   * lookup started and at least the minimum refresh interval ago
+   *
+   * @param server the server url
+   * @param groupVersion the group version, or v1 for the core group
+   * @param lookupStart the time in milliseconds since the epoch the lookup started
+   * @return true if the resources were removed
+   */
+  public boolean invalidateApiResourcesOnMiss(String server, String groupVersion, long lookupStart) {
+    return invalidateApiResources(server, groupVersion, refreshBefore(lookupStart));
+  }
+
+  private long refreshBefore(long lookupStart) {
+    return Math.min(lookupStart, System.currentTimeMillis() - minRefreshInterval);
+  }
+
+  /**
+   * Remove everything cached for the server
+   *
+   * @param server the server url
+   */
+  public void invalidate(String server) {
+    groups.remove(server);
+    Map<String, Entry<APIResourceList>> serverResources = resources.remove(server);
+    if (serverResources != null) {
+      serverResources.keySet().forEach(groupVersion -> delete(server, resourcesPath(groupVersion)));
+    }
+    delete(server, SERVER_GROUPS);
+  }
+
+  private boolean isExpired(Entry<?> entry, long now) {
+    return now - entry.fetched > ttl;
+  }
+
+  private static String resourcesPath(String groupVersion) {
+    return groupVersion + "/" + SERVER_RESOURCES;
+  }
+
+  private Path file(String server, String path) {
+    if (directory == null) {
+      return null;
+    }
+    try {
+      URL url = new URL(server);
+      // like kubectl, the port is only part of the name when it is explicit in the url
+      String hostAndPort = url.getPort() == -1 ? url.getHost() : (url.getHost() + "_" + url.getPort());
+      // the same sanitizing of the host as kubectl
+      String host = hostAndPort.replaceAll("[^a-zA-Z0-9_.-]", "_");
+      return directory.toPath().resolve(host).resolve(path);
+    } catch (MalformedURLException e) {
+      return null;
+    }
+  }
+
+  private <T> Entry<T> read(String server, String path, Class<T> type, long now) {
+    Path file = file(server, path);
+    if (file == null || !Files.isRegularFile(file)) {
+      return null;
+    }
+    try {
+      long fetched = Files.getLastModifiedTime(file).toMillis();
+      if (now - fetched > ttl) {
+        return null;
+      }
+      try (InputStream is = Files.newInputStream(file)) {
+        return new Entry<>(Serialization.unmarshal(is, type), fetched);
+      }
+    } catch (IOException | KubernetesClientException e) {
+      LOGGER.debug("Could not read the discovery cache file {}", file, e);
+      return null;
+    }
+  }
+
+  private void write(String server, String path, Object value) {
+    Path file = file(server, path);
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      // written to a temporary file first so that concurrent readers never see a partial file
+      Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temp, Serialization.asJson(value).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Could not write the discovery cache file {}", file, e);
+    }
+  }
+
+  private void delete(String server, String path) {
+    Path file = file(server, path);
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.debug("Could not delete the discovery cache file {}", file, e);
+    }
+  }
+
+}
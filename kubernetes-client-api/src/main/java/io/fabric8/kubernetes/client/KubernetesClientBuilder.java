@@ -18,18 +18,23 @@ package io.fabric8.kubernetes.client;
 
 import io.fabric8.kubernetes.client.http.HttpClient;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.cache.IndexMode;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
 import io.fabric8.kubernetes.client.utils.HttpClientUtils;
 import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.kubernetes.client.utils.Utils;
 
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * If no {@link Executor} or {@link ExecutorSupplier} is specified, a default {@link ExecutorSupplier} will
- * be used which creates an unbounded cached thread pool per client.
+ * be used which creates an unbounded cached thread pool per client, or a virtual thread per task executor
+ * if {@link #withVirtualThreads(boolean)} is enabled.
  */
 public class KubernetesClientBuilder {
 
@@ -42,11 +47,27 @@ public class KubernetesClientBuilder {
 
   }
 
+  private static final ExecutorSupplier VIRTUAL_THREAD_EXECUTOR_SUPPLIER = new ExecutorSupplier() {
+
+    @Override
+    public Executor get() {
+      return Utils.newVirtualThreadPerTaskExecutor(this);
+    }
+
+    @Override
+    public void onClose(Executor executor) {
+      ((ExecutorService) executor).shutdownNow();
+    }
+
+  };
+
   private Config config;
   private HttpClient.Factory factory;
   private Class<KubernetesClient> clazz;
   private ExecutorSupplier executorSupplier;
   private Consumer<HttpClient.Builder> builderConsumer;
+  private boolean virtualThreads;
+  private DiscoveryCache discoveryCache;
 
   public KubernetesClientBuilder() {
     // basically the same logic as in KubernetesResourceUtil for finding list types
@@ -75,8 +96,16 @@ public class KubernetesClientBuilder {
         this.factory = HttpClientUtils.getHttpClientFactory();
       }
       HttpClient client = getHttpClient();
+      ExecutorSupplier supplier = executorSupplier;
+      if (supplier == null && virtualThreads) {
+        supplier = VIRTUAL_THREAD_EXECUTOR_SUPPLIER;
+      }
+      if (discoveryCache != null) {
+        return clazz.getConstructor(HttpClient.class, Config.class, ExecutorSupplier.class, DiscoveryCache.class)
+            .newInstance(client, config, supplier, discoveryCache);
+      }
       return clazz.getConstructor(HttpClient.class, Config.class, ExecutorSupplier.class).newInstance(client, config,
-          executorSupplier);
+          supplier);
     } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
         | NoSuchMethodException | SecurityException e) {
       throw KubernetesClientException.launderThrowable(e);
@@ -85,6 +114,9 @@ public class KubernetesClientBuilder {
 
   HttpClient getHttpClient() {
     HttpClient.Builder builder = factory.newBuilder(config);
+    if (virtualThreads) {
+      builder.virtualThreads(true);
+    }
     if (this.builderConsumer != null) {
       this.builderConsumer.accept(builder);
     }
@@ -139,6 +171,43 @@ public class KubernetesClientBuilder {
     return this;
   }
 
+  /**
+   * Run the client's async tasks, such as {@link ResourceEventHandler} calls, and the tasks of the {@link HttpClient}
+   * on virtual threads. Blocking calls such as get or list may then also be made from virtual threads without
+   * holding a platform thread while waiting for the response.
+   * <p>
+   * Virtual threads require java 21 or later, otherwise platform threads are used. An executor set with
+   * {@link #withTaskExecutor(Executor)} or {@link #withTaskExecutorSupplier(ExecutorSupplier)} takes precedence for
+   * the async tasks, and only http client implementations that manage their own executor, such as the jdk client,
+   * make use of this setting.
+   * <p>
+   * Informer cache writes, and reads unless using {@link IndexMode#CONCURRENT}, are guarded by a monitor, and
+   * before java 24 a virtual thread blocked on or holding a monitor pins its carrier. Index functions and a custom
+   * {@link ItemStore} run while the monitor is held, so they should not block.
+   *
+   * @param virtualThreads true to use virtual threads
+   * @return this builder
+   */
+  public KubernetesClientBuilder withVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return this;
+  }
+
+  /**
+   * Cache the api discovery results used by {@link Client#supports(Class)}, {@link Client#hasApiGroup(String, boolean)},
+   * {@link Client#getApiGroups()}, {@link Client#getApiResources(String)} and generic resource operations.
+   * <p>
+   * The same cache may be shared by several clients. Use a cache with a directory, such as
+   * {@link DiscoveryCache#defaultDirectory()}, to reuse the results across processes.
+   *
+   * @param discoveryCache the cache, or null to always query the server
+   * @return this builder
+   */
+  public KubernetesClientBuilder withDiscoveryCache(DiscoveryCache discoveryCache) {
+    this.discoveryCache = discoveryCache;
+    return this;
+  }
+
   /**
    * Provide additional configuration for the {@link HttpClient} that is created for this {@link KubernetesClient}.
    *
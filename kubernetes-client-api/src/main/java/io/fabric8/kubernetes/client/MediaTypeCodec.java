@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes resources served in a media type other than json, such as {@code application/vnd.kubernetes.protobuf}.
+ * <p>
+ * Codecs are opted into by placing an implementation on the classpath, they are discovered with the
+ * {@link java.util.ServiceLoader}. When a codec supports the type of a get or list response, its media type is
+ * accepted ahead of json. The server may still respond with json, for example for custom resources, in which case
+ * json is decoded as usual. As the server responds to a failed request with a
+ * {@link io.fabric8.kubernetes.api.model.Status} in the accepted media type, a codec is only used if it also
+ * supports the Status type. Other requests, such as create or patch, only accept json.
+ */
+public interface MediaTypeCodec {
+
+  /**
+   * @return the media type, for example {@code application/vnd.kubernetes.protobuf}
+   */
+  String getMediaType();
+
+  /**
+   * @param type the resource or list type
+   * @return true if responses of this type can be decoded
+   */
+  boolean supports(Class<?> type);
+
+  /**
+   * Decode a response body.
+   *
+   * @param body the response body in the media type of this codec
+   * @param type the resource or list type
+   * @param <T> the resource or list type
+   * @return the decoded value
+   * @throws IOException if the body cannot be decoded
+   */
+  <T> T decode(InputStream body, Class<T> type) throws IOException;
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl;
+
+import io.fabric8.kubernetes.api.model.StatusDetails;
+
+import java.util.List;
+
+/**
+ * Applies the items of a list concurrently.
+ * <p>
+ * The items are applied in the same order of kinds as Helm installs them - Namespaces, then the resources the
+ * workloads depend on such as ServiceAccounts, Secrets and CustomResourceDefinitions, then the workloads, with
+ * custom resources and other unknown kinds last. The items of one kind are applied concurrently, but the next kind
+ * is not started until all items of the previous kind are done. Deletes use the reverse order.
+ * <p>
+ * The failure of an item does not stop the others. The results are returned in the order of the items.
+ *
+ * @param <T> the item type
+ */
+public interface BulkOperation<T> {
+
+  /**
+   * The fieldManager to use for {@link #serverSideApply()}, the default is "fabric8"
+   *
+   * @param manager the field manager
+   * @return {@link BulkOperation} for continued operations
+   */
+  BulkOperation<T> fieldManager(String manager);
+
+  /**
+   * Force {@link #serverSideApply()} to take ownership over conflicting fields.
+   *
+   * @return {@link BulkOperation} for continued operations
+   */
+  BulkOperation<T> forceConflicts();
+
+  /**
+   * Create the items, see {@link Resource#create()}
+   *
+   * @return the result of each item
+   */
+  List<BulkResult<T, T>> create();
+
+  /**
+   * Create or replace the items, see {@link Resource#createOrReplace()}
+   *
+   * @return the result of each item
+   */
+  List<BulkResult<T, T>> createOrReplace();
+
+  /**
+   * Server side apply the items, see {@link Resource#serverSideApply()}
+   *
+   * @return the result of each item
+   */
+  List<BulkResult<T, T>> serverSideApply();
+
+  /**
+   * Delete the items, see {@link Resource#delete()}
+   *
+   * @return the result of each item
+   */
+  List<BulkResult<T, List<StatusDetails>>> delete();
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl;
+
+/**
+ * The outcome of a {@link BulkOperation} for a single item
+ *
+ * @param <T> the item type
+ * @param <R> the result type
+ */
+public class BulkResult<T, R> {
+
+  private final T item;
+  private final R result;
+  private final Throwable error;
+
+  public BulkResult(T item, R result, Throwable error) {
+    this.item = item;
+    this.result = result;
+    this.error = error;
+  }
+
+  /**
+   * @return the item the operation was performed on
+   */
+  public T getItem() {
+    return item;
+  }
+
+  /**
+   * @return the result of the operation, or null if it failed
+   */
+  public R getResult() {
+    return result;
+  }
+
+  /**
+   * @return the failure of the operation, or null if it was successful
+   */
+  public Throwable getError() {
+    return error;
+  }
+
+  public boolean isSuccessful() {
+    return error == null;
+  }
+
+}
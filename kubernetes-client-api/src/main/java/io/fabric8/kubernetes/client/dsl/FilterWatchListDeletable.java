@@ -15,6 +15,10 @@
  */
 package io.fabric8.kubernetes.client.dsl;
 
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ListOptions;
+
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public interface FilterWatchListDeletable<T, L, R>
@@ -37,4 +41,15 @@ public interface FilterWatchListDeletable<T, L, R>
    */
   Stream<R> resources();
 
+  /**
+   * Perform a list operation, passing each item to the consumer as it is read from the response
+   * rather than materializing the whole list. Subsequent pages are requested when the server
+   * returns a continue token.
+   *
+   * @param listOptions the options for the list request
+   * @param itemConsumer called with each item
+   * @return the {@link ListMeta} of the final page
+   */
+  ListMeta list(ListOptions listOptions, Consumer<? super T> itemConsumer);
+
 }
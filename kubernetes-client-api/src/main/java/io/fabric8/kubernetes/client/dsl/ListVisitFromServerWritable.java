@@ -20,4 +20,12 @@ import java.util.List;
 public interface ListVisitFromServerWritable<T> extends
     DeletableWithOptions, CreateOrReplaceable<List<T>>, FieldValidateable<CreateOrReplaceable<List<T>>> {
 
+  /**
+   * Perform the operations on the items concurrently, see {@link BulkOperation}
+   *
+   * @param parallelism the maximum number of items in flight
+   * @return {@link BulkOperation} for the items
+   */
+  BulkOperation<T> inParallel(int parallelism);
+
 }
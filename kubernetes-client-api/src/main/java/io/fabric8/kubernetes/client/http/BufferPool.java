@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of direct buffers for websocket frames, see {@link HttpClient.Builder#bufferPool(BufferPool)}.
+ * <p>
+ * Buffers are handed out as reference counted {@link PooledBuffer}s and return to the pool when their last reference
+ * is released. A new buffer is allocated when none is free, and at most maxPooled free buffers are kept, so once
+ * the pool has warmed up a steady stream of frames allocates no new buffers. Requests for more than the buffer size
+ * are served with heap buffers that are not pooled.
+ */
+public class BufferPool {
+
+  public static final int DEFAULT_BUFFER_SIZE = 32 * 1024;
+  public static final int DEFAULT_MAX_POOLED = 64;
+
+  private final int bufferSize;
+  private final int maxPooled;
+  private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger freeCount = new AtomicInteger();
+  private final AtomicLong allocations = new AtomicLong();
+
+  public BufferPool() {
+    this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+  }
+
+  /**
+   * @param bufferSize the capacity of the pooled buffers
+   * @param maxPooled the maximum number of free buffers kept by the pool
+   */
+  public BufferPool(int bufferSize, int maxPooled) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("bufferSize must be at least 1");
+    }
+    if (maxPooled < 0) {
+      throw new IllegalArgumentException("maxPooled must not be negative");
+    }
+    this.bufferSize = bufferSize;
+    this.maxPooled = maxPooled;
+  }
+
+  /**
+   * Acquire a cleared buffer with at least the given capacity
+   *
+   * @param capacity the required capacity
+   * @return the buffer, holding a single reference
+   */
+  public PooledBuffer acquire(int capacity) {
+    if (capacity > bufferSize) {
+      return new PooledBuffer(null, ByteBuffer.allocate(capacity));
+    }
+    ByteBuffer buffer = free.poll();
+    if (buffer != null) {
+      freeCount.decrementAndGet();
+      buffer.clear();
+    } else {
+      allocations.incrementAndGet();
+      buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+    return new PooledBuffer(this, buffer);
+  }
+
+  /**
+   * Acquire a buffer holding a copy of the remaining bytes of the given buffer, whose position is not changed
+   *
+   * @param source the bytes to copy
+   * @return the flipped buffer, holding a single reference
+   */
+  public PooledBuffer copyOf(ByteBuffer source) {
+    PooledBuffer pooled = acquire(source.remaining());
+    pooled.buffer().put(source.duplicate()).flip();
+    return pooled;
+  }
+
+  void recycle(ByteBuffer buffer) {
+    if (freeCount.incrementAndGet() <= maxPooled) {
+      free.offer(buffer);
+    } else {
+      freeCount.decrementAndGet();
+    }
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * @return the number of pooled buffers allocated so far
+   */
+  public long getAllocations() {
+    return allocations.get();
+  }
+
+  /**
+   * @return the number of free buffers held by the pool
+   */
+  public int getFree() {
+    return freeCount.get();
+  }
+
+}
@@ -156,6 +156,73 @@ public interface HttpClient extends AutoCloseable {
     Builder tlsVersions(TlsVersion... tlsVersions);
 
     Builder preferHttp11();
+
+    /**
+     * Delay requests with the given {@link RateLimiter} before they are sent. The limiter is shared by
+     * all clients derived from the built client.
+     *
+     * @param rateLimiter the limiter, or null for none
+     * @return this builder
+     */
+    Builder rateLimiter(RateLimiter rateLimiter);
+
+    /**
+     * Limit retries across all requests with the given {@link RetryBudget}, and add a random jitter to
+     * retry intervals. The budget is shared by all clients derived from the built client. By default
+     * retries are not limited across requests and no jitter is added.
+     *
+     * @param retryBudget the budget, or null for no limit
+     * @return this builder
+     */
+    Builder retryBudget(RetryBudget retryBudget);
+
+    /**
+     * Observe the lifecycle of every request with the given {@link RequestObserver}, such as to record latency
+     * or to trace requests. The observer is shared by all clients derived from the built client.
+     *
+     * @param requestObserver the observer, or null for none
+     * @return this builder
+     */
+    Builder requestObserver(RequestObserver requestObserver);
+
+    /**
+     * Receive and send websocket frames with buffers from the given {@link BufferPool} rather than allocating
+     * new buffers for each frame. Listeners receive the frames with
+     * {@link WebSocket.Listener#onMessage(WebSocket, PooledBuffer)}. The pool is shared by all clients derived
+     * from the built client.
+     * <p>
+     * Implementations that do not copy frames ignore this setting.
+     *
+     * @param bufferPool the pool, or null for none
+     * @return this builder
+     */
+    Builder bufferPool(BufferPool bufferPool);
+
+    /**
+     * Run the tasks of the built client on virtual threads when supported by the jvm. Implementations
+     * that do not manage their own executor ignore this setting.
+     *
+     * @param virtualThreads true to use virtual threads
+     * @return this builder
+     */
+    Builder virtualThreads(boolean virtualThreads);
+
+    /**
+     * Multiplex requests, including watches, as HTTP/2 streams over a limited number of connections per host.
+     * <p>
+     * Another connection is only used once each existing connection carries the maximum number of concurrent
+     * streams. When all of the connections are at that maximum, further requests are sent over the least loaded
+     * connection. Watches are made as streamed http requests rather than over websockets, which are not
+     * multiplexed. The connections are shared by all clients derived from the built client.
+     * <p>
+     * Has no effect with {@link #preferHttp11()}, or with implementations that do not support it.
+     *
+     * @param maxConnections the maximum number of connections per host
+     * @param maxStreamsPerConnection the maximum number of concurrent streams per connection, which should
+     *        not exceed the limit set by the server. 0 disables multiplexing
+     * @return this builder
+     */
+    Builder multiplexing(int maxConnections, int maxStreamsPerConnection);
   }
 
   @Override
@@ -170,6 +237,14 @@ public interface HttpClient extends AutoCloseable {
    */
   DerivedClientBuilder newBuilder();
 
+  /**
+   * @return true if requests are multiplexed over a limited number of HTTP/2 connections
+   * @see Builder#multiplexing(int, int)
+   */
+  default boolean isMultiplexed() {
+    return false;
+  }
+
   /**
    * Send an async request
    * <br>
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import io.fabric8.kubernetes.client.http.AsyncBody.Consumer;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest.BodyContent;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest.ByteArrayBodyContent;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest.InputStreamBodyContent;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest.StringBodyContent;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a request for its {@link RequestObserver.Observation}. {@link #NONE} is used when there is no observer.
+ */
+class ObservedRequest {
+
+  static final ObservedRequest NONE = new ObservedRequest(null);
+
+  private final RequestObserver.Observation observation;
+  private final AtomicLong bytesSent = new AtomicLong();
+  private final AtomicLong bytesReceived = new AtomicLong();
+  private final AtomicBoolean completed = new AtomicBoolean();
+
+  private ObservedRequest(RequestObserver.Observation observation) {
+    this.observation = observation;
+  }
+
+  static ObservedRequest start(RequestObserver observer, HttpRequest request) {
+    if (observer == null) {
+      return NONE;
+    }
+    return new ObservedRequest(observer.requestStarted(request, RequestInfo.from(request)));
+  }
+
+  boolean isObserved() {
+    return observation != null;
+  }
+
+  Consumer<List<ByteBuffer>> counting(Consumer<List<ByteBuffer>> consumer) {
+    if (observation == null) {
+      return consumer;
+    }
+    return (buffers, body) -> {
+      long size = 0;
+      for (ByteBuffer buffer : buffers) {
+        size += buffer.remaining();
+      }
+      bytesReceived.addAndGet(size);
+      consumer.consume(buffers, body);
+    };
+  }
+
+  void beforeSend(BasicBuilder builder) {
+    if (observation != null) {
+      observation.beforeSend(builder);
+    }
+  }
+
+  void sent(StandardHttpRequest request) {
+    if (observation != null) {
+      bytesSent.addAndGet(size(request.body()));
+    }
+  }
+
+  void responseReceived(HttpResponse<?> response) {
+    if (observation != null && response != null) {
+      observation.responseReceived(response);
+    }
+  }
+
+  void retrying(HttpResponse<?> response, Throwable failure, long delayMillis) {
+    if (observation != null) {
+      observation.retrying(response, failure, delayMillis);
+    }
+  }
+
+  void completed(int code, Throwable failure) {
+    if (observation != null && completed.compareAndSet(false, true)) {
+      observation.completed(code, failure, bytesSent.get(), bytesReceived.get());
+    }
+  }
+
+  static long size(BodyContent body) {
+    if (body instanceof StringBodyContent) {
+      String content = ((StringBodyContent) body).getContent();
+      return content == null ? 0 : utf8Length(content);
+    }
+    if (body instanceof ByteArrayBodyContent) {
+      return ((ByteArrayBodyContent) body).getContent().length;
+    }
+    if (body instanceof InputStreamBodyContent) {
+      return Math.max(0, ((InputStreamBodyContent) body).getLength());
+    }
+    return 0;
+  }
+
+  /**
+   * The encoded length, without encoding the string
+   */
+  static long utf8Length(String value) {
+    long length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+}
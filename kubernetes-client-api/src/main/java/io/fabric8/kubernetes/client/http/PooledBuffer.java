@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A reference counted buffer from a {@link BufferPool}. The buffer must not be used after the last reference
+ * is released, as it is then handed out again by the pool.
+ */
+public final class PooledBuffer {
+
+  private final BufferPool pool;
+  private final ByteBuffer buffer;
+  private final AtomicInteger references = new AtomicInteger(1);
+
+  PooledBuffer(BufferPool pool, ByteBuffer buffer) {
+    this.pool = pool;
+    this.buffer = buffer;
+  }
+
+  public ByteBuffer buffer() {
+    return buffer;
+  }
+
+  /**
+   * Add a reference, which must be released separately
+   *
+   * @return this buffer
+   */
+  public PooledBuffer retain() {
+    if (references.getAndUpdate(r -> r > 0 ? r + 1 : r) <= 0) {
+      throw new IllegalStateException("buffer already released");
+    }
+    return this;
+  }
+
+  /**
+   * Release a reference, returning the buffer to its pool when it was the last
+   */
+  public void release() {
+    int remaining = references.decrementAndGet();
+    if (remaining == 0) {
+      if (pool != null) {
+        pool.recycle(buffer);
+      }
+    } else if (remaining < 0) {
+      references.incrementAndGet();
+      throw new IllegalStateException("buffer already released");
+    }
+  }
+
+  int references() {
+    return references.get();
+  }
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A stage of the {@link StandardHttpClient} that may delay requests before they are sent,
+ * see {@link HttpClient.Builder#rateLimiter(RateLimiter)}.
+ * <p>
+ * It applies to each attempt of a request, including retries and websocket upgrades, and is shared by
+ * all clients derived from the one it is set on.
+ */
+public interface RateLimiter {
+
+  /**
+   * Wait for permission to send the request.
+   * <p>
+   * Cancelling the returned future gives up the wait without consuming a permit.
+   *
+   * @param request the request to send
+   * @return a future that completes when the request may be sent
+   */
+  CompletableFuture<Void> acquire(HttpRequest request);
+
+}
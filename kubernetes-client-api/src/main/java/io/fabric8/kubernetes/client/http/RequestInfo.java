@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The verb and resource of a request, derived from its method and path in the same way as the api server does.
+ * <p>
+ * Requests that are not to a resource path, such as /version, only have a verb, which is the lower case method.
+ */
+public final class RequestInfo {
+
+  private static final Set<String> NAMESPACE_SUBRESOURCES = new HashSet<>(Arrays.asList("status", "finalize"));
+
+  private final String verb;
+  private final String group;
+  private final String resource;
+  private final String subresource;
+  private final String namespace;
+  private final String name;
+
+  private RequestInfo(String verb, String group, String resource, String subresource, String namespace, String name) {
+    this.verb = verb;
+    this.group = group;
+    this.resource = resource;
+    this.subresource = subresource;
+    this.namespace = namespace;
+    this.name = name;
+  }
+
+  public static RequestInfo from(HttpRequest request) {
+    return from(request.method(), request.uri());
+  }
+
+  static RequestInfo from(String method, URI uri) {
+    String[] parts = Arrays.stream(String.valueOf(uri.getPath()).split("/")).filter(s -> !s.isEmpty())
+        .toArray(String[]::new);
+    int index;
+    String group = null;
+    if (parts.length > 2 && "api".equals(parts[0])) {
+      group = "";
+      index = 2;
+    } else if (parts.length > 3 && "apis".equals(parts[0])) {
+      group = parts[1];
+      index = 3;
+    } else {
+      return new RequestInfo(method.toLowerCase(Locale.ROOT), null, null, null, null, null);
+    }
+    boolean watch = isWatch(uri.getRawQuery());
+    if ("watch".equals(parts[index]) && parts.length > index + 1) {
+      // the deprecated watch path prefix
+      watch = true;
+      index++;
+    }
+    String namespace = null;
+    if ("namespaces".equals(parts[index]) && parts.length > index + 2
+        && !NAMESPACE_SUBRESOURCES.contains(parts[index + 2])) {
+      namespace = parts[index + 1];
+      index += 2;
+    }
+    String resource = parts[index];
+    String name = parts.length > index + 1 ? parts[index + 1] : null;
+    String subresource = parts.length > index + 2 ? parts[index + 2] : null;
+    if ("namespaces".equals(resource)) {
+      namespace = name;
+    }
+    return new RequestInfo(verb(method, name != null, watch), group, resource, subresource, namespace, name);
+  }
+
+  private static String verb(String method, boolean named, boolean watch) {
+    switch (method.toUpperCase(Locale.ROOT)) {
+      case "GET":
+      case "HEAD":
+        if (watch) {
+          return "watch";
+        }
+        return named ? "get" : "list";
+      case "POST":
+        return "create";
+      case "PUT":
+        return "update";
+      case "PATCH":
+        return "patch";
+      case "DELETE":
+        return named ? "delete" : "deletecollection";
+      default:
+        return method.toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private static boolean isWatch(String query) {
+    if (query == null) {
+      return false;
+    }
+    for (String parameter : query.split("&")) {
+      if ("watch=true".equals(parameter) || "watch=1".equals(parameter)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the kubernetes verb, such as list or watch
+   */
+  public String getVerb() {
+    return verb;
+  }
+
+  /**
+   * @return the api group, which is empty for the core group, or null if this is not a resource request
+   */
+  public String getGroup() {
+    return group;
+  }
+
+  /**
+   * @return the plural resource name, or null if this is not a resource request
+   */
+  public String getResource() {
+    return resource;
+  }
+
+  public String getSubresource() {
+    return subresource;
+  }
+
+  public String getNamespace() {
+    return namespace;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return "RequestInfo [verb=" + verb + ", group=" + group + ", resource=" + resource + ", subresource=" + subresource
+        + ", namespace=" + namespace + ", name=" + name + "]";
+  }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+/**
+ * Observes the requests of a {@link HttpClient}, see {@link HttpClient.Builder#requestObserver(RequestObserver)}.
+ * <p>
+ * A request is observed from the call to {@link HttpClient#consumeBytes}, {@link HttpClient#sendAsync}, or to build a
+ * websocket, until its response body is done or the websocket is open, so that time spent waiting for the
+ * {@link RateLimiter}, in {@link Interceptor}s and between retries is included.
+ * <p>
+ * All methods default to doing nothing. Implementations are called inline with the request processing, possibly from
+ * several threads, so they should be thread-safe and return quickly.
+ */
+public interface RequestObserver {
+
+  /**
+   * Receives the callbacks for a single request
+   */
+  interface Observation {
+
+    Observation NOOP = new Observation() {
+    };
+
+    /**
+     * Called before each attempt is sent, after the {@link Interceptor}s, such as to add tracing headers.
+     *
+     * @param builder used to modify the request
+     */
+    default void beforeSend(BasicBuilder builder) {
+    }
+
+    /**
+     * Called when the response headers of an attempt are received, which is not done for websockets.
+     *
+     * @param response the response, whose body may still be in progress
+     */
+    default void responseReceived(HttpResponse<?> response) {
+    }
+
+    /**
+     * Called when a failed attempt will be retried.
+     *
+     * @param response the failed response, or null if there is none
+     * @param failure the failure, or null if there is a response
+     * @param delayMillis the delay before the retry
+     */
+    default void retrying(HttpResponse<?> response, Throwable failure, long delayMillis) {
+    }
+
+    /**
+     * Called once when the request completes.
+     *
+     * @param code the final response code, 101 for an open websocket, or 0 if there is no response
+     * @param failure the failure, or null if the request, including its response body, completed normally
+     * @param bytesSent the size of the request bodies across all attempts, not counting streamed bodies of
+     *        unknown length
+     * @param bytesReceived the size of the response bodies that were consumed, not counting websocket messages
+     */
+    default void completed(int code, Throwable failure, long bytesSent, long bytesReceived) {
+    }
+
+  }
+
+  /**
+   * Called when a request is started.
+   *
+   * @param request the request before any {@link Interceptor}s are applied
+   * @param info the verb and resource of the request
+   * @return the observation of the request, which receives its further callbacks
+   */
+  default Observation requestStarted(HttpRequest request, RequestInfo info) {
+    return Observation.NOOP;
+  }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the retries of the {@link StandardHttpClient} across all of its requests, see
+ * {@link HttpClient.Builder#retryBudget(RetryBudget)}, and counts them by cause.
+ * <p>
+ * This follows the gRPC retry throttling scheme: each retryable failure takes a token, each other response
+ * returns a fraction of one, and retries are only allowed while more than half of the tokens are left. A burst of
+ * failures across many concurrent requests therefore quickly stops retrying instead of multiplying the load on an
+ * already overloaded server, while an occasional failure is still retried.
+ */
+public class RetryBudget {
+
+  public static final int DEFAULT_MAX_TOKENS = 100;
+  public static final double DEFAULT_TOKEN_RATIO = 0.1;
+
+  /**
+   * Why a request was considered for a retry
+   */
+  public enum Cause {
+    /**
+     * A 429 response, such as from API Priority and Fairness
+     */
+    TOO_MANY_REQUESTS,
+    /**
+     * A 5xx response
+     */
+    SERVER_ERROR,
+    /**
+     * An IOException
+     */
+    IO_EXCEPTION
+  }
+
+  private final double maxTokens;
+  private final double tokenRatio;
+  private double tokens;
+  private final Map<Cause, AtomicLong> retries = new EnumMap<>(Cause.class);
+  private final AtomicLong denied = new AtomicLong();
+
+  public RetryBudget() {
+    this(DEFAULT_MAX_TOKENS, DEFAULT_TOKEN_RATIO);
+  }
+
+  /**
+   * @param maxTokens the number of tokens, retries stop when half of them are taken
+   * @param tokenRatio the fraction of a token each response that is not a retryable failure returns
+   */
+  public RetryBudget(int maxTokens, double tokenRatio) {
+    if (maxTokens < 1) {
+      throw new IllegalArgumentException("maxTokens must be at least 1");
+    }
+    if (tokenRatio <= 0) {
+      throw new IllegalArgumentException("tokenRatio must be positive");
+    }
+    this.maxTokens = maxTokens;
+    this.tokenRatio = tokenRatio;
+    this.tokens = maxTokens;
+    for (Cause cause : Cause.values()) {
+      retries.put(cause, new AtomicLong());
+    }
+  }
+
+  /**
+   * Record a retryable failure and determine if it may be retried.
+   *
+   * @param cause the cause of the failure
+   * @return true if the request should be retried
+   */
+  public boolean tryRetry(Cause cause) {
+    boolean allowed;
+    synchronized (this) {
+      tokens = Math.max(0, tokens - 1);
+      allowed = tokens > maxTokens / 2;
+    }
+    if (allowed) {
+      retries.get(cause).incrementAndGet();
+    } else {
+      denied.incrementAndGet();
+    }
+    return allowed;
+  }
+
+  /**
+   * Record a response that is not a retryable failure.
+   */
+  public synchronized void onSuccess() {
+    tokens = Math.min(maxTokens, tokens + tokenRatio);
+  }
+
+  /**
+   * @param cause the cause
+   * @return the number of retries attempted for the cause
+   */
+  public long getRetries(Cause cause) {
+    return retries.get(cause).get();
+  }
+
+  /**
+   * @return the number of retryable failures that were not retried because the budget was exhausted
+   */
+  public long getDenied() {
+    return denied.get();
+  }
+
+  /**
+   * @return the tokens currently left
+   */
+  public synchronized double getTokens() {
+    return tokens;
+  }
+
+}
@@ -29,9 +29,15 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -42,6 +48,11 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
 
   private static final Logger LOG = LoggerFactory.getLogger(StandardHttpClient.class);
 
+  private static final int HTTP_SWITCHING_PROTOCOLS = 101;
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final String RETRY_AFTER = "Retry-After";
+  private static final double RETRY_JITTER_FACTOR = 0.2;
+
   protected StandardHttpClientBuilder<C, F, T> builder;
 
   protected StandardHttpClient(StandardHttpClientBuilder<C, F, T> builder) {
@@ -75,22 +86,37 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
   @Override
   public CompletableFuture<HttpResponse<AsyncBody>> consumeBytes(HttpRequest request, Consumer<List<ByteBuffer>> consumer) {
     CompletableFuture<HttpResponse<AsyncBody>> result = new CompletableFuture<>();
+    ObservedRequest observed = ObservedRequest.start(builder.getRequestObserver(), request);
+    Consumer<List<ByteBuffer>> counting = observed.counting(consumer);
 
-    retryWithExponentialBackoff(result, () -> consumeBytesOnce(request, consumer), request.uri(), HttpResponse::code,
-        r -> r.body().cancel());
+    retryResponseWithExponentialBackoff(result, () -> consumeBytesOnce(request, counting, observed), request.uri(),
+        r -> r, r -> r.body().cancel(), observed);
+    if (observed.isObserved()) {
+      result.whenComplete((r, t) -> {
+        if (t != null) {
+          observed.completed(0, t);
+        } else {
+          r.body().done().whenComplete((v, e) -> observed.completed(r.code(), e));
+        }
+      });
+    }
     return result;
   }
 
   private CompletableFuture<HttpResponse<AsyncBody>> consumeBytesOnce(HttpRequest request,
-      Consumer<List<ByteBuffer>> consumer) {
+      Consumer<List<ByteBuffer>> consumer, ObservedRequest observed) {
     StandardHttpRequest standardHttpRequest = (StandardHttpRequest) request;
     StandardHttpRequest.Builder copy = standardHttpRequest.newBuilder();
     for (Interceptor interceptor : builder.getInterceptors().values()) {
       interceptor.before(copy, standardHttpRequest, this);
       standardHttpRequest = copy.build();
     }
+    if (observed.isObserved()) {
+      observed.beforeSend(copy);
+      standardHttpRequest = copy.build();
+    }
 
-    CompletableFuture<HttpResponse<AsyncBody>> cf = consumeBytesDirect(standardHttpRequest, consumer);
+    CompletableFuture<HttpResponse<AsyncBody>> cf = consumeBytesLimited(standardHttpRequest, consumer, observed);
 
     for (Interceptor interceptor : builder.getInterceptors().values()) {
       cf = cf.thenCompose(response -> {
@@ -100,7 +126,8 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
                 if (Boolean.TRUE.equals(b)) {
                   // before starting another request, make sure the old one is cancelled / closed
                   response.body().cancel();
-                  return consumeBytesDirect(copy.build(), consumer);
+                  observed.retrying(response, null, 0);
+                  return consumeBytesLimited(copy.build(), consumer, observed);
                 }
                 return CompletableFuture.completedFuture(response);
               });
@@ -111,6 +138,28 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
     return cf;
   }
 
+  private CompletableFuture<HttpResponse<AsyncBody>> consumeBytesLimited(StandardHttpRequest request,
+      Consumer<List<ByteBuffer>> consumer, ObservedRequest observed) {
+    if (!observed.isObserved()) {
+      return limit(request, () -> consumeBytesDirect(request, consumer));
+    }
+    return limit(request, () -> {
+      observed.sent(request);
+      return consumeBytesDirect(request, consumer);
+    }).whenComplete((r, t) -> observed.responseReceived(r));
+  }
+
+  /**
+   * Perform the action once the {@link RateLimiter}, if any, allows the request to be sent
+   */
+  private <V> CompletableFuture<V> limit(HttpRequest request, Supplier<CompletableFuture<V>> action) {
+    RateLimiter rateLimiter = builder.getRateLimiter();
+    if (rateLimiter == null) {
+      return action.get();
+    }
+    return rateLimiter.acquire(request).thenCompose(v -> action.get());
+  }
+
   private static <V> BiConsumer<? super V, ? super Throwable> completeOrCancel(java.util.function.Consumer<V> cancel,
       final CompletableFuture<V> result) {
     return (r, t) -> {
@@ -126,45 +175,147 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
 
   /**
    * Will retry the action if needed based upon the retry settings provided by the ExponentialBackoffIntervalCalculator.
+   * <p>
+   * Only 5xx responses and IOExceptions are retried, see
+   * {@link #retryResponseWithExponentialBackoff(CompletableFuture, Supplier, URI, Function, java.util.function.Consumer, ExponentialBackoffIntervalCalculator)}
+   * to also retry 429 responses and honor Retry-After.
    */
   protected <V> void retryWithExponentialBackoff(CompletableFuture<V> result,
       Supplier<CompletableFuture<V>> action, URI uri, Function<V, Integer> codeExtractor,
       java.util.function.Consumer<V> cancel, ExponentialBackoffIntervalCalculator retryIntervalCalculator) {
+    retryResponseWithExponentialBackoff(result, action, uri, codeResponse(codeExtractor), cancel,
+        retryIntervalCalculator);
+  }
+
+  protected <V> void retryWithExponentialBackoff(CompletableFuture<V> result,
+      Supplier<CompletableFuture<V>> action, URI uri, Function<V, Integer> codeExtractor,
+      java.util.function.Consumer<V> cancel) {
+    retryResponseWithExponentialBackoff(result, action, uri, codeResponse(codeExtractor), cancel);
+  }
+
+  /**
+   * Will retry the action if needed based upon the retry settings provided by the ExponentialBackoffIntervalCalculator.
+   * <p>
+   * 5xx responses, 429 responses with a Retry-After header, and IOExceptions are retried. A Retry-After header on
+   * the response takes precedence over the backoff interval, up to the maximum backoff interval. When a
+   * {@link RetryBudget} is set, retries are subject to it and a random jitter is added to the interval.
+   */
+  protected <V> void retryResponseWithExponentialBackoff(CompletableFuture<V> result,
+      Supplier<CompletableFuture<V>> action, URI uri, Function<V, HttpResponse<?>> responseExtractor,
+      java.util.function.Consumer<V> cancel, ExponentialBackoffIntervalCalculator retryIntervalCalculator) {
+    retryResponseWithExponentialBackoff(result, action, uri, responseExtractor, cancel, retryIntervalCalculator,
+        ObservedRequest.NONE);
+  }
+
+  private <V> void retryResponseWithExponentialBackoff(CompletableFuture<V> result,
+      Supplier<CompletableFuture<V>> action, URI uri, Function<V, HttpResponse<?>> responseExtractor,
+      java.util.function.Consumer<V> cancel, ExponentialBackoffIntervalCalculator retryIntervalCalculator,
+      ObservedRequest observed) {
 
     action.get()
         .whenComplete((response, throwable) -> {
-          if (retryIntervalCalculator.shouldRetry() && !result.isDone()) {
+          HttpResponse<?> httpResponse = response != null ? responseExtractor.apply(response) : null;
+          RetryBudget.Cause cause = retryCause(httpResponse, throwable);
+          RetryBudget retryBudget = builder.getRetryBudget();
+          if (cause == null && retryBudget != null && !result.isDone()) {
+            retryBudget.onSuccess();
+          }
+          if (cause != null && retryIntervalCalculator.shouldRetry() && !result.isDone()) {
             long retryInterval = retryIntervalCalculator.nextReconnectInterval();
-            boolean retry = false;
-            if (response != null) {
-              Integer code = codeExtractor.apply(response);
-              if (code != null && code >= 500) {
+            if (httpResponse != null) {
+              // a server asking for a longer wait than the client would ever back off is not waited for
+              retryInterval = retryAfterMillis(httpResponse)
+                  .map(retryAfter -> Math.min(retryAfter, retryIntervalCalculator.getMaxInterval()))
+                  .orElse(retryInterval);
+            }
+            if (retryBudget == null || retryBudget.tryRetry(cause)) {
+              if (retryBudget != null) {
+                retryInterval = withJitter(retryInterval);
+              }
+              if (httpResponse != null) {
                 LOG.debug("HTTP operation on url: {} should be retried as the response code was {}, retrying after {} millis",
-                    uri, code, retryInterval);
-                retry = true;
+                    uri, httpResponse.code(), retryInterval);
+              } else {
+                LOG.debug(String.format("HTTP operation on url: %s should be retried after %d millis because of IOException",
+                    uri, retryInterval), throwable);
               }
-            } else if (throwable instanceof IOException) {
-              LOG.debug(String.format("HTTP operation on url: %s should be retried after %d millis because of IOException",
-                  uri, retryInterval), throwable);
-              retry = true;
-            }
-            if (retry) {
+              observed.retrying(httpResponse, throwable, retryInterval);
               Utils.schedule(Runnable::run,
-                  () -> retryWithExponentialBackoff(result, action, uri, codeExtractor, cancel, retryIntervalCalculator),
+                  () -> retryResponseWithExponentialBackoff(result, action, uri, responseExtractor, cancel,
+                      retryIntervalCalculator, observed),
                   retryInterval,
                   TimeUnit.MILLISECONDS);
               return;
             }
+            LOG.debug("HTTP operation on url: {} will not be retried as the retry budget is exhausted", uri);
           }
           completeOrCancel(cancel, result).accept(response, throwable);
         });
   }
 
-  protected <V> void retryWithExponentialBackoff(CompletableFuture<V> result,
-      Supplier<CompletableFuture<V>> action, URI uri, Function<V, Integer> codeExtractor,
+  protected <V> void retryResponseWithExponentialBackoff(CompletableFuture<V> result,
+      Supplier<CompletableFuture<V>> action, URI uri, Function<V, HttpResponse<?>> responseExtractor,
       java.util.function.Consumer<V> cancel) {
-    retryWithExponentialBackoff(result, action, uri, codeExtractor, cancel,
-        ExponentialBackoffIntervalCalculator.from(getTag(RequestConfig.class)));
+    retryResponseWithExponentialBackoff(result, action, uri, responseExtractor, cancel, ObservedRequest.NONE);
+  }
+
+  private <V> void retryResponseWithExponentialBackoff(CompletableFuture<V> result,
+      Supplier<CompletableFuture<V>> action, URI uri, Function<V, HttpResponse<?>> responseExtractor,
+      java.util.function.Consumer<V> cancel, ObservedRequest observed) {
+    retryResponseWithExponentialBackoff(result, action, uri, responseExtractor, cancel,
+        ExponentialBackoffIntervalCalculator.from(getTag(RequestConfig.class)), observed);
+  }
+
+  /**
+   * Adapt a status code to a response without headers, so that only 5xx codes are retried
+   */
+  private static <V> Function<V, HttpResponse<?>> codeResponse(Function<V, Integer> codeExtractor) {
+    return v -> Optional.ofNullable(codeExtractor.apply(v)).map(CodeResponse::new).orElse(null);
+  }
+
+  static RetryBudget.Cause retryCause(HttpResponse<?> response, Throwable throwable) {
+    if (response != null) {
+      // like client-go only a 429 with a Retry-After is retried, others such as a blocked eviction are final
+      if (response.code() == HTTP_TOO_MANY_REQUESTS) {
+        return retryAfterMillis(response).isPresent() ? RetryBudget.Cause.TOO_MANY_REQUESTS : null;
+      }
+      if (response.code() >= 500) {
+        return RetryBudget.Cause.SERVER_ERROR;
+      }
+    } else if (throwable instanceof IOException) {
+      return RetryBudget.Cause.IO_EXCEPTION;
+    }
+    return null;
+  }
+
+  /**
+   * The Retry-After header as either delay seconds or an http date
+   */
+  static Optional<Long> retryAfterMillis(HttpResponse<?> response) {
+    String value = response.headers().entrySet().stream()
+        .filter(e -> RETRY_AFTER.equalsIgnoreCase(e.getKey()) && !e.getValue().isEmpty())
+        .map(e -> e.getValue().get(0).trim())
+        .findFirst()
+        .orElse(null);
+    if (value == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value))));
+    } catch (NumberFormatException e) {
+      // not delay seconds
+    }
+    try {
+      ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+      return Optional.of(Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis()));
+    } catch (DateTimeParseException e) {
+      LOG.debug("Ignoring invalid Retry-After header {}", value);
+      return Optional.empty();
+    }
+  }
+
+  private static long withJitter(long interval) {
+    return interval + (long) (ThreadLocalRandom.current().nextDouble() * RETRY_JITTER_FACTOR * interval);
   }
 
   @Override
@@ -182,11 +333,24 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
       Listener listener) {
 
     CompletableFuture<WebSocketResponse> intermediate = new CompletableFuture<>();
+    ObservedRequest observed = ObservedRequest.start(builder.getRequestObserver(),
+        standardWebSocketBuilder.asHttpRequest());
 
-    retryWithExponentialBackoff(intermediate, () -> buildWebSocketOnce(standardWebSocketBuilder, listener),
+    retryResponseWithExponentialBackoff(intermediate, () -> buildWebSocketOnce(standardWebSocketBuilder, listener, observed),
         standardWebSocketBuilder.asHttpRequest().uri(),
-        r -> Optional.ofNullable(r.wshse).map(WebSocketHandshakeException::getResponse).map(HttpResponse::code).orElse(null),
-        r -> Optional.ofNullable(r.webSocket).ifPresent(w -> w.sendClose(1000, null)));
+        r -> Optional.ofNullable(r.wshse).map(WebSocketHandshakeException::getResponse).orElse(null),
+        r -> Optional.ofNullable(r.webSocket).ifPresent(w -> w.sendClose(1000, null)), observed);
+    if (observed.isObserved()) {
+      intermediate.whenComplete((r, t) -> {
+        if (t != null) {
+          observed.completed(0, t);
+        } else if (r.wshse != null) {
+          observed.completed(Optional.ofNullable(r.wshse.getResponse()).map(HttpResponse::code).orElse(0), r.wshse);
+        } else {
+          observed.completed(HTTP_SWITCHING_PROTOCOLS, null);
+        }
+      });
+    }
 
     CompletableFuture<WebSocket> result = new CompletableFuture<>();
 
@@ -202,17 +366,19 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
   }
 
   private CompletableFuture<WebSocketResponse> buildWebSocketOnce(StandardWebSocketBuilder standardWebSocketBuilder,
-      Listener listener) {
+      Listener listener, ObservedRequest observed) {
     final StandardWebSocketBuilder copy = standardWebSocketBuilder.newBuilder();
     builder.getInterceptors().values().stream().forEach(i -> i.before(copy, copy.asHttpRequest(), this));
+    observed.beforeSend(copy);
 
-    CompletableFuture<WebSocketResponse> cf = buildWebSocketDirect(copy, listener);
+    CompletableFuture<WebSocketResponse> cf = buildWebSocketLimited(copy, listener);
     for (Interceptor interceptor : builder.getInterceptors().values()) {
       cf = cf.thenCompose(response -> {
         if (response.wshse != null && response.wshse.getResponse() != null) {
           return interceptor.afterFailure(copy, response.wshse.getResponse(), this).thenCompose(b -> {
             if (Boolean.TRUE.equals(b)) {
-              return this.buildWebSocketDirect(copy, listener);
+              observed.retrying(response.wshse.getResponse(), null, 0);
+              return this.buildWebSocketLimited(copy, listener);
             }
             return CompletableFuture.completedFuture(response);
           });
@@ -223,9 +389,54 @@ public abstract class StandardHttpClient<C extends HttpClient, F extends HttpCli
     return cf;
   }
 
+  private CompletableFuture<WebSocketResponse> buildWebSocketLimited(StandardWebSocketBuilder standardWebSocketBuilder,
+      Listener listener) {
+    return limit(standardWebSocketBuilder.asHttpRequest(), () -> buildWebSocketDirect(standardWebSocketBuilder, listener));
+  }
+
   @Override
   public <V> V getTag(Class<V> type) {
     return type.cast(builder.tags.get(type));
   }
 
+  private static final class CodeResponse implements HttpResponse<Void> {
+
+    private final int code;
+
+    private CodeResponse(int code) {
+      this.code = code;
+    }
+
+    @Override
+    public int code() {
+      return code;
+    }
+
+    @Override
+    public List<String> headers(String key) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public Void body() {
+      return null;
+    }
+
+    @Override
+    public HttpRequest request() {
+      return null;
+    }
+
+    @Override
+    public Optional<HttpResponse<?>> previousResponse() {
+      return Optional.empty();
+    }
+
+  }
+
 }
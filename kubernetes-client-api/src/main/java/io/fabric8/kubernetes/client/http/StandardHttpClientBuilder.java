@@ -50,6 +50,13 @@ public abstract class StandardHttpClientBuilder<C extends HttpClient, F extends
   protected F clientFactory;
   protected TrustManager[] trustManagers;
   protected KeyManager[] keyManagers;
+  protected RateLimiter rateLimiter;
+  protected RetryBudget retryBudget;
+  protected RequestObserver requestObserver;
+  protected BufferPool bufferPool;
+  protected boolean virtualThreads;
+  protected int maxConnections;
+  protected int maxStreamsPerConnection;
   protected LinkedHashMap<Class<?>, Object> tags = new LinkedHashMap<>();
 
   protected StandardHttpClientBuilder(F clientFactory) {
@@ -134,6 +141,43 @@ public abstract class StandardHttpClientBuilder<C extends HttpClient, F extends
     return (T) this;
   }
 
+  @Override
+  public T rateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+    return (T) this;
+  }
+
+  @Override
+  public T retryBudget(RetryBudget retryBudget) {
+    this.retryBudget = retryBudget;
+    return (T) this;
+  }
+
+  @Override
+  public T requestObserver(RequestObserver requestObserver) {
+    this.requestObserver = requestObserver;
+    return (T) this;
+  }
+
+  @Override
+  public T bufferPool(BufferPool bufferPool) {
+    this.bufferPool = bufferPool;
+    return (T) this;
+  }
+
+  @Override
+  public T virtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+    return (T) this;
+  }
+
+  @Override
+  public T multiplexing(int maxConnections, int maxStreamsPerConnection) {
+    this.maxConnections = maxConnections;
+    this.maxStreamsPerConnection = maxStreamsPerConnection;
+    return (T) this;
+  }
+
   public T clientFactory(F clientFactory) {
     this.clientFactory = clientFactory;
     return (T) this;
@@ -164,6 +208,13 @@ public abstract class StandardHttpClientBuilder<C extends HttpClient, F extends
     copy.followRedirects = this.followRedirects;
     copy.authenticatorNone = this.authenticatorNone;
     copy.writeTimeout = this.writeTimeout;
+    copy.rateLimiter = this.rateLimiter;
+    copy.retryBudget = this.retryBudget;
+    copy.requestObserver = this.requestObserver;
+    copy.bufferPool = this.bufferPool;
+    copy.virtualThreads = this.virtualThreads;
+    copy.maxConnections = this.maxConnections;
+    copy.maxStreamsPerConnection = this.maxStreamsPerConnection;
     copy.client = client;
     copy.tags = new LinkedHashMap<>(this.tags);
     return copy;
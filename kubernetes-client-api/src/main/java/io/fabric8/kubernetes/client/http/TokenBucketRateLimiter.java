@@ -0,0 +1,272 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import io.fabric8.kubernetes.client.utils.Utils;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link RateLimiter} allowing a sustained rate of requests per second with bursts up to a maximum
+ * number of requests, like the client-go token bucket.
+ * <p>
+ * Requests that have to wait are queued in lanes by {@link Priority}, and a higher priority lane is always
+ * served first so that watches and leader election renewals are not starved by bulk lists. Within a
+ * lane requests are served in order.
+ * <p>
+ * Requests that had to wait continue on the given executor, by default the {@link ForkJoinPool#commonPool()}
+ * as with {@link CompletableFuture#supplyAsync(java.util.function.Supplier)}, rather than on the shared
+ * scheduler thread that releases them.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+  /**
+   * The lanes requests wait in, served in declaration order.
+   */
+  public enum Priority {
+    /**
+     * Watches and leader election leases
+     */
+    HIGH,
+    /**
+     * Everything not in another lane
+     */
+    NORMAL,
+    /**
+     * Lists of resources
+     */
+    LOW;
+
+    private static final String LEADER_ELECTION_GROUP = "coordination.k8s.io";
+
+    /**
+     * The default classification of a request by its method and uri.
+     *
+     * @param request the request
+     * @return the priority
+     */
+    public static Priority of(HttpRequest request) {
+      String query = request.uri().getRawQuery();
+      if (query != null && (query.startsWith("watch=true") || query.contains("&watch=true"))) {
+        return HIGH;
+      }
+      String[] segments = request.uri().getPath().split("/");
+      // segments[0] is empty as the path starts with a slash
+      int resource;
+      if (segments.length > 2 && "api".equals(segments[1])) {
+        resource = 3;
+      } else if (segments.length > 3 && "apis".equals(segments[1])) {
+        if (LEADER_ELECTION_GROUP.equals(segments[2])) {
+          return HIGH;
+        }
+        resource = 4;
+      } else {
+        return NORMAL;
+      }
+      int remaining = segments.length - resource;
+      boolean list = remaining == 1 || (remaining == 3 && "namespaces".equals(segments[resource]));
+      return list && "GET".equalsIgnoreCase(request.method()) ? LOW : NORMAL;
+    }
+  }
+
+  /**
+   * Receives instrumentation callbacks, all methods default to doing nothing.
+   */
+  public interface Metrics {
+
+    Metrics NOOP = new Metrics() {
+    };
+
+    /**
+     * Called when a request is allowed to proceed.
+     *
+     * @param priority the lane of the request
+     * @param queueWait how long the request waited for a permit
+     */
+    default void acquired(Priority priority, Duration queueWait) {
+    }
+  }
+
+  private static final class Waiter {
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final Priority priority;
+    private final long queuedNanos;
+
+    private Waiter(Priority priority, long queuedNanos) {
+      this.priority = priority;
+      this.queuedNanos = queuedNanos;
+    }
+  }
+
+  private final double permitsPerNano;
+  private final int burst;
+  private final Function<HttpRequest, Priority> classifier;
+  private final LongSupplier nanoTime;
+  private final Executor executor;
+  private final List<ArrayDeque<Waiter>> lanes = new ArrayList<>();
+  private volatile Metrics metrics = Metrics.NOOP;
+
+  private double permits;
+  private long lastRefillNanos;
+  private boolean drainScheduled;
+
+  /**
+   * Create a limiter using the default {@link Priority#of(HttpRequest)} classification
+   *
+   * @param requestsPerSecond the sustained rate of requests
+   * @param burst the maximum number of requests that may be sent at once, which is also the initial number
+   */
+  public TokenBucketRateLimiter(double requestsPerSecond, int burst) {
+    this(requestsPerSecond, burst, Priority::of);
+  }
+
+  /**
+   * @param requestsPerSecond the sustained rate of requests
+   * @param burst the maximum number of requests that may be sent at once, which is also the initial number
+   * @param classifier determines the lane of each request
+   */
+  public TokenBucketRateLimiter(double requestsPerSecond, int burst, Function<HttpRequest, Priority> classifier) {
+    this(requestsPerSecond, burst, classifier, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param requestsPerSecond the sustained rate of requests
+   * @param burst the maximum number of requests that may be sent at once, which is also the initial number
+   * @param classifier determines the lane of each request
+   * @param executor completes the waits, and so sends the requests that had to wait, such as the client's executor
+   */
+  public TokenBucketRateLimiter(double requestsPerSecond, int burst, Function<HttpRequest, Priority> classifier,
+      Executor executor) {
+    this(requestsPerSecond, burst, classifier, System::nanoTime, executor);
+  }
+
+  TokenBucketRateLimiter(double requestsPerSecond, int burst, Function<HttpRequest, Priority> classifier,
+      LongSupplier nanoTime, Executor executor) {
+    if (requestsPerSecond <= 0) {
+      throw new IllegalArgumentException("requestsPerSecond must be positive");
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be at least 1");
+    }
+    this.permitsPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.burst = burst;
+    this.classifier = classifier;
+    this.nanoTime = nanoTime;
+    this.executor = executor;
+    this.permits = burst;
+    this.lastRefillNanos = nanoTime.getAsLong();
+    for (int i = 0; i < Priority.values().length; i++) {
+      lanes.add(new ArrayDeque<>());
+    }
+  }
+
+  public TokenBucketRateLimiter metrics(Metrics metrics) {
+    this.metrics = metrics == null ? Metrics.NOOP : metrics;
+    return this;
+  }
+
+  @Override
+  public CompletableFuture<Void> acquire(HttpRequest request) {
+    Priority priority = classifier.apply(request);
+    Waiter waiter;
+    synchronized (this) {
+      long now = refill();
+      if (permits >= 1 && lanes.stream().allMatch(ArrayDeque::isEmpty)) {
+        permits--;
+        waiter = null;
+      } else {
+        waiter = new Waiter(priority, now);
+        lanes.get(priority.ordinal()).add(waiter);
+        scheduleDrain();
+      }
+    }
+    if (waiter == null) {
+      metrics.acquired(priority, Duration.ZERO);
+      return CompletableFuture.completedFuture(null);
+    }
+    return waiter.future;
+  }
+
+  /**
+   * @param priority the lane
+   * @return the number of requests waiting in the lane, including any that were cancelled
+   */
+  public synchronized int getQueued(Priority priority) {
+    return lanes.get(priority.ordinal()).size();
+  }
+
+  private long refill() {
+    long now = nanoTime.getAsLong();
+    permits = Math.min(burst, permits + (now - lastRefillNanos) * permitsPerNano);
+    lastRefillNanos = now;
+    return now;
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled) {
+      return;
+    }
+    drainScheduled = true;
+    long delay = (long) Math.ceil(Math.max(0, 1 - permits) / permitsPerNano);
+    Utils.schedule(Runnable::run, this::drain, delay, TimeUnit.NANOSECONDS);
+  }
+
+  void drain() {
+    List<Waiter> ready = new ArrayList<>();
+    long now;
+    synchronized (this) {
+      drainScheduled = false;
+      now = refill();
+      for (ArrayDeque<Waiter> lane : lanes) {
+        while (!lane.isEmpty() && permits >= 1) {
+          Waiter waiter = lane.poll();
+          // a cancelled wait does not use a permit
+          if (!waiter.future.isDone()) {
+            permits--;
+            ready.add(waiter);
+          }
+        }
+      }
+      if (lanes.stream().anyMatch(lane -> !lane.isEmpty())) {
+        scheduleDrain();
+      }
+    }
+    for (Waiter waiter : ready) {
+      try {
+        executor.execute(() -> complete(waiter, now));
+      } catch (RejectedExecutionException e) {
+        complete(waiter, now);
+      }
+    }
+  }
+
+  private void complete(Waiter waiter, long now) {
+    if (waiter.future.complete(null)) {
+      metrics.acquired(waiter.priority, Duration.ofNanos(now - waiter.queuedNanos));
+    }
+  }
+
+}
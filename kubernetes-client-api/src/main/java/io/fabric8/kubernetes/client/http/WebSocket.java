@@ -47,6 +47,20 @@ public interface WebSocket {
       webSocket.request();
     }
 
+    /**
+     * Called instead of {@link #onMessage(WebSocket, ByteBuffer)} with a buffer from the {@link BufferPool}
+     * when one is set with {@link HttpClient.Builder#bufferPool(BufferPool)}. The listener owns a reference to
+     * the buffer and must release it once done with the bytes. {@link WebSocket#request()} must be called to
+     * receive more messages.
+     * <p>
+     * By default the bytes are copied to {@link #onMessage(WebSocket, ByteBuffer)} and the buffer is released.
+     */
+    default void onMessage(WebSocket webSocket, PooledBuffer buffer) {
+      ByteBuffer copy = BufferUtil.copy(buffer.buffer());
+      buffer.release();
+      onMessage(webSocket, copy);
+    }
+
     /**
      * Called when the remote input closes. It's a terminal event, calls to {@link WebSocket#request()}
      * do nothing after this. Some {@link HttpClient} implementations will require {@link WebSocket#request()}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers;
+
+import io.fabric8.kubernetes.client.Watcher;
+
+import java.time.Duration;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Receives instrumentation callbacks from a {@link SharedIndexInformer}, see {@link SharedIndexInformer#metrics(InformerMetrics)}.
+ * <p>
+ * All methods default to doing nothing. Implementations are called inline with the informer processing,
+ * possibly from several threads, so they should be thread-safe and return quickly.
+ */
+public interface InformerMetrics {
+
+  InformerMetrics NOOP = new InformerMetrics() {
+  };
+
+  /**
+   * Called when the informer starts with suppliers of its current state, which may be polled at any time.
+   *
+   * @param cacheSize the number of items in the cache
+   * @param queueDepth the number of notifications waiting to be delivered across all handlers, only tracked with
+   *        batched event delivery
+   * @param lag how long the oldest pending notification has been waiting, only tracked with batched event delivery
+   */
+  default void registerGauges(IntSupplier cacheSize, IntSupplier queueDepth, Supplier<Duration> lag) {
+  }
+
+  /**
+   * Called when the informer stops, after which the gauges should no longer be polled.
+   */
+  default void unregisterGauges() {
+  }
+
+  /**
+   * Called when a list used to sync the cache completes.
+   *
+   * @param duration the time taken to list all pages
+   * @param pages the number of pages
+   * @param items the number of items
+   */
+  default void listCompleted(Duration duration, int pages, long items) {
+  }
+
+  /**
+   * Called when the watch is closed with an http gone (410), which means the informer must relist.
+   */
+  default void httpGone() {
+  }
+
+  /**
+   * Called when the informer establishes a new watch.
+   */
+  default void watchStarted() {
+  }
+
+  /**
+   * Called when a watch request is retried by the watch itself, such as after the connection is lost or a timeout.
+   */
+  default void watchReconnected() {
+  }
+
+  /**
+   * Called for each event received by the watch.
+   *
+   * @param action the event type
+   */
+  default void eventReceived(Watcher.Action action) {
+  }
+
+  /**
+   * Called after each invocation of a {@link ResourceEventHandler}.
+   *
+   * @param duration how long the handler took
+   */
+  default void handlerInvoked(Duration duration) {
+  }
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers;
+
+/**
+ * Determines what happens when the bounded event queue of a {@link ResourceEventHandler} is full.
+ *
+ * @see SharedIndexInformer#eventQueue(int, OverflowPolicy)
+ */
+public enum OverflowPolicy {
+
+  /**
+   * Block the delivering thread, and so the processing of further watch events, until the handler
+   * has caught up.
+   */
+  BLOCK,
+
+  /**
+   * Combine the notification with a pending notification for the same object, so that only its latest state
+   * is delivered. Notifications that cannot be combined are still queued, so the queue is bounded by the
+   * number of distinct objects.
+   */
+  COALESCE,
+
+  /**
+   * Drop the pending notifications and instead resync the handler with the current state of the cache once
+   * it catches up. The handler is notified of an add for objects it has not yet seen, an update for the others,
+   * and a delete with an unknown final state for objects it has seen that are no longer in the cache.
+   */
+  DROP_AND_RESYNC
+
+}
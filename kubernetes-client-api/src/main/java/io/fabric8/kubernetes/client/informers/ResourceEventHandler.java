@@ -71,4 +71,16 @@ public interface ResourceEventHandler<T> {
    */
   void onDelete(T obj, boolean deletedFinalStateUnknown);
 
+  /**
+   * Whether consecutive updates of the same object that have not yet been delivered may be combined, so that
+   * only the latest state is seen in a single {@link #onUpdate(Object, Object)}.
+   * <p>
+   * Only applies when the informer uses batched event delivery.
+   *
+   * @return true to allow updates to be coalesced
+   */
+  default boolean coalesceUpdates() {
+    return false;
+  }
+
 }
@@ -17,10 +17,13 @@ package io.fabric8.kubernetes.client.informers;
 
 import io.fabric8.kubernetes.client.WatcherException;
 import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.IndexMode;
 import io.fabric8.kubernetes.client.informers.cache.Indexer;
 import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.fabric8.kubernetes.client.informers.cache.RelistMode;
 import io.fabric8.kubernetes.client.informers.cache.Store;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
@@ -169,6 +172,96 @@ public interface SharedIndexInformer<T> extends AutoCloseable {
 
   SharedIndexInformer<T> itemStore(ItemStore<T> itemStore);
 
+  /**
+   * Sets the {@link IndexMode} used to maintain the indexes of the informer cache.
+   * The default is {@link IndexMode#SYNCHRONIZED}.
+   * <br>
+   * Can only be called before the informer is running
+   *
+   * @param indexMode the mode to use
+   * @return this
+   */
+  SharedIndexInformer<T> indexMode(IndexMode indexMode);
+
+  /**
+   * Sets the {@link RelistMode} used to detect deletions when the informer relists.
+   * The default is {@link RelistMode#KEY_SET}.
+   * <br>
+   * {@link RelistMode#SYNC_GENERATION} cannot be combined with a custom {@link #itemStore(ItemStore)}.
+   * <br>
+   * Can only be called before the informer is running
+   *
+   * @param relistMode the mode to use
+   * @return this
+   */
+  SharedIndexInformer<T> relistMode(RelistMode relistMode);
+
+  /**
+   * Stream the initial state over the watch with sendInitialEvents, rather than performing a list
+   * and then a watch. The initial sync is complete once the server sends the bookmark marking the end
+   * of the initial events.
+   * <br>
+   * This requires the WatchList feature of newer api servers. If the server rejects the request the
+   * informer will fall back to listing.
+   * <br>
+   * Can only be called before the informer is running
+   *
+   * @param watchList true to use watch list
+   * @return this
+   */
+  SharedIndexInformer<T> watchList(boolean watchList);
+
+  /**
+   * Queue notifications per event handler and deliver them in batches, rather than submitting a task
+   * for each notification. Each handler is delivered to independently, so that a slow handler does not
+   * delay the others. Handlers may also opt into having pending updates coalesced with
+   * {@link ResourceEventHandler#coalesceUpdates()}.
+   * <br>
+   * Applies to handlers added before or after this call. Can only be called before the informer is running
+   *
+   * @param batched true to use batched delivery
+   * @return this
+   */
+  SharedIndexInformer<T> batchedEventDelivery(boolean batched);
+
+  /**
+   * Get the number of notifications waiting to be delivered to each event handler.
+   * Only tracked when using {@link #batchedEventDelivery(boolean)}.
+   *
+   * @return the pending notification count by handler
+   */
+  Map<ResourceEventHandler<? super T>, Integer> getEventQueueDepths();
+
+  /**
+   * Bound the event queue of each handler, using batched event delivery. The default is unbounded.
+   * <br>
+   * Applies to handlers added before or after this call. Can only be called before the informer is running
+   *
+   * @param capacity the maximum number of queued notifications per handler
+   * @param overflowPolicy what to do when a handler's queue is full
+   * @return this
+   */
+  SharedIndexInformer<T> eventQueue(int capacity, OverflowPolicy overflowPolicy);
+
+  /**
+   * Get how long the oldest pending notification has been waiting for each event handler.
+   * Only tracked when using {@link #batchedEventDelivery(boolean)}.
+   *
+   * @return the lag by handler
+   */
+  Map<ResourceEventHandler<? super T>, Duration> getEventLag();
+
+  /**
+   * Sets the {@link InformerMetrics} that will receive instrumentation callbacks from this informer.
+   * The default does nothing.
+   * <br>
+   * Can only be called before the informer is running
+   *
+   * @param metrics the metrics
+   * @return this
+   */
+  SharedIndexInformer<T> metrics(InformerMetrics metrics);
+
   /**
    * A non-blocking alternative to run. Starts the shared informer, which will normally be stopped when {@link #stop()} is
    * called.
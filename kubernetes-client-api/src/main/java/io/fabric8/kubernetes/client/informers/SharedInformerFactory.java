@@ -43,6 +43,26 @@ public interface SharedInformerFactory {
   @Deprecated
   SharedInformerFactory withName(String name);
 
+  /**
+   * Share a single watch between the informers of the same type created by this factory.
+   * <p>
+   * Sharing is decided for each type when the first of its informers starts. If two or more informers
+   * of that type are registered at that point, a single backing informer is started for the namespace
+   * they all have in common, or for all namespaces if they differ. Every registered informer then
+   * becomes a view that filters the backing informer's events locally by its own namespace and name.
+   * Informers registered afterwards join as views when they are covered by that backing informer,
+   * otherwise they use their own watch, as does a type with a single informer.
+   * <p>
+   * A cluster wide backing informer requires permission to list and watch the type in all namespaces.
+   * The backing informers are stopped by {@link #stopAllRegisteredInformers()}.
+   * <p>
+   * Must be set before the informers are created. The default is false.
+   *
+   * @param sharedWatches true to share watches between informers of the same type
+   * @return {@link SharedInformerFactory} with watch sharing configured
+   */
+  SharedInformerFactory sharedWatches(boolean sharedWatches);
+
   /**
    * Constructs and returns a shared index informer with resync period specified. And the
    * informer cache will be overwritten.
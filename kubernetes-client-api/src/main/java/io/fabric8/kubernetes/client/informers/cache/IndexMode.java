@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.cache;
+
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Determines how the indexes of a {@link SharedIndexInformer} cache are maintained and read.
+ */
+public enum IndexMode {
+
+  /**
+   * All index reads and writes are guarded by a single monitor. Reads see a
+   * consistent view of the indexes, but will block behind watch event processing.
+   */
+  SYNCHRONIZED,
+
+  /**
+   * Index writes are still serialized, but reads such as {@link Indexer#byIndex(String, String)}
+   * never block. A read may reflect a concurrent write only partially, but will never return
+   * items that have been removed from the store.
+   * <br>
+   * Use this when many threads read from the indexes of a large informer.
+   */
+  CONCURRENT,
+
+  /**
+   * Reads and writes are guarded by a single monitor as with {@link #SYNCHRONIZED}, but
+   * each key is assigned a compact int id and index entries are stored as primitive ints.
+   * <br>
+   * Use this to reduce the memory overhead of the indexes for informers with many items.
+   */
+  COMPACT
+
+}
@@ -15,8 +15,12 @@
  */
 package io.fabric8.kubernetes.client.informers.cache;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 
 /**
@@ -56,6 +60,30 @@ public interface Indexer<T> extends Store<T> {
    */
   List<T> byIndex(String indexName, String indexKey);
 
+  /**
+   * Lists objects that match on all of the named indexing functions with the exact keys.
+   *
+   * @param indexKeys specific index keys by indexing function
+   * @return matched objects, or all objects if no index keys are given
+   */
+  default List<T> byIndexes(Map<String, String> indexKeys) {
+    Set<String> keys = null;
+    for (Map.Entry<String, String> entry : indexKeys.entrySet()) {
+      List<String> matched = indexKeys(entry.getKey(), entry.getValue());
+      if (keys == null) {
+        keys = new HashSet<>(matched);
+      } else {
+        keys.retainAll(new HashSet<>(matched));
+      }
+    }
+    if (keys == null) {
+      return list();
+    }
+    List<T> result = new ArrayList<>(keys.size());
+    keys.stream().map(this::getByKey).filter(Objects::nonNull).forEach(result::add);
+    return result;
+  }
+
   /**
    * Return the indexers registered with the store.
    *
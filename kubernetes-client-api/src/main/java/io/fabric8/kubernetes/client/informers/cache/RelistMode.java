@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.cache;
+
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Determines how a {@link SharedIndexInformer} detects the items that were deleted
+ * while it was not watching, when it relists after a restart or an http gone.
+ */
+public enum RelistMode {
+
+  /**
+   * The keys of all listed items are collected into a set, and anything else is
+   * removed from the cache once the list completes. Nothing is retained between relists,
+   * but each relist temporarily holds a full copy of the keys.
+   */
+  KEY_SET,
+
+  /**
+   * Each cache entry is marked with the sync generation in which it was last listed or updated.
+   * Once the list completes the entries from older generations are removed - and their delete
+   * events emitted - one at a time, without collecting the listed keys.
+   * <br>
+   * Use this to avoid the memory spike of relisting informers with many items.
+   * The generation is held by the entries of the default item store, so this mode
+   * cannot be used with a custom {@link ItemStore}.
+   */
+  SYNC_GENERATION
+
+}
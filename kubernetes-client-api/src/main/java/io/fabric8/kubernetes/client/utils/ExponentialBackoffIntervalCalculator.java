@@ -51,6 +51,13 @@ public class ExponentialBackoffIntervalCalculator {
     return (long) initialInterval * (1 << exponentOfTwo);
   }
 
+  /**
+   * @return the longest interval this calculator will back off for
+   */
+  public long getMaxInterval() {
+    return getInterval(maxRetryIntervalExponent);
+  }
+
   public void resetReconnectAttempts() {
     currentReconnectAttempt.set(0);
   }
@@ -19,9 +19,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.KubernetesResource;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.runtime.RawExtension;
@@ -35,9 +37,12 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +60,8 @@ public class Serialization {
 
   private static volatile ObjectMapper YAML_MAPPER;
 
+  private static final Object NOT_JSON = new Object();
+
   /**
    * {@link ObjectMapper} singleton instance used internally by the Kubernetes client.
    *
@@ -401,18 +408,83 @@ public class Serialization {
 
   /**
    * Create a copy of the resource via serialization.
+   * <p>
+   * A {@link GenericKubernetesResource} is copied structurally - only its metadata is serialized.
+   * Other values are serialized into and read back from a token buffer, which avoids producing and
+   * parsing json text.
    *
    * @return a deep clone of the resource
    * @throws IllegalArgumentException if the cloning cannot be performed
    */
   public static <T> T clone(T resource) {
-    // if full serialization seems too expensive, there is also
-    //return (T) JSON_MAPPER.convertValue(resource, resource.getClass());
-    try {
-      return (T) JSON_MAPPER.readValue(
-          JSON_MAPPER.writeValueAsString(resource), resource.getClass());
-    } catch (JsonProcessingException e) {
+    if (resource != null && resource.getClass() == GenericKubernetesResource.class) {
+      GenericKubernetesResource result = cloneGeneric((GenericKubernetesResource) resource);
+      if (result != null) {
+        return (T) result;
+      }
+    }
+    try (TokenBuffer buffer = new TokenBuffer(JSON_MAPPER, false)) {
+      JSON_MAPPER.writeValue(buffer, resource);
+      return (T) JSON_MAPPER.readValue(buffer.asParser(), resource.getClass());
+    } catch (IOException e) {
       throw new IllegalStateException(e);
     }
   }
+
+  /**
+   * @return the clone or null if the additional properties are not a tree of json values
+   */
+  private static GenericKubernetesResource cloneGeneric(GenericKubernetesResource resource) {
+    Object additionalProperties = copyJsonTree(resource.getAdditionalProperties());
+    if (additionalProperties == NOT_JSON) {
+      return null;
+    }
+    GenericKubernetesResource result = new GenericKubernetesResource();
+    result.setApiVersion(resource.getApiVersion());
+    result.setKind(resource.getKind());
+    if (resource.getMetadata() != null) {
+      result.setMetadata(clone(resource.getMetadata()));
+    }
+    result.setAdditionalProperties((Map<String, Object>) additionalProperties);
+    return result;
+  }
+
+  /**
+   * Copy a tree of maps and lists, as produced by deserializing to {@link Object}, sharing
+   * the immutable leaf values.
+   *
+   * @return the copy or {@link #NOT_JSON} if a value of any other type is found
+   */
+  private static Object copyJsonTree(Object value) {
+    if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+        || value instanceof Long || value instanceof Double || value instanceof BigInteger
+        || value instanceof BigDecimal) {
+      return value;
+    }
+    if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      Map<String, Object> result = new LinkedHashMap<>(Math.max(4, (int) (map.size() / .75f) + 1));
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        Object copy = copyJsonTree(entry.getValue());
+        if (copy == NOT_JSON || !(entry.getKey() instanceof String)) {
+          return NOT_JSON;
+        }
+        result.put((String) entry.getKey(), copy);
+      }
+      return result;
+    }
+    if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      List<Object> result = new ArrayList<>(list.size());
+      for (Object item : list) {
+        Object copy = copyJsonTree(item);
+        if (copy == NOT_JSON) {
+          return NOT_JSON;
+        }
+        result.add(copy);
+      }
+      return result;
+    }
+    return NOT_JSON;
+  }
 }
@@ -28,6 +28,8 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
@@ -46,6 +48,7 @@ import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
@@ -458,6 +461,70 @@ public class Utils {
     };
   }
 
+  /**
+   * @return true if the jvm supports virtual threads
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VirtualThreads.FACTORY != null;
+  }
+
+  /**
+   * Create an {@link ExecutorService} that runs each task in a new virtual thread with a
+   * name based upon the object passed in.
+   * <p>
+   * Virtual threads require java 21 or later, otherwise an unbounded cached pool of daemon threads is returned.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(Object forObject) {
+    if (!isVirtualThreadSupported()) {
+      LOGGER.debug("Virtual threads are not supported by this jvm, using platform threads instead");
+      return Executors.newCachedThreadPool(daemonThreadFactory(forObject));
+    }
+    String name = forObject.getClass().getSimpleName() + "-" + System.identityHashCode(forObject);
+    try {
+      Object builder = VirtualThreads.NAME.invoke(VirtualThreads.OF_VIRTUAL.invoke(null), name + "-virtual-", 0L);
+      ThreadFactory threadFactory = (ThreadFactory) VirtualThreads.FACTORY.invoke(builder);
+      return (ExecutorService) VirtualThreads.NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw KubernetesClientException.launderThrowable(e);
+    }
+  }
+
+  /**
+   * The java 21 virtual thread methods, which are looked up reflectively as the client targets java 8
+   */
+  private static final class VirtualThreads {
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+      Method ofVirtual = null;
+      Method name = null;
+      Method factory = null;
+      Method newThreadPerTaskExecutor = null;
+      try {
+        ofVirtual = Thread.class.getMethod("ofVirtual");
+        Class<?> builder = Class.forName("java.lang.Thread$Builder");
+        name = builder.getMethod("name", String.class, long.class);
+        newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        // fails on java 19 and 20 unless preview features are enabled
+        ofVirtual.invoke(null);
+        // the last step, so that it is only set when all of the others succeed
+        factory = builder.getMethod("factory");
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        // not supported by this jvm
+      }
+      OF_VIRTUAL = ofVirtual;
+      NAME = name;
+      NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+      FACTORY = factory;
+    }
+
+    private VirtualThreads() {
+    }
+  }
+
   /**
    * Schedule a task to run in the given {@link Executor} - which should run the task in a different thread as to not
    * hold the scheduling thread
@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client;
+
+import io.fabric8.kubernetes.api.model.APIGroupList;
+import io.fabric8.kubernetes.api.model.APIGroupListBuilder;
+import io.fabric8.kubernetes.api.model.APIResourceList;
+import io.fabric8.kubernetes.api.model.APIResourceListBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiscoveryCacheTest {
+
+  private static final String SERVER = "https://127.0.0.1:6443";
+
+  @Test
+  void groupsAreLoadedOnce() {
+    DiscoveryCache cache = new DiscoveryCache();
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<APIGroupList> loader = () -> {
+      loads.incrementAndGet();
+      return new APIGroupListBuilder().addNewGroup().withName("apps").endGroup().build();
+    };
+
+    cache.getApiGroups(SERVER, loader);
+    APIGroupList result = cache.getApiGroups(SERVER, loader);
+
+    assertThat(result.getGroups()).hasSize(1);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void nullResultsAreNotCached() {
+    DiscoveryCache cache = new DiscoveryCache();
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.getApiResources(SERVER, "apps/v1", () -> {
+      loads.incrementAndGet();
+      return null;
+    });
+    cache.getApiResources(SERVER, "apps/v1", () -> {
+      loads.incrementAndGet();
+      return null;
+    });
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void expiredEntriesAreReloaded() throws InterruptedException {
+    DiscoveryCache cache = new DiscoveryCache(Duration.ZERO, null);
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<APIResourceList> loader = () -> {
+      loads.incrementAndGet();
+      return new APIResourceListBuilder().withGroupVersion("apps/v1").build();
+    };
+
+    cache.getApiResources(SERVER, "apps/v1", loader);
+    Thread.sleep(2);
+    cache.getApiResources(SERVER, "apps/v1", loader);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void invalidateOnlyRemovesOlderEntries() {
+    DiscoveryCache cache = new DiscoveryCache();
+    long before = System.currentTimeMillis() - 1;
+    cache.putApiResources(SERVER, "apps/v1", new APIResourceListBuilder().build());
+
+    assertThat(cache.invalidateApiResources(SERVER, "apps/v1", before)).isFalse();
+    assertThat(cache.invalidateApiResources(SERVER, "apps/v1", Long.MAX_VALUE)).isTrue();
+    assertThat(cache.invalidateApiResources(SERVER, "apps/v1", Long.MAX_VALUE)).isFalse();
+  }
+
+  @Test
+  void invalidateOnMissOnlyRemovesEntriesOlderThanTheMinRefreshInterval() throws InterruptedException {
+    DiscoveryCache cache = new DiscoveryCache(Duration.ofMinutes(1), Duration.ofSeconds(1), null);
+    cache.putApiResources(SERVER, "apps/v1", new APIResourceListBuilder().build());
+    cache.getApiGroups(SERVER, () -> new APIGroupListBuilder().build());
+
+    assertThat(cache.invalidateApiResourcesOnMiss(SERVER, "apps/v1", Long.MAX_VALUE)).isFalse();
+    assertThat(cache.invalidateApiGroupsOnMiss(SERVER, Long.MAX_VALUE)).isFalse();
+    Thread.sleep(1100);
+    assertThat(cache.invalidateApiResourcesOnMiss(SERVER, "apps/v1", Long.MAX_VALUE)).isTrue();
+    assertThat(cache.invalidateApiGroupsOnMiss(SERVER, Long.MAX_VALUE)).isTrue();
+  }
+
+  @Test
+  void entriesArePersistedLikeKubectl(@TempDir File directory) {
+    new DiscoveryCache(Duration.ofMinutes(1), directory).putApiResources(SERVER, "apps/v1",
+        new APIResourceListBuilder().withGroupVersion("apps/v1").addNewResource().withKind("Deployment").endResource()
+            .build());
+
+    assertThat(new File(directory, "127.0.0.1_6443/apps/v1/serverresources.json")).isFile();
+    APIResourceList result = new DiscoveryCache(Duration.ofMinutes(1), directory).getApiResources(SERVER, "apps/v1",
+        () -> null);
+    assertThat(result.getResources()).singleElement().extracting("kind").isEqualTo("Deployment");
+  }
+
+  @Test
+  void persistedEntriesOnlyIncludeAnExplicitPort(@TempDir File directory) {
+    DiscoveryCache cache = new DiscoveryCache(Duration.ofMinutes(1), directory);
+    cache.getApiGroups("https://example.com/", () -> new APIGroupListBuilder().build());
+    cache.getApiGroups("https://example.com:443/", () -> new APIGroupListBuilder().build());
+
+    assertThat(new File(directory, "example.com/servergroups.json")).isFile();
+    assertThat(new File(directory, "example.com_443/servergroups.json")).isFile();
+  }
+
+  @Test
+  void invalidateRemovesPersistedEntries(@TempDir File directory) {
+    DiscoveryCache cache = new DiscoveryCache(Duration.ofMinutes(1), directory);
+    cache.getApiGroups(SERVER, () -> new APIGroupListBuilder().build());
+    assertThat(new File(directory, "127.0.0.1_6443/servergroups.json")).isFile();
+
+    cache.invalidate(SERVER);
+
+    assertThat(new File(directory, "127.0.0.1_6443/servergroups.json")).doesNotExist();
+  }
+
+}
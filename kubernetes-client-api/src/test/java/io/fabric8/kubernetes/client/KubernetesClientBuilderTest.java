@@ -37,6 +37,17 @@ class KubernetesClientBuilderTest {
     Mockito.verify(mockBuilder).proxyAuthorization("something");
   }
 
+  @Test
+  void testVirtualThreadsConfiguration() {
+    KubernetesClientBuilder builder = new KubernetesClientBuilder(null);
+    Factory mockFactory = Mockito.mock(HttpClient.Factory.class);
+    HttpClient.Builder mockBuilder = Mockito.mock(HttpClient.Builder.class);
+    Mockito.when(mockFactory.newBuilder(Mockito.any())).thenReturn(mockBuilder);
+    builder.withHttpClientFactory(mockFactory).withVirtualThreads(true);
+    builder.getHttpClient();
+    Mockito.verify(mockBuilder).virtualThreads(true);
+  }
+
   /**
    * This test is only to check null returned by Thread.currentThread().getContextClassLoader would be handled properly.
    * For this unit test, since io.fabric8.kubernetes.client.impl.KubernetesClientImpl is not loaded in the class path,
@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import io.fabric8.kubernetes.client.internal.SSLUtils;
+import io.fabric8.mockwebserver.internal.MockSSLContextFactory;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public abstract class AbstractHttp2MultiplexingTest {
+
+  private static final int STREAMS = 12;
+
+  private MockWebServer server;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = new MockWebServer();
+    server.useHttps(MockSSLContextFactory.create().getSocketFactory(), false);
+    server.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() throws IOException {
+    server.shutdown();
+  }
+
+  protected abstract HttpClient.Factory getHttpClientFactory();
+
+  private HttpClient.Builder clientBuilder() throws Exception {
+    return getHttpClientFactory().newBuilder()
+        .sslContext(null, SSLUtils.trustManagers(null, null, true, null, null))
+        .connectTimeout(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void streamsAreMultiplexedOverTheMaximumConnections() throws Exception {
+    // the response bodies are delayed so that all of the streams are open at the same time, like watches
+    for (int i = 0; i < STREAMS; i++) {
+      server.enqueue(new MockResponse().setBody("{}").setBodyDelay(1, TimeUnit.SECONDS));
+    }
+    try (HttpClient client = clientBuilder().multiplexing(3, STREAMS / 3).build()) {
+      assertThat(client.isMultiplexed()).isTrue();
+
+      assertThat(consume(client.newBuilder().forStreaming().build(), STREAMS)).containsOnly(200);
+
+      assertThat(connections(STREAMS)).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void streamsBeyondTheMaximumShareTheConnections() throws Exception {
+    for (int i = 0; i < STREAMS; i++) {
+      server.enqueue(new MockResponse().setBody("{}"));
+    }
+    try (HttpClient client = clientBuilder().multiplexing(2, 1).build()) {
+      assertThat(consume(client, STREAMS)).containsOnly(200);
+
+      assertThat(connections(STREAMS)).isLessThanOrEqualTo(2);
+    }
+  }
+
+  @Test
+  void http11DisablesMultiplexing() throws Exception {
+    try (HttpClient client = clientBuilder().preferHttp11().multiplexing(1, STREAMS).build()) {
+      assertThat(client.isMultiplexed()).isFalse();
+    }
+  }
+
+  private List<Integer> consume(HttpClient client, int count) throws Exception {
+    HttpRequest request = client.newHttpRequestBuilder().uri(server.url("/stream").toString()).build();
+    List<CompletableFuture<Integer>> codes = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      codes.add(client.consumeBytes(request, (value, asyncBody) -> asyncBody.consume())
+          .thenCompose(r -> {
+            r.body().consume();
+            return r.body().done().thenApply(v -> r.code());
+          }));
+    }
+    CompletableFuture.allOf(codes.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+    List<Integer> result = new ArrayList<>();
+    codes.forEach(c -> result.add(c.join()));
+    return result;
+  }
+
+  /**
+   * The number of connections used, based upon the requests that were the first on their connection
+   */
+  private int connections(int requests) throws InterruptedException {
+    int connections = 0;
+    for (int i = 0; i < requests; i++) {
+      RecordedRequest recorded = server.takeRequest(10, TimeUnit.SECONDS);
+      assertThat(recorded).isNotNull();
+      // the recorded request line is always HTTP/1.1, only HTTP/2 requests have pseudo headers
+      assertThat(recorded.getHeader(":scheme")).isEqualTo("https");
+      if (recorded.getSequenceNumber() == 0) {
+        connections++;
+      }
+    }
+    return connections;
+  }
+
+}
@@ -16,6 +16,7 @@
 package io.fabric8.kubernetes.client.http;
 
 import io.fabric8.mockwebserver.DefaultMockServer;
+import io.fabric8.mockwebserver.internal.WebSocketMessage;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -86,4 +87,41 @@ public abstract class AbstractWebSocketSendTest {
     }
   }
 
+  @Test
+  @DisplayName("send, with a buffer pool, receives binary messages and returns all buffers to the pool")
+  void sendWithBufferPoolReturnsBuffers() throws Exception {
+    final BufferPool pool = new BufferPool(64, 4);
+    try (final HttpClient client = getHttpClientFactory().newBuilder().bufferPool(pool).build()) {
+      // Given
+      server.expect().withPath("/send-binary")
+          .andUpgradeToWebSocket()
+          .open()
+          .expect("GiveMeBytes")
+          .andEmit(new WebSocketMessage("received".getBytes(StandardCharsets.UTF_8)))
+          .always()
+          .done()
+          .always();
+      final BlockingQueue<String> receivedBytes = new ArrayBlockingQueue<>(1);
+      final WebSocket ws = client.newWebSocketBuilder()
+          .uri(URI.create(server.url("send-binary")))
+          .buildAsync(new WebSocket.Listener() {
+            @Override
+            public void onMessage(WebSocket webSocket, ByteBuffer bytes) {
+              assertTrue(receivedBytes.offer(StandardCharsets.UTF_8.decode(bytes).toString()));
+            }
+          }).get(10L, TimeUnit.SECONDS);
+      // When
+      ws.send(ByteBuffer.wrap("GiveMeBytes".getBytes(StandardCharsets.UTF_8)));
+      final String result = receivedBytes.poll(10L, TimeUnit.SECONDS);
+      // Then
+      assertThat(result).isEqualTo("received");
+      // the sent buffer is released once the send completes
+      final long deadline = System.currentTimeMillis() + 10_000L;
+      while (pool.getFree() != pool.getAllocations() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10L);
+      }
+      assertThat((long) pool.getFree()).isEqualTo(pool.getAllocations());
+    }
+  }
+
 }
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BufferPoolTest {
+
+  @Test
+  void releasedBuffersAreReused() {
+    BufferPool pool = new BufferPool(16, 2);
+
+    for (int i = 0; i < 100; i++) {
+      PooledBuffer first = pool.acquire(8);
+      PooledBuffer second = pool.acquire(16);
+      first.release();
+      second.release();
+    }
+
+    assertThat(pool.getAllocations()).isEqualTo(2);
+    assertThat(pool.getFree()).isEqualTo(2);
+  }
+
+  @Test
+  void freeBuffersAreBounded() {
+    BufferPool pool = new BufferPool(16, 1);
+    PooledBuffer first = pool.acquire(16);
+    PooledBuffer second = pool.acquire(16);
+
+    first.release();
+    second.release();
+
+    assertThat(pool.getAllocations()).isEqualTo(2);
+    assertThat(pool.getFree()).isEqualTo(1);
+  }
+
+  @Test
+  void oversizedBuffersAreNotPooled() {
+    BufferPool pool = new BufferPool(16, 2);
+    PooledBuffer pooled = pool.acquire(17);
+
+    assertThat(pooled.buffer().capacity()).isEqualTo(17);
+    pooled.release();
+
+    assertThat(pool.getAllocations()).isZero();
+    assertThat(pool.getFree()).isZero();
+  }
+
+  @Test
+  void copyOfLeavesSourceUnchanged() {
+    BufferPool pool = new BufferPool(16, 2);
+    ByteBuffer source = ByteBuffer.wrap("hello".getBytes(StandardCharsets.UTF_8));
+
+    PooledBuffer copy = pool.copyOf(source);
+
+    assertThat(source.remaining()).isEqualTo(5);
+    assertThat(StandardCharsets.UTF_8.decode(copy.buffer()).toString()).isEqualTo("hello");
+  }
+
+  @Test
+  void bufferReturnsToPoolAfterLastRelease() {
+    BufferPool pool = new BufferPool(16, 2);
+    PooledBuffer pooled = pool.acquire(16).retain();
+
+    pooled.release();
+    assertThat(pool.getFree()).isZero();
+    pooled.release();
+
+    assertThat(pool.getFree()).isEqualTo(1);
+    assertThatThrownBy(pooled::release).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(pooled::retain).isInstanceOf(IllegalStateException.class);
+  }
+
+}
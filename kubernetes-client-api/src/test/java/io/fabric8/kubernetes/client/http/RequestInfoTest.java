@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestInfoTest {
+
+  @Test
+  void namespacedResource() {
+    RequestInfo info = RequestInfo.from("GET", URI.create("https://host/apis/apps/v1/namespaces/ns/deployments/app/scale"));
+
+    assertThat(info.getVerb()).isEqualTo("get");
+    assertThat(info.getGroup()).isEqualTo("apps");
+    assertThat(info.getResource()).isEqualTo("deployments");
+    assertThat(info.getSubresource()).isEqualTo("scale");
+    assertThat(info.getNamespace()).isEqualTo("ns");
+    assertThat(info.getName()).isEqualTo("app");
+  }
+
+  @Test
+  void listAndWatch() {
+    RequestInfo list = RequestInfo.from("GET", URI.create("https://host/api/v1/pods?labelSelector=a%3Db"));
+    RequestInfo watch = RequestInfo.from("GET", URI.create("https://host/api/v1/namespaces/ns/pods?watch=true"));
+
+    assertThat(list.getVerb()).isEqualTo("list");
+    assertThat(list.getGroup()).isEmpty();
+    assertThat(list.getNamespace()).isNull();
+    assertThat(watch.getVerb()).isEqualTo("watch");
+    assertThat(watch.getResource()).isEqualTo("pods");
+    assertThat(watch.getNamespace()).isEqualTo("ns");
+  }
+
+  @Test
+  void namespaces() {
+    RequestInfo get = RequestInfo.from("GET", URI.create("https://host/api/v1/namespaces/ns"));
+    RequestInfo status = RequestInfo.from("PUT", URI.create("https://host/api/v1/namespaces/ns/status"));
+
+    assertThat(get.getResource()).isEqualTo("namespaces");
+    assertThat(get.getName()).isEqualTo("ns");
+    assertThat(status.getVerb()).isEqualTo("update");
+    assertThat(status.getResource()).isEqualTo("namespaces");
+    assertThat(status.getSubresource()).isEqualTo("status");
+  }
+
+  @Test
+  void verbs() {
+    assertThat(RequestInfo.from("POST", URI.create("/api/v1/namespaces/ns/pods")).getVerb()).isEqualTo("create");
+    assertThat(RequestInfo.from("PATCH", URI.create("/api/v1/namespaces/ns/pods/p")).getVerb()).isEqualTo("patch");
+    assertThat(RequestInfo.from("DELETE", URI.create("/api/v1/namespaces/ns/pods/p")).getVerb()).isEqualTo("delete");
+    assertThat(RequestInfo.from("DELETE", URI.create("/api/v1/namespaces/ns/pods")).getVerb())
+        .isEqualTo("deletecollection");
+  }
+
+  @Test
+  void nonResourcePath() {
+    RequestInfo info = RequestInfo.from("GET", URI.create("https://host/apis/apps/v1"));
+
+    assertThat(info.getVerb()).isEqualTo("get");
+    assertThat(info.getResource()).isNull();
+  }
+
+  @Test
+  void utf8Length() {
+    String value = "aé€😀";
+
+    assertThat(ObservedRequest.utf8Length(value)).isEqualTo(value.getBytes(StandardCharsets.UTF_8).length);
+  }
+
+}
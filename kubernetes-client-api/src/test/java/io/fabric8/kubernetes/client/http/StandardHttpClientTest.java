@@ -24,12 +24,18 @@ import org.mockito.Mockito;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
@@ -90,6 +96,30 @@ class StandardHttpClientTest {
     Mockito.verify(asyncResp.body()).cancel();
   }
 
+  @Test
+  void rateLimiterDelaysRequests() {
+    CompletableFuture<Void> permit = new CompletableFuture<>();
+    RateLimiter rateLimiter = mock(RateLimiter.class);
+    when(rateLimiter.acquire(Mockito.any())).thenReturn(permit);
+    client = new TestStandardHttpClientFactory().newBuilder().rateLimiter(rateLimiter).build();
+    HttpRequest request = client.newHttpRequestBuilder().uri("http://localhost").build();
+
+    client.consumeBytes(request, (value, asyncBody) -> {
+    });
+    client.newWebSocketBuilder().uri(URI.create("ws://localhost")).buildAsync(new Listener() {
+    });
+
+    assertTrue(client.getRespFutures().isEmpty());
+    assertTrue(client.getWsFutures().isEmpty());
+    Mockito.verify(rateLimiter).acquire(request);
+
+    permit.complete(null);
+    assertEquals(1, client.getRespFutures().size());
+    assertEquals(1, client.getWsFutures().size());
+    // derived clients share the limiter
+    assertEquals(rateLimiter, client.newBuilder().build().builder.getRateLimiter());
+  }
+
   @Test
   void test10RetriesWithDefaultConfig() throws Exception {
     CompletableFuture<?> sendAsyncFuture = client.sendAsync(client.newHttpRequestBuilder().uri("http://localhost").build(),
@@ -161,6 +191,154 @@ class StandardHttpClientTest {
     assertEquals(4, client.getRespFutures().size());
   }
 
+  @Test
+  void testHttpRetryAfterTooManyRequests() throws Exception {
+    client = client.newBuilder().tag(new RequestConfigBuilder()
+        .withRequestRetryBackoffLimit(3)
+        .withRequestRetryBackoffInterval(100).build())
+        .build();
+    client.builder.retryBudget(new RetryBudget());
+
+    client.getRespFutures().add(CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>(
+        Collections.singletonMap("retry-after", Collections.singletonList("1"))).withCode(429)));
+    client.getRespFutures().add(CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>().withCode(200)));
+
+    long start = System.currentTimeMillis();
+    CompletableFuture<HttpResponse<AsyncBody>> consumeFuture = client.consumeBytes(
+        client.newHttpRequestBuilder().uri("http://localhost").build(),
+        (value, asyncBody) -> {
+        });
+
+    assertEquals(200, consumeFuture.get().code());
+    // the Retry-After header is used instead of the backoff interval
+    assertTrue(System.currentTimeMillis() - start >= 1000);
+    assertEquals(1, client.builder.getRetryBudget().getRetries(RetryBudget.Cause.TOO_MANY_REQUESTS));
+  }
+
+  @Test
+  void testHttpRetryAfterIsLimitedToTheMaxBackoffInterval() throws Exception {
+    client = client.newBuilder().tag(new RequestConfigBuilder()
+        .withRequestRetryBackoffLimit(3)
+        .withRequestRetryBackoffInterval(1).build())
+        .build();
+
+    client.getRespFutures().add(CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>(
+        Collections.singletonMap("Retry-After", Collections.singletonList("3600"))).withCode(503)));
+    client.getRespFutures().add(CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>().withCode(200)));
+
+    CompletableFuture<HttpResponse<AsyncBody>> consumeFuture = client.consumeBytes(
+        client.newHttpRequestBuilder().uri("http://localhost").build(),
+        (value, asyncBody) -> {
+        });
+
+    // waits for at most 32 millis rather than an hour
+    assertEquals(200, consumeFuture.get(10, TimeUnit.SECONDS).code());
+    assertNull(client.builder.getRetryBudget());
+  }
+
+  @Test
+  void testNoRetryForTooManyRequestsWithoutRetryAfter() throws Exception {
+    client.getRespFutures().add(CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>().withCode(429)));
+
+    CompletableFuture<HttpResponse<AsyncBody>> consumeFuture = client.consumeBytes(
+        client.newHttpRequestBuilder().uri("http://localhost").build(),
+        (value, asyncBody) -> {
+        });
+
+    assertEquals(429, consumeFuture.get().code());
+    assertEquals(1, client.getRespFutures().size());
+  }
+
+  @Test
+  void testHttpRetryStopsWhenBudgetIsExhausted() throws Exception {
+    RetryBudget budget = new RetryBudget(10, 0.1);
+    client = client.newBuilder().tag(new RequestConfigBuilder()
+        .withRequestRetryBackoffLimit(10)
+        .withRequestRetryBackoffInterval(1).build())
+        .build();
+    client.builder.retryBudget(budget);
+
+    final HttpResponse<AsyncBody> error = new TestHttpResponse<AsyncBody>().withCode(503);
+    IntStream.range(0, 10).forEach(i -> client.getRespFutures().add(CompletableFuture.completedFuture(error)));
+
+    CompletableFuture<HttpResponse<AsyncBody>> consumeFuture = client.consumeBytes(
+        client.newHttpRequestBuilder().uri("http://localhost").build(),
+        (value, asyncBody) -> {
+        });
+
+    assertEquals(503, consumeFuture.get().code());
+    // retries stop once half of the tokens are taken
+    assertEquals(4, budget.getRetries(RetryBudget.Cause.SERVER_ERROR));
+    assertEquals(1, budget.getDenied());
+  }
+
+  @Test
+  void requestObserverSeesRetriesAndCompletion() throws Exception {
+    List<String> events = new CopyOnWriteArrayList<>();
+    RequestObserver observer = new RequestObserver() {
+      @Override
+      public Observation requestStarted(HttpRequest request, RequestInfo info) {
+        events.add("start " + info.getVerb() + " " + info.getResource());
+        return new Observation() {
+          @Override
+          public void beforeSend(BasicBuilder builder) {
+            builder.setHeader("traceparent", "trace");
+          }
+
+          @Override
+          public void responseReceived(HttpResponse<?> response) {
+            events.add("response " + response.code());
+          }
+
+          @Override
+          public void retrying(HttpResponse<?> response, Throwable failure, long delayMillis) {
+            events.add("retry " + response.code());
+          }
+
+          @Override
+          public void completed(int code, Throwable failure, long bytesSent, long bytesReceived) {
+            events.add("completed " + code + " " + failure + " " + bytesSent);
+          }
+        };
+      }
+    };
+    client = client.newBuilder().requestObserver(observer).tag(new RequestConfigBuilder()
+        .withRequestRetryBackoffLimit(1)
+        .withRequestRetryBackoffInterval(1).build())
+        .build();
+
+    AsyncBody body = mock(AsyncBody.class);
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    when(body.done()).thenReturn(done);
+    client.getRespFutures().add(CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>().withCode(503)));
+    client.getRespFutures().add(CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>().withCode(200).withBody(body)));
+
+    CompletableFuture<HttpResponse<AsyncBody>> consumeFuture = client.consumeBytes(
+        client.newHttpRequestBuilder().uri("http://localhost/api/v1/namespaces/ns/pods").post("application/json", "{}")
+            .build(),
+        (value, asyncBody) -> {
+        });
+
+    assertEquals(200, consumeFuture.get().code());
+    assertEquals(Arrays.asList("start create pods", "response 503", "retry 503", "response 200"), events);
+    assertEquals(Collections.singletonList("trace"), client.getRecentRequest().headers("traceparent"));
+
+    // the request completes with its body
+    done.complete(null);
+    assertEquals("completed 200 null 4", events.get(4));
+  }
+
+  @Test
+  void retryAfterHeader() {
+    assertEquals(Optional.of(2000L), StandardHttpClient.retryAfterMillis(new TestHttpResponse<>(
+        Collections.singletonMap("Retry-After", Collections.singletonList("2")))));
+    assertEquals(Optional.of(0L), StandardHttpClient.retryAfterMillis(new TestHttpResponse<>(
+        Collections.singletonMap("Retry-After", Collections.singletonList("Wed, 21 Oct 2015 07:28:00 GMT")))));
+    assertEquals(Optional.empty(), StandardHttpClient.retryAfterMillis(new TestHttpResponse<>(
+        Collections.singletonMap("Retry-After", Collections.singletonList("soon")))));
+    assertEquals(Optional.empty(), StandardHttpClient.retryAfterMillis(new TestHttpResponse<>()));
+  }
+
   @Test
   void testWebSocketWithLessFailuresThanRetries() throws Exception {
     client = client.newBuilder().tag(new RequestConfigBuilder()
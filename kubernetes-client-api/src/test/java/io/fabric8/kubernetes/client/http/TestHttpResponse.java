@@ -15,8 +15,14 @@
  */
 package io.fabric8.kubernetes.client.http;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Basic {@link HttpResponse} implementation to be used in tests instead of mocks or real responses.
@@ -30,6 +36,13 @@ public class TestHttpResponse<T> extends StandardHttpHeaders implements HttpResp
   private HttpRequest request;
   private HttpResponse<T> previousResponse;
 
+  public TestHttpResponse() {
+  }
+
+  public TestHttpResponse(Map<String, List<String>> headers) {
+    super(headers);
+  }
+
   @Override
   public int code() {
     return code;
@@ -85,4 +98,47 @@ public class TestHttpResponse<T> extends StandardHttpHeaders implements HttpResp
   public static TestHttpResponse<byte[]> from(int code, String body) {
     return new TestHttpResponse<byte[]>().withCode(code).withBody(body.getBytes(StandardCharsets.UTF_8));
   }
+
+  /**
+   * Answer a {@link HttpClient#consumeBytes(HttpRequest, AsyncBody.Consumer)} call with the given response,
+   * its body is delivered to the consumer as a single chunk.
+   */
+  public static CompletableFuture<HttpResponse<AsyncBody>> consume(HttpResponse<byte[]> response,
+      AsyncBody.Consumer<List<ByteBuffer>> consumer) {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    AtomicBoolean delivered = new AtomicBoolean();
+    AsyncBody body = new AsyncBody() {
+      @Override
+      public void consume() {
+        if (done.isDone()) {
+          return;
+        }
+        if (delivered.getAndSet(true)) {
+          done.complete(null);
+          return;
+        }
+        try {
+          byte[] bytes = response.body();
+          if (bytes == null) {
+            bytes = new byte[0];
+          }
+          consumer.consume(Collections.singletonList(ByteBuffer.wrap(bytes)), this);
+        } catch (Exception e) {
+          done.completeExceptionally(e);
+        }
+      }
+
+      @Override
+      public CompletableFuture<Void> done() {
+        return done;
+      }
+
+      @Override
+      public void cancel() {
+        done.cancel(false);
+      }
+    };
+    return CompletableFuture.completedFuture(new TestHttpResponse<AsyncBody>(response.headers())
+        .withCode(response.code()).withBody(body));
+  }
 }
@@ -31,6 +31,8 @@ public class TestStandardHttpClient
   @Getter
   private final List<CompletableFuture<HttpResponse<AsyncBody>>> respFutures;
   private int respIndex;
+  @Getter
+  private StandardHttpRequest recentRequest;
 
   protected TestStandardHttpClient(TestStandardHttpClientBuilder builder) {
     super(builder);
@@ -57,6 +59,7 @@ public class TestStandardHttpClient
   @Override
   public synchronized CompletableFuture<HttpResponse<AsyncBody>> consumeBytesDirect(StandardHttpRequest request,
       AsyncBody.Consumer<List<ByteBuffer>> consumer) {
+    recentRequest = request;
     if (respFutures.size() <= respIndex) {
       respFutures.add(new CompletableFuture<>());
     }
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.http;
+
+import io.fabric8.kubernetes.client.http.TokenBucketRateLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+
+  private static HttpRequest request(String method, String uri) {
+    return new StandardHttpRequest.Builder().uri(uri).method(method, "application/json", "").build();
+  }
+
+  private static HttpRequest get(String uri) {
+    return new StandardHttpRequest.Builder().uri(uri).build();
+  }
+
+  @Test
+  void burstIsAllowedImmediatelyThenRateLimited() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 2, r -> Priority.NORMAL, nanos::get, Runnable::run);
+    HttpRequest request = get("https://localhost/api/v1/namespaces/ns/pods/name");
+
+    assertThat(limiter.acquire(request)).isDone();
+    assertThat(limiter.acquire(request)).isDone();
+    CompletableFuture<Void> third = limiter.acquire(request);
+    assertThat(third).isNotDone();
+
+    // half a second gives one permit at 2 per second
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    limiter.drain();
+    assertThat(third).isDone();
+  }
+
+  @Test
+  void higherPriorityLanesAreServedFirst() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, r -> Priority.valueOf(r.method()), nanos::get, Runnable::run);
+    List<Priority> acquired = new ArrayList<>();
+    limiter.metrics(new TokenBucketRateLimiter.Metrics() {
+      @Override
+      public void acquired(Priority priority, Duration queueWait) {
+        acquired.add(priority);
+      }
+    });
+
+    assertThat(limiter.acquire(request("NORMAL", "https://localhost"))).isDone();
+    CompletableFuture<Void> low = limiter.acquire(request("LOW", "https://localhost"));
+    CompletableFuture<Void> normal = limiter.acquire(request("NORMAL", "https://localhost"));
+    CompletableFuture<Void> high = limiter.acquire(request("HIGH", "https://localhost"));
+    assertThat(limiter.getQueued(Priority.LOW)).isEqualTo(1);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.drain();
+    assertThat(high).isDone();
+    assertThat(normal).isNotDone();
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.drain();
+    assertThat(normal).isDone();
+    assertThat(low).isNotDone();
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.drain();
+    assertThat(low).isDone();
+    assertThat(acquired).containsExactly(Priority.NORMAL, Priority.HIGH, Priority.NORMAL, Priority.LOW);
+  }
+
+  @Test
+  void cancelledWaitDoesNotUseAPermit() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, r -> Priority.NORMAL, nanos::get, Runnable::run);
+    HttpRequest request = get("https://localhost");
+
+    limiter.acquire(request);
+    CompletableFuture<Void> cancelled = limiter.acquire(request);
+    CompletableFuture<Void> next = limiter.acquire(request);
+    cancelled.cancel(true);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.drain();
+    assertThat(next).isDone();
+  }
+
+  @Test
+  void waitsAreCompletedOnTheExecutor() {
+    List<Runnable> tasks = new ArrayList<>();
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, r -> Priority.NORMAL, nanos::get, tasks::add);
+    HttpRequest request = get("https://localhost");
+
+    assertThat(limiter.acquire(request)).isDone();
+    CompletableFuture<Void> waiting = limiter.acquire(request);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.drain();
+    assertThat(waiting).isNotDone();
+    assertThat(tasks).hasSize(1);
+
+    tasks.get(0).run();
+    assertThat(waiting).isDone();
+  }
+
+  @Test
+  void invalidSettings() {
+    assertThatThrownBy(() -> new TokenBucketRateLimiter(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new TokenBucketRateLimiter(1, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void defaultClassification() {
+    assertThat(Priority.of(get("https://localhost/api/v1/namespaces/ns/pods?watch=true"))).isEqualTo(Priority.HIGH);
+    assertThat(Priority.of(get("https://localhost/apis/apps/v1/deployments?labelSelector=a&watch=true")))
+        .isEqualTo(Priority.HIGH);
+    assertThat(Priority.of(request("PUT", "https://localhost/apis/coordination.k8s.io/v1/namespaces/ns/leases/leader")))
+        .isEqualTo(Priority.HIGH);
+    assertThat(Priority.of(get("https://localhost/api/v1/pods"))).isEqualTo(Priority.LOW);
+    assertThat(Priority.of(get("https://localhost/api/v1/namespaces/ns/pods?limit=500"))).isEqualTo(Priority.LOW);
+    assertThat(Priority.of(get("https://localhost/apis/apps/v1/namespaces/ns/deployments"))).isEqualTo(Priority.LOW);
+    assertThat(Priority.of(get("https://localhost/api/v1/namespaces"))).isEqualTo(Priority.LOW);
+    assertThat(Priority.of(get("https://localhost/api/v1/namespaces/ns"))).isEqualTo(Priority.NORMAL);
+    assertThat(Priority.of(get("https://localhost/api/v1/namespaces/ns/pods/name"))).isEqualTo(Priority.NORMAL);
+    assertThat(Priority.of(request("POST", "https://localhost/api/v1/namespaces/ns/pods"))).isEqualTo(Priority.NORMAL);
+    assertThat(Priority.of(get("https://localhost/version"))).isEqualTo(Priority.NORMAL);
+  }
+
+}
@@ -79,6 +79,7 @@ import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -390,6 +391,19 @@ class UtilsTest {
     assertTrue(t.getName().startsWith(UtilsTest.class.getSimpleName()));
   }
 
+  @Test
+  void testVirtualThreadPerTaskExecutor() throws Exception {
+    ExecutorService executor = Utils.newVirtualThreadPerTaskExecutor(this);
+    try {
+      Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get(1, TimeUnit.SECONDS);
+      // virtual threads are always daemon threads, the fallback is a daemon thread pool
+      assertTrue(thread.isDaemon());
+      assertTrue(thread.getName().startsWith(UtilsTest.class.getSimpleName()));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void testSerialExecution() throws Exception {
     AtomicInteger counter = new AtomicInteger();
@@ -168,6 +168,53 @@ class SerializationTest {
         .hasFieldOrPropertyWithValue("metadata.name", "pod");
   }
 
+  @Test
+  void cloneKubernetesResourceIsDeep() {
+    // Given
+    Pod pod = new PodBuilder().withNewMetadata().withName("pod").addToLabels("app", "test").endMetadata()
+        .withNewSpec().addNewContainer().withName("container").withImage("image").endContainer().endSpec().build();
+    // When
+    Pod clonePod = Serialization.clone(pod);
+    clonePod.getMetadata().getLabels().put("other", "label");
+    clonePod.getSpec().getContainers().get(0).setImage("changed");
+    // Then
+    assertThat(pod.getMetadata().getLabels()).containsOnlyKeys("app");
+    assertThat(pod.getSpec().getContainers().get(0).getImage()).isEqualTo("image");
+  }
+
+  @Test
+  void cloneGenericKubernetesResourceIsDeep() {
+    // Given
+    GenericKubernetesResource resource = Serialization.unmarshal(
+        "{\"apiVersion\":\"example.com/v1\",\"kind\":\"Example\",\"metadata\":{\"name\":\"example\"},"
+            + "\"spec\":{\"replicas\":1,\"ratio\":0.5,\"items\":[{\"name\":\"a\"},null,true]}}",
+        GenericKubernetesResource.class);
+    // When
+    GenericKubernetesResource clone = Serialization.clone(resource);
+    Map<String, Object> cloneSpec = clone.get("spec");
+    clone.<List<Map<String, Object>>> get("spec", "items").get(0).put("name", "b");
+    cloneSpec.put("replicas", 2);
+    clone.getMetadata().setName("changed");
+    // Then
+    assertThat(clone).isNotSameAs(resource);
+    assertThat(Serialization.asJson(resource)).isEqualTo(
+        "{\"apiVersion\":\"example.com/v1\",\"kind\":\"Example\",\"metadata\":{\"name\":\"example\"},"
+            + "\"spec\":{\"replicas\":1,\"ratio\":0.5,\"items\":[{\"name\":\"a\"},null,true]}}");
+  }
+
+  @Test
+  void cloneGenericKubernetesResourceWithNonJsonValues() {
+    // Given
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setKind("Example");
+    resource.setAdditionalProperty("spec", new PodSpec());
+    // When
+    GenericKubernetesResource clone = Serialization.clone(resource);
+    // Then
+    assertThat(clone).isNotSameAs(resource);
+    assertThat(clone.<Object> get("spec")).isInstanceOf(Map.class);
+  }
+
   @Test
   void cloneNonResourceReturnsDifferentInstance() {
     // Given
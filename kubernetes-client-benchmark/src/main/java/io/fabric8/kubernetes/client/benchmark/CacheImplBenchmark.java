@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.benchmark;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.IndexMode;
+import io.fabric8.kubernetes.client.informers.impl.cache.CacheImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CacheImpl} index reads against concurrent watch event writes for each {@link IndexMode}.
+ * <br>
+ * Each write moves a pod to another app label value, so that the indexes are updated rather than
+ * re-putting an unchanged object. {@link #byIndexes(Blackhole)} measures the intersection of the namespace and
+ * app indexes without writes.
+ */
+@State(Scope.Group)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+public class CacheImplBenchmark {
+
+  private static final int NAMESPACES = 100;
+  private static final int APPS = 100;
+  private static final String APP_INDEX = "app";
+  private static final String APP_LABEL = "app";
+
+  @Param({ "SYNCHRONIZED", "CONCURRENT", "COMPACT" })
+  private IndexMode indexMode;
+
+  @Param({ "80000" })
+  private int size;
+
+  private CacheImpl<Pod> cache;
+  // each pod with its original and with its moved app label
+  private Pod[][] pods;
+  // only accessed by the single writer thread
+  private boolean[] moved;
+
+  @Setup
+  public void setup() {
+    cache = new CacheImpl<>();
+    cache.setIndexMode(indexMode);
+    cache.addIndexers(Collections.singletonMap(APP_INDEX,
+        pod -> Collections.singletonList(pod.getMetadata().getLabels().get(APP_LABEL))));
+    pods = new Pod[2][size];
+    moved = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      pods[0][i] = pod(i, app(i));
+      pods[1][i] = pod(i, app(i + APPS / 2));
+      cache.put(pods[0][i]);
+    }
+  }
+
+  private static Pod pod(int i, String app) {
+    return new PodBuilder().withNewMetadata()
+        .withNamespace(namespace(i))
+        .withName("pod-" + i)
+        .withResourceVersion("1")
+        .addToLabels(APP_LABEL, app)
+        .endMetadata()
+        .build();
+  }
+
+  private static String namespace(int i) {
+    return "namespace-" + (i % NAMESPACES);
+  }
+
+  private static String app(int i) {
+    return "app-" + (i % APPS);
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(7)
+  @BenchmarkMode(Mode.Throughput)
+  public void byIndex(Blackhole bh) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    bh.consume(cache.byIndex(Cache.NAMESPACE_INDEX, namespace(random.nextInt(NAMESPACES))));
+    bh.consume(cache.byIndex(APP_INDEX, app(random.nextInt(APPS))));
+  }
+
+  @Benchmark
+  @Group("intersect")
+  @GroupThreads(1)
+  @BenchmarkMode(Mode.Throughput)
+  public void byIndexes(Blackhole bh) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Map<String, String> indexKeys = new HashMap<>();
+    indexKeys.put(Cache.NAMESPACE_INDEX, namespace(random.nextInt(NAMESPACES)));
+    indexKeys.put(APP_INDEX, app(random.nextInt(APPS)));
+    bh.consume(cache.byIndexes(indexKeys));
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(1)
+  @BenchmarkMode(Mode.Throughput)
+  public void put(Blackhole bh) {
+    int i = ThreadLocalRandom.current().nextInt(size);
+    moved[i] = !moved[i];
+    bh.consume(cache.put(pods[moved[i] ? 1 : 0][i]));
+  }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.benchmark;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.informers.cache.IndexMode;
+import io.fabric8.kubernetes.client.informers.impl.cache.CacheImpl;
+
+import java.util.Collections;
+
+/**
+ * Reports the heap retained per object by a {@link CacheImpl}, excluding the objects themselves,
+ * for each {@link IndexMode}.
+ * <p>
+ * Run with a fixed heap, for example -Xms2g -Xmx2g, to get stable results.
+ */
+public class CacheImplFootprint {
+
+  private static final int SIZE = 100_000;
+  private static final int NAMESPACES = 100;
+
+  public static void main(String[] args) {
+    Pod[] pods = new Pod[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      pods[i] = new PodBuilder().withNewMetadata()
+          .withNamespace("namespace-" + (i % NAMESPACES))
+          .withName("pod-" + i)
+          .withUid("uid-" + i)
+          .endMetadata()
+          .withNewSpec()
+          .withNodeName("node-" + (i % 1000))
+          .endSpec()
+          .build();
+    }
+
+    for (IndexMode indexMode : IndexMode.values()) {
+      long before = usedHeap();
+      CacheImpl<Pod> cache = new CacheImpl<>();
+      cache.setIndexMode(indexMode);
+      cache.addIndexFunc("node", p -> Collections.singletonList(p.getSpec().getNodeName()));
+      cache.addIndexFunc("uid", p -> Collections.singletonList(p.getMetadata().getUid()));
+      for (Pod pod : pods) {
+        cache.put(pod);
+      }
+      long after = usedHeap();
+      System.out.printf("%s: %d bytes per object%n", indexMode, (after - before) / SIZE);
+      if (cache.list().size() != SIZE) {
+        throw new IllegalStateException();
+      }
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+}
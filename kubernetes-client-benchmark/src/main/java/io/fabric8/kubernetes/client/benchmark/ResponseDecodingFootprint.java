@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.dsl.internal.TypedBodyConsumer;
+import io.fabric8.kubernetes.client.http.AsyncBody;
+import io.fabric8.kubernetes.client.http.BufferUtil;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Reports the bytes allocated and the peak heap used while decoding a 50 MB PodList response body,
+ * delivered in 16 KB chunks, by concatenating the chunks into an array versus reading them in place with a
+ * {@link TypedBodyConsumer}.
+ * <p>
+ * Run with a fixed heap, for example -Xms4g -Xmx4g, to get stable results.
+ */
+public class ResponseDecodingFootprint {
+
+  private static final int BODY_SIZE = 50 * 1024 * 1024;
+  private static final int CHUNK_SIZE = 16 * 1024;
+  private static final TypeReference<PodList> TYPE = new TypeReference<PodList>() {
+  };
+
+  public static void main(String[] args) {
+    List<ByteBuffer> chunks = chunks(podList());
+
+    // the first rounds warm up the parser
+    for (int i = 0; i < 3; i++) {
+      measure("array", () -> Serialization.unmarshal(new ByteArrayInputStream(BufferUtil.toArray(copy(chunks))), TYPE));
+      measure("buffers", () -> {
+        TypedBodyConsumer<PodList> consumer = new TypedBodyConsumer<>(TYPE);
+        return consumer.readValue(new ChunkedBody(consumer, copy(chunks))).join();
+      });
+    }
+  }
+
+  private static void measure(String name, Supplier<PodList> decoder) {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long baseline = usedHeap();
+    heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    PodList result = decoder.get();
+    allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocated;
+    long peak = heapPools().stream().mapToLong(p -> p.getPeakUsage().getUsed()).sum() - baseline;
+    System.out.printf("%s: %d MB allocated, %d MB peak heap, %d items%n", name, allocated >> 20, peak >> 20,
+        result.getItems().size());
+  }
+
+  private static byte[] podList() {
+    PodListBuilder builder = new PodListBuilder().withNewMetadata().withResourceVersion("1").endMetadata();
+    byte[] pod = Serialization.asJson(pod(0)).getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < BODY_SIZE / pod.length; i++) {
+      builder.addToItems(pod(i));
+    }
+    return Serialization.asJson(builder.build()).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static Pod pod(int i) {
+    return new PodBuilder().withNewMetadata()
+        .withNamespace("namespace-" + (i % 100))
+        .withName("pod-" + i)
+        .withUid("uid-" + i)
+        .addToLabels("app", "app-" + (i % 1000))
+        .addToAnnotations("description", "a pod used to measure the cost of decoding a large list")
+        .endMetadata()
+        .withNewSpec()
+        .withNodeName("node-" + (i % 1000))
+        .addNewContainer().withName("main").withImage("registry.example.com/app:" + i)
+        .addToArgs("--verbose", "--port=8080").endContainer()
+        .endSpec()
+        .build();
+  }
+
+  private static List<ByteBuffer> chunks(byte[] body) {
+    List<ByteBuffer> chunks = new ArrayList<>();
+    for (int position = 0; position < body.length; position += CHUNK_SIZE) {
+      chunks.add(ByteBuffer.wrap(body, position, Math.min(CHUNK_SIZE, body.length - position)).slice());
+    }
+    return chunks;
+  }
+
+  private static List<ByteBuffer> copy(List<ByteBuffer> chunks) {
+    List<ByteBuffer> result = new ArrayList<>(chunks.size());
+    chunks.forEach(c -> result.add(c.duplicate()));
+    return result;
+  }
+
+  private static List<MemoryPoolMXBean> heapPools() {
+    List<MemoryPoolMXBean> pools = new ArrayList<>();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pools.add(pool);
+      }
+    }
+    return pools;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static class ChunkedBody implements AsyncBody {
+
+    private final AsyncBody.Consumer<List<ByteBuffer>> consumer;
+    private final Iterator<ByteBuffer> chunks;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    ChunkedBody(AsyncBody.Consumer<List<ByteBuffer>> consumer, List<ByteBuffer> chunks) {
+      this.consumer = consumer;
+      this.chunks = chunks.iterator();
+    }
+
+    @Override
+    public void consume() {
+      // deliver iteratively rather than recursing through the consumer
+      while (!done.isDone()) {
+        if (!chunks.hasNext()) {
+          done.complete(null);
+          return;
+        }
+        try {
+          consumer.consume(Collections.singletonList(chunks.next()), new AsyncBody() {
+            @Override
+            public void consume() {
+              // the loop requests the next chunk
+            }
+
+            @Override
+            public CompletableFuture<Void> done() {
+              return done;
+            }
+
+            @Override
+            public void cancel() {
+              done.cancel(false);
+            }
+          });
+        } catch (Exception e) {
+          done.completeExceptionally(e);
+        }
+      }
+    }
+
+    @Override
+    public CompletableFuture<Void> done() {
+      return done;
+    }
+
+    @Override
+    public void cancel() {
+      done.cancel(false);
+    }
+  }
+
+}
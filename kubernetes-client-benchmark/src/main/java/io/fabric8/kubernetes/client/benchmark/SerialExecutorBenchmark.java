@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.benchmark;
+
+import io.fabric8.kubernetes.client.utils.internal.SerialExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the tasks per second run by a single {@link SerialExecutor} that many producer threads submit to,
+ * as the watch and informer dispatch paths do.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+public class SerialExecutorBenchmark {
+
+  private static final int TASKS = 100;
+
+  private ExecutorService pool;
+  private SerialExecutor executor;
+  private long count;
+
+  @Setup
+  public void setup() {
+    pool = Executors.newCachedThreadPool();
+    executor = new SerialExecutor(pool);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+    pool.shutdownNow();
+  }
+
+  /**
+   * Each invocation submits a run of tasks, then waits for the last so that the queue stays bounded
+   */
+  @Benchmark
+  @Threads(8)
+  @BenchmarkMode(Mode.Throughput)
+  @OperationsPerInvocation(TASKS)
+  public long execute() {
+    for (int i = 0; i < TASKS - 1; i++) {
+      executor.execute(this::increment);
+    }
+    CompletableFuture<Long> last = new CompletableFuture<>();
+    executor.execute(() -> last.complete(increment()));
+    return last.join();
+  }
+
+  private long increment() {
+    // only modified by the serially executed tasks
+    return ++count;
+  }
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Serialization#clone(Object)} against a json string round trip.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@Fork(2)
+public class SerializationCloneBenchmark {
+
+  @Param({ "Pod", "Deployment", "GenericKubernetesResource" })
+  private String type;
+
+  private HasMetadata resource;
+
+  @Setup
+  public void setup() {
+    switch (type) {
+      case "Pod":
+        resource = new PodBuilder().withNewMetadata().withName("pod").withNamespace("default")
+            .addToLabels("app", "benchmark").addToAnnotations("description", "a pod to clone").endMetadata()
+            .withNewSpec().addNewContainer().withName("container").withImage("image:latest")
+            .addNewEnv().withName("KEY").withValue("value").endEnv()
+            .addNewPort().withContainerPort(8080).endPort()
+            .withNewResources().addToLimits("cpu", new Quantity("100m")).endResources()
+            .endContainer().endSpec()
+            .withNewStatus().withPhase("Running").withPodIP("10.0.0.1").endStatus()
+            .build();
+        break;
+      case "Deployment":
+        resource = new DeploymentBuilder().withNewMetadata().withName("deployment").withNamespace("default")
+            .addToLabels("app", "benchmark").endMetadata()
+            .withNewSpec().withReplicas(3).withNewSelector().addToMatchLabels("app", "benchmark").endSelector()
+            .withNewTemplate().withNewMetadata().addToLabels("app", "benchmark").endMetadata()
+            .withNewSpec().addNewContainer().withName("container").withImage("image:latest")
+            .addNewPort().withContainerPort(8080).endPort().endContainer().endSpec()
+            .endTemplate().endSpec()
+            .build();
+        break;
+      default:
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+          Map<String, Object> item = new LinkedHashMap<>();
+          item.put("name", "item-" + i);
+          item.put("value", i);
+          item.put("enabled", i % 2 == 0);
+          items.add(item);
+        }
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("items", items);
+        GenericKubernetesResource generic = new GenericKubernetesResourceBuilder().withApiVersion("example.com/v1")
+            .withKind("Example").withNewMetadata().withName("example").endMetadata().build();
+        generic.setAdditionalProperty("spec", spec);
+        resource = generic;
+        break;
+    }
+  }
+
+  @Benchmark
+  public Object serializationClone() {
+    return Serialization.clone(resource);
+  }
+
+  @Benchmark
+  public Object jsonStringRoundTrip() throws JsonProcessingException {
+    return Serialization.jsonMapper().readValue(Serialization.jsonMapper().writeValueAsString(resource),
+        resource.getClass());
+  }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.benchmark;
+
+import io.fabric8.kubernetes.client.PortForward;
+import io.fabric8.kubernetes.client.dsl.internal.PortForwarderWebsocket;
+import io.fabric8.kubernetes.client.http.BufferPool;
+import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.jdkhttp.JdkHttpClientFactory;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the frames per second received through a port forward websocket from a mock server, with and without
+ * a {@link BufferPool} configured on the {@link HttpClient}. The same receive path is used by exec and attach.
+ * <p>
+ * Run with -prof gc to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+public class WebSocketStreamingBenchmark {
+
+  private static final int FRAMES = 256;
+  private static final int FRAME_SIZE = 16 * 1024;
+
+  @Param({ "false", "true" })
+  public boolean pooled;
+
+  private MockWebServer server;
+  private ExecutorService executor;
+  private HttpClient client;
+  private Pipe in;
+  private CountingChannel out;
+  private PortForward portForward;
+
+  @Setup
+  public void setup() throws IOException {
+    byte[] data = new byte[FRAME_SIZE + 1];
+    // the first byte is the data channel
+    data[0] = 0;
+    ByteString frame = ByteString.of(data);
+    server = new MockWebServer();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+          @Override
+          public void onOpen(WebSocket webSocket, Response response) {
+            // the data and error channel port headers
+            webSocket.send(ByteString.of((byte) 0, (byte) 0x50, (byte) 0));
+            webSocket.send(ByteString.of((byte) 1, (byte) 0x50, (byte) 0));
+          }
+
+          @Override
+          public void onMessage(WebSocket webSocket, ByteString bytes) {
+            // each message from the client asks for the next batch of frames
+            for (int i = 0; i < FRAMES; i++) {
+              webSocket.send(frame);
+            }
+          }
+        });
+      }
+    });
+    server.start();
+    executor = Executors.newCachedThreadPool();
+    HttpClient.Builder builder = new JdkHttpClientFactory().newBuilder();
+    if (pooled) {
+      builder.bufferPool(new BufferPool());
+    }
+    client = builder.build();
+    in = Pipe.open();
+    out = new CountingChannel();
+    URL url = server.url("/api/v1/namespaces/test/pods/pod/").url();
+    portForward = new PortForwarderWebsocket(client, executor).forward(url, 80, in.source(), out);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    portForward.close();
+    in.sink().close();
+    client.close();
+    executor.shutdownNow();
+    server.shutdown();
+  }
+
+  /**
+   * Each invocation asks the server for a batch of frames and waits until all of them have been written out
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OperationsPerInvocation(FRAMES)
+  public long receive() throws Exception {
+    CompletableFuture<Long> done = out.expect((long) FRAMES * FRAME_SIZE);
+    in.sink().write(ByteBuffer.wrap(new byte[] { 1 }));
+    return done.get(30, TimeUnit.SECONDS);
+  }
+
+  private static final class CountingChannel implements WritableByteChannel {
+
+    private volatile CompletableFuture<Long> done;
+    private volatile long remaining;
+
+    private CompletableFuture<Long> expect(long bytes) {
+      done = new CompletableFuture<>();
+      remaining = bytes;
+      return done;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+      int written = src.remaining();
+      src.position(src.limit());
+      // only written by the serially executed forwarding tasks
+      remaining -= written;
+      if (remaining <= 0) {
+        done.complete((long) written);
+      }
+      return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+
+  }
+
+}
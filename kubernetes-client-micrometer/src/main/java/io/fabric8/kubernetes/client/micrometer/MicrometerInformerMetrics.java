@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.micrometer;
+
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.informers.InformerMetrics;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Records {@link InformerMetrics} callbacks to a Micrometer {@link MeterRegistry}. Create one instance per informer,
+ * with tags that identify it:
+ *
+ * <pre>
+ * informer.metrics(new MicrometerInformerMetrics(registry, Tags.of("resource", "pods")));
+ * </pre>
+ */
+public class MicrometerInformerMetrics implements InformerMetrics {
+
+  public static final String PREFIX = "kubernetes.informer";
+
+  private final MeterRegistry registry;
+  private final Tags tags;
+  private final Counter watchStarts;
+  private final Counter watchReconnects;
+  private final Counter httpGone;
+  private final Timer listDuration;
+  private final DistributionSummary listPages;
+  private final DistributionSummary listItems;
+  private final Map<Watcher.Action, Counter> events = new EnumMap<>(Watcher.Action.class);
+  private final Timer handlerDuration;
+  private final List<Meter> gauges = new ArrayList<>();
+
+  public MicrometerInformerMetrics(MeterRegistry registry, Iterable<Tag> tags) {
+    this.registry = registry;
+    this.tags = Tags.of(tags);
+    this.watchStarts = Counter.builder(PREFIX + ".watch.starts")
+        .description("The number of watches started")
+        .tags(this.tags).register(registry);
+    this.watchReconnects = Counter.builder(PREFIX + ".watch.reconnects")
+        .description("The number of times a watch reconnected")
+        .tags(this.tags).register(registry);
+    this.httpGone = Counter.builder(PREFIX + ".watch.gone")
+        .description("The number of watches closed with http gone, requiring a relist")
+        .tags(this.tags).register(registry);
+    this.listDuration = Timer.builder(PREFIX + ".list")
+        .description("The time taken to list all pages")
+        .tags(this.tags).register(registry);
+    this.listPages = DistributionSummary.builder(PREFIX + ".list.pages")
+        .description("The number of pages per list")
+        .tags(this.tags).register(registry);
+    this.listItems = DistributionSummary.builder(PREFIX + ".list.items")
+        .description("The number of items per list")
+        .tags(this.tags).register(registry);
+    for (Watcher.Action action : Watcher.Action.values()) {
+      events.put(action, Counter.builder(PREFIX + ".events")
+          .description("The number of watch events received")
+          .tags(this.tags).tag("type", action.name()).register(registry));
+    }
+    this.handlerDuration = Timer.builder(PREFIX + ".handler")
+        .description("The time taken by event handler invocations")
+        .tags(this.tags).register(registry);
+  }
+
+  @Override
+  public synchronized void registerGauges(IntSupplier cacheSize, IntSupplier queueDepth, Supplier<Duration> lag) {
+    gauges.add(Gauge.builder(PREFIX + ".cache.size", cacheSize, IntSupplier::getAsInt)
+        .description("The number of items in the informer cache")
+        .tags(tags).register(registry));
+    gauges.add(Gauge.builder(PREFIX + ".queue.depth", queueDepth, IntSupplier::getAsInt)
+        .description("The number of notifications waiting to be delivered to event handlers")
+        .tags(tags).register(registry));
+    gauges.add(TimeGauge.builder(PREFIX + ".queue.lag", lag, TimeUnit.NANOSECONDS, l -> l.get().toNanos())
+        .description("How long the oldest pending notification has been waiting")
+        .tags(tags).register(registry));
+  }
+
+  @Override
+  public synchronized void unregisterGauges() {
+    gauges.forEach(registry::remove);
+    gauges.clear();
+  }
+
+  @Override
+  public void listCompleted(Duration duration, int pages, long items) {
+    listDuration.record(duration);
+    listPages.record(pages);
+    listItems.record(items);
+  }
+
+  @Override
+  public void httpGone() {
+    httpGone.increment();
+  }
+
+  @Override
+  public void watchStarted() {
+    watchStarts.increment();
+  }
+
+  @Override
+  public void watchReconnected() {
+    watchReconnects.increment();
+  }
+
+  @Override
+  public void eventReceived(Watcher.Action action) {
+    events.get(action).increment();
+  }
+
+  @Override
+  public void handlerInvoked(Duration duration) {
+    handlerDuration.record(duration);
+  }
+
+  /**
+   * Convenience to set the metrics on an informer before it is started
+   *
+   * @return the informer
+   */
+  public static <T> SharedIndexInformer<T> bind(SharedIndexInformer<T> informer, MeterRegistry registry,
+      Iterable<Tag> tags) {
+    return informer.metrics(new MicrometerInformerMetrics(registry, tags));
+  }
+
+}
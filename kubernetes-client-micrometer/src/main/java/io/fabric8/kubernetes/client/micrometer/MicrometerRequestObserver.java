@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.micrometer;
+
+import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.http.HttpRequest;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.RequestInfo;
+import io.fabric8.kubernetes.client.http.RequestObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@link RequestObserver} callbacks to a Micrometer {@link MeterRegistry} as histograms tagged with the verb,
+ * group, resource and subresource of each request, and with the final response code:
+ *
+ * <pre>
+ * httpClientBuilder.requestObserver(new MicrometerRequestObserver(registry, Tags.of("cluster", "east")));
+ * </pre>
+ *
+ * The duration of a request includes rate limiting and retries, and lasts until its response body is done. For
+ * watches and other streamed requests that is how long the stream was open, so the time to the first byte of the
+ * response is recorded separately.
+ */
+public class MicrometerRequestObserver implements RequestObserver {
+
+  public static final String PREFIX = "kubernetes.client.requests";
+
+  private static final String ERROR_CODE = "<error>";
+
+  private final MeterRegistry registry;
+  private final Tags tags;
+
+  public MicrometerRequestObserver(MeterRegistry registry, Iterable<Tag> tags) {
+    this.registry = registry;
+    this.tags = Tags.of(tags);
+  }
+
+  @Override
+  public Observation requestStarted(HttpRequest request, RequestInfo info) {
+    Tags requestTags = tags.and(
+        Tag.of("verb", info.getVerb()),
+        Tag.of("group", valueOf(info.getGroup())),
+        Tag.of("resource", valueOf(info.getResource())),
+        Tag.of("subresource", valueOf(info.getSubresource())));
+    long start = System.nanoTime();
+    return new Observation() {
+
+      private volatile long firstByte;
+
+      @Override
+      public void responseReceived(HttpResponse<?> response) {
+        firstByte = System.nanoTime();
+      }
+
+      @Override
+      public void retrying(HttpResponse<?> response, Throwable failure, long delayMillis) {
+        Counter.builder(PREFIX + ".retries")
+            .description("The number of request retries")
+            .tags(requestTags).tag("code", response != null ? String.valueOf(response.code()) : ERROR_CODE)
+            .register(registry).increment();
+      }
+
+      @Override
+      public void completed(int code, Throwable failure, long bytesSent, long bytesReceived) {
+        long end = System.nanoTime();
+        Tags completedTags = requestTags.and("code", code > 0 ? String.valueOf(code) : ERROR_CODE);
+        Timer.builder(PREFIX)
+            .description("The time taken by requests, including retries, until the response body is done")
+            .publishPercentileHistogram()
+            .tags(completedTags).register(registry).record(end - start, TimeUnit.NANOSECONDS);
+        long received = firstByte;
+        if (received != 0) {
+          Timer.builder(PREFIX + ".first.byte")
+              .description("The time taken by requests, including retries, until the final response headers")
+              .publishPercentileHistogram()
+              .tags(completedTags).register(registry).record(received - start, TimeUnit.NANOSECONDS);
+        }
+        DistributionSummary.builder(PREFIX + ".sent.bytes")
+            .description("The size of request bodies")
+            .baseUnit("bytes")
+            .tags(completedTags).register(registry).record(bytesSent);
+        DistributionSummary.builder(PREFIX + ".received.bytes")
+            .description("The size of response bodies")
+            .baseUnit("bytes")
+            .tags(completedTags).register(registry).record(bytesReceived);
+      }
+    };
+  }
+
+  private static String valueOf(String value) {
+    return value == null ? "" : value;
+  }
+
+  /**
+   * Convenience to observe the requests of the clients built by the given builder
+   *
+   * @return the builder
+   */
+  public static HttpClient.Builder bind(HttpClient.Builder builder, MeterRegistry registry, Iterable<Tag> tags) {
+    return builder.requestObserver(new MicrometerRequestObserver(registry, tags));
+  }
+
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.micrometer;
+
+import io.fabric8.kubernetes.client.Watcher;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerInformerMetricsTest {
+
+  @Test
+  void recordsCallbacks() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerInformerMetrics metrics = new MicrometerInformerMetrics(registry, Tags.of("resource", "pods"));
+
+    metrics.listCompleted(Duration.ofMillis(5), 3, 250);
+    metrics.eventReceived(Watcher.Action.ADDED);
+    metrics.eventReceived(Watcher.Action.ADDED);
+    metrics.eventReceived(Watcher.Action.DELETED);
+    metrics.httpGone();
+
+    assertThat(registry.get("kubernetes.informer.list").tag("resource", "pods").timer().count()).isEqualTo(1);
+    assertThat(registry.get("kubernetes.informer.list.pages").summary().totalAmount()).isEqualTo(3);
+    assertThat(registry.get("kubernetes.informer.events").tag("type", "ADDED").counter().count()).isEqualTo(2);
+    assertThat(registry.get("kubernetes.informer.events").tag("type", "DELETED").counter().count()).isEqualTo(1);
+    assertThat(registry.get("kubernetes.informer.watch.gone").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void gaugesAreRemovedWhenUnregistered() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerInformerMetrics metrics = new MicrometerInformerMetrics(registry, Tags.empty());
+    AtomicInteger size = new AtomicInteger(7);
+
+    metrics.registerGauges(size::get, () -> 0, () -> Duration.ZERO);
+
+    assertThat(registry.get("kubernetes.informer.cache.size").gauge().value()).isEqualTo(7);
+
+    metrics.unregisterGauges();
+
+    assertThat(registry.find("kubernetes.informer.cache.size").gauge()).isNull();
+  }
+
+}
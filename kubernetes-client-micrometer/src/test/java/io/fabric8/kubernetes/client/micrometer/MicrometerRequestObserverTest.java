@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.micrometer;
+
+import io.fabric8.kubernetes.client.http.RequestInfo;
+import io.fabric8.kubernetes.client.http.RequestObserver;
+import io.fabric8.kubernetes.client.http.StandardHttpRequest;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerRequestObserverTest {
+
+  @Test
+  void recordsRequestsByVerbAndResource() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerRequestObserver observer = new MicrometerRequestObserver(registry, Tags.of("cluster", "east"));
+
+    RequestObserver.Observation list = observer.requestStarted(null, info("GET", "/apis/apps/v1/deployments"));
+    list.completed(200, null, 0, 512);
+    RequestObserver.Observation create = observer.requestStarted(null, info("POST", "/api/v1/namespaces/ns/pods"));
+    create.retrying(null, new IOException(), 10);
+    create.completed(0, new IOException(), 20, 0);
+
+    assertThat(registry.get("kubernetes.client.requests").tags("cluster", "east", "verb", "list", "group", "apps",
+        "resource", "deployments", "code", "200").timer().count()).isEqualTo(1);
+    assertThat(registry.get("kubernetes.client.requests.received.bytes").tag("verb", "list").summary().totalAmount())
+        .isEqualTo(512);
+    assertThat(registry.get("kubernetes.client.requests").tags("verb", "create", "group", "", "resource", "pods",
+        "code", "<error>").timer().count()).isEqualTo(1);
+    assertThat(registry.get("kubernetes.client.requests.retries").tag("verb", "create").counter().count()).isEqualTo(1);
+  }
+
+  private static RequestInfo info(String method, String path) {
+    return RequestInfo
+        .from(new StandardHttpRequest(Collections.emptyMap(), URI.create("https://host" + path), method, null));
+  }
+
+}
@@ -15,9 +15,13 @@
  */
 package io.fabric8.kubernetes.client.dsl.internal;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResource;
 import io.fabric8.kubernetes.api.model.ListOptions;
@@ -36,8 +40,10 @@ import io.fabric8.kubernetes.client.utils.internal.SerialExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -51,6 +57,19 @@ import static java.net.HttpURLConnection.HTTP_GONE;
 
 public abstract class AbstractWatchManager<T extends HasMetadata> implements Watch {
 
+  /**
+   * The watch list option - stream the current state as synthetic added events before the watch events
+   */
+  public static final String SEND_INITIAL_EVENTS = "sendInitialEvents";
+
+  /**
+   * The annotation on the bookmark sent after the initial events
+   */
+  public static final String INITIAL_EVENTS_END_ANNOTATION = "k8s.io/initial-events-end";
+
+  private static final String TYPE = "type";
+  private static final String OBJECT = "object";
+
   private static final class SerialWatcher<T> implements Watcher<T> {
     private final Watcher<T> watcher;
     SerialExecutor serialExecutor;
@@ -111,8 +130,13 @@ public abstract class AbstractWatchManager<T extends HasMetadata> implements Wat
 
   private final boolean receiveBookmarks;
 
+  // the initial events are not in resourceVersion order, so reconnects must start over until they are complete
+  private volatile boolean initialEvents;
+
   private volatile WatchRequestState latestRequestState;
 
+  private volatile Runnable reconnectListener;
+
   AbstractWatchManager(
       Watcher<T> watcher, BaseOperation<T, ?, ?> baseOperation, ListOptions listOptions, int reconnectLimit,
       int reconnectInterval, Supplier<HttpClient> clientSupplier) throws MalformedURLException {
@@ -123,6 +147,7 @@ public abstract class AbstractWatchManager<T extends HasMetadata> implements Wat
     this.resourceVersion = new AtomicReference<>(listOptions.getResourceVersion());
     this.forceClosed = new AtomicBoolean();
     this.receiveBookmarks = Boolean.TRUE.equals(listOptions.getAllowWatchBookmarks());
+    this.initialEvents = Boolean.TRUE.equals(listOptions.getAdditionalProperties().get(SEND_INITIAL_EVENTS));
     // opt into bookmarks by default
     if (listOptions.getAllowWatchBookmarks() == null) {
       listOptions.setAllowWatchBookmarks(true);
@@ -209,6 +234,10 @@ public abstract class AbstractWatchManager<T extends HasMetadata> implements Wat
 
   synchronized void reconnect() {
     try {
+      Runnable listener = reconnectListener;
+      if (listener != null) {
+        listener.run();
+      }
       startWatch();
       if (isForceClosed()) {
         closeRequest();
@@ -236,6 +265,13 @@ public abstract class AbstractWatchManager<T extends HasMetadata> implements Wat
     retryIntervalCalculator.resetReconnectAttempts();
   }
 
+  /**
+   * Set a callback to run each time the watch reconnects
+   */
+  public void setReconnectListener(Runnable reconnectListener) {
+    this.reconnectListener = reconnectListener;
+  }
+
   boolean isForceClosed() {
     return forceClosed.get();
   }
@@ -245,7 +281,7 @@ public abstract class AbstractWatchManager<T extends HasMetadata> implements Wat
       // the user didn't ask for bookmarks, just filter them
       return;
     }
-    // the WatchEvent deserialization is not specifically typed
+    // events are normally already bound to the operation type
     // modify the type here if needed
     if (resource != null && !baseOperation.getType().isAssignableFrom(resource.getClass())) {
       resource = Serialization.jsonMapper().convertValue(resource, baseOperation.getType());
@@ -295,31 +331,84 @@ public abstract class AbstractWatchManager<T extends HasMetadata> implements Wat
     cancelReconnect();
   }
 
-  private WatchEvent contextAwareWatchEventDeserializer(String messageSource)
-      throws JsonProcessingException {
-    try {
-      return Serialization.unmarshal(messageSource, WatchEvent.class);
-    } catch (Exception ex1) {
-      JsonNode json = Serialization.jsonMapper().readTree(messageSource);
-      JsonNode objectJson = null;
-      if (json instanceof ObjectNode && json.has("object")) {
-        objectJson = ((ObjectNode) json).remove("object");
-      }
-
-      WatchEvent watchEvent = Serialization.jsonMapper().treeToValue(json, WatchEvent.class);
-      KubernetesResource object = Serialization.jsonMapper().treeToValue(objectJson, baseOperation.getType());
+  @FunctionalInterface
+  private interface ParserSource {
+    JsonParser create(JsonFactory factory) throws IOException;
+  }
 
-      watchEvent.setObject(object);
-      return watchEvent;
+  /**
+   * Reads a watch event in a single pass, binding the object directly to the type of the operation,
+   * or to a {@link Status} for an error.
+   *
+   * @return the event
+   */
+  private WatchEvent readWatchEvent(JsonParser parser) throws IOException {
+    ObjectMapper mapper = Serialization.jsonMapper();
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw MismatchedInputException.from(parser, WatchEvent.class, "Expected a watch event object");
     }
+    String type = null;
+    KubernetesResource object = null;
+    TokenBuffer deferred = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      if (TYPE.equals(field)) {
+        type = parser.getValueAsString();
+      } else if (OBJECT.equals(field)) {
+        if (type == null) {
+          // the type determines how the object is bound
+          deferred = new TokenBuffer(parser);
+          deferred.copyCurrentStructure(parser);
+        } else {
+          object = mapper.readValue(parser, objectType(type));
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (deferred != null) {
+      try (JsonParser deferredParser = deferred.asParser(mapper)) {
+        deferredParser.nextToken();
+        object = mapper.readValue(deferredParser, objectType(type));
+      }
+    }
+    WatchEvent event = new WatchEvent();
+    event.setType(type);
+    event.setObject(object);
+    return event;
+  }
+
+  private Class<? extends KubernetesResource> objectType(String type) {
+    return Action.ERROR.name().equals(type) ? Status.class : baseOperation.getType();
   }
 
   protected void onMessage(String message, WatchRequestState state) {
+    onMessage(factory -> factory.createParser(message), () -> message, state);
+  }
+
+  /**
+   * Process a watch event that has not been decoded to a String.
+   *
+   * @param message the bytes holding the event
+   * @param offset the offset of the event
+   * @param length the length of the event
+   * @param state the request state
+   */
+  protected void onMessage(byte[] message, int offset, int length, WatchRequestState state) {
+    onMessage(factory -> factory.createParser(message, offset, length),
+        () -> new String(message, offset, length, StandardCharsets.UTF_8), state);
+  }
+
+  private void onMessage(ParserSource source, Supplier<String> rawMessage, WatchRequestState state) {
     if (state.closed.get() || forceClosed.get()) {
       return;
     }
     try {
-      WatchEvent event = contextAwareWatchEventDeserializer(message);
+      WatchEvent event;
+      try (JsonParser parser = source.create(Serialization.jsonMapper().getFactory())) {
+        event = readWatchEvent(parser);
+      }
       Object object = event.getObject();
       Action action = Action.valueOf(event.getType());
       if (action == Action.ERROR) {
@@ -333,24 +422,39 @@ public abstract class AbstractWatchManager<T extends HasMetadata> implements Wat
         }
       } else if (object instanceof HasMetadata) {
         HasMetadata hasMetadata = (HasMetadata) object;
-        updateResourceVersion(hasMetadata.getMetadata().getResourceVersion());
+        if (!initialEvents) {
+          updateResourceVersion(hasMetadata.getMetadata().getResourceVersion());
+        } else if (action == Action.BOOKMARK && isInitialEventsEnd(hasMetadata)) {
+          // subsequent reconnects are plain watches from the bookmark
+          initialEvents = false;
+          listOptions.getAdditionalProperties().remove(SEND_INITIAL_EVENTS);
+          listOptions.setResourceVersionMatch(null);
+          updateResourceVersion(hasMetadata.getMetadata().getResourceVersion());
+        }
         eventReceived(action, hasMetadata);
       } else {
+        String message = rawMessage.get();
         final String msg = String.format("Invalid object received: %s", message);
         close(new WatcherException(msg, null, message));
       }
     } catch (ClassCastException e) {
       final String msg = "Received wrong type of object for watch";
-      close(new WatcherException(msg, e, message));
+      close(new WatcherException(msg, e, rawMessage.get()));
     } catch (JsonProcessingException e) {
+      String message = rawMessage.get();
       final String msg = "Couldn't deserialize watch event: " + message;
       close(new WatcherException(msg, e, message));
     } catch (Exception e) {
       final String msg = "Unexpected exception processing watch event";
-      close(new WatcherException(msg, e, message));
+      close(new WatcherException(msg, e, rawMessage.get()));
     }
   }
 
+  public static boolean isInitialEventsEnd(HasMetadata bookmark) {
+    return bookmark.getMetadata() != null && bookmark.getMetadata().getAnnotations() != null
+        && "true".equals(bookmark.getMetadata().getAnnotations().get(INITIAL_EVENTS_END_ANNOTATION));
+  }
+
   protected boolean onStatus(Status status, WatchRequestState state) {
     if (state.closed.get()) {
       return true;
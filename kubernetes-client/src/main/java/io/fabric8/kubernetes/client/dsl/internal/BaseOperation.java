@@ -24,6 +24,7 @@ import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResource;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.LabelSelector;
+import io.fabric8.kubernetes.api.model.ListMeta;
 import io.fabric8.kubernetes.api.model.ListOptions;
 import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
@@ -402,16 +403,20 @@ public class BaseOperation<T extends HasMetadata, L extends KubernetesResourceLi
     try {
       URL fetchListUrl = fetchListUrl(getNamespacedUrl(), defaultListOptions(listOptions, null));
       HttpRequest.Builder requestBuilder = httpClient.newHttpRequestBuilder().url(fetchListUrl);
-      Type refinedType = listType.equals(DefaultKubernetesResourceList.class)
-          ? Serialization.jsonMapper().getTypeFactory().constructParametricType(listType, type)
-          : listType;
-      TypeReference<L> listTypeReference = new TypeReference<L>() {
-        @Override
-        public Type getType() {
-          return refinedType;
-        }
-      };
-      CompletableFuture<L> futureAnswer = handleResponse(httpClient, requestBuilder, listTypeReference);
+      CompletableFuture<L> futureAnswer;
+      if (listType.equals(DefaultKubernetesResourceList.class)) {
+        Type refinedType = Serialization.jsonMapper().getTypeFactory().constructParametricType(listType, type);
+        TypeReference<L> listTypeReference = new TypeReference<L>() {
+          @Override
+          public Type getType() {
+            return refinedType;
+          }
+        };
+        futureAnswer = handleResponse(httpClient, requestBuilder, listTypeReference);
+      } else {
+        // a concrete list type may also be decoded by a codec
+        futureAnswer = handleResponse(httpClient, requestBuilder, listType);
+      }
       return futureAnswer.thenApply(updateApiVersion());
     } catch (IOException e) {
       throw KubernetesClientException.launderThrowable(forOperationType("list"), e);
@@ -427,6 +432,56 @@ public class BaseOperation<T extends HasMetadata, L extends KubernetesResourceLi
     }
   }
 
+  @Override
+  public ListMeta list(ListOptions listOptions, Consumer<? super T> itemConsumer) {
+    try {
+      return waitForResult(submitList(listOptions, itemConsumer));
+    } catch (IOException e) {
+      throw KubernetesClientException.launderThrowable(forOperationType("list"), e);
+    }
+  }
+
+  /**
+   * List the items, passing each to the consumer as it is decoded. If the server returns
+   * a continue token the following pages are requested until the listing is complete.
+   *
+   * @param listOptions the options for the first request
+   * @param itemConsumer called with each item, in order, on the http client thread
+   * @return the metadata of the final page
+   */
+  public CompletableFuture<ListMeta> submitList(ListOptions listOptions, Consumer<? super T> itemConsumer) {
+    return submitList(listOptions, itemConsumer, listMeta -> {
+    });
+  }
+
+  /**
+   * See {@link #submitList(ListOptions, Consumer)}
+   *
+   * @param pageConsumer called with the metadata of each page
+   */
+  @Override
+  public CompletableFuture<ListMeta> submitList(ListOptions listOptions, Consumer<? super T> itemConsumer,
+      Consumer<ListMeta> pageConsumer) {
+    try {
+      URL fetchListUrl = fetchListUrl(getNamespacedUrl(), defaultListOptions(listOptions, null));
+      HttpRequest.Builder requestBuilder = httpClient.newHttpRequestBuilder().url(fetchListUrl);
+      return handleListResponse(httpClient, requestBuilder, type, item -> {
+        updateApiVersion(item);
+        itemConsumer.accept(item);
+      }).thenCompose(listMeta -> {
+        pageConsumer.accept(listMeta);
+        String continueVal = listMeta.getContinue();
+        if (Utils.isNotNullOrEmpty(continueVal)) {
+          return submitList(new ListOptionsBuilder(listOptions).withResourceVersion(null).withContinue(continueVal).build(),
+              itemConsumer, pageConsumer);
+        }
+        return CompletableFuture.completedFuture(listMeta);
+      });
+    } catch (IOException e) {
+      throw KubernetesClientException.launderThrowable(forOperationType("list"), e);
+    }
+  }
+
   /**
    * Override the options based upon the context / call
    */
@@ -531,6 +586,61 @@ public class BaseOperation<T extends HasMetadata, L extends KubernetesResourceLi
     return namespaces.stream().flatMap(n -> inNamespace(n).delete().stream()).collect(Collectors.toList());
   }
 
+  /**
+   * Delete the named resource without waiting for the response, as with {@link #delete()} a missing resource
+   * is not an error.
+   *
+   * @return the future details of the deleted resources
+   */
+  CompletableFuture<List<StatusDetails>> submitDelete() {
+    CompletableFuture<KubernetesResource> future;
+    try {
+      future = submitDelete(getResourceURLForWriteOperation(getResourceUrl()), gracePeriodSeconds, propagationPolicy,
+          resourceVersion);
+    } catch (IOException | RuntimeException e) {
+      return failedFuture(KubernetesClientException.launderThrowable(forOperationType("delete"), e));
+    }
+    return future.handle((result, t) -> {
+      List<StatusDetails> details = new ArrayList<>();
+      if (t == null) {
+        toStatusDetails(result, details);
+        return details;
+      }
+      Throwable cause = unwrapCompletionException(t);
+      if (cause instanceof KubernetesClientException
+          && ((KubernetesClientException) cause).getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+        return details;
+      }
+      throw KubernetesClientException.launderThrowable(forOperationType("delete"), cause);
+    });
+  }
+
+  /**
+   * Create the item without waiting for the response
+   *
+   * @return the future created item
+   */
+  CompletableFuture<T> submitCreate() {
+    try {
+      return submitCreate(getNonNullItem());
+    } catch (IOException | RuntimeException e) {
+      return failedFuture(KubernetesClientException.launderThrowable(forOperationType("create"), e));
+    }
+  }
+
+  static Throwable unwrapCompletionException(Throwable t) {
+    if (t instanceof CompletionException && t.getCause() != null) {
+      return t.getCause();
+    }
+    return t;
+  }
+
+  static <V> CompletableFuture<V> failedFuture(Throwable t) {
+    CompletableFuture<V> result = new CompletableFuture<>();
+    result.completeExceptionally(t);
+    return result;
+  }
+
   @Override
   public boolean delete(List<T> items) {
     if (items != null) {
@@ -620,6 +730,20 @@ public class BaseOperation<T extends HasMetadata, L extends KubernetesResourceLi
   public CompletableFuture<AbstractWatchManager<T>> submitWatch(ListOptions options, final Watcher<T> watcher) {
     WatcherToggle<T> watcherToggle = new WatcherToggle<>(watcher, true);
     ListOptions optionsToUse = defaultListOptions(options, true);
+    if (httpClient.isMultiplexed()) {
+      // websockets are not multiplexed, so use a streamed request that shares the HTTP/2 connections
+      try {
+        return CompletableFuture.completedFuture(new WatchHTTPManager<>(
+            httpClient,
+            this,
+            optionsToUse,
+            watcher,
+            getRequestConfig().getWatchReconnectInterval(),
+            getRequestConfig().getWatchReconnectLimit()));
+      } catch (MalformedURLException e) {
+        throw KubernetesClientException.launderThrowable(forOperationType(WATCH), e);
+      }
+    }
     WatchConnectionManager<T, L> watch;
     try {
       watch = new WatchConnectionManager<>(
@@ -702,9 +826,9 @@ public class BaseOperation<T extends HasMetadata, L extends KubernetesResourceLi
   }
 
   @Override
-  protected T handleCreate(T resource) throws InterruptedException, IOException {
+  protected CompletableFuture<T> submitCreate(T resource) throws IOException {
     updateApiVersion(resource);
-    return handleCreate(resource, getType());
+    return submitCreate(resource, getType());
   }
 
   protected T handleUpdate(T updated, boolean status) throws InterruptedException, IOException {
@@ -1043,6 +1167,10 @@ public class BaseOperation<T extends HasMetadata, L extends KubernetesResourceLi
       urlBuilder.addQueryParameter("resourceVersion", listOptions.getResourceVersion());
     }
 
+    if (listOptions.getResourceVersionMatch() != null) {
+      urlBuilder.addQueryParameter("resourceVersionMatch", listOptions.getResourceVersionMatch());
+    }
+
     if (listOptions.getTimeoutSeconds() != null) {
       urlBuilder.addQueryParameter("timeoutSeconds", listOptions.getTimeoutSeconds().toString());
     }
@@ -1054,6 +1182,11 @@ public class BaseOperation<T extends HasMetadata, L extends KubernetesResourceLi
     if (listOptions.getWatch() != null) {
       urlBuilder.addQueryParameter(WATCH, listOptions.getWatch().toString());
     }
+
+    Object sendInitialEvents = listOptions.getAdditionalProperties().get(AbstractWatchManager.SEND_INITIAL_EVENTS);
+    if (sendInitialEvents != null) {
+      urlBuilder.addQueryParameter(AbstractWatchManager.SEND_INITIAL_EVENTS, sendInitialEvents.toString());
+    }
     return urlBuilder.build();
   }
 
@@ -0,0 +1,273 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl.internal;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.StatusDetails;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.BulkOperation;
+import io.fabric8.kubernetes.client.dsl.BulkResult;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.ServerSideApplicable;
+import io.fabric8.kubernetes.client.extension.ResourceAdapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Performs an operation on the items of a list in waves of kinds, with a bounded number of items in flight.
+ * <p>
+ * Items backed by an operation of this client use the non-blocking requests of {@link OperationSupport}, other
+ * items fall back to their blocking methods on the client executor.
+ */
+class BulkOperationImpl implements BulkOperation<HasMetadata> {
+
+  /**
+   * The order in which Helm installs kinds, kinds that are not listed are installed last
+   */
+  static final List<String> INSTALL_ORDER = Collections.unmodifiableList(Arrays.asList(
+      "PriorityClass",
+      "Namespace",
+      "NetworkPolicy",
+      "ResourceQuota",
+      "LimitRange",
+      "PodSecurityPolicy",
+      "PodDisruptionBudget",
+      "ServiceAccount",
+      "Secret",
+      "ConfigMap",
+      "StorageClass",
+      "PersistentVolume",
+      "PersistentVolumeClaim",
+      "CustomResourceDefinition",
+      "ClusterRole",
+      "ClusterRoleBinding",
+      "Role",
+      "RoleBinding",
+      "Service",
+      "DaemonSet",
+      "Pod",
+      "ReplicationController",
+      "ReplicaSet",
+      "Deployment",
+      "HorizontalPodAutoscaler",
+      "StatefulSet",
+      "Job",
+      "CronJob",
+      "IngressClass",
+      "Ingress",
+      "APIService"));
+
+  private final NamespaceVisitFromServerGetWatchDeleteRecreateWaitApplicableListImpl list;
+  private final Executor executor;
+  private final int parallelism;
+  private final String fieldManager;
+  private final boolean forceConflicts;
+
+  BulkOperationImpl(NamespaceVisitFromServerGetWatchDeleteRecreateWaitApplicableListImpl list, Executor executor,
+      int parallelism) {
+    this(list, executor, parallelism, null, false);
+  }
+
+  private BulkOperationImpl(NamespaceVisitFromServerGetWatchDeleteRecreateWaitApplicableListImpl list, Executor executor,
+      int parallelism, String fieldManager, boolean forceConflicts) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be at least 1");
+    }
+    this.list = list;
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.fieldManager = fieldManager;
+    this.forceConflicts = forceConflicts;
+  }
+
+  @Override
+  public BulkOperation<HasMetadata> fieldManager(String manager) {
+    return new BulkOperationImpl(list, executor, parallelism, manager, forceConflicts);
+  }
+
+  @Override
+  public BulkOperation<HasMetadata> forceConflicts() {
+    return new BulkOperationImpl(list, executor, parallelism, fieldManager, true);
+  }
+
+  @Override
+  public List<BulkResult<HasMetadata, HasMetadata>> create() {
+    return run(false, op -> op.submitCreate(), resource -> resource.create());
+  }
+
+  @Override
+  public List<BulkResult<HasMetadata, HasMetadata>> createOrReplace() {
+    return run(false, op -> op.submitCreateOrReplace(), resource -> resource.createOrReplace());
+  }
+
+  @Override
+  public List<BulkResult<HasMetadata, HasMetadata>> serverSideApply() {
+    return run(false, op -> withApplyOptions(op).submitServerSideApply(), resource -> {
+      ServerSideApplicable<HasMetadata> applicable = resource;
+      if (fieldManager != null) {
+        applicable = applicable.fieldManager(fieldManager);
+      }
+      if (forceConflicts) {
+        applicable = applicable.forceConflicts();
+      }
+      return applicable.serverSideApply();
+    });
+  }
+
+  @Override
+  public List<BulkResult<HasMetadata, List<StatusDetails>>> delete() {
+    return run(true, op -> op.submitDelete(), resource -> resource.delete());
+  }
+
+  private HasMetadataOperation<HasMetadata, ?, ?> withApplyOptions(HasMetadataOperation<HasMetadata, ?, ?> op) {
+    OperationContext context = op.getOperationContext();
+    if (fieldManager != null) {
+      context = context.withFieldManager(fieldManager);
+    }
+    if (forceConflicts) {
+      context = context.withForceConflicts();
+    }
+    return op.newInstance(context);
+  }
+
+  static int rank(HasMetadata item) {
+    int rank = INSTALL_ORDER.indexOf(item.getKind());
+    return rank < 0 ? INSTALL_ORDER.size() : rank;
+  }
+
+  private <R> List<BulkResult<HasMetadata, R>> run(boolean reverse,
+      Function<HasMetadataOperation<HasMetadata, ?, ?>, CompletableFuture<R>> async,
+      Function<Resource<HasMetadata>, R> sync) {
+    List<HasMetadata> items = list.getItems();
+    AtomicReferenceArray<BulkResult<HasMetadata, R>> results = new AtomicReferenceArray<>(items.size());
+    Comparator<Integer> order = reverse ? Comparator.reverseOrder() : Comparator.naturalOrder();
+    Map<Integer, List<Integer>> waves = new TreeMap<>(order);
+    for (int i = 0; i < items.size(); i++) {
+      waves.computeIfAbsent(rank(items.get(i)), k -> new ArrayList<>()).add(i);
+    }
+    for (List<Integer> wave : waves.values()) {
+      // resolve the resources up front, as that may require discovery requests
+      List<Supplier<CompletableFuture<R>>> operations = new ArrayList<>(wave.size());
+      for (Integer index : wave) {
+        operations.add(operation(items.get(index), async, sync));
+      }
+      new Wave<>(items, wave, operations, results).run();
+    }
+    List<BulkResult<HasMetadata, R>> result = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      result.add(results.get(i));
+    }
+    return result;
+  }
+
+  private <R> Supplier<CompletableFuture<R>> operation(HasMetadata item,
+      Function<HasMetadataOperation<HasMetadata, ?, ?>, CompletableFuture<R>> async,
+      Function<Resource<HasMetadata>, R> sync) {
+    Resource<HasMetadata> resource;
+    try {
+      resource = list.getResource(item);
+    } catch (RuntimeException e) {
+      return () -> BaseOperation.failedFuture(e);
+    }
+    if (resource instanceof ResourceAdapter) {
+      resource = ((ResourceAdapter<HasMetadata>) resource).getResource();
+    }
+    if (resource instanceof HasMetadataOperation) {
+      HasMetadataOperation<HasMetadata, ?, ?> op = (HasMetadataOperation<HasMetadata, ?, ?>) resource;
+      return () -> async.apply(op);
+    }
+    // not backed by an operation of this client, such as an extension
+    Resource<HasMetadata> target = resource;
+    return () -> CompletableFuture.supplyAsync(() -> sync.apply(target), executor);
+  }
+
+  /**
+   * The items of one rank, each slot starts the next item as soon as its current item completes
+   */
+  private final class Wave<R> {
+
+    private final List<HasMetadata> items;
+    private final List<Integer> indexes;
+    private final List<Supplier<CompletableFuture<R>>> operations;
+    private final AtomicReferenceArray<BulkResult<HasMetadata, R>> results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final CountDownLatch remaining;
+
+    private Wave(List<HasMetadata> items, List<Integer> indexes, List<Supplier<CompletableFuture<R>>> operations,
+        AtomicReferenceArray<BulkResult<HasMetadata, R>> results) {
+      this.items = items;
+      this.indexes = indexes;
+      this.operations = operations;
+      this.results = results;
+      this.remaining = new CountDownLatch(indexes.size());
+    }
+
+    void run() {
+      for (int i = 0; i < Math.min(parallelism, indexes.size()); i++) {
+        startNext();
+      }
+      try {
+        remaining.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw KubernetesClientException.launderThrowable(e);
+      }
+    }
+
+    private void startNext() {
+      int current = next.getAndIncrement();
+      while (current < indexes.size()) {
+        int index = indexes.get(current);
+        HasMetadata item = items.get(index);
+        CompletableFuture<R> future;
+        try {
+          future = operations.get(current).get();
+        } catch (RuntimeException e) {
+          future = BaseOperation.failedFuture(e);
+        }
+        boolean done = future.isDone();
+        future.whenComplete((result, t) -> {
+          results.set(index,
+              new BulkResult<>(item, result, t == null ? null : BaseOperation.unwrapCompletionException(t)));
+          remaining.countDown();
+          if (!done) {
+            startNext();
+          }
+        });
+        if (!done) {
+          return;
+        }
+        // completed immediately, so this slot is free for the next item
+        current = next.getAndIncrement();
+      }
+    }
+
+  }
+
+}
@@ -19,6 +19,7 @@ import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.dsl.InOutCreateable;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public class CreateOnlyResourceOperation<I, O> extends OperationSupport implements InOutCreateable<I, O> {
@@ -33,7 +34,11 @@ public class CreateOnlyResourceOperation<I, O> extends OperationSupport implemen
   }
 
   protected O handleCreate(I resource) throws ExecutionException, InterruptedException, IOException {
-    return handleCreate(resource, getType());
+    return waitForResult(submitCreate(resource));
+  }
+
+  protected CompletableFuture<O> submitCreate(I resource) throws IOException {
+    return submitCreate(resource, getType());
   }
 
   @Override
@@ -17,25 +17,34 @@
 package io.fabric8.kubernetes.client.dsl.internal;
 
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.http.PooledBuffer;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.List;
 
 /**
  * Provides an InputStream that is non-blocking to the producer
  * and that will request more input when needed.
+ * <p>
+ * Pooled buffers are released once they have been read, or when the stream is closed.
  */
 public class ExecWatchInputStream extends InputStream {
 
-  private final LinkedList<ByteBuffer> buffers = new LinkedList<>();
+  private static final Object UNPOOLED = new Object();
+
+  private final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<>();
+  // the pooled buffer, or UNPOOLED, for each of the buffers
+  private final ArrayDeque<Object> owners = new ArrayDeque<>();
   private boolean complete;
   private boolean closed;
   private Throwable failed;
   private ByteBuffer currentBuffer;
+  private Object currentOwner;
+  private final byte[] single = new byte[1];
 
   private Runnable request;
 
@@ -67,7 +76,27 @@ public class ExecWatchInputStream extends InputStream {
         return;
       }
       assert !complete || failed == null;
-      buffers.addAll(value);
+      for (ByteBuffer buffer : value) {
+        buffers.add(buffer);
+        owners.add(UNPOOLED);
+      }
+      buffers.notifyAll();
+    }
+  }
+
+  /**
+   * Consume the bytes of a pooled buffer, taking over the caller's reference
+   */
+  void consume(ByteBuffer value, PooledBuffer pooled) {
+    synchronized (buffers) {
+      if (closed) {
+        pooled.release();
+        request.run();
+        return;
+      }
+      assert !complete || failed == null;
+      buffers.add(value);
+      owners.add(pooled);
       buffers.notifyAll();
     }
   }
@@ -81,6 +110,7 @@ public class ExecWatchInputStream extends InputStream {
         }
         if (buffers.isEmpty()) {
           if (complete) {
+            releaseCurrent();
             if (failed != null) {
               throw new IOException("closed", failed);
             }
@@ -89,7 +119,9 @@ public class ExecWatchInputStream extends InputStream {
           requestMoreIfNeeded();
         }
 
+        releaseCurrent();
         currentBuffer = buffers.poll();
+        currentOwner = owners.poll();
 
         if (currentBuffer == null && !complete) {
           try {
@@ -109,30 +141,34 @@ public class ExecWatchInputStream extends InputStream {
    */
   @Override
   public int read(byte[] bytes, int off, int len) throws IOException {
-    // get the buffer to read from, possibly blocking if
-    // none is available
-    ByteBuffer buffer = current();
-    if (buffer == null) {
-      return -1;
-    }
+    // held while reading so that a pooled buffer is not released by a concurrent close
+    synchronized (buffers) {
+      // get the buffer to read from, possibly blocking if
+      // none is available
+      ByteBuffer buffer = current();
+      if (buffer == null) {
+        return -1;
+      }
 
-    // don't attempt to read more than what is available
-    // in the current buffer.
-    int read = Math.min(buffer.remaining(), len);
-    assert read > 0 && read <= buffer.remaining();
+      // don't attempt to read more than what is available
+      // in the current buffer.
+      int read = Math.min(buffer.remaining(), len);
+      assert read > 0 && read <= buffer.remaining();
 
-    // buffer.get() will do the boundary check for us.
-    buffer.get(bytes, off, read);
-    return read;
+      // buffer.get() will do the boundary check for us.
+      buffer.get(bytes, off, read);
+      return read;
+    }
   }
 
   @Override
   public int read() throws IOException {
-    byte[] single = new byte[1];
-    if (read(single) == -1) {
-      return -1;
+    synchronized (buffers) {
+      if (read(single) == -1) {
+        return -1;
+      }
+      return single[0] & 0xFF;
     }
-    return single[0] & 0xFF;
   }
 
   @Override
@@ -144,15 +180,29 @@ public class ExecWatchInputStream extends InputStream {
       this.closed = true;
       requestMoreIfNeeded();
       this.buffers.clear();
+      owners.forEach(ExecWatchInputStream::release);
+      owners.clear();
       buffers.notifyAll();
     }
   }
 
   private void requestMoreIfNeeded() {
     if (currentBuffer != null) {
+      releaseCurrent();
       this.currentBuffer = null;
       this.request.run();
     }
   }
 
+  private void releaseCurrent() {
+    release(currentOwner);
+    currentOwner = null;
+  }
+
+  private static void release(Object owner) {
+    if (owner instanceof PooledBuffer) {
+      ((PooledBuffer) owner).release();
+    }
+  }
+
 }
\ No newline at end of file
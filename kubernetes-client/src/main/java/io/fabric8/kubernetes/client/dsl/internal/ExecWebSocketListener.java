@@ -25,6 +25,7 @@ import io.fabric8.kubernetes.client.dsl.ExecListener.Response;
 import io.fabric8.kubernetes.client.dsl.ExecWatch;
 import io.fabric8.kubernetes.client.dsl.internal.PodOperationContext.StreamContext;
 import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.PooledBuffer;
 import io.fabric8.kubernetes.client.http.WebSocket;
 import io.fabric8.kubernetes.client.http.WebSocketHandshakeException;
 import io.fabric8.kubernetes.client.utils.InputStreamPumper;
@@ -93,7 +94,12 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
   @FunctionalInterface
   public interface MessageHandler {
 
-    void handle(ByteBuffer bytes) throws IOException;
+    /**
+     * @param bytes the message bytes
+     * @param pooled the pooled buffer holding the bytes, or null. When not null the handler owns a reference
+     *        that it must release
+     */
+    void handle(ByteBuffer bytes, PooledBuffer pooled) throws IOException;
 
   }
 
@@ -106,12 +112,12 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
       this.name = name;
     }
 
-    private void handle(ByteBuffer byteString, WebSocket webSocket) throws IOException {
+    private void handle(ByteBuffer byteString, WebSocket webSocket, PooledBuffer pooled) throws IOException {
       if (handler != null) {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("exec message received {} bytes on channel {}", byteString.remaining(), name);
         }
-        handler.handle(byteString);
+        handler.handle(byteString, pooled == null ? null : pooled.retain());
       } else {
         if (LOGGER.isDebugEnabled()) {
           String message = ExecWebSocketListener.toString(byteString);
@@ -145,6 +151,8 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
   private final AtomicBoolean closed = new AtomicBoolean(false);
   private final CompletableFuture<Integer> exitCode = new CompletableFuture<>();
   private ObjectMapper objectMapper = new ObjectMapper();
+  // reused for each message sent, as the websocket copies what it sends
+  private ByteBuffer sendBuffer = ByteBuffer.allocate(0);
 
   public static String toString(ByteBuffer buffer) {
     return StandardCharsets.UTF_8.decode(buffer).toString();
@@ -183,15 +191,21 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
       // redirecting
       stream.inputStream = new ExecWatchInputStream(() -> this.webSocketRef.get().request());
       this.exitCode.whenComplete(stream.inputStream::onExit);
-      stream.handler = b -> stream.inputStream.consume(Arrays.asList(b));
+      stream.handler = (b, pooled) -> {
+        if (pooled != null) {
+          stream.inputStream.consume(b, pooled);
+        } else {
+          stream.inputStream.consume(Arrays.asList(b));
+        }
+      };
     } else {
       WritableByteChannel channel = Channels.newChannel(os);
-      stream.handler = b -> asyncWrite(channel, b);
+      stream.handler = (b, pooled) -> asyncWrite(channel, b, pooled);
     }
     return stream;
   }
 
-  private void asyncWrite(WritableByteChannel channel, ByteBuffer b) {
+  private void asyncWrite(WritableByteChannel channel, ByteBuffer b, PooledBuffer pooled) {
     CompletableFuture.runAsync(() -> {
       try {
         channel.write(b);
@@ -199,6 +213,9 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
         throw KubernetesClientException.launderThrowable(e);
       }
     }, serialExecutor).whenComplete((v, t) -> {
+      if (pooled != null) {
+        pooled.release();
+      }
       webSocketRef.get().request();
       if (t != null) {
         if (closed.get()) {
@@ -304,6 +321,19 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
 
   @Override
   public void onMessage(WebSocket webSocket, ByteBuffer bytes) {
+    onMessage(webSocket, bytes, null);
+  }
+
+  @Override
+  public void onMessage(WebSocket webSocket, PooledBuffer buffer) {
+    try {
+      onMessage(webSocket, buffer.buffer(), buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private void onMessage(WebSocket webSocket, ByteBuffer bytes, PooledBuffer pooled) {
     boolean close = false;
     try {
       byte streamID = bytes.get(0);
@@ -315,7 +345,7 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
       }
       switch (streamID) {
         case 1:
-          out.handle(byteString, webSocket);
+          out.handle(byteString, webSocket, pooled);
           break;
         case 2:
           if (terminateOnError) {
@@ -323,13 +353,13 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
             exitCode.completeExceptionally(new KubernetesClientException(stringValue));
             close = true;
           } else {
-            error.handle(byteString, webSocket);
+            error.handle(byteString, webSocket, pooled);
           }
           break;
         case 3:
           close = true;
           try {
-            errorChannel.handle(bytes, webSocket);
+            errorChannel.handle(bytes, webSocket, pooled);
           } finally {
             handleExitStatus(byteString);
           }
@@ -430,10 +460,16 @@ public class ExecWebSocketListener implements ExecWatch, AutoCloseable, WebSocke
     if (length > 0) {
       waitForQueue(length);
       WebSocket ws = webSocketRef.get();
-      byte[] toSend = new byte[length + 1];
-      toSend[0] = flag;
-      System.arraycopy(bytes, offset, toSend, 1, length);
-      if (!ws.send(ByteBuffer.wrap(toSend))) {
+      boolean sent;
+      synchronized (this) {
+        if (sendBuffer.capacity() <= length) {
+          sendBuffer = ByteBuffer.allocate(length + 1);
+        }
+        sendBuffer.clear();
+        sendBuffer.put(flag).put(bytes, offset, length).flip();
+        sent = ws.send(sendBuffer);
+      }
+      if (!sent) {
         this.exitCode.completeExceptionally(new IOException("could not send"));
       }
     }
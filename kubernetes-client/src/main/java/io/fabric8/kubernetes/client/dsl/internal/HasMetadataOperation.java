@@ -29,8 +29,11 @@ import io.fabric8.kubernetes.client.utils.KubernetesResourceUtil;
 import io.fabric8.kubernetes.client.utils.Serialization;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -262,6 +265,56 @@ public class HasMetadataOperation<T extends HasMetadata, L extends KubernetesRes
     }
   }
 
+  /**
+   * Server side apply the item without waiting for the response, see {@link #serverSideApply()}
+   *
+   * @return the future applied item
+   */
+  CompletableFuture<T> submitServerSideApply() {
+    try {
+      T item = getNonNullItem();
+      updateApiVersion(item);
+      return submitPatch(PatchContext.of(PatchType.SERVER_SIDE_APPLY), null, item, getType(), false);
+    } catch (IOException | RuntimeException e) {
+      return failedFuture(KubernetesClientException.launderThrowable(forOperationType(PATCH_OPERATION), e));
+    }
+  }
+
+  /**
+   * Create or replace the item, see {@link #createOrReplace()}.
+   * <p>
+   * Only the create is sent without waiting. If the item already exists, or the server fails, this falls back to the
+   * blocking replace and retry logic on the client executor.
+   *
+   * @return the future created or replaced item
+   */
+  CompletableFuture<T> submitCreateOrReplace() {
+    CompletableFuture<T> created;
+    try {
+      T item = clone(getNonNullItem());
+      KubernetesResourceUtil.setResourceVersion(item, null);
+      created = submitCreate(item);
+    } catch (IOException | RuntimeException e) {
+      return failedFuture(KubernetesClientException.launderThrowable(forOperationType("create"), e));
+    }
+    return created.handle((result, t) -> {
+      if (t == null) {
+        return CompletableFuture.completedFuture(result);
+      }
+      Throwable cause = unwrapCompletionException(t);
+      if (cause instanceof KubernetesClientException) {
+        int code = ((KubernetesClientException) cause).getCode();
+        if (code == HttpURLConnection.HTTP_CONFLICT) {
+          return CompletableFuture.supplyAsync(this::replace, context.getExecutor());
+        }
+        if (code > 499) {
+          return CompletableFuture.supplyAsync(this::createOrReplace, context.getExecutor());
+        }
+      }
+      return HasMetadataOperation.<T> failedFuture(cause);
+    }).thenCompose(Function.identity());
+  }
+
   @Override
   public HasMetadataOperation<T, L, R> newInstance(OperationContext context) {
     return new HasMetadataOperation<>(context, type, listType);
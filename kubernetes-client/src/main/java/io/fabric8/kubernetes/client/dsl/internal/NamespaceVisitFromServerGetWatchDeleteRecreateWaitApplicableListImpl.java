@@ -26,6 +26,7 @@ import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
+import io.fabric8.kubernetes.client.dsl.BulkOperation;
 import io.fabric8.kubernetes.client.dsl.DeletableWithOptions;
 import io.fabric8.kubernetes.client.dsl.Gettable;
 import io.fabric8.kubernetes.client.dsl.ListVisitFromServerGetDeleteRecreateWaitApplicable;
@@ -200,6 +201,11 @@ public class NamespaceVisitFromServerGetWatchDeleteRecreateWaitApplicableListImp
         .collect(Collectors.toList());
   }
 
+  @Override
+  public BulkOperation<HasMetadata> inParallel(int parallelism) {
+    return new BulkOperationImpl(this, context.getExecutor(), parallelism);
+  }
+
   @Override
   public List<StatusDetails> delete() {
     List<StatusDetails> deleted = resources().flatMap(r -> r.delete().stream()).collect(Collectors.toList());
@@ -21,6 +21,7 @@ import io.fabric8.kubernetes.api.model.DeleteOptions;
 import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResource;
+import io.fabric8.kubernetes.api.model.ListMeta;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Preconditions;
 import io.fabric8.kubernetes.api.model.Status;
@@ -30,6 +31,7 @@ import io.fabric8.kubernetes.api.model.extensions.DeploymentRollback;
 import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.MediaTypeCodec;
 import io.fabric8.kubernetes.client.RequestConfig;
 import io.fabric8.kubernetes.client.RequestConfigBuilder;
 import io.fabric8.kubernetes.client.dsl.FieldValidateable.Validation;
@@ -38,6 +40,7 @@ import io.fabric8.kubernetes.client.dsl.base.PatchType;
 import io.fabric8.kubernetes.client.http.HttpClient;
 import io.fabric8.kubernetes.client.http.HttpRequest;
 import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.StandardHttpHeaders;
 import io.fabric8.kubernetes.client.utils.KubernetesResourceUtil;
 import io.fabric8.kubernetes.client.utils.Serialization;
 import io.fabric8.kubernetes.client.utils.URLUtils;
@@ -53,21 +56,28 @@ import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.ServiceLoader;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 public class OperationSupport {
 
   private static final long ADDITIONAL_REQEUST_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
   private static final String FIELD_MANAGER_PARAM = "?fieldManager=";
   public static final String JSON = "application/json";
+  private static final String ACCEPT = "Accept";
+  private static final List<MediaTypeCodec> CODECS = loadCodecs();
   public static final String JSON_PATCH = "application/json-patch+json";
   public static final String STRATEGIC_MERGE_JSON_PATCH = "application/strategic-merge-patch+json";
   public static final String JSON_MERGE_PATCH = "application/merge-patch+json";
@@ -309,6 +319,11 @@ public class OperationSupport {
 
   protected KubernetesResource handleDelete(URL requestUrl, long gracePeriodSeconds, DeletionPropagation propagationPolicy,
       String resourceVersion) throws InterruptedException, IOException {
+    return waitForResult(submitDelete(requestUrl, gracePeriodSeconds, propagationPolicy, resourceVersion));
+  }
+
+  protected CompletableFuture<KubernetesResource> submitDelete(URL requestUrl, long gracePeriodSeconds,
+      DeletionPropagation propagationPolicy, String resourceVersion) throws IOException {
     DeleteOptions deleteOptions = new DeleteOptions();
     if (gracePeriodSeconds >= 0) {
       deleteOptions.setGracePeriodSeconds(gracePeriodSeconds);
@@ -327,7 +342,7 @@ public class OperationSupport {
     HttpRequest.Builder requestBuilder = httpClient.newHttpRequestBuilder()
         .delete(JSON, JSON_MAPPER.writeValueAsString(deleteOptions)).url(requestUrl);
 
-    return handleResponse(requestBuilder, KubernetesResource.class);
+    return handleResponse(httpClient, requestBuilder, typeReference(KubernetesResource.class));
   }
 
   /**
@@ -343,11 +358,26 @@ public class OperationSupport {
    * @throws IOException IOException
    */
   protected <T, I> T handleCreate(I resource, Class<T> outputType) throws InterruptedException, IOException {
+    return waitForResult(submitCreate(resource, outputType));
+  }
+
+  /**
+   * Create a resource without waiting for the response.
+   *
+   * @param resource resource provided
+   * @param outputType resource type you want as output
+   * @param <T> template argument for output type
+   * @param <I> template argument for resource
+   *
+   * @return the future de-serialized version of apiserver response in form of type provided
+   * @throws IOException IOException
+   */
+  protected <T, I> CompletableFuture<T> submitCreate(I resource, Class<T> outputType) throws IOException {
     resource = correctNamespace(resource);
     HttpRequest.Builder requestBuilder = httpClient.newHttpRequestBuilder()
         .post(JSON, JSON_MAPPER.writeValueAsString(resource))
         .url(getResourceURLForWriteOperation(getResourceUrl(checkNamespace(resource), null)));
-    return handleResponse(requestBuilder, outputType);
+    return handleResponse(httpClient, requestBuilder, typeReference(outputType));
   }
 
   /**
@@ -388,6 +418,25 @@ public class OperationSupport {
    */
   protected <T> T handlePatch(PatchContext patchContext, T current, T updated, Class<T> type, boolean status)
       throws InterruptedException, IOException {
+    return waitForResult(submitPatch(patchContext, current, updated, type, status));
+  }
+
+  /**
+   * Send an http patch without waiting for the response, see
+   * {@link #handlePatch(PatchContext, Object, Object, Class, boolean)}
+   *
+   * @param patchContext patch options for patch request
+   * @param current current object
+   * @param updated updated object
+   * @param type type of object
+   * @param status if this is only the status subresource
+   * @param <T> template argument provided
+   *
+   * @return the future de-serialized version of api server response
+   * @throws IOException IOException
+   */
+  protected <T> CompletableFuture<T> submitPatch(PatchContext patchContext, T current, T updated, Class<T> type,
+      boolean status) throws IOException {
     String patchForUpdate;
     if (current != null && (patchContext == null || patchContext.getPatchType() == PatchType.JSON)) {
       if (current instanceof HasMetadata) {
@@ -417,7 +466,7 @@ public class OperationSupport {
       patchForUpdate = Serialization.asJson(updated);
       current = updated; // use the updated to determine the path
     }
-    return handlePatch(patchContext, current, patchForUpdate, type, status);
+    return submitPatch(patchContext, current, patchForUpdate, type, status);
   }
 
   /**
@@ -435,12 +484,17 @@ public class OperationSupport {
    */
   protected <T> T handlePatch(PatchContext patchContext, T current, String patchForUpdate, Class<T> type, boolean status)
       throws InterruptedException, IOException {
+    return waitForResult(submitPatch(patchContext, current, patchForUpdate, type, status));
+  }
+
+  protected <T> CompletableFuture<T> submitPatch(PatchContext patchContext, T current, String patchForUpdate, Class<T> type,
+      boolean status) throws IOException {
     String bodyContentType = getContentTypeFromPatchContextOrDefault(patchContext);
     HttpRequest.Builder requestBuilder = httpClient.newHttpRequestBuilder()
         .patch(bodyContentType, patchForUpdate)
         .url(getResourceURLForPatchOperation(getResourceUrl(checkNamespace(current), checkName(current), status),
             patchContext));
-    return handleResponse(requestBuilder, type);
+    return handleResponse(httpClient, requestBuilder, typeReference(type));
   }
 
   /**
@@ -563,12 +617,16 @@ public class OperationSupport {
    * @throws IOException IOException
    */
   protected <T> T handleResponse(HttpRequest.Builder requestBuilder, Class<T> type) throws IOException {
-    return waitForResult(handleResponse(httpClient, requestBuilder, new TypeReference<T>() {
+    return waitForResult(handleResponse(httpClient, requestBuilder, type));
+  }
+
+  private static <T> TypeReference<T> typeReference(Class<T> type) {
+    return new TypeReference<T>() {
       @Override
       public Type getType() {
         return type;
       }
-    }));
+    };
   }
 
   /**
@@ -583,25 +641,152 @@ public class OperationSupport {
    */
   protected <T> CompletableFuture<T> handleResponse(HttpClient client, HttpRequest.Builder requestBuilder,
       TypeReference<T> type) {
+    return handleResponse(client, requestBuilder, type, null);
+  }
+
+  /**
+   * Send an http request and handle the response, which may be decoded by a {@link MediaTypeCodec} for the type
+   *
+   * @param client the client
+   * @param requestBuilder Request builder
+   * @param type Type of object provided, or null to ignore the response body
+   * @param <T> Template argument provided
+   *
+   * @return Returns a de-serialized object as api server response of provided type.
+   */
+  protected <T> CompletableFuture<T> handleResponse(HttpClient client, HttpRequest.Builder requestBuilder,
+      Class<T> type) {
+    return handleResponse(client, requestBuilder, type == null ? null : typeReference(type), type);
+  }
+
+  private <T> CompletableFuture<T> handleResponse(HttpClient client, HttpRequest.Builder requestBuilder,
+      TypeReference<T> type, Class<T> codecType) {
     VersionUsageUtils.log(this.resourceT, this.apiGroupVersion);
+    boolean decode = type != null && type.getType() != null;
+    MediaTypeCodec supporting = decode && codecType != null ? getCodec(codecType) : null;
     HttpRequest request = requestBuilder.build();
+    // only reads accept the codec media type, writes keep sending and receiving json
+    final MediaTypeCodec codec = supporting != null && "GET".equalsIgnoreCase(request.method()) ? supporting : null;
+    if (codec != null) {
+      requestBuilder.setHeader(ACCEPT, codec.getMediaType() + ", " + JSON);
+      request = requestBuilder.build();
+    }
+    final HttpRequest sent = request;
+
+    TypedBodyConsumer<T> bodyConsumer = new TypedBodyConsumer<>(type);
+
+    return client.consumeBytes(sent, bodyConsumer).thenCompose(response -> {
+      if (response.isSuccessful()) {
+        assertResponseCode(sent, response);
+        if (!decode) {
+          return bodyConsumer.collectBody(response.body()).thenApply(bytes -> (T) null);
+        }
+        if (codec != null && isMediaType(response, codec.getMediaType())) {
+          return bodyConsumer.readValue(response.body(), is -> decode(codec, is, codecType))
+              .exceptionally(e -> rethrow(sent, e));
+        }
+        return bodyConsumer.readValue(response.body()).exceptionally(e -> rethrow(sent, e));
+      }
+      return bodyConsumer.collectBody(response.body()).thenApply(bytes -> {
+        throw requestFailure(sent, response.code(), createStatus(codec, response, bytes));
+      });
+    });
+  }
 
-    return client.sendAsync(request, byte[].class).thenApply(response -> {
+  /**
+   * The Status of a failed response, decoded with the codec if the server responded in its media type
+   */
+  private static Status createStatus(MediaTypeCodec codec, HttpResponse<?> response, byte[] bytes) {
+    if (codec != null && isMediaType(response, codec.getMediaType())) {
       try {
-        assertResponseCode(request, response);
-        if (type != null && type.getType() != null) {
-          return Serialization.unmarshal(new ByteArrayInputStream(response.body()), type);
-        } else {
-          return null;
+        Status status = codec.decode(new ByteArrayInputStream(bytes), Status.class);
+        if (status != null) {
+          if (status.getCode() == null) {
+            status = new StatusBuilder(status).withCode(response.code()).build();
+          }
+          return status;
         }
-      } catch (KubernetesClientException e) {
-        throw e;
-      } catch (Exception e) {
-        throw requestException(request, e);
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Could not decode the {} error response", codec.getMediaType(), e);
       }
+      return createStatus(response.code(), response.message());
+    }
+    return createStatus(response.code(), response.message(), new String(bytes, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Send an http request for a list and handle the response incrementally, passing each item to the consumer
+   * as it is read rather than first materializing the whole list.
+   *
+   * @param client the client
+   * @param requestBuilder Request builder
+   * @param itemType Type of the list items
+   * @param itemConsumer Consumer of the list items
+   * @param <T> Template argument provided
+   *
+   * @return Returns the list metadata after all items have been consumed.
+   */
+  protected <T> CompletableFuture<ListMeta> handleListResponse(HttpClient client, HttpRequest.Builder requestBuilder,
+      Class<T> itemType, Consumer<T> itemConsumer) {
+    VersionUsageUtils.log(this.resourceT, this.apiGroupVersion);
+    HttpRequest request = requestBuilder.build();
+    StreamingListConsumer<T> listConsumer = new StreamingListConsumer<>(itemType, itemConsumer);
+
+    return client.consumeBytes(request, listConsumer).thenCompose(response -> {
+      if (response.isSuccessful()) {
+        assertResponseCode(request, response);
+        return listConsumer.streamItems(response.body()).exceptionally(e -> rethrow(request, e));
+      }
+      return listConsumer.collectBody(response.body()).thenApply(bytes -> {
+        throw requestFailure(request, response.code(),
+            createStatus(response.code(), response.message(), new String(bytes, StandardCharsets.UTF_8)));
+      });
     });
   }
 
+  private static MediaTypeCodec getCodec(Class<?> type) {
+    for (MediaTypeCodec codec : CODECS) {
+      // the server responds to errors with a Status in the accepted media type
+      if (codec.supports(type) && codec.supports(Status.class)) {
+        return codec;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isMediaType(HttpResponse<?> response, String mediaType) {
+    List<String> contentType = response.headers(StandardHttpHeaders.CONTENT_TYPE);
+    return contentType != null && !contentType.isEmpty()
+        && contentType.get(0).toLowerCase(Locale.ROOT).startsWith(mediaType.toLowerCase(Locale.ROOT));
+  }
+
+  private static <T> T decode(MediaTypeCodec codec, InputStream body, Class<T> type) {
+    try {
+      return codec.decode(body, type);
+    } catch (IOException e) {
+      throw KubernetesClientException.launderThrowable(e);
+    }
+  }
+
+  private static List<MediaTypeCodec> loadCodecs() {
+    List<MediaTypeCodec> codecs = new ArrayList<>();
+    ServiceLoader.load(MediaTypeCodec.class, OperationSupport.class.getClassLoader()).forEach(codecs::add);
+    return Collections.unmodifiableList(codecs);
+  }
+
+  private <T> T rethrow(HttpRequest request, Throwable e) {
+    if (e instanceof CompletionException && e.getCause() != null) {
+      e = e.getCause();
+    }
+    if (e instanceof KubernetesClientException) {
+      throw (KubernetesClientException) e;
+    }
+    if (e instanceof Exception) {
+      throw requestException(request, (Exception) e);
+    }
+    throw new CompletionException(e);
+  }
+
   /**
    * Checks if the response status code is the expected and throws the appropriate KubernetesClientException if not.
    *
@@ -621,14 +806,16 @@ public class OperationSupport {
       return;
     }
 
-    int statusCode = response.code();
+    throw requestFailure(request, response.code(), createStatus(response));
+  }
+
+  private KubernetesClientException requestFailure(HttpRequest request, int statusCode, Status status) {
     String customMessage = config.getErrorMessages().get(statusCode);
 
     if (customMessage != null) {
-      throw requestFailure(request, createStatus(statusCode, combineMessages(customMessage, createStatus(response))));
-    } else {
-      throw requestFailure(request, createStatus(response));
+      return requestFailure(request, createStatus(statusCode, combineMessages(customMessage, status)));
     }
+    return requestFailure(request, status);
   }
 
   private String combineMessages(String customMessage, Status defaultStatus) {
@@ -642,30 +829,33 @@ public class OperationSupport {
   }
 
   public static Status createStatus(HttpResponse<?> response) {
-    String statusMessage = "";
-    int statusCode = response != null ? response.code() : 0;
     if (response == null) {
-      statusMessage = "No response";
-    } else {
-      try {
-        String bodyString = response.bodyString();
-        if (Utils.isNotNullOrEmpty(bodyString)) {
-          Status status = JSON_MAPPER.readValue(bodyString, Status.class);
-          if (status != null) {
-            if (status.getCode() == null) {
-              status = new StatusBuilder(status).withCode(statusCode).build();
-            }
-            return status;
+      return createStatus(0, "No response");
+    }
+    String bodyString = null;
+    try {
+      bodyString = response.bodyString();
+    } catch (IOException e) {
+      // ignored
+    }
+    return createStatus(response.code(), response.message(), bodyString);
+  }
+
+  static Status createStatus(int statusCode, String message, String bodyString) {
+    try {
+      if (Utils.isNotNullOrEmpty(bodyString)) {
+        Status status = JSON_MAPPER.readValue(bodyString, Status.class);
+        if (status != null) {
+          if (status.getCode() == null) {
+            status = new StatusBuilder(status).withCode(statusCode).build();
           }
+          return status;
         }
-      } catch (IOException e) {
-        // ignored
-      }
-      if (response.message() != null) {
-        statusMessage = response.message();
       }
+    } catch (IOException e) {
+      // ignored
     }
-    return createStatus(statusCode, statusMessage);
+    return createStatus(statusCode, message != null ? message : "");
   }
 
   public static Status createStatus(int statusCode, String message) {
@@ -777,4 +967,26 @@ public class OperationSupport {
     }
   }
 
+  /**
+   * Get the given path with the given accept header, leaving the decoding of the body to the caller.
+   *
+   * @param accept the accept header value
+   * @param path the path segments
+   * @return the response, or null if the path was not found
+   */
+  public HttpResponse<byte[]> getRaw(String accept, String... path) {
+    try {
+      String url = URLUtils.join(config.getMasterUrl(), URLUtils.pathJoin(path));
+      HttpRequest request = httpClient.newHttpRequestBuilder().uri(url).setHeader(ACCEPT, accept).build();
+      HttpResponse<byte[]> response = waitForResult(httpClient.sendAsync(request, byte[].class));
+      if (response.code() == HttpURLConnection.HTTP_NOT_FOUND) {
+        return null;
+      }
+      assertResponseCode(request, response);
+      return response;
+    } catch (IOException e) {
+      throw KubernetesClientException.launderThrowable(e);
+    }
+  }
+
 }
@@ -16,6 +16,7 @@
 package io.fabric8.kubernetes.client.dsl.internal;
 
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.http.PooledBuffer;
 import io.fabric8.kubernetes.client.http.WebSocket;
 import io.fabric8.kubernetes.client.utils.Utils;
 import io.fabric8.kubernetes.client.utils.internal.SerialExecutor;
@@ -93,11 +94,25 @@ public class PortForwarderWebsocketListener implements WebSocket.Listener {
 
   @Override
   public void onMessage(WebSocket webSocket, ByteBuffer buffer) {
+    onMessage(webSocket, buffer, null);
+  }
+
+  @Override
+  public void onMessage(WebSocket webSocket, PooledBuffer buffer) {
+    if (!onMessage(webSocket, buffer.buffer(), buffer)) {
+      buffer.release();
+    }
+  }
+
+  /**
+   * @return true if the pooled buffer will be released once the data has been written out
+   */
+  private boolean onMessage(WebSocket webSocket, ByteBuffer buffer, PooledBuffer pooled) {
     messagesRead++;
     if (messagesRead <= 2) {
       // skip the first two messages, containing the ports used internally
       webSocket.request();
-      return;
+      return false;
     }
 
     if (!buffer.hasRemaining()) {
@@ -105,7 +120,7 @@ public class PortForwarderWebsocketListener implements WebSocket.Listener {
       serverThrowables.add(e);
       logger.debug("Protocol error", e);
       closeBothWays(webSocket, 1002, PROTOCOL_ERROR);
-      return;
+      return false;
     }
 
     byte channel = buffer.get();
@@ -145,10 +160,16 @@ public class PortForwarderWebsocketListener implements WebSocket.Listener {
               logger.debug("Error while forwarding data to the client", e);
               closeBothWays(webSocket, 1002, PROTOCOL_ERROR);
             }
+          } finally {
+            if (pooled != null) {
+              pooled.release();
+            }
           }
         });
+        return true;
       }
     }
+    return false;
   }
 
   @Override
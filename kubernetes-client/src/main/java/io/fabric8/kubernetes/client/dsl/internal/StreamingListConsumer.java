@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.client.http.AsyncBody;
+import io.fabric8.kubernetes.client.http.BufferUtil;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally decodes a list response body, handing each item to the consumer as soon as it has been fully read.
+ * <br>
+ * Only a single item is held in memory at a time, rather than the whole response body and the full list.
+ *
+ * @param <T> the item type
+ */
+class StreamingListConsumer<T> implements AsyncBody.Consumer<List<ByteBuffer>> {
+
+  private static final String METADATA = "metadata";
+  private static final String ITEMS = "items";
+
+  private final ObjectMapper mapper;
+  private final Class<T> itemType;
+  private final Consumer<T> itemConsumer;
+  private final JsonParser parser;
+  private final CompletableFuture<ListMeta> result = new CompletableFuture<>();
+
+  private List<ByteBuffer> rawBody;
+  private int depth;
+  private String field;
+  private TokenBuffer capture;
+  private int captureDepth;
+  private ListMeta listMeta;
+
+  StreamingListConsumer(Class<T> itemType, Consumer<T> itemConsumer) {
+    this.mapper = Serialization.jsonMapper();
+    this.itemType = itemType;
+    this.itemConsumer = itemConsumer;
+    try {
+      this.parser = mapper.getFactory().createNonBlockingByteBufferParser();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Start decoding the body.
+   *
+   * @param body the response body
+   * @return a future that completes with the list metadata after all items have been consumed
+   */
+  CompletableFuture<ListMeta> streamItems(AsyncBody body) {
+    body.done().whenComplete((v, t) -> onDone(t, body));
+    body.consume();
+    return result;
+  }
+
+  /**
+   * Collect the body without decoding it - used for error responses.
+   *
+   * @param body the response body
+   * @return a future that completes with the raw bytes of the body
+   */
+  CompletableFuture<byte[]> collectBody(AsyncBody body) {
+    synchronized (this) {
+      rawBody = new ArrayList<>();
+    }
+    return streamItems(body).thenApply(ignored -> {
+      synchronized (this) {
+        return BufferUtil.toArray(rawBody);
+      }
+    });
+  }
+
+  @Override
+  public synchronized void consume(List<ByteBuffer> value, AsyncBody asyncBody) throws Exception {
+    if (result.isDone()) {
+      return;
+    }
+    if (rawBody != null) {
+      rawBody.addAll(value);
+    } else {
+      try {
+        for (ByteBuffer buffer : value) {
+          ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(buffer);
+          drain();
+        }
+      } catch (Exception e) {
+        result.completeExceptionally(e);
+        asyncBody.cancel();
+        return;
+      }
+    }
+    asyncBody.consume();
+  }
+
+  private synchronized void onDone(Throwable t, AsyncBody body) {
+    if (t != null) {
+      result.completeExceptionally(t);
+      return;
+    }
+    if (rawBody == null) {
+      try {
+        parser.getNonBlockingInputFeeder().endOfInput();
+        drain();
+      } catch (Exception e) {
+        result.completeExceptionally(e);
+        return;
+      }
+    }
+    result.complete(listMeta == null ? new ListMeta() : listMeta);
+  }
+
+  private void drain() throws IOException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+      onToken(token);
+    }
+  }
+
+  private void onToken(JsonToken token) throws IOException {
+    if (token.isStructStart()) {
+      depth++;
+      if (capture == null && token == JsonToken.START_OBJECT
+          && ((depth == 2 && METADATA.equals(field)) || (depth == 3 && ITEMS.equals(field)))) {
+        capture = new TokenBuffer(parser);
+        captureDepth = depth - 1;
+      }
+    } else if (token.isStructEnd()) {
+      depth--;
+    } else if (token == JsonToken.FIELD_NAME && depth == 1) {
+      field = parser.currentName();
+    }
+    if (capture == null) {
+      return;
+    }
+    capture.copyCurrentEvent(parser);
+    if (depth == captureDepth) {
+      TokenBuffer captured = capture;
+      capture = null;
+      try (JsonParser capturedParser = captured.asParser(mapper)) {
+        if (depth == 1) {
+          listMeta = mapper.readValue(capturedParser, ListMeta.class);
+        } else {
+          itemConsumer.accept(mapper.readValue(capturedParser, itemType));
+        }
+      }
+    }
+  }
+
+}
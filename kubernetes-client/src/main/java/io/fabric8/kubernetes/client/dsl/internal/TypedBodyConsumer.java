@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl.internal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.fabric8.kubernetes.client.http.AsyncBody;
+import io.fabric8.kubernetes.client.http.BufferUtil;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Decodes a response body to a type directly from the buffers delivered by the http client.
+ * <br>
+ * The buffers are read by the parser in place and released as they are consumed, rather than first
+ * being copied into a single array, so the body is not held in memory twice.
+ *
+ * @param <T> the target type
+ */
+public class TypedBodyConsumer<T> implements AsyncBody.Consumer<List<ByteBuffer>> {
+
+  private final TypeReference<T> type;
+  private final Deque<ByteBuffer> buffers = new ArrayDeque<>();
+
+  public TypedBodyConsumer(TypeReference<T> type) {
+    this.type = type;
+  }
+
+  @Override
+  public synchronized void consume(List<ByteBuffer> value, AsyncBody asyncBody) throws Exception {
+    for (ByteBuffer buffer : value) {
+      if (buffer.hasRemaining()) {
+        buffers.add(buffer);
+      }
+    }
+    asyncBody.consume();
+  }
+
+  /**
+   * Start consuming the body.
+   *
+   * @param body the response body
+   * @return a future that completes with the decoded value, or null if the body was empty
+   */
+  public CompletableFuture<T> readValue(AsyncBody body) {
+    return readValue(body, is -> Serialization.unmarshal(is, type));
+  }
+
+  /**
+   * Start consuming the body.
+   *
+   * @param body the response body
+   * @param decoder decodes the body
+   * @return a future that completes with the decoded value, or null if the body was empty
+   */
+  public CompletableFuture<T> readValue(AsyncBody body, Function<InputStream, T> decoder) {
+    return onDone(body).thenApply(ignored -> {
+      synchronized (this) {
+        if (buffers.isEmpty()) {
+          return null;
+        }
+        return decoder.apply(new BuffersInputStream());
+      }
+    });
+  }
+
+  /**
+   * Collect the body without decoding it - used for error responses.
+   *
+   * @param body the response body
+   * @return a future that completes with the raw bytes of the body
+   */
+  public CompletableFuture<byte[]> collectBody(AsyncBody body) {
+    return onDone(body).thenApply(ignored -> {
+      synchronized (this) {
+        byte[] bytes = BufferUtil.toArray(buffers);
+        buffers.clear();
+        return bytes;
+      }
+    });
+  }
+
+  private CompletableFuture<Void> onDone(AsyncBody body) {
+    CompletableFuture<Void> done = body.done();
+    body.consume();
+    return done;
+  }
+
+  /**
+   * Reads the buffers in order, dropping each one once it has been read
+   */
+  private class BuffersInputStream extends InputStream {
+
+    @Override
+    public int read() {
+      ByteBuffer buffer = next();
+      return buffer == null ? -1 : buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      ByteBuffer buffer = next();
+      if (buffer == null) {
+        return -1;
+      }
+      int read = Math.min(len, buffer.remaining());
+      buffer.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public int available() {
+      ByteBuffer buffer = buffers.peek();
+      return buffer == null ? 0 : buffer.remaining();
+    }
+
+    private ByteBuffer next() {
+      ByteBuffer buffer = buffers.peek();
+      while (buffer != null && !buffer.hasRemaining()) {
+        buffers.poll();
+        buffer = buffers.peek();
+      }
+      return buffer;
+    }
+  }
+
+}
@@ -20,6 +20,7 @@ import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ListOptions;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.http.AsyncBody;
+import io.fabric8.kubernetes.client.http.BufferUtil;
 import io.fabric8.kubernetes.client.http.HttpClient;
 import io.fabric8.kubernetes.client.http.HttpRequest;
 import io.fabric8.kubernetes.client.http.HttpResponse;
@@ -29,7 +30,8 @@ import org.slf4j.LoggerFactory;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -57,20 +59,7 @@ public class WatchHTTPManager<T extends HasMetadata, L extends KubernetesResourc
   protected synchronized void start(URL url, Map<String, String> headers, WatchRequestState state) {
     HttpRequest.Builder builder = client.newHttpRequestBuilder().url(url);
     headers.forEach(builder::header);
-    StringBuffer buffer = new StringBuffer();
-    call = client.consumeBytes(builder.build(), (b, a) -> {
-      for (ByteBuffer content : b) {
-        for (char c : StandardCharsets.UTF_8.decode(content).array()) {
-          if (c == '\n') {
-            onMessage(buffer.toString(), state);
-            buffer.setLength(0);
-          } else {
-            buffer.append(c);
-          }
-        }
-      }
-      a.consume();
-    });
+    call = client.consumeBytes(builder.build(), new EventSplitter(state));
     call.whenComplete((response, t) -> {
       if (t != null) {
         logger.info("Watch connection failed. reason: {}", t.getMessage());
@@ -98,6 +87,73 @@ public class WatchHTTPManager<T extends HasMetadata, L extends KubernetesResourc
     });
   }
 
+  /**
+   * Splits the body into newline delimited events without decoding it to characters. An event
+   * contained in a single array backed buffer is parsed in place.
+   */
+  private class EventSplitter implements AsyncBody.Consumer<List<ByteBuffer>> {
+
+    private final WatchRequestState state;
+    private byte[] pending = new byte[1024];
+    private int pendingLength;
+
+    EventSplitter(WatchRequestState state) {
+      this.state = state;
+    }
+
+    @Override
+    public void consume(List<ByteBuffer> value, AsyncBody asyncBody) {
+      for (ByteBuffer content : value) {
+        split(content);
+      }
+      asyncBody.consume();
+    }
+
+    private void split(ByteBuffer content) {
+      byte[] array;
+      int offset;
+      int end;
+      if (content.hasArray()) {
+        array = content.array();
+        offset = content.arrayOffset() + content.position();
+        end = content.arrayOffset() + content.limit();
+      } else {
+        array = BufferUtil.toArray(content);
+        offset = 0;
+        end = array.length;
+      }
+      content.position(content.limit());
+      int start = offset;
+      for (int i = offset; i < end; i++) {
+        if (array[i] == '\n') {
+          if (pendingLength == 0) {
+            onEvent(array, start, i - start);
+          } else {
+            append(array, start, i - start);
+            onEvent(pending, 0, pendingLength);
+            pendingLength = 0;
+          }
+          start = i + 1;
+        }
+      }
+      append(array, start, end - start);
+    }
+
+    private void onEvent(byte[] bytes, int offset, int length) {
+      if (length > 0) {
+        onMessage(bytes, offset, length, state);
+      }
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+      if (pendingLength + length > pending.length) {
+        pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+      }
+      System.arraycopy(bytes, offset, pending, pendingLength, length);
+      pendingLength += length;
+    }
+  }
+
   @Override
   protected synchronized void closeCurrentRequest() {
     Optional.ofNullable(call).ifPresent(theFuture -> {
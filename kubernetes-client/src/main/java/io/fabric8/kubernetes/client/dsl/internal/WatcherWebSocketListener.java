@@ -17,12 +17,12 @@ package io.fabric8.kubernetes.client.dsl.internal;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.dsl.internal.AbstractWatchManager.WatchRequestState;
+import io.fabric8.kubernetes.client.http.BufferUtil;
 import io.fabric8.kubernetes.client.http.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 
 class WatcherWebSocketListener<T extends HasMetadata> implements WebSocket.Listener {
   protected static final Logger logger = LoggerFactory.getLogger(WatcherWebSocketListener.class);
@@ -58,7 +58,16 @@ class WatcherWebSocketListener<T extends HasMetadata> implements WebSocket.Liste
 
   @Override
   public void onMessage(WebSocket webSocket, ByteBuffer bytes) {
-    onMessage(webSocket, StandardCharsets.UTF_8.decode(bytes).toString());
+    try {
+      if (bytes.hasArray()) {
+        manager.onMessage(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), state);
+      } else {
+        byte[] array = BufferUtil.toArray(bytes);
+        manager.onMessage(array, 0, array.length, state);
+      }
+    } finally {
+      webSocket.request();
+    }
   }
 
   @Override
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.kubernetes.api.model.APIGroup;
+import io.fabric8.kubernetes.api.model.APIGroupList;
+import io.fabric8.kubernetes.api.model.APIResource;
+import io.fabric8.kubernetes.api.model.APIResourceList;
+import io.fabric8.kubernetes.api.model.GroupVersionForDiscovery;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.StandardHttpHeaders;
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads aggregated discovery responses, which describe the groups and the resources of all group versions
+ * of an api path in a single APIGroupDiscoveryList.
+ */
+final class AggregatedDiscovery {
+
+  private static final String AS_DISCOVERY_LIST = "as=APIGroupDiscoveryList";
+
+  /**
+   * Accepts the aggregated discovery versions in order of preference, falling back to the plain discovery types
+   */
+  static final String ACCEPT = "application/json;g=apidiscovery.k8s.io;v=v2;" + AS_DISCOVERY_LIST
+      + ",application/json;g=apidiscovery.k8s.io;v=v2beta1;" + AS_DISCOVERY_LIST
+      + ",application/json";
+
+  private AggregatedDiscovery() {
+  }
+
+  static boolean isAggregated(HttpResponse<?> response) {
+    List<String> contentType = response.headers(StandardHttpHeaders.CONTENT_TYPE);
+    return contentType != null && !contentType.isEmpty() && contentType.get(0).contains(AS_DISCOVERY_LIST);
+  }
+
+  /**
+   * Read an APIGroupDiscoveryList
+   *
+   * @param body the response body
+   * @param resources receives the resources of each group version, except for those the server reports as stale
+   * @return the groups
+   */
+  static APIGroupList read(byte[] body, BiConsumer<String, APIResourceList> resources) {
+    JsonNode root;
+    try {
+      root = Serialization.jsonMapper().readTree(body);
+    } catch (IOException e) {
+      throw KubernetesClientException.launderThrowable(e);
+    }
+    APIGroupList result = new APIGroupList();
+    for (JsonNode item : root.path("items")) {
+      String group = item.path("metadata").path("name").asText("");
+      APIGroup apiGroup = new APIGroup();
+      apiGroup.setName(group);
+      for (JsonNode version : item.path("versions")) {
+        String versionName = version.path("version").asText();
+        String groupVersion = group.isEmpty() ? versionName : group + "/" + versionName;
+        GroupVersionForDiscovery forDiscovery = new GroupVersionForDiscovery(groupVersion, versionName);
+        apiGroup.getVersions().add(forDiscovery);
+        // versions are listed in order of preference
+        if (apiGroup.getPreferredVersion() == null) {
+          apiGroup.setPreferredVersion(forDiscovery);
+        }
+        if (!"Stale".equals(version.path("freshness").asText())) {
+          resources.accept(groupVersion, readResources(group, versionName, groupVersion, version.path("resources")));
+        }
+      }
+      result.getGroups().add(apiGroup);
+    }
+    return result;
+  }
+
+  private static APIResourceList readResources(String group, String version, String groupVersion, JsonNode resources) {
+    APIResourceList result = new APIResourceList();
+    result.setGroupVersion(groupVersion);
+    for (JsonNode resource : resources) {
+      String name = resource.path("resource").asText();
+      boolean namespaced = "Namespaced".equals(resource.path("scope").asText());
+      APIResource apiResource = toApiResource(group, version, name, namespaced, resource);
+      apiResource.setSingularName(resource.path("singularResource").asText(null));
+      apiResource.setShortNames(strings(resource.path("shortNames")));
+      apiResource.setCategories(strings(resource.path("categories")));
+      result.getResources().add(apiResource);
+      for (JsonNode subresource : resource.path("subresources")) {
+        result.getResources().add(toApiResource(group, version, name + "/" + subresource.path("subresource").asText(),
+            namespaced, subresource));
+      }
+    }
+    return result;
+  }
+
+  private static APIResource toApiResource(String group, String version, String name, boolean namespaced,
+      JsonNode node) {
+    APIResource result = new APIResource();
+    result.setName(name);
+    result.setNamespaced(namespaced);
+    result.setVerbs(strings(node.path("verbs")));
+    JsonNode responseKind = node.path("responseKind");
+    result.setKind(responseKind.path("kind").asText(null));
+    // as with plain discovery, the group and version are only set when they differ from the list
+    String kindGroup = responseKind.path("group").asText("");
+    String kindVersion = responseKind.path("version").asText(version);
+    if (!Objects.equals(group, kindGroup) || !Objects.equals(version, kindVersion)) {
+      result.setGroup(kindGroup);
+      result.setVersion(kindVersion);
+    }
+    return result;
+  }
+
+  private static List<String> strings(JsonNode array) {
+    List<String> result = new ArrayList<>(array.size());
+    array.forEach(n -> result.add(n.asText()));
+    return result;
+  }
+
+}
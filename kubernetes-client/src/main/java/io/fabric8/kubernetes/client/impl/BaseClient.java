@@ -26,6 +26,7 @@ import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.RootPaths;
 import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.DiscoveryCache;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder.ExecutorSupplier;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.VersionInfo;
@@ -38,12 +39,16 @@ import io.fabric8.kubernetes.client.dsl.internal.OperationSupport;
 import io.fabric8.kubernetes.client.extension.ExtensionAdapter;
 import io.fabric8.kubernetes.client.extension.SupportTestingClient;
 import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.http.HttpResponse;
 import io.fabric8.kubernetes.client.utils.ApiVersionUtil;
+import io.fabric8.kubernetes.client.utils.Serialization;
 import io.fabric8.kubernetes.client.utils.Utils;
 
+import java.io.ByteArrayInputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -81,6 +86,7 @@ public abstract class BaseClient implements Client {
   private OperationSupport operationSupport;
   private ExecutorSupplier executorSupplier;
   private Executor executor;
+  private final DiscoveryCache discoveryCache;
 
   private OperationContext operationContext;
 
@@ -92,6 +98,7 @@ public abstract class BaseClient implements Client {
     this.matchingGroupPredicate = baseClient.matchingGroupPredicate;
     this.executorSupplier = baseClient.executorSupplier;
     this.executor = baseClient.executor;
+    this.discoveryCache = baseClient.discoveryCache;
     setDerivedFields();
     if (baseClient.operationContext != null) {
       operationContext(baseClient.operationContext);
@@ -99,8 +106,14 @@ public abstract class BaseClient implements Client {
   }
 
   BaseClient(final HttpClient httpClient, Config config, ExecutorSupplier executorSupplier) {
+    this(httpClient, config, executorSupplier, null);
+  }
+
+  BaseClient(final HttpClient httpClient, Config config, ExecutorSupplier executorSupplier,
+      DiscoveryCache discoveryCache) {
     this.config = config;
     this.httpClient = httpClient;
+    this.discoveryCache = discoveryCache;
     this.handlers = new Handlers();
     this.adapters = new Adapters(this.handlers);
     setDerivedFields();
@@ -161,17 +174,29 @@ public abstract class BaseClient implements Client {
     if (matchingGroupPredicate != null) {
       return matchingGroupPredicate.test(apiGroup);
     }
+    if (discoveryCache != null) {
+      long start = System.currentTimeMillis();
+      if (hasApiGroup(getApiGroups(), apiGroup, exact)) {
+        return true;
+      }
+      // the group may have been added since the groups were cached
+      return discoveryCache.invalidateApiGroupsOnMiss(config.getMasterUrl(), start)
+          && hasApiGroup(getApiGroups(), apiGroup, exact);
+    }
     if (exact) {
       return getApiGroup(apiGroup) != null;
     }
-    APIGroupList apiGroups = getApiGroups();
+    return hasApiGroup(getApiGroups(), apiGroup, false);
+  }
+
+  private static boolean hasApiGroup(APIGroupList apiGroups, String apiGroup, boolean exact) {
     if (apiGroups == null) {
       return false;
     }
     return apiGroups
         .getGroups()
         .stream()
-        .anyMatch(g -> g.getName().endsWith(apiGroup));
+        .anyMatch(g -> exact ? g.getName().equals(apiGroup) : g.getName().endsWith(apiGroup));
   }
 
   @Override
@@ -204,7 +229,17 @@ public abstract class BaseClient implements Client {
   public boolean supports(String apiVersion, String kind) {
     Utils.checkNotNull(kind, "kind cannot be null");
     Utils.checkNotNull(apiVersion, "apiVersion cannot be null");
-    final APIResourceList apiResources = getApiResources(apiVersion);
+    long start = System.currentTimeMillis();
+    if (hasKind(getApiResources(apiVersion), kind)) {
+      return true;
+    }
+    // the kind may have been added since the resources were cached
+    return discoveryCache != null
+        && discoveryCache.invalidateApiResourcesOnMiss(config.getMasterUrl(), apiVersion, start)
+        && hasKind(getApiResources(apiVersion), kind);
+  }
+
+  private static boolean hasKind(APIResourceList apiResources, String kind) {
     if (apiResources == null) {
       return false;
     }
@@ -248,14 +283,37 @@ public abstract class BaseClient implements Client {
 
   @Override
   public APIGroupList getApiGroups() {
+    if (discoveryCache != null) {
+      return discoveryCache.getApiGroups(config.getMasterUrl(), this::discoverApiGroups);
+    }
     return getOperationSupport().restCall(APIGroupList.class, APIS);
   }
 
   @Override
   public APIGroup getApiGroup(String name) {
+    if (discoveryCache != null) {
+      APIGroupList apiGroups = getApiGroups();
+      return apiGroups == null ? null
+          : apiGroups.getGroups().stream().filter(g -> Objects.equals(name, g.getName())).findFirst().orElse(null);
+    }
     return getOperationSupport().restCall(APIGroup.class, APIS, name);
   }
 
+  /**
+   * Fetch the groups, preferring aggregated discovery, which also returns the resources of all group versions
+   */
+  private APIGroupList discoverApiGroups() {
+    HttpResponse<byte[]> response = getOperationSupport().getRaw(AggregatedDiscovery.ACCEPT, APIS);
+    if (response == null) {
+      return null;
+    }
+    if (AggregatedDiscovery.isAggregated(response)) {
+      return AggregatedDiscovery.read(response.body(),
+          (groupVersion, resources) -> discoveryCache.putApiResources(config.getMasterUrl(), groupVersion, resources));
+    }
+    return Serialization.unmarshal(new ByteArrayInputStream(response.body()), APIGroupList.class);
+  }
+
   private OperationSupport getOperationSupport() {
     if (operationSupport == null) {
       this.operationSupport = new OperationSupport(this);
@@ -265,6 +323,57 @@ public abstract class BaseClient implements Client {
 
   @Override
   public APIResourceList getApiResources(String groupVersion) {
+    if (discoveryCache == null) {
+      return fetchApiResources(groupVersion);
+    }
+    long start = System.currentTimeMillis();
+    APIResourceList result = getCachedApiResources(groupVersion);
+    if (result == null && !"v1".equals(groupVersion)
+        && discoveryCache.invalidateApiGroupsOnMiss(config.getMasterUrl(), start)) {
+      // the group version may have been added since the groups were cached
+      result = getCachedApiResources(groupVersion);
+    }
+    return result;
+  }
+
+  private APIResourceList getCachedApiResources(String groupVersion) {
+    if (!"v1".equals(groupVersion)) {
+      // only group versions listed by the server are looked up
+      APIGroupList apiGroups = getApiGroups();
+      if (apiGroups == null || apiGroups.getGroups()
+          .stream()
+          .flatMap(g -> g.getVersions().stream())
+          .noneMatch(v -> groupVersion.equals(v.getGroupVersion()))) {
+        return null;
+      }
+    }
+    return discoveryCache.getApiResources(config.getMasterUrl(), groupVersion, () -> discoverApiResources(groupVersion));
+  }
+
+  private APIResourceList discoverApiResources(String groupVersion) {
+    if ("v1".equals(groupVersion)) {
+      HttpResponse<byte[]> response = getOperationSupport().getRaw(AggregatedDiscovery.ACCEPT, "api");
+      if (response != null && AggregatedDiscovery.isAggregated(response)) {
+        APIResourceList[] core = new APIResourceList[1];
+        AggregatedDiscovery.read(response.body(), (gv, resources) -> {
+          if (groupVersion.equals(gv)) {
+            core[0] = resources;
+          }
+        });
+        if (core[0] != null) {
+          return core[0];
+        }
+      }
+    }
+    APIResourceList result = fetchApiResources(groupVersion);
+    if (result == null) {
+      // the server no longer serves the group version, so the cached groups are out of date
+      discoveryCache.invalidateApiGroups(config.getMasterUrl(), Long.MAX_VALUE);
+    }
+    return result;
+  }
+
+  private APIResourceList fetchApiResources(String groupVersion) {
     if ("v1".equals(groupVersion)) {
       return getOperationSupport().restCall(APIResourceList.class, "api", "v1");
     }
@@ -73,6 +73,7 @@ import io.fabric8.kubernetes.client.ApiVisitor.ApiVisitResult;
 import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.DiscoveryCache;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder.ExecutorSupplier;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.NamespacedKubernetesClient;
@@ -195,7 +196,12 @@ public class KubernetesClientImpl extends BaseClient implements NamespacedKubern
   }
 
   public KubernetesClientImpl(HttpClient httpClient, Config config, ExecutorSupplier executorSupplier) {
-    super(httpClient, config, executorSupplier);
+    this(httpClient, config, executorSupplier, null);
+  }
+
+  public KubernetesClientImpl(HttpClient httpClient, Config config, ExecutorSupplier executorSupplier,
+      DiscoveryCache discoveryCache) {
+    super(httpClient, config, executorSupplier, discoveryCache);
 
     this.getAdapters().registerClient(AppsAPIGroupDSL.class, new AppsAPIGroupClient());
     this.getAdapters().registerClient(AdmissionRegistrationAPIGroupDSL.class, new AdmissionRegistrationAPIGroupClient());
@@ -19,12 +19,17 @@ import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.informers.ExceptionHandler;
+import io.fabric8.kubernetes.client.informers.InformerMetrics;
+import io.fabric8.kubernetes.client.informers.OverflowPolicy;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.IndexMode;
 import io.fabric8.kubernetes.client.informers.cache.Indexer;
 import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.fabric8.kubernetes.client.informers.cache.RelistMode;
 import io.fabric8.kubernetes.client.informers.cache.Store;
 import io.fabric8.kubernetes.client.informers.impl.cache.CacheImpl;
+import io.fabric8.kubernetes.client.informers.impl.cache.ProcessorListener;
 import io.fabric8.kubernetes.client.informers.impl.cache.ProcessorStore;
 import io.fabric8.kubernetes.client.informers.impl.cache.Reflector;
 import io.fabric8.kubernetes.client.informers.impl.cache.SharedProcessor;
@@ -32,14 +37,17 @@ import io.fabric8.kubernetes.client.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -73,6 +81,8 @@ public class DefaultSharedIndexInformer<T extends HasMetadata, L extends Kuberne
 
   private Stream<T> initialState;
 
+  private InformerMetrics metrics = InformerMetrics.NOOP;
+
   public DefaultSharedIndexInformer(Class<T> apiTypeClass, ListerWatcher<T, L> listerWatcher, long resyncPeriod,
       Executor informerExecutor) {
     if (resyncPeriod < 0) {
@@ -85,7 +95,7 @@ public class DefaultSharedIndexInformer<T extends HasMetadata, L extends Kuberne
 
     this.informerExecutor = informerExecutor;
     // reuse the informer executor, but ensure serial processing
-    this.processor = new SharedProcessor<>(informerExecutor, description);
+    this.processor = new SharedProcessor<>(informerExecutor, description, indexer::getKey);
 
     processorStore = new ProcessorStore<>(this.indexer, this.processor);
     this.reflector = new Reflector<>(listerWatcher, processorStore);
@@ -138,6 +148,24 @@ public class DefaultSharedIndexInformer<T extends HasMetadata, L extends Kuberne
     return this;
   }
 
+  /**
+   * Adds a handler without resync, the initialState consumer is passed the items the handler
+   * will initially be notified of before any further event can be distributed.
+   *
+   * @return a {@link Runnable} removing the handler
+   */
+  Runnable addEventHandler(ResourceEventHandler<? super T> handler, Consumer<List<T>> initialState) {
+    AtomicBoolean initial = new AtomicBoolean(true);
+    ProcessorListener<T> listener = this.processor.addProcessorListener(handler, 0, () -> {
+      List<T> items = this.indexer.list();
+      if (initial.compareAndSet(true, false)) {
+        initialState.accept(items);
+      }
+      return items;
+    });
+    return () -> this.processor.removeListener(listener);
+  }
+
   @Override
   public String lastSyncResourceVersion() {
     return this.reflector.getLastSyncResourceVersion();
@@ -157,6 +185,7 @@ public class DefaultSharedIndexInformer<T extends HasMetadata, L extends Kuberne
         initialState.forEach(indexer::put);
         reflector.usingInitialState();
       }
+      metrics.registerGauges(indexer::size, processor::getQueueDepth, processor::getMaxLag);
     }
 
     log.debug("Ready to run resync and reflector for {} with resync {}", this, resyncCheckPeriodMillis);
@@ -174,10 +203,14 @@ public class DefaultSharedIndexInformer<T extends HasMetadata, L extends Kuberne
 
   @Override
   public synchronized void stop() {
+    boolean wasStopped = stopped;
     stopped = true;
     reflector.stop();
     stopResync();
     processor.stop();
+    if (started.get() && !wasStopped) {
+      metrics.unregisterGauges();
+    }
   }
 
   private synchronized void stopResync() {
@@ -279,6 +312,76 @@ public class DefaultSharedIndexInformer<T extends HasMetadata, L extends Kuberne
     return this;
   }
 
+  @Override
+  public synchronized SharedIndexInformer<T> indexMode(IndexMode indexMode) {
+    if (started.get()) {
+      throw new KubernetesClientException("Informer cannot be running when setting the index mode");
+    }
+    this.indexer.setIndexMode(indexMode);
+    return this;
+  }
+
+  @Override
+  public synchronized SharedIndexInformer<T> relistMode(RelistMode relistMode) {
+    if (started.get()) {
+      throw new KubernetesClientException("Informer cannot be running when setting the relist mode");
+    }
+    this.indexer.setRelistMode(relistMode);
+    return this;
+  }
+
+  @Override
+  public synchronized SharedIndexInformer<T> watchList(boolean watchList) {
+    if (started.get()) {
+      throw new KubernetesClientException("Informer cannot be running when setting watch list");
+    }
+    this.reflector.setWatchList(watchList);
+    return this;
+  }
+
+  @Override
+  public synchronized SharedIndexInformer<T> batchedEventDelivery(boolean batched) {
+    if (started.get()) {
+      throw new KubernetesClientException("Informer cannot be running when setting batched event delivery");
+    }
+    this.processor.setBatched(batched);
+    return this;
+  }
+
+  @Override
+  public Map<ResourceEventHandler<? super T>, Integer> getEventQueueDepths() {
+    return this.processor.getQueueDepths();
+  }
+
+  @Override
+  public synchronized SharedIndexInformer<T> eventQueue(int capacity, OverflowPolicy overflowPolicy) {
+    if (started.get()) {
+      throw new KubernetesClientException("Informer cannot be running when setting the event queue");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The event queue capacity must be positive");
+    }
+    this.processor.setBatched(true);
+    this.processor.setQueueBounds(capacity, Objects.requireNonNull(overflowPolicy));
+    return this;
+  }
+
+  @Override
+  public Map<ResourceEventHandler<? super T>, Duration> getEventLag() {
+    return this.processor.getLags();
+  }
+
+  @Override
+  public synchronized SharedIndexInformer<T> metrics(InformerMetrics metrics) {
+    if (started.get()) {
+      throw new KubernetesClientException("Informer cannot be running when setting the metrics");
+    }
+    this.metrics = Objects.requireNonNull(metrics);
+    this.reflector.setMetrics(metrics);
+    this.processor.setMetrics(metrics);
+    return this;
+  }
+
   @Override
   public String toString() {
     return this.description;
@@ -16,11 +16,13 @@
 package io.fabric8.kubernetes.client.informers.impl;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ListMeta;
 import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
-import io.fabric8.kubernetes.client.dsl.internal.AbstractWatchManager;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * ListerWatcher is any object that knows how to perform an initial list and
@@ -30,10 +32,17 @@ import java.util.concurrent.CompletableFuture;
  * @param <L> list for that type
  */
 public interface ListerWatcher<T extends HasMetadata, L> {
-  CompletableFuture<AbstractWatchManager<T>> submitWatch(ListOptions params, Watcher<T> watcher);
+  CompletableFuture<? extends Watch> submitWatch(ListOptions params, Watcher<T> watcher);
 
   CompletableFuture<L> submitList(ListOptions listOptions);
 
+  /**
+   * List following any continue, passing each item to the itemConsumer and the metadata of each page
+   * to the pageConsumer
+   */
+  CompletableFuture<ListMeta> submitList(ListOptions listOptions, Consumer<? super T> itemConsumer,
+      Consumer<ListMeta> pageConsumer);
+
   Long getLimit();
 
   int getWatchReconnectInterval();
@@ -23,6 +23,7 @@ import io.fabric8.kubernetes.client.dsl.Informable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.internal.BaseOperation;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.fabric8.kubernetes.client.informers.SharedInformerEventListener;
 import io.fabric8.kubernetes.client.informers.SharedInformerFactory;
@@ -30,7 +31,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
@@ -49,8 +52,11 @@ public class SharedInformerFactoryImpl implements SharedInformerFactory {
 
   private final ConcurrentLinkedQueue<SharedInformerEventListener> eventListeners = new ConcurrentLinkedQueue<>();
 
+  private final Map<Class<?>, SharedWatchListerWatcher.Group<?>> sharedWatchGroups = new HashMap<>();
+
   private String name;
   private String namespace;
+  private boolean sharedWatches;
 
   private final KubernetesClient client;
 
@@ -70,6 +76,12 @@ public class SharedInformerFactoryImpl implements SharedInformerFactory {
     return this;
   }
 
+  @Override
+  public synchronized SharedInformerFactory sharedWatches(boolean sharedWatches) {
+    this.sharedWatches = sharedWatches;
+    return this;
+  }
+
   @Override
   public synchronized <T extends HasMetadata> SharedIndexInformer<T> sharedIndexInformerFor(Class<T> apiTypeClass,
       long resyncPeriodInMillis) {
@@ -89,7 +101,21 @@ public class SharedInformerFactoryImpl implements SharedInformerFactory {
       informable = resources.inAnyNamespace();
     }
 
-    SharedIndexInformer<T> informer = informable.runnableInformer(resyncPeriodInMillis);
+    SharedIndexInformer<T> informer;
+    if (sharedWatches) {
+      BaseOperation<T, KubernetesResourceList<T>, Resource<T>> operation =
+          (BaseOperation<T, KubernetesResourceList<T>, Resource<T>>) informable;
+      SharedWatchListerWatcher.Group<T> group = (SharedWatchListerWatcher.Group<T>) sharedWatchGroups
+          .computeIfAbsent(apiTypeClass, k -> new SharedWatchListerWatcher.Group<>(ns -> {
+            Informable<T> scope = ns == null ? resources.inAnyNamespace() : resources.inNamespace(ns);
+            return (DefaultSharedIndexInformer<T, ?>) scope.runnableInformer(0);
+          }));
+      informer = new DefaultSharedIndexInformer<>(apiTypeClass,
+          new SharedWatchListerWatcher<>(group, operation, operation.getNamespace(), operation.getName()),
+          resyncPeriodInMillis, operation.getOperationContext().getExecutor());
+    } else {
+      informer = informable.runnableInformer(resyncPeriodInMillis);
+    }
     this.informers.add(informer);
     return informer;
   }
@@ -130,6 +156,8 @@ public class SharedInformerFactoryImpl implements SharedInformerFactory {
   @Override
   public synchronized void stopAllRegisteredInformers() {
     informers.forEach(SharedIndexInformer::stop);
+    sharedWatchGroups.values().forEach(SharedWatchListerWatcher.Group::stop);
+    sharedWatchGroups.clear();
   }
 
   @Override
@@ -0,0 +1,296 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.impl;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ListMetaBuilder;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.dsl.internal.AbstractWatchManager;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link ListerWatcher} that serves an informer from a backing informer shared by the group of
+ * informers of the same type, filtering its state and events locally by namespace and name.
+ * <br>
+ * Whether the backing informer is used is decided by the {@link Group} on the first list, otherwise
+ * all calls go to the informer's own {@link ListerWatcher}.
+ *
+ * @param <T> type
+ * @param <L> list for that type
+ */
+public class SharedWatchListerWatcher<T extends HasMetadata, L extends KubernetesResourceList<T>>
+    implements ListerWatcher<T, L> {
+
+  /**
+   * The informers of a single type that may share a backing informer.
+   */
+  public static class Group<T extends HasMetadata> {
+
+    private final Function<String, DefaultSharedIndexInformer<T, ?>> sourceFactory;
+    private final List<SharedWatchListerWatcher<T, ?>> members = new ArrayList<>();
+    private boolean resolved;
+    private String namespace;
+    private DefaultSharedIndexInformer<T, ?> source;
+    private CompletableFuture<Void> sourceStarted;
+
+    /**
+     * @param sourceFactory creates the backing informer for the given namespace, or all namespaces if null
+     */
+    public Group(Function<String, DefaultSharedIndexInformer<T, ?>> sourceFactory) {
+      this.sourceFactory = sourceFactory;
+    }
+
+    synchronized void add(SharedWatchListerWatcher<T, ?> member) {
+      members.add(member);
+    }
+
+    /**
+     * The first call decides if there is a backing informer. It is only created when more than one
+     * member exists, for their common namespace or all namespaces.
+     *
+     * @return the future backing informer if it covers the member, or null if the member should not share
+     */
+    synchronized CompletableFuture<DefaultSharedIndexInformer<T, ?>> sourceFor(SharedWatchListerWatcher<T, ?> member) {
+      if (!resolved) {
+        resolved = true;
+        if (members.size() > 1) {
+          Set<String> namespaces = new HashSet<>();
+          members.forEach(m -> namespaces.add(m.namespace));
+          namespace = namespaces.size() == 1 ? namespaces.iterator().next() : null;
+          source = sourceFactory.apply(namespace);
+          sourceStarted = source.start();
+        }
+      }
+      if (source == null || (namespace != null && !namespace.equals(member.namespace))) {
+        return null;
+      }
+      DefaultSharedIndexInformer<T, ?> result = source;
+      return sourceStarted.thenApply(v -> result);
+    }
+
+    /**
+     * Stops the backing informer, if one was started. As the members cannot be restarted, they are removed
+     * and sharing is decided again for the informers that join afterwards.
+     */
+    public synchronized void stop() {
+      if (source != null) {
+        source.stop();
+      }
+      members.clear();
+      resolved = false;
+      namespace = null;
+      source = null;
+      sourceStarted = null;
+    }
+  }
+
+  private final Group<T> group;
+  private final ListerWatcher<T, L> listerWatcher;
+  private final String namespace;
+  private final String name;
+  private CompletableFuture<DefaultSharedIndexInformer<T, ?>> source;
+  private boolean resolved;
+  private View pending;
+
+  /**
+   * @param group the group of informers of this type
+   * @param listerWatcher the informer's own {@link ListerWatcher}, used when not sharing
+   * @param namespace the namespace to filter by, or null for all namespaces
+   * @param name the name to filter by, or null for all names
+   */
+  public SharedWatchListerWatcher(Group<T> group, ListerWatcher<T, L> listerWatcher, String namespace, String name) {
+    this.group = group;
+    this.listerWatcher = listerWatcher;
+    this.namespace = namespace;
+    this.name = name;
+    group.add(this);
+  }
+
+  private synchronized CompletableFuture<DefaultSharedIndexInformer<T, ?>> getSource() {
+    if (!resolved) {
+      resolved = true;
+      source = group.sourceFor(this);
+    }
+    return source;
+  }
+
+  boolean matches(T item) {
+    return (namespace == null || namespace.equals(item.getMetadata().getNamespace()))
+        && (name == null || name.equals(item.getMetadata().getName()));
+  }
+
+  @Override
+  public CompletableFuture<? extends Watch> submitWatch(ListOptions params, Watcher<T> watcher) {
+    if (getSource() == null) {
+      return listerWatcher.submitWatch(params, watcher);
+    }
+    CompletableFuture<Watch> result = new CompletableFuture<>();
+    View view;
+    synchronized (this) {
+      view = pending;
+      pending = null;
+    }
+    if (Boolean.TRUE.equals(params.getAdditionalProperties().get(AbstractWatchManager.SEND_INITIAL_EVENTS))) {
+      // reported as rejected so that the initial state is listed from the backing informer instead
+      result.completeExceptionally(new KubernetesClientException(
+          "Shared watches do not stream the initial state", HttpURLConnection.HTTP_BAD_REQUEST, null));
+    } else if (view == null) {
+      result.completeExceptionally(new KubernetesClientException("A shared watch must follow a list"));
+    } else {
+      view.attach(watcher);
+      result.complete(view);
+    }
+    return result;
+  }
+
+  @Override
+  public CompletableFuture<L> submitList(ListOptions listOptions) {
+    return listerWatcher.submitList(listOptions);
+  }
+
+  /**
+   * Lists the matching state of the backing informer. The handler receiving the events that follow
+   * that state is registered at the same time, and buffers them until the watch is submitted.
+   */
+  @Override
+  public CompletableFuture<ListMeta> submitList(ListOptions listOptions, Consumer<? super T> itemConsumer,
+      Consumer<ListMeta> pageConsumer) {
+    CompletableFuture<DefaultSharedIndexInformer<T, ?>> future = getSource();
+    if (future == null) {
+      return listerWatcher.submitList(listOptions, itemConsumer, pageConsumer);
+    }
+    return future.thenApply(informer -> {
+      View view = new View();
+      List<T> items = new ArrayList<>();
+      view.remove = informer.addEventHandler(view, initialState -> {
+        view.skipInitial(initialState.size());
+        items.addAll(initialState);
+      });
+      View previous;
+      synchronized (this) {
+        previous = pending;
+        pending = view;
+      }
+      if (previous != null) {
+        previous.close();
+      }
+      items.stream().filter(this::matches).forEach(itemConsumer);
+      ListMeta listMeta = new ListMetaBuilder().withResourceVersion(informer.lastSyncResourceVersion()).build();
+      pageConsumer.accept(listMeta);
+      return listMeta;
+    });
+  }
+
+  @Override
+  public Long getLimit() {
+    return listerWatcher.getLimit();
+  }
+
+  @Override
+  public int getWatchReconnectInterval() {
+    return listerWatcher.getWatchReconnectInterval();
+  }
+
+  @Override
+  public String getApiEndpointPath() {
+    return listerWatcher.getApiEndpointPath();
+  }
+
+  /**
+   * Translates the backing informer's notifications into watch events for a single informer.
+   */
+  class View implements ResourceEventHandler<T>, Watch {
+
+    private final List<Runnable> buffer = new ArrayList<>();
+    private Watcher<T> watcher;
+    private boolean closed;
+    // the initial adds are already part of the list
+    private int skip;
+    private Runnable remove;
+
+    synchronized void skipInitial(int count) {
+      this.skip = count;
+    }
+
+    synchronized void attach(Watcher<T> watcher) {
+      this.watcher = watcher;
+      buffer.forEach(Runnable::run);
+      buffer.clear();
+    }
+
+    private synchronized void deliver(Action action, T resource) {
+      if (closed || !matches(resource)) {
+        return;
+      }
+      if (watcher == null) {
+        buffer.add(() -> deliver(action, resource));
+      } else {
+        watcher.eventReceived(action, resource);
+      }
+    }
+
+    @Override
+    public void onAdd(T obj) {
+      synchronized (this) {
+        if (skip > 0) {
+          skip--;
+          return;
+        }
+      }
+      deliver(Action.ADDED, obj);
+    }
+
+    @Override
+    public void onUpdate(T oldObj, T newObj) {
+      deliver(Action.MODIFIED, newObj);
+    }
+
+    @Override
+    public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+      deliver(Action.DELETED, obj);
+    }
+
+    @Override
+    public void close() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        buffer.clear();
+      }
+      if (remove != null) {
+        remove.run();
+      }
+    }
+  }
+
+}
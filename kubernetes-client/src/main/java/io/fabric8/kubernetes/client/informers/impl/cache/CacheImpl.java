@@ -19,19 +19,26 @@ import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.informers.cache.BasicItemStore;
 import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.IndexMode;
 import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.fabric8.kubernetes.client.informers.cache.RelistMode;
 import io.fabric8.kubernetes.client.utils.ReflectUtils;
 import io.fabric8.kubernetes.client.utils.Utils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -44,13 +51,20 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
   public static final String NAMESPACE_INDEX = "namespace";
 
   // indexers stores index functions by their names
-  private final Map<String, Function<T, List<String>>> indexers = new HashMap<>();
+  private final Map<String, Function<T, List<String>>> indexers = new ConcurrentHashMap<>();
 
   // items stores object instances
   private ItemStore<T> items;
 
   // indices stores objects' key by their indices
-  private final Map<String, Map<String, Set<String>>> indices = new HashMap<>();
+  private final Map<String, Map<String, Set<String>>> indices = new ConcurrentHashMap<>();
+
+  private volatile IndexMode indexMode = IndexMode.SYNCHRONIZED;
+
+  // assigns the ids of keys held by the indexes when using IndexMode.COMPACT
+  private KeyDictionary keyDictionary;
+
+  private RelistMode relistMode = RelistMode.KEY_SET;
 
   public CacheImpl() {
     this(NAMESPACE_INDEX, Cache::metaNamespaceIndexFunc, Cache::metaNamespaceKeyFunc);
@@ -61,18 +75,104 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
     addIndexFunc(indexName, indexFunc);
   }
 
-  public void setItemStore(ItemStore<T> items) {
+  public synchronized void setItemStore(ItemStore<T> items) {
+    if (relistMode == RelistMode.SYNC_GENERATION) {
+      throw new IllegalStateException("RelistMode.SYNC_GENERATION cannot be used with a custom item store");
+    }
     this.items = items;
   }
 
+  /**
+   * Change how the indexes are maintained. Existing indexes will be rebuilt
+   * using the new mode.
+   *
+   * @param indexMode the {@link IndexMode}
+   */
+  public synchronized void setIndexMode(IndexMode indexMode) {
+    this.indexMode = indexMode;
+    this.keyDictionary = indexMode == IndexMode.COMPACT ? new KeyDictionary() : null;
+    for (Map.Entry<String, Function<T, List<String>>> indexEntry : indexers.entrySet()) {
+      this.indices.put(indexEntry.getKey(), buildIndex(indexEntry.getValue()));
+    }
+  }
+
+  public IndexMode getIndexMode() {
+    return indexMode;
+  }
+
+  /**
+   * Change how deletions are detected when relisting. Existing entries are
+   * considered part of the current sync generation.
+   * <br>
+   * {@link RelistMode#SYNC_GENERATION} keeps the generation on the entries of the
+   * default item store, so it cannot be combined with a custom {@link ItemStore}.
+   *
+   * @param relistMode the {@link RelistMode}
+   */
+  public synchronized void setRelistMode(RelistMode relistMode) {
+    if (relistMode == this.relistMode) {
+      return;
+    }
+    ItemStore<T> current = this.items;
+    ItemStore<T> replacement;
+    if (relistMode == RelistMode.SYNC_GENERATION) {
+      if (current.getClass() != BasicItemStore.class) {
+        throw new IllegalStateException("RelistMode.SYNC_GENERATION cannot be used with a custom item store");
+      }
+      replacement = new SyncGenerationItemStore<>(current::getKey);
+    } else {
+      replacement = new BasicItemStore<>(current::getKey);
+    }
+    current.keySet().forEach(key -> replacement.put(key, current.get(key)));
+    this.items = replacement;
+    this.relistMode = relistMode;
+  }
+
+  public RelistMode getRelistMode() {
+    return relistMode;
+  }
+
+  /**
+   * Start a new sync generation, subsequent puts will mark their entries with it.
+   */
+  public synchronized void startSyncGeneration() {
+    syncGenerationItems().startGeneration();
+  }
+
+  /**
+   * Remove each entry that has not been put since the last call to {@link #startSyncGeneration()}
+   * <br>
+   * The removed objects are passed to onRemove after the monitor is released, so that it may block,
+   * such as on a full handler queue, without blocking readers of the cache.
+   *
+   * @param onRemove called with each removed object
+   */
+  public void removeUnsynced(Consumer<T> onRemove) {
+    List<T> removed = new ArrayList<>();
+    synchronized (this) {
+      syncGenerationItems().removeUnsynced((key, old) -> {
+        this.deleteFromIndices(old, key);
+        removed.add(old);
+      });
+    }
+    removed.forEach(onRemove);
+  }
+
+  private SyncGenerationItemStore<T> syncGenerationItems() {
+    if (relistMode != RelistMode.SYNC_GENERATION) {
+      throw new IllegalStateException("Sync generations are only tracked when using RelistMode.SYNC_GENERATION");
+    }
+    return (SyncGenerationItemStore<T>) items;
+  }
+
   /**
    * Returns the indexers registered with the cache.
    *
    * @return registered indexers
    */
   @Override
-  public synchronized Map<String, Function<T, List<String>>> getIndexers() {
-    return Collections.unmodifiableMap(indexers);
+  public Map<String, Function<T, List<String>>> getIndexers() {
+    return read(() -> Collections.unmodifiableMap(indexers));
   }
 
   @Override
@@ -160,6 +260,13 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
     return this.items.values().collect(Collectors.toList());
   }
 
+  /**
+   * @return the number of objects in the cache
+   */
+  public int size() {
+    return this.items.size();
+  }
+
   /**
    * Gets get by key.
    *
@@ -179,31 +286,26 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
    * @return the list
    */
   @Override
-  public synchronized List<T> index(String indexName, T obj) {
-    if (!this.indexers.containsKey(indexName)) {
-      throw new IllegalArgumentException(String.format("index %s doesn't exist!", indexName));
-    }
-    Function<T, List<String>> indexFunc = this.indexers.get(indexName);
-    List<String> indexKeys = indexFunc.apply(obj);
-    Map<String, Set<String>> index = this.indices.get(indexName);
-    if (index.isEmpty()) {
-      return new ArrayList<>();
-    }
+  public List<T> index(String indexName, T obj) {
+    return read(() -> {
+      Function<T, List<String>> indexFunc = this.indexers.get(indexName);
+      Map<String, Set<String>> index = getIndex(indexName);
+      if (indexFunc == null || index.isEmpty()) {
+        return new ArrayList<>();
+      }
+      List<String> indexKeys = indexFunc.apply(obj);
 
-    Set<String> returnKeySet = new HashSet<>();
-    for (String indexKey : indexKeys) {
-      Set<String> set = index.get(indexKey);
-      if (set.isEmpty()) {
-        continue;
+      Set<String> returnKeySet = new HashSet<>();
+      for (String indexKey : indexKeys) {
+        Set<String> set = index.get(indexKey);
+        if (set == null || set.isEmpty()) {
+          continue;
+        }
+        returnKeySet.addAll(set);
       }
-      returnKeySet.addAll(set);
-    }
 
-    List<T> items = new ArrayList<>(returnKeySet.size());
-    for (String absoluteKey : returnKeySet) {
-      items.add(this.items.get(absoluteKey));
-    }
-    return items;
+      return getItems(returnKeySet);
+    });
   }
 
   /**
@@ -214,17 +316,15 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
    * @return the list
    */
   @Override
-  public synchronized List<String> indexKeys(String indexName, String indexKey) {
-    if (!this.indexers.containsKey(indexName)) {
-      throw new IllegalArgumentException(String.format("index %s doesn't exist!", indexName));
-    }
-    Map<String, Set<String>> index = this.indices.get(indexName);
-    Set<String> set = index.get(indexKey);
-    List<String> keys = new ArrayList<>(set.size());
-    for (String key : set) {
-      keys.add(key);
-    }
-    return keys;
+  public List<String> indexKeys(String indexName, String indexKey) {
+    return read(() -> {
+      Map<String, Set<String>> index = getIndex(indexName);
+      Set<String> set = index.get(indexKey);
+      if (set == null) {
+        return new ArrayList<>();
+      }
+      return new ArrayList<>(set);
+    });
   }
 
   /**
@@ -235,53 +335,116 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
    * @return the list
    */
   @Override
-  public synchronized List<T> byIndex(String indexName, String indexKey) {
-    if (!this.indexers.containsKey(indexName)) {
-      throw new IllegalArgumentException(String.format("index %s doesn't exist!", indexName));
+  public List<T> byIndex(String indexName, String indexKey) {
+    return read(() -> {
+      Map<String, Set<String>> index = getIndex(indexName);
+      Set<String> set = index.get(indexKey);
+      if (set == null) {
+        return Arrays.asList();
+      }
+      return getItems(set);
+    });
+  }
+
+  /**
+   * By indexes list, intersecting the index entries starting with the smallest.
+   * <br>
+   * With {@link IndexMode#COMPACT} the entries are intersected by their key ids.
+   *
+   * @param indexKeys specific index keys by indexing function
+   * @return the list
+   */
+  @Override
+  public List<T> byIndexes(Map<String, String> indexKeys) {
+    if (indexKeys.isEmpty()) {
+      return list();
     }
+    return read(() -> {
+      List<Set<String>> sets = new ArrayList<>(indexKeys.size());
+      for (Map.Entry<String, String> entry : indexKeys.entrySet()) {
+        Set<String> set = getIndex(entry.getKey()).get(entry.getValue());
+        if (set == null) {
+          return new ArrayList<>();
+        }
+        sets.add(set);
+      }
+      sets.sort(Comparator.comparingInt(Set::size));
+      Set<String> smallest = sets.get(0);
+      List<Set<String>> others = sets.subList(1, sets.size());
+      if (smallest instanceof CompactKeySet) {
+        return getItems(((CompactKeySet) smallest).retainedIn(others));
+      }
+      return getItems(smallest.stream().filter(key -> others.stream().allMatch(set -> set.contains(key)))
+          .collect(Collectors.toList()));
+    });
+  }
+
+  private Map<String, Set<String>> getIndex(String indexName) {
     Map<String, Set<String>> index = this.indices.get(indexName);
-    Set<String> set = index.get(indexKey);
-    if (set == null) {
-      return Arrays.asList();
+    if (index == null) {
+      throw new IllegalArgumentException(String.format("index %s doesn't exist!", indexName));
+    }
+    return index;
+  }
+
+  private List<T> getItems(Collection<String> keys) {
+    List<T> result = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      T item = this.items.get(key);
+      // with concurrent reads the key may already have been removed from the store
+      if (item != null) {
+        result.add(item);
+      }
     }
-    List<T> items = new ArrayList<>(set.size());
-    for (String key : set) {
-      items.add(this.items.get(key));
+    return result;
+  }
+
+  /**
+   * Perform a read operation, which will hold the monitor unless using {@link IndexMode#CONCURRENT}
+   */
+  private <R> R read(Supplier<R> operation) {
+    if (indexMode == IndexMode.CONCURRENT) {
+      return operation.get();
+    }
+    synchronized (this) {
+      return operation.get();
     }
-    return items;
   }
 
   /**
    * UpdateIndices modifies the objects location in the managed indexes, if there is
    * an update, you must provide an oldObj
-   *
+   * <br>
+   * New index entries are added before stale ones are removed, so that concurrent
+   * readers never miss an object whose index values did not change.
    *
    * @param oldObj old object
    * @param newObj new object
    * @param key the key
    */
   void updateIndices(T oldObj, T newObj, String key) {
-    if (oldObj != null) {
-      deleteFromIndices(oldObj, key);
-    }
-
     for (Map.Entry<String, Function<T, List<String>>> indexEntry : indexers.entrySet()) {
       String indexName = indexEntry.getKey();
       Function<T, List<String>> indexFunc = indexEntry.getValue();
       Map<String, Set<String>> index = this.indices.get(indexName);
 
-      updateIndex(key, newObj, indexFunc, index);
+      List<String> newValues = updateIndex(key, newObj, indexFunc, index);
+      if (oldObj != null) {
+        removeFromIndex(key, oldObj, indexFunc, index, newValues);
+      }
     }
   }
 
-  private void updateIndex(String key, T newObj, Function<T, List<String>> indexFunc, Map<String, Set<String>> index) {
+  private List<String> updateIndex(String key, T newObj, Function<T, List<String>> indexFunc,
+      Map<String, Set<String>> index) {
     List<String> indexValues = indexFunc.apply(newObj);
     if (indexValues != null && !indexValues.isEmpty()) {
       for (String indexValue : indexValues) {
-        Set<String> indexSet = index.computeIfAbsent(indexValue, k -> new HashSet<>());
+        Set<String> indexSet = index.computeIfAbsent(indexValue, k -> newKeySet());
         indexSet.add(key);
       }
     }
+    return indexValues;
   }
 
   /**
@@ -294,20 +457,29 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
    */
   private void deleteFromIndices(T oldObj, String key) {
     for (Map.Entry<String, Function<T, List<String>>> indexEntry : this.indexers.entrySet()) {
-      Function<T, List<String>> indexFunc = indexEntry.getValue();
-      List<String> indexValues = indexFunc.apply(oldObj);
-      if (indexValues == null || indexValues.isEmpty()) {
-        continue;
+      Map<String, Set<String>> index = this.indices.get(indexEntry.getKey());
+      if (index != null) {
+        removeFromIndex(key, oldObj, indexEntry.getValue(), index, null);
       }
+    }
+  }
 
-      Map<String, Set<String>> index = this.indices.get(indexEntry.getKey());
-      if (index == null) {
+  private void removeFromIndex(String key, T oldObj, Function<T, List<String>> indexFunc, Map<String, Set<String>> index,
+      List<String> retainedValues) {
+    List<String> indexValues = indexFunc.apply(oldObj);
+    if (indexValues == null || indexValues.isEmpty()) {
+      return;
+    }
+    for (String indexValue : indexValues) {
+      if (retainedValues != null && retainedValues.contains(indexValue)) {
         continue;
       }
-      for (String indexValue : indexValues) {
-        Set<String> indexSet = index.get(indexValue);
-        if (indexSet != null) {
-          indexSet.remove(key);
+      Set<String> indexSet = index.get(indexValue);
+      if (indexSet != null) {
+        indexSet.remove(key);
+        if (indexSet.isEmpty()) {
+          // writes are serialized, so there is no concurrent add to this set
+          index.remove(indexValue);
         }
       }
     }
@@ -320,12 +492,27 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
    * @param indexFunc the index func
    */
   public synchronized CacheImpl<T> addIndexFunc(String indexName, Function<T, List<String>> indexFunc) {
-    HashMap<String, Set<String>> index = new HashMap<>();
-    this.indices.put(indexName, index);
+    // fully populate the index prior to making it visible to readers
+    this.indices.put(indexName, buildIndex(indexFunc));
     this.indexers.put(indexName, indexFunc);
+    return this;
+  }
 
+  private Map<String, Set<String>> buildIndex(Function<T, List<String>> indexFunc) {
+    Map<String, Set<String>> index = indexMode == IndexMode.CONCURRENT ? new ConcurrentHashMap<>() : new HashMap<>();
     items.values().forEach(v -> updateIndex(getKey(v), v, indexFunc, index));
-    return this;
+    return index;
+  }
+
+  private Set<String> newKeySet() {
+    switch (indexMode) {
+      case CONCURRENT:
+        return ConcurrentHashMap.newKeySet();
+      case COMPACT:
+        return new CompactKeySet(keyDictionary);
+      default:
+        return new HashSet<>();
+    }
   }
 
   /**
@@ -388,8 +575,8 @@ public class CacheImpl<T extends HasMetadata> implements Cache<T> {
 
   @Override
   public synchronized void removeIndexer(String name) {
-    this.indices.remove(name);
     this.indexers.remove(name);
+    this.indices.remove(name);
   }
 
   public boolean isFullState() {
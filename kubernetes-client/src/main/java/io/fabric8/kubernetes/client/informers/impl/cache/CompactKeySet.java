@@ -0,0 +1,194 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.impl.cache;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A set of cache keys stored as the primitive ids assigned by a shared {@link KeyDictionary}.
+ * <br>
+ * Not thread-safe - it is expected to be guarded by the {@link CacheImpl} monitor.
+ */
+class CompactKeySet extends AbstractSet<String> {
+
+  private static final int FREE = -1;
+
+  private final KeyDictionary dictionary;
+  // open addressing table of ids
+  private int[] table = newTable(2);
+  private int size;
+
+  CompactKeySet(KeyDictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  private static int[] newTable(int capacity) {
+    int[] result = new int[capacity];
+    Arrays.fill(result, FREE);
+    return result;
+  }
+
+  private static int hash(int id) {
+    return id * 0x9E3779B9;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof String)) {
+      return false;
+    }
+    int id = dictionary.idOf((String) o);
+    return id != FREE && find(id) != FREE;
+  }
+
+  @Override
+  public boolean add(String key) {
+    int id = dictionary.idOf(key);
+    if (id != FREE && find(id) != FREE) {
+      return false;
+    }
+    id = dictionary.acquire(key);
+    if (++size * 2 > table.length) {
+      int[] old = table;
+      table = newTable(table.length * 2);
+      for (int existing : old) {
+        if (existing != FREE) {
+          insert(existing);
+        }
+      }
+    }
+    insert(id);
+    return true;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!(o instanceof String)) {
+      return false;
+    }
+    int id = dictionary.idOf((String) o);
+    if (id == FREE) {
+      return false;
+    }
+    int i = find(id);
+    if (i == FREE) {
+      return false;
+    }
+    int mask = table.length - 1;
+    // backward shift deletion to keep the probe sequences intact
+    for (int j = (i + 1) & mask; table[j] != FREE; j = (j + 1) & mask) {
+      int home = hash(table[j]) & mask;
+      if (((j - home) & mask) >= ((j - i) & mask)) {
+        table[i] = table[j];
+        i = j;
+      }
+    }
+    table[i] = FREE;
+    size--;
+    dictionary.release(id);
+    return true;
+  }
+
+  /**
+   * Intersect by id with other sets sharing the same dictionary, the keys are neither hashed nor compared
+   *
+   * @param others {@link CompactKeySet}s sharing the dictionary of this set
+   * @return the keys of this set contained in all of the others
+   */
+  List<String> retainedIn(List<? extends Set<String>> others) {
+    List<String> result = new ArrayList<>();
+    for (int id : table) {
+      if (id != FREE && containedInAll(id, others)) {
+        result.add(dictionary.keyOf(id));
+      }
+    }
+    return result;
+  }
+
+  private static boolean containedInAll(int id, List<? extends Set<String>> others) {
+    for (Set<String> other : others) {
+      if (((CompactKeySet) other).find(id) == FREE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void insert(int id) {
+    int mask = table.length - 1;
+    int i = hash(id) & mask;
+    while (table[i] != FREE) {
+      i = (i + 1) & mask;
+    }
+    table[i] = id;
+  }
+
+  /**
+   * @return the slot of the id, or -1 if not present
+   */
+  private int find(int id) {
+    int mask = table.length - 1;
+    for (int i = hash(id) & mask;; i = (i + 1) & mask) {
+      if (table[i] == id) {
+        return i;
+      }
+      if (table[i] == FREE) {
+        return FREE;
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<String>() {
+      private int next = advance(0);
+
+      private int advance(int from) {
+        while (from < table.length && table[from] == FREE) {
+          from++;
+        }
+        return from;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next < table.length;
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        String result = dictionary.keyOf(table[next]);
+        next = advance(next + 1);
+        return result;
+      }
+    };
+  }
+
+}
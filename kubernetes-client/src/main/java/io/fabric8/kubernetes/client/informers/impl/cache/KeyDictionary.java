@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.impl.cache;
+
+import java.util.Arrays;
+
+/**
+ * Assigns each distinct cache key a compact int id, so that index entries can be held
+ * as primitive ints rather than as references to the keys.
+ * <br>
+ * Ids are reference counted and are recycled once no index entry refers to them.
+ * <br>
+ * Not thread-safe - it is expected to be guarded by the {@link CacheImpl} monitor.
+ */
+class KeyDictionary {
+
+  private static final int FREE = -1;
+
+  // keys by id
+  private String[] keys = new String[16];
+  // the number of index entries referencing each id
+  private int[] counts = new int[16];
+  // ids available for reuse below nextId
+  private int[] freeIds = new int[16];
+  private int freeCount;
+  private int nextId;
+
+  // open addressing table of ids, hashed by key
+  private int[] slots = newTable(32);
+  private int size;
+
+  private static int[] newTable(int capacity) {
+    int[] table = new int[capacity];
+    Arrays.fill(table, FREE);
+    return table;
+  }
+
+  private static int hash(String key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Get the id for the given key
+   *
+   * @return the id or -1 if the key is not present
+   */
+  int idOf(String key) {
+    int mask = slots.length - 1;
+    for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+      int id = slots[i];
+      if (id == FREE) {
+        return FREE;
+      }
+      if (keys[id].equals(key)) {
+        return id;
+      }
+    }
+  }
+
+  String keyOf(int id) {
+    return keys[id];
+  }
+
+  /**
+   * Obtain the id for the key, adding the key if needed, and increment its reference count
+   */
+  int acquire(String key) {
+    int id = idOf(key);
+    if (id == FREE) {
+      id = add(key);
+    }
+    counts[id]++;
+    return id;
+  }
+
+  /**
+   * Decrement the reference count of the id, removing its key if it is no longer referenced
+   */
+  void release(int id) {
+    if (--counts[id] > 0) {
+      return;
+    }
+    removeSlot(keys[id]);
+    keys[id] = null;
+    if (freeCount == freeIds.length) {
+      freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+    }
+    freeIds[freeCount++] = id;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private int add(String key) {
+    int id;
+    if (freeCount > 0) {
+      id = freeIds[--freeCount];
+    } else {
+      id = nextId++;
+      if (id == keys.length) {
+        keys = Arrays.copyOf(keys, id * 2);
+        counts = Arrays.copyOf(counts, id * 2);
+      }
+    }
+    keys[id] = key;
+    counts[id] = 0;
+    if (++size * 2 > slots.length) {
+      rehash(slots.length * 2);
+    }
+    insertSlot(key, id);
+    return id;
+  }
+
+  private void insertSlot(String key, int id) {
+    int mask = slots.length - 1;
+    int i = hash(key) & mask;
+    while (slots[i] != FREE) {
+      i = (i + 1) & mask;
+    }
+    slots[i] = id;
+  }
+
+  private void rehash(int capacity) {
+    int[] old = slots;
+    slots = newTable(capacity);
+    for (int id : old) {
+      if (id != FREE) {
+        insertSlot(keys[id], id);
+      }
+    }
+  }
+
+  private void removeSlot(String key) {
+    int mask = slots.length - 1;
+    int i = hash(key) & mask;
+    while (!keys[slots[i]].equals(key)) {
+      i = (i + 1) & mask;
+    }
+    size--;
+    // backward shift deletion to keep the probe sequences intact
+    for (int j = (i + 1) & mask; slots[j] != FREE; j = (j + 1) & mask) {
+      int home = hash(keys[slots[j]]) & mask;
+      // move the entry at j into the hole at i, if i lies cyclically within [home, j)
+      if (((j - home) & mask) >= ((j - i) & mask)) {
+        slots[i] = slots[j];
+        i = j;
+      }
+    }
+    slots[i] = FREE;
+  }
+
+}
@@ -15,10 +15,27 @@
  */
 package io.fabric8.kubernetes.client.informers.impl.cache;
 
+import io.fabric8.kubernetes.client.informers.OverflowPolicy;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * ProcessorListener implements Runnable interface. It's supposed to run in background
@@ -35,21 +52,377 @@ import java.time.temporal.ChronoUnit;
  * @param <T> type of ProcessorListener
  */
 public class ProcessorListener<T> {
+
+  /**
+   * The outcome of queuing for batched delivery
+   */
+  public enum Enqueued {
+    /**
+     * Queued, or combined with what is already queued, and delivery is already scheduled
+     */
+    PENDING,
+    /**
+     * Queued, the caller should schedule the delivery of the queue
+     */
+    SCHEDULE,
+    /**
+     * Not queued as the queue is full and the {@link OverflowPolicy#BLOCK} policy is in use
+     */
+    FULL
+  }
+
   private long resyncPeriodInMillis;
   private ZonedDateTime nextResync;
   private ResourceEventHandler<? super T> handler;
+  private final boolean coalescing;
+
+  // guards the batched delivery state, rather than a monitor, so that a thread waiting
+  // for capacity does not pin a virtual thread to its carrier
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+  // pending operations when using batched delivery
+  private final ArrayDeque<Entry<T>> queue = new ArrayDeque<>();
+  // the latest queued entry for each key that may still be combined
+  private final Map<String, Entry<T>> pending = new HashMap<>();
+  private boolean scheduled;
+  private boolean resyncPending;
+  private boolean stopped;
+  private long dropped;
+  private long coalesced;
+
+  private int capacity;
+  private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+  private Supplier<Collection<T>> currentState;
+  private Function<T, String> keyFunction;
+  // the last object delivered for each key, only tracked for OverflowPolicy.DROP_AND_RESYNC
+  // and only accessed by the serialized delivery
+  private final Map<String, T> delivered = new HashMap<>();
+  private volatile boolean tracking;
+  private Executor executor;
 
   public ProcessorListener(ResourceEventHandler<? super T> handler, long resyncPeriodInMillis) {
     this.resyncPeriodInMillis = resyncPeriodInMillis;
     this.handler = handler;
+    this.coalescing = handler.coalesceUpdates();
 
     determineNextResync(ZonedDateTime.now());
   }
 
   public void add(Notification<T> notification) {
+    if (tracking) {
+      track(notification);
+    }
     notification.handle(handler);
   }
 
+  private void track(Notification<T> notification) {
+    if (notification instanceof DeleteNotification) {
+      delivered.remove(keyFunction.apply(notification.getOldObject()));
+    } else {
+      delivered.put(keyFunction.apply(notification.getNewObject()), notification.getNewObject());
+    }
+  }
+
+  public boolean isCoalescing() {
+    return coalescing;
+  }
+
+  /**
+   * Bound the queue used for batched delivery
+   *
+   * @param capacity the maximum number of queued notifications, 0 for unbounded
+   * @param overflowPolicy what to do when the queue is full
+   * @param currentState the current state used to resync with {@link OverflowPolicy#DROP_AND_RESYNC}
+   * @param keyFunction the key of an object, used to compare the current state with what was delivered when
+   *        resyncing with {@link OverflowPolicy#DROP_AND_RESYNC}
+   */
+  public void setQueueBounds(int capacity, OverflowPolicy overflowPolicy, Supplier<Collection<T>> currentState,
+      Function<T, String> keyFunction) {
+    lock.lock();
+    try {
+      this.currentState = currentState;
+      this.keyFunction = keyFunction;
+      setQueueBounds(capacity, overflowPolicy);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Change the bounds of the queue used for batched delivery, keeping the current state supplier and key function.
+   * Should only be called before anything is delivered, as what was delivered is only tracked when the
+   * {@link OverflowPolicy#DROP_AND_RESYNC} policy is in use.
+   *
+   * @see #setQueueBounds(int, OverflowPolicy, Supplier, Function)
+   */
+  public void setQueueBounds(int capacity, OverflowPolicy overflowPolicy) {
+    lock.lock();
+    try {
+      this.capacity = capacity;
+      this.overflowPolicy = overflowPolicy;
+      this.tracking = capacity > 0 && overflowPolicy == OverflowPolicy.DROP_AND_RESYNC && keyFunction != null;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return true if notifications should be queued with their key
+   */
+  public boolean needsKey() {
+    return coalescing || (capacity > 0 && overflowPolicy == OverflowPolicy.COALESCE);
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Queue a notification for batched delivery. If a key is given, an update may be combined with a
+   * pending update of the same object that has not yet been delivered.
+   *
+   * @param notification the notification
+   * @param key the key of the notification object, or null if it should not be coalesced
+   * @param bounded false if the queue capacity should be ignored
+   * @return the outcome
+   */
+  public Enqueued enqueue(Notification<T> notification, String key, boolean bounded) {
+    lock.lock();
+    try {
+      if (stopped || resyncPending) {
+        // a pending resync will deliver the latest state
+        return Enqueued.PENDING;
+      }
+      boolean full = bounded && capacity > 0 && queue.size() >= capacity;
+      if (key != null && combine(notification, key, full && overflowPolicy == OverflowPolicy.COALESCE)) {
+        coalesced++;
+        return Enqueued.PENDING;
+      }
+      if (full) {
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+          return Enqueued.FULL;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_AND_RESYNC) {
+          dropped += queue.size() + 1L;
+          queue.clear();
+          pending.clear();
+          resyncPending = true;
+          return offer(new Entry<>(null, null, ProcessorListener::resync));
+        }
+      }
+      Entry<T> entry = new Entry<>(key, notification, null);
+      if (key != null) {
+        pending.put(key, entry);
+      }
+      return offer(entry);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Wait for the queue to have capacity, then queue the notification
+   *
+   * @see #enqueue(Notification, String, boolean)
+   */
+  public Enqueued awaitAndEnqueue(Notification<T> notification, String key) {
+    lock.lock();
+    try {
+      while (!stopped && capacity > 0 && queue.size() >= capacity) {
+        try {
+          notFull.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      return enqueue(notification, key, false);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean combine(Notification<T> notification, String key, boolean overflowing) {
+    Entry<T> entry = pending.get(key);
+    if (entry == null || entry.notification == null) {
+      return false;
+    }
+    Notification<T> existing = entry.notification;
+    if (existing instanceof UpdateNotification && notification instanceof UpdateNotification
+        && (coalescing || overflowing)) {
+      entry.notification = new UpdateNotification<>(existing.getOldObject(), notification.getNewObject());
+      return true;
+    }
+    if (!overflowing) {
+      return false;
+    }
+    if (existing instanceof AddNotification) {
+      if (notification instanceof UpdateNotification) {
+        entry.notification = new AddNotification<>(notification.getNewObject());
+        return true;
+      }
+      if (notification instanceof DeleteNotification) {
+        // never seen by the handler
+        entry.notification = null;
+        pending.remove(key);
+        return true;
+      }
+    } else if (existing instanceof UpdateNotification && notification instanceof DeleteNotification) {
+      entry.notification = notification;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Queue an operation for batched delivery
+   *
+   * @return the outcome, which will not be {@link Enqueued#FULL}
+   */
+  public Enqueued enqueue(Consumer<ProcessorListener<T>> operation) {
+    lock.lock();
+    try {
+      if (stopped) {
+        return Enqueued.PENDING;
+      }
+      return offer(new Entry<>(null, null, operation));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Enqueued offer(Entry<T> entry) {
+    queue.add(entry);
+    if (scheduled) {
+      return Enqueued.PENDING;
+    }
+    scheduled = true;
+    return Enqueued.SCHEDULE;
+  }
+
+  /**
+   * Remove up to max pending operations. An empty result means the queue is drained and
+   * the next enqueue will need to schedule delivery again.
+   */
+  public List<Consumer<ProcessorListener<T>>> nextBatch(int max) {
+    lock.lock();
+    try {
+      if (queue.isEmpty()) {
+        scheduled = false;
+        return Collections.emptyList();
+      }
+      List<Consumer<ProcessorListener<T>>> batch = new ArrayList<>(Math.min(max, queue.size()));
+      while (batch.size() < max && !queue.isEmpty()) {
+        Entry<T> entry = queue.poll();
+        if (entry.key != null) {
+          pending.remove(entry.key, entry);
+        }
+        batch.add(entry);
+      }
+      if (capacity > 0) {
+        notFull.signalAll();
+      }
+      return batch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void resync() {
+    lock.lock();
+    try {
+      // anything queued from now on is newer than the state read below
+      resyncPending = false;
+    } finally {
+      lock.unlock();
+    }
+    Collection<T> items = currentState == null ? Collections.emptyList() : currentState.get();
+    if (!tracking) {
+      items.forEach(item -> add(new UpdateNotification<>(item, item)));
+      return;
+    }
+    // compare with what was delivered, so that the dropped adds and deletes are not lost
+    Set<String> gone = new HashSet<>(delivered.keySet());
+    for (T item : items) {
+      String key = keyFunction.apply(item);
+      gone.remove(key);
+      T old = delivered.get(key);
+      add(old == null ? new AddNotification<>(item) : new UpdateNotification<>(old, item));
+    }
+    for (String key : gone) {
+      add(new DeleteNotification<>(delivered.get(key), true));
+    }
+  }
+
+  /**
+   * Discard anything pending and release any thread waiting to enqueue
+   */
+  public void stop() {
+    lock.lock();
+    try {
+      stopped = true;
+      queue.clear();
+      pending.clear();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of operations waiting for batched delivery
+   */
+  public int getQueueDepth() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return how long the oldest operation waiting for batched delivery has been queued
+   */
+  public Duration getLag() {
+    lock.lock();
+    try {
+      Entry<T> oldest = queue.peek();
+      return oldest == null ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - oldest.queuedNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of notifications dropped due to {@link OverflowPolicy#DROP_AND_RESYNC}
+   */
+  public long getDroppedCount() {
+    lock.lock();
+    try {
+      return dropped;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of notifications combined with a pending notification
+   */
+  public long getCoalescedCount() {
+    lock.lock();
+    try {
+      return coalesced;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public void determineNextResync(ZonedDateTime now) {
     this.nextResync = now.plus(this.resyncPeriodInMillis, ChronoUnit.MILLIS);
   }
@@ -123,6 +496,29 @@ public class ProcessorListener<T> {
     }
   }
 
+  private static final class Entry<T> implements Consumer<ProcessorListener<T>> {
+    private final long queuedNanos = System.nanoTime();
+    private final String key;
+    // null if the entry is an operation, or a notification that was cancelled out
+    private Notification<T> notification;
+    private final Consumer<ProcessorListener<T>> operation;
+
+    private Entry(String key, Notification<T> notification, Consumer<ProcessorListener<T>> operation) {
+      this.key = key;
+      this.notification = notification;
+      this.operation = operation;
+    }
+
+    @Override
+    public void accept(ProcessorListener<T> listener) {
+      if (notification != null) {
+        listener.add(notification);
+      } else if (operation != null) {
+        operation.accept(listener);
+      }
+    }
+  }
+
   public ResourceEventHandler<? super T> getHandler() {
     return handler;
   }
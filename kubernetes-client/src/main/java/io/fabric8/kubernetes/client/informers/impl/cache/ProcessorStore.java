@@ -18,12 +18,14 @@ package io.fabric8.kubernetes.client.informers.impl.cache;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.RelistMode;
 import io.fabric8.kubernetes.client.informers.impl.cache.ProcessorListener.Notification;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -35,6 +37,9 @@ public class ProcessorStore<T extends HasMetadata> implements SyncableStore<T> {
   private SharedProcessor<T> processor;
   private AtomicBoolean synced = new AtomicBoolean();
   private List<String> deferredAdd = new ArrayList<>();
+  // the keys updated during the current list sync when using RelistMode.KEY_SET
+  private volatile Set<String> syncKeys;
+  private volatile boolean syncUpdated;
 
   public ProcessorStore(CacheImpl<T> cache, SharedProcessor<T> processor) {
     this.cache = cache;
@@ -52,6 +57,11 @@ public class ProcessorStore<T extends HasMetadata> implements SyncableStore<T> {
   }
 
   private Notification<T> updateInternal(T obj) {
+    Set<String> keys = syncKeys;
+    if (keys != null) {
+      keys.add(getKey(obj));
+    }
+    syncUpdated = true;
     T oldObj = this.cache.put(obj);
     Notification<T> notification = null;
     if (oldObj != null) {
@@ -103,12 +113,45 @@ public class ProcessorStore<T extends HasMetadata> implements SyncableStore<T> {
   }
 
   @Override
-  public void retainAll(Set<String> nextKeys) {
+  public void startSync() {
+    syncUpdated = false;
+    if (cache.getRelistMode() == RelistMode.SYNC_GENERATION) {
+      cache.startSyncGeneration();
+    } else {
+      syncKeys = ConcurrentHashMap.newKeySet();
+    }
+  }
+
+  @Override
+  public void endSync() {
+    Set<String> keys = syncKeys;
+    if (keys != null) {
+      syncKeys = null;
+      retainAll(keys);
+      return;
+    }
+    distributeDeferredAdds();
+    AtomicBoolean removed = new AtomicBoolean();
+    cache.removeUnsynced(v -> {
+      removed.set(true);
+      this.processor.distribute(new ProcessorListener.DeleteNotification<>(v, true), false);
+    });
+    if (!syncUpdated && !removed.get()) {
+      this.processor.distribute(l -> l.getHandler().onNothing(), false);
+    }
+  }
+
+  private void distributeDeferredAdds() {
     if (synced.compareAndSet(false, true)) {
       deferredAdd.stream().map(cache::getByKey).filter(Objects::nonNull)
           .forEach(v -> this.processor.distribute(new ProcessorListener.AddNotification<>(v), false));
       deferredAdd.clear();
     }
+  }
+
+  @Override
+  public void retainAll(Set<String> nextKeys) {
+    distributeDeferredAdds();
     List<T> current = cache.list();
     if (nextKeys.isEmpty() && current.isEmpty()) {
       this.processor.distribute(l -> l.getHandler().onNothing(), false);
@@ -17,6 +17,7 @@ package io.fabric8.kubernetes.client.informers.impl.cache;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListMeta;
 import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
@@ -24,18 +25,22 @@ import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.WatcherException;
 import io.fabric8.kubernetes.client.dsl.internal.AbstractWatchManager;
 import io.fabric8.kubernetes.client.informers.ExceptionHandler;
+import io.fabric8.kubernetes.client.informers.InformerMetrics;
 import io.fabric8.kubernetes.client.informers.impl.ListerWatcher;
 import io.fabric8.kubernetes.client.utils.ExponentialBackoffIntervalCalculator;
 import io.fabric8.kubernetes.client.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.HttpURLConnection;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
 
 public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T>> {
@@ -43,13 +48,14 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
   private static final Logger log = LoggerFactory.getLogger(Reflector.class);
 
   private static long MIN_TIMEOUT = TimeUnit.MINUTES.toSeconds(5);
+  private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
 
   private volatile String lastSyncResourceVersion;
   private final ListerWatcher<T, L> listerWatcher;
   private final SyncableStore<T> store;
   private final ReflectorWatcher watcher;
   private volatile boolean watching;
-  private volatile CompletableFuture<AbstractWatchManager<T>> watchFuture;
+  private volatile CompletableFuture<? extends Watch> watchFuture;
   private volatile CompletableFuture<?> reconnectFuture;
   private final CompletableFuture<Void> startFuture = new CompletableFuture<>();
   private final CompletableFuture<Void> stopFuture = new CompletableFuture<>();
@@ -62,6 +68,13 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
 
   private boolean cachedListing = true;
 
+  private volatile boolean watchList;
+
+  private volatile InformerMetrics metrics = InformerMetrics.NOOP;
+
+  // completed by the bookmark marking the end of the initial events when using watch list
+  private volatile CompletableFuture<Void> initialEventsFuture;
+
   public Reflector(ListerWatcher<T, L> listerWatcher, SyncableStore<T> store) {
     this.listerWatcher = listerWatcher;
     this.store = store;
@@ -115,25 +128,7 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
     if (isStopped()) {
       return CompletableFuture.completedFuture(null);
     }
-    Set<String> nextKeys = new ConcurrentSkipListSet<>();
-    CompletableFuture<Void> theFuture = processList(nextKeys, null).thenCompose(result -> {
-      store.retainAll(nextKeys);
-      final String latestResourceVersion = result.getMetadata().getResourceVersion();
-      lastSyncResourceVersion = latestResourceVersion;
-      log.debug("Listing items ({}) for {} at v{}", nextKeys.size(), this, latestResourceVersion);
-      return startWatcher(latestResourceVersion);
-    }).thenAccept(w -> {
-      if (w != null) {
-        if (!isStopped()) {
-          if (log.isDebugEnabled()) {
-            log.debug("Watch started for {}", Reflector.this);
-          }
-          watching = true;
-        } else {
-          stopWatch(w);
-        }
-      }
-    });
+    CompletableFuture<Void> theFuture = watchList ? watchListSyncAndWatch() : listSyncAndStartWatch();
     theFuture.whenComplete((v, t) -> {
       if (t != null) {
         onException("listSyncAndWatch", t);
@@ -145,6 +140,74 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
     return theFuture;
   }
 
+  private CompletableFuture<Void> listSyncAndStartWatch() {
+    store.startSync();
+    return processList().thenCompose(result -> {
+      store.endSync();
+      final String latestResourceVersion = result.getResourceVersion();
+      lastSyncResourceVersion = latestResourceVersion;
+      log.debug("Listing items for {} at v{}", this, latestResourceVersion);
+      return startWatcher(new ListOptionsBuilder().withResourceVersion(latestResourceVersion));
+    }).thenAccept(this::onWatchStarted);
+  }
+
+  /**
+   * Stream the initial state over the watch, the sync is complete once the bookmark marking
+   * the end of the initial events is received. If the server rejects the request, the
+   * regular list path is used instead.
+   */
+  private CompletableFuture<Void> watchListSyncAndWatch() {
+    store.startSync();
+    CompletableFuture<Void> initialEvents = new CompletableFuture<>();
+    initialEventsFuture = initialEvents;
+    ListOptionsBuilder options = new ListOptionsBuilder()
+        .withResourceVersionMatch("NotOlderThan")
+        .withAllowWatchBookmarks(true)
+        .addToAdditionalProperties(AbstractWatchManager.SEND_INITIAL_EVENTS, true);
+    CompletableFuture<Void> result = startWatcher(options).thenCompose(w -> {
+      onWatchStarted(w);
+      return initialEvents;
+    });
+    return result.handle((v, t) -> t).thenCompose(t -> {
+      if (t == null) {
+        return CompletableFuture.completedFuture(null);
+      }
+      if (isWatchListRejected(t)) {
+        log.info("Watch list is not supported for {}, falling back to list", this);
+        watchList = false;
+        return listSyncAndStartWatch();
+      }
+      CompletableFuture<Void> failed = new CompletableFuture<>();
+      failed.completeExceptionally(t);
+      return failed;
+    });
+  }
+
+  private static boolean isWatchListRejected(Throwable t) {
+    if (t instanceof CompletionException && t.getCause() != null) {
+      t = t.getCause();
+    }
+    if (t instanceof KubernetesClientException) {
+      int code = ((KubernetesClientException) t).getCode();
+      return code == HttpURLConnection.HTTP_BAD_REQUEST || code == HTTP_UNPROCESSABLE_ENTITY;
+    }
+    return false;
+  }
+
+  private void onWatchStarted(Watch w) {
+    if (w != null) {
+      if (!isStopped()) {
+        if (log.isDebugEnabled()) {
+          log.debug("Watch started for {}", Reflector.this);
+        }
+        watching = true;
+        metrics.watchStarted();
+      } else {
+        stopWatch(w);
+      }
+    }
+  }
+
   private void onException(String operation, Throwable t) {
     if (handler.retryAfterException(startFuture.isDone() && !startFuture.isCompletedExceptionally(), t)) {
       log.warn("{} failed for {}, will retry", operation, Reflector.this, t);
@@ -165,32 +228,30 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
         retryIntervalCalculator.nextReconnectInterval(), TimeUnit.MILLISECONDS);
   }
 
-  private CompletableFuture<L> processList(Set<String> nextKeys, String continueVal) {
-    CompletableFuture<L> futureResult = listerWatcher
-        .submitList(
-            new ListOptionsBuilder()
-                // if caching is allowed, start with 0 - meaning any cached version is fine for the initial listing
-                .withResourceVersion(isCachedListing(continueVal) ? "0" : null)
-                .withLimit(listerWatcher.getLimit()).withContinue(continueVal)
-                .build());
-
-    return futureResult.thenCompose(result -> {
-      result.getItems().forEach(i -> {
-        String key = store.getKey(i);
-        nextKeys.add(key);
-      });
-      store.update(result.getItems());
-      String nextContinueVal = result.getMetadata().getContinue();
-      if (Utils.isNotNullOrEmpty(nextContinueVal)) {
-        return processList(nextKeys, nextContinueVal);
-      }
-      return CompletableFuture.completedFuture(result);
-    });
+  private CompletableFuture<ListMeta> processList() {
+    long start = System.nanoTime();
+    AtomicInteger pages = new AtomicInteger();
+    AtomicLong items = new AtomicLong();
+    // items are applied to the store as they are decoded, the lister watcher follows any continue
+    return listerWatcher.submitList(
+        new ListOptionsBuilder()
+            // if caching is allowed, start with 0 - meaning any cached version is fine for the initial listing
+            .withResourceVersion(isCachedListing() ? "0" : null)
+            .withLimit(listerWatcher.getLimit())
+            .build(),
+        item -> {
+          items.incrementAndGet();
+          store.update(item);
+        }, page -> pages.incrementAndGet())
+        .thenApply(listMeta -> {
+          metrics.listCompleted(Duration.ofNanos(System.nanoTime() - start), pages.get(), items.get());
+          return listMeta;
+        });
   }
 
-  private boolean isCachedListing(String continueVal) {
-    // allow an initial cached listing only if there's no initial state, no limit, we haven't already sync'd, and this isn't a continue request
-    return cachedListing && listerWatcher.getLimit() == null && lastSyncResourceVersion == null && continueVal == null;
+  private boolean isCachedListing() {
+    // allow an initial cached listing only if there's no initial state, no limit, and we haven't already sync'd
+    return cachedListing && listerWatcher.getLimit() == null && lastSyncResourceVersion == null;
   }
 
   private void stopWatch(Watch w) {
@@ -199,14 +260,14 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
     watchStopped(); // proactively report as stopped
   }
 
-  private synchronized CompletableFuture<? extends Watch> startWatcher(final String latestResourceVersion) {
+  private synchronized CompletableFuture<? extends Watch> startWatcher(final ListOptionsBuilder options) {
     if (isStopped()) {
       return CompletableFuture.completedFuture(null);
     }
-    log.debug("Starting watcher for {} at v{}", this, latestResourceVersion);
+    log.debug("Starting watcher for {} at v{}", this, options.getResourceVersion());
     // there's no need to stop the old watch, that will happen automatically when this call completes
-    CompletableFuture<AbstractWatchManager<T>> future = listerWatcher.submitWatch(
-        new ListOptionsBuilder().withResourceVersion(latestResourceVersion)
+    CompletableFuture<? extends Watch> future = listerWatcher.submitWatch(
+        options
             // this would match the behavior of the go client, but requires changing a lot of mock expectations
             // so instead we'll terminate below and set a fail-safe here
             // .withTimeoutSeconds((long) ((Math.random() + 1) * minTimeout))
@@ -222,7 +283,19 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
     }
     timeoutFuture = new CompletableFuture<>();
     Utils.scheduleWithVariableRate(timeoutFuture, Runnable::run,
-        () -> future.thenAccept(AbstractWatchManager::closeRequest), timeout.getAsLong(), timeout, TimeUnit.SECONDS);
+        () -> future.thenAccept(w -> {
+          if (w instanceof AbstractWatchManager) {
+            ((AbstractWatchManager<?>) w).closeRequest();
+          }
+        }), timeout.getAsLong(), timeout, TimeUnit.SECONDS);
+    InformerMetrics currentMetrics = metrics;
+    if (currentMetrics != InformerMetrics.NOOP) {
+      future.thenAccept(w -> {
+        if (w instanceof AbstractWatchManager) {
+          ((AbstractWatchManager<?>) w).setReconnectListener(currentMetrics::watchReconnected);
+        }
+      });
+    }
     watchFuture = future;
     return watchFuture;
   }
@@ -259,6 +332,7 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
       if (resource == null) {
         throw new KubernetesClientException("Unrecognized resource for " + Reflector.this);
       }
+      metrics.eventReceived(action);
       if (log.isDebugEnabled()) {
         log.debug("Event received {} {} resourceVersion v{} for {}", action.name(),
             resource.getKind(),
@@ -276,6 +350,21 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
         case DELETED:
           store.delete(resource);
           break;
+        case BOOKMARK:
+          CompletableFuture<Void> initialEvents = initialEventsFuture;
+          if (initialEvents != null && AbstractWatchManager.isInitialEventsEnd(resource)) {
+            initialEventsFuture = null;
+            store.endSync();
+            lastSyncResourceVersion = resource.getMetadata().getResourceVersion();
+            log.debug("Initial events received for {} at v{}", Reflector.this, lastSyncResourceVersion);
+            initialEvents.complete(null);
+            return;
+          }
+          break;
+      }
+      if (initialEventsFuture != null) {
+        // the initial events are not in resourceVersion order
+        return;
       }
       lastSyncResourceVersion = resource.getMetadata().getResourceVersion();
     }
@@ -285,7 +374,15 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
       // this close was triggered by an exception,
       // not the user, it is expected that the watch retry will handle this
       watchStopped();
+      CompletableFuture<Void> initialEvents = initialEventsFuture;
+      if (initialEvents != null) {
+        // let watchListSyncAndWatch handle the failure of the initial sync
+        initialEventsFuture = null;
+        initialEvents.completeExceptionally(exception.asClientException());
+        return;
+      }
       if (exception.isHttpGone()) {
+        metrics.httpGone();
         if (log.isDebugEnabled()) {
           log.debug("Watch restarting due to http gone for {}", Reflector.this);
         }
@@ -329,4 +426,12 @@ public class Reflector<T extends HasMetadata, L extends KubernetesResourceList<T
     this.cachedListing = false;
   }
 
+  public void setWatchList(boolean watchList) {
+    this.watchList = watchList;
+  }
+
+  public void setMetrics(InformerMetrics metrics) {
+    this.metrics = metrics;
+  }
+
 }
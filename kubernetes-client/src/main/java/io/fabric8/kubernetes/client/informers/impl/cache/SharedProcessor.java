@@ -15,20 +15,26 @@
  */
 package io.fabric8.kubernetes.client.informers.impl.cache;
 
+import io.fabric8.kubernetes.client.informers.InformerMetrics;
+import io.fabric8.kubernetes.client.informers.OverflowPolicy;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.utils.internal.SerialExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -40,24 +46,90 @@ import java.util.function.Supplier;
  *
  * <br>
  * Modified to simplify threading
+ * <br>
+ * With batched delivery notifications are queued per listener and each listener's queue is drained
+ * in batches on its own serial executor, rather than submitting a task per notification. The queues
+ * may be bounded, see {@link OverflowPolicy}.
  */
 public class SharedProcessor<T> {
   private static final Logger log = LoggerFactory.getLogger(SharedProcessor.class);
 
+  static final int BATCH_SIZE = 256;
+
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
   private final List<ProcessorListener<T>> listeners = new ArrayList<>();
   private final List<ProcessorListener<T>> syncingListeners = new ArrayList<>();
+  private final Executor delegate;
   private final SerialExecutor executor;
   private final String informerDescription;
+  private final Function<T, String> keyFunction;
+  private volatile boolean batched;
+  private volatile InformerMetrics metrics = InformerMetrics.NOOP;
+  private int queueCapacity;
+  private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
 
   public SharedProcessor() {
     this(Runnable::run, "informer");
   }
 
   public SharedProcessor(Executor executor, String informerDescription) {
+    this(executor, informerDescription, null);
+  }
+
+  /**
+   * @param keyFunction used to coalesce updates for listeners that allow it, and to resync with
+   *        {@link OverflowPolicy#DROP_AND_RESYNC}, may be null
+   */
+  public SharedProcessor(Executor executor, String informerDescription, Function<T, String> keyFunction) {
+    this.delegate = executor;
     this.executor = new SerialExecutor(executor);
     this.informerDescription = informerDescription;
+    this.keyFunction = keyFunction;
+  }
+
+  /**
+   * Switch to batched delivery, which also applies to the listeners already added.
+   * Should only be called before anything is distributed.
+   */
+  public void setBatched(boolean batched) {
+    lock.writeLock().lock();
+    try {
+      this.batched = batched;
+      if (batched) {
+        listeners.forEach(this::assignExecutor);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public boolean isBatched() {
+    return batched;
+  }
+
+  public void setMetrics(InformerMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Bound the queue of each listener, including those already added, only applies to batched delivery
+   *
+   * @param capacity the maximum number of queued notifications, 0 for unbounded
+   * @param overflowPolicy what to do when a queue is full
+   */
+  public void setQueueBounds(int capacity, OverflowPolicy overflowPolicy) {
+    if (overflowPolicy == OverflowPolicy.DROP_AND_RESYNC && keyFunction == null) {
+      throw new IllegalArgumentException("A key function is needed to resync after dropping notifications");
+    }
+    lock.writeLock().lock();
+    try {
+      this.queueCapacity = capacity;
+      this.overflowPolicy = overflowPolicy;
+      listeners.forEach(l -> l.setQueueBounds(capacity, overflowPolicy));
+    } finally {
+      lock.writeLock().unlock();
+    }
   }
 
   /**
@@ -68,6 +140,9 @@ public class SharedProcessor<T> {
   public void addListener(final ProcessorListener<T> processorListener) {
     lock.writeLock().lock();
     try {
+      if (batched) {
+        assignExecutor(processorListener);
+      }
       this.listeners.add(processorListener);
       if (processorListener.isReSync()) {
         this.syncingListeners.add(processorListener);
@@ -77,6 +152,33 @@ public class SharedProcessor<T> {
     }
   }
 
+  private void assignExecutor(ProcessorListener<T> processorListener) {
+    if (processorListener.getExecutor() == null) {
+      // a slow listener should not delay the others
+      processorListener.setExecutor(new SerialExecutor(delegate));
+    }
+  }
+
+  /**
+   * Stops and removes the specific processorListener
+   *
+   * @param processorListener specific processor listener
+   */
+  public void removeListener(final ProcessorListener<T> processorListener) {
+    lock.writeLock().lock();
+    try {
+      this.listeners.remove(processorListener);
+      this.syncingListeners.remove(processorListener);
+      processorListener.stop();
+      Executor listenerExecutor = processorListener.getExecutor();
+      if (listenerExecutor instanceof SerialExecutor) {
+        ((SerialExecutor) listenerExecutor).shutdownNow();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
   /**
    * Distribute the object amount listeners.
    *
@@ -84,13 +186,21 @@ public class SharedProcessor<T> {
    * @param isSync whether in sync or not
    */
   public void distribute(ProcessorListener.Notification<T> obj, boolean isSync) {
-    distribute(l -> l.add(obj), isSync);
+    if (batched) {
+      enqueue(obj, null, isSync);
+    } else {
+      distribute(l -> l.add(obj), isSync);
+    }
   }
 
   /**
    * Distribute the operation to the respective listeners
    */
   public void distribute(Consumer<ProcessorListener<T>> operation, boolean isSync) {
+    if (batched) {
+      enqueue(null, operation, isSync);
+      return;
+    }
     // obtain the list to call outside before submitting
     lock.readLock().lock();
     List<ProcessorListener<T>> toCall;
@@ -106,12 +216,7 @@ public class SharedProcessor<T> {
     try {
       executor.execute(() -> {
         for (ProcessorListener<T> listener : toCall) {
-          try {
-            operation.accept(listener);
-          } catch (Exception ex) {
-            log.error("{} failed invoking {} event handler: {}", informerDescription, listener.getHandler(), ex.getMessage(),
-                ex);
-          }
+          invoke(listener, operation);
         }
       });
     } catch (RejectedExecutionException e) {
@@ -119,6 +224,158 @@ public class SharedProcessor<T> {
     }
   }
 
+  private void enqueue(ProcessorListener.Notification<T> notification, Consumer<ProcessorListener<T>> operation,
+      boolean isSync) {
+    List<ProcessorListener<T>> toSchedule = null;
+    List<ProcessorListener<T>> full = null;
+    String key = null;
+    lock.readLock().lock();
+    try {
+      for (ProcessorListener<T> listener : isSync ? syncingListeners : listeners) {
+        ProcessorListener.Enqueued enqueued;
+        if (notification == null) {
+          enqueued = listener.enqueue(operation);
+        } else {
+          boolean needsKey = listener.needsKey() && keyFunction != null;
+          if (key == null && needsKey) {
+            key = keyFunction.apply(
+                notification.getNewObject() != null ? notification.getNewObject() : notification.getOldObject());
+          }
+          enqueued = listener.enqueue(notification, needsKey ? key : null, true);
+        }
+        if (enqueued == ProcessorListener.Enqueued.SCHEDULE) {
+          if (toSchedule == null) {
+            toSchedule = new ArrayList<>();
+          }
+          toSchedule.add(listener);
+        } else if (enqueued == ProcessorListener.Enqueued.FULL) {
+          if (full == null) {
+            full = new ArrayList<>();
+          }
+          full.add(listener);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    // schedule outside of the lock as the executor may run the delivery inline
+    if (toSchedule != null) {
+      toSchedule.forEach(this::scheduleDrain);
+    }
+    // and block outside of the lock so that listeners may still be added or stopped
+    if (full != null) {
+      for (ProcessorListener<T> listener : full) {
+        if (listener.awaitAndEnqueue(notification,
+            listener.needsKey() ? key : null) == ProcessorListener.Enqueued.SCHEDULE) {
+          scheduleDrain(listener);
+        }
+      }
+    }
+  }
+
+  private void invoke(ProcessorListener<T> listener, Consumer<ProcessorListener<T>> operation) {
+    InformerMetrics currentMetrics = metrics;
+    long start = currentMetrics == InformerMetrics.NOOP ? 0 : System.nanoTime();
+    try {
+      operation.accept(listener);
+    } catch (Exception ex) {
+      log.error("{} failed invoking {} event handler: {}", informerDescription, listener.getHandler(), ex.getMessage(),
+          ex);
+    }
+    if (currentMetrics != InformerMetrics.NOOP) {
+      currentMetrics.handlerInvoked(Duration.ofNanos(System.nanoTime() - start));
+    }
+  }
+
+  private void scheduleDrain(ProcessorListener<T> listener) {
+    try {
+      Executor listenerExecutor = listener.getExecutor();
+      (listenerExecutor == null ? executor : listenerExecutor).execute(() -> drain(listener));
+    } catch (RejectedExecutionException e) {
+      // do nothing
+    }
+  }
+
+  private void drain(ProcessorListener<T> listener) {
+    List<Consumer<ProcessorListener<T>>> batch = listener.nextBatch(BATCH_SIZE);
+    if (batch.isEmpty()) {
+      return;
+    }
+    for (Consumer<ProcessorListener<T>> operation : batch) {
+      invoke(listener, operation);
+    }
+    // check for more, after any other listeners have been given a turn
+    scheduleDrain(listener);
+  }
+
+  /**
+   * @return the number of notifications pending delivery for each handler, only tracked with batched delivery
+   */
+  public Map<ResourceEventHandler<? super T>, Integer> getQueueDepths() {
+    lock.readLock().lock();
+    try {
+      Map<ResourceEventHandler<? super T>, Integer> result = new LinkedHashMap<>();
+      for (ProcessorListener<T> listener : listeners) {
+        result.put(listener.getHandler(), listener.getQueueDepth());
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return how long the oldest pending notification has been waiting for each handler, only tracked with batched
+   *         delivery
+   */
+  public Map<ResourceEventHandler<? super T>, Duration> getLags() {
+    lock.readLock().lock();
+    try {
+      Map<ResourceEventHandler<? super T>, Duration> result = new LinkedHashMap<>();
+      for (ProcessorListener<T> listener : listeners) {
+        result.put(listener.getHandler(), listener.getLag());
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the total number of notifications pending delivery, only tracked with batched delivery
+   */
+  public int getQueueDepth() {
+    lock.readLock().lock();
+    try {
+      int result = 0;
+      for (ProcessorListener<T> listener : listeners) {
+        result += listener.getQueueDepth();
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the longest time any pending notification has been waiting, only tracked with batched delivery
+   */
+  public Duration getMaxLag() {
+    lock.readLock().lock();
+    try {
+      Duration result = Duration.ZERO;
+      for (ProcessorListener<T> listener : listeners) {
+        Duration lag = listener.getLag();
+        if (lag.compareTo(result) > 0) {
+          result = lag;
+        }
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
   public boolean shouldResync() {
     lock.writeLock().lock();
     boolean resyncNeeded = false;
@@ -143,6 +400,13 @@ public class SharedProcessor<T> {
     executor.shutdownNow();
     lock.writeLock().lock();
     try {
+      for (ProcessorListener<T> listener : listeners) {
+        listener.stop();
+        Executor listenerExecutor = listener.getExecutor();
+        if (listenerExecutor instanceof SerialExecutor) {
+          ((SerialExecutor) listenerExecutor).shutdownNow();
+        }
+      }
       syncingListeners.clear();
       listeners.clear();
     } finally {
@@ -156,18 +420,28 @@ public class SharedProcessor<T> {
    */
   public ProcessorListener<T> addProcessorListener(ResourceEventHandler<? super T> handler, long resyncPeriodMillis,
       Supplier<Collection<T>> initialItems) {
+    ProcessorListener<T> listener = new ProcessorListener<>(handler, resyncPeriodMillis);
+    listener.setQueueBounds(queueCapacity, overflowPolicy, initialItems, keyFunction);
+    boolean schedule = false;
     lock.writeLock().lock();
     try {
-      ProcessorListener<T> listener = new ProcessorListener<>(handler, resyncPeriodMillis);
-
       for (T item : initialItems.get()) {
-        listener.add(new ProcessorListener.AddNotification<>(item));
+        ProcessorListener.Notification<T> notification = new ProcessorListener.AddNotification<>(item);
+        if (batched) {
+          // queued ahead of anything distributed after the listener is added
+          schedule |= listener.enqueue(notification, null, false) == ProcessorListener.Enqueued.SCHEDULE;
+        } else {
+          listener.add(notification);
+        }
       }
 
       addListener(listener);
-      return listener;
     } finally {
       lock.writeLock().unlock();
     }
+    if (schedule) {
+      scheduleDrain(listener);
+    }
+    return listener;
   }
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.impl.cache;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The item store used with {@link io.fabric8.kubernetes.client.informers.cache.RelistMode#SYNC_GENERATION},
+ * each entry holds the sync generation in which its value was last put alongside the value.
+ * <p>
+ * Generations are started and unsynced entries removed by the single writer of the cache.
+ */
+class SyncGenerationItemStore<V extends HasMetadata> implements ItemStore<V> {
+
+  private static final class Entry<V> {
+
+    private final V value;
+    private final int generation;
+
+    private Entry(V value, int generation) {
+      this.value = value;
+      this.generation = generation;
+    }
+
+  }
+
+  private final Function<V, String> keyFunction;
+  private final ConcurrentHashMap<String, Entry<V>> store = new ConcurrentHashMap<>();
+  private volatile int generation;
+
+  SyncGenerationItemStore(Function<V, String> keyFunction) {
+    this.keyFunction = keyFunction;
+  }
+
+  @Override
+  public String getKey(V obj) {
+    return keyFunction.apply(obj);
+  }
+
+  @Override
+  public V put(String key, V obj) {
+    return valueOf(store.put(key, new Entry<>(obj, generation)));
+  }
+
+  @Override
+  public V remove(String key) {
+    return valueOf(store.remove(key));
+  }
+
+  @Override
+  public Stream<String> keySet() {
+    return store.keySet().stream();
+  }
+
+  @Override
+  public Stream<V> values() {
+    return store.values().stream().map(e -> e.value);
+  }
+
+  @Override
+  public V get(String key) {
+    return valueOf(store.get(key));
+  }
+
+  @Override
+  public int size() {
+    return store.size();
+  }
+
+  /**
+   * Start a new sync generation, subsequent puts will mark their entries with it.
+   */
+  void startGeneration() {
+    generation++;
+  }
+
+  /**
+   * Remove each entry that has not been put since the last call to {@link #startGeneration()}
+   *
+   * @param onRemove called with the key and value of each removed entry
+   */
+  void removeUnsynced(BiConsumer<String, V> onRemove) {
+    int current = generation;
+    for (Iterator<Map.Entry<String, Entry<V>>> iter = store.entrySet().iterator(); iter.hasNext();) {
+      Map.Entry<String, Entry<V>> entry = iter.next();
+      if (entry.getValue().generation != current) {
+        iter.remove();
+        onRemove.accept(entry.getKey(), entry.getValue().value);
+      }
+    }
+  }
+
+  private static <V> V valueOf(Entry<V> entry) {
+    return entry == null ? null : entry.value;
+  }
+
+}
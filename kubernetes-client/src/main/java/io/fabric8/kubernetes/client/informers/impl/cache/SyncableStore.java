@@ -52,6 +52,17 @@ public interface SyncableStore<T> extends Store<T> {
    */
   void resync();
 
+  /**
+   * Start a list sync. Items updated from now until {@link #endSync()}
+   * are considered to be present.
+   */
+  void startSync();
+
+  /**
+   * Complete a list sync, removing each item that was not updated since {@link #startSync()}
+   */
+  void endSync();
+
   /**
    * Retain only the values with keys in the given set
    *
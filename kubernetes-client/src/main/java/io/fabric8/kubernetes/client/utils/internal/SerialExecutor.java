@@ -17,9 +17,10 @@
 package io.fabric8.kubernetes.client.utils.internal;
 
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * See {@link Executor} docs
@@ -29,11 +30,19 @@ import java.util.concurrent.RejectedExecutionException;
  * This is a replacement for Executors.newSingleThreadExecutor() that uses threads in a non-dedicated way
  * <br>
  * Added shutdown support
+ * <br>
+ * Tasks are added to a lock-free queue by any number of threads. A single drain task at a time is submitted to the
+ * delegate executor, which runs up to {@link #MAX_BATCH} queued tasks before yielding its thread.
  */
 public class SerialExecutor implements Executor {
-  final Queue<Runnable> tasks = new LinkedBlockingDeque<>();
+
+  static final int MAX_BATCH = 256;
+
+  final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
   final Executor executor;
-  Runnable active;
+  // true while a drain is submitted or running
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final Runnable drain = this::drain;
   private volatile boolean shutdown;
   private Thread thread;
   private final Object threadLock = new Object();
@@ -43,37 +52,51 @@ public class SerialExecutor implements Executor {
   }
 
   @Override
-  public synchronized void execute(final Runnable r) {
+  public void execute(final Runnable r) {
     if (shutdown) {
       throw new RejectedExecutionException();
     }
-    tasks.offer(() -> {
+    tasks.offer(r);
+    scheduleNext();
+  }
+
+  private void scheduleNext() {
+    if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
       try {
-        if (shutdown) {
-          return;
-        }
-        synchronized (threadLock) {
-          thread = Thread.currentThread();
-        }
-        r.run();
-      } catch (Throwable t) {
-        thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
-      } finally {
-        synchronized (threadLock) {
-          thread = null;
-        }
-        Thread.interrupted();
-        scheduleNext();
+        executor.execute(drain);
+      } catch (RuntimeException e) {
+        scheduled.set(false);
+        throw e;
       }
-    });
-    if (active == null) {
-      scheduleNext();
     }
   }
 
-  protected synchronized void scheduleNext() {
-    if ((active = tasks.poll()) != null) {
-      executor.execute(active);
+  private void drain() {
+    Thread current = Thread.currentThread();
+    synchronized (threadLock) {
+      thread = current;
+    }
+    try {
+      Runnable r;
+      for (int i = 0; i < MAX_BATCH && !shutdown && (r = tasks.poll()) != null; i++) {
+        try {
+          r.run();
+        } catch (Throwable t) {
+          current.getUncaughtExceptionHandler().uncaughtException(current, t);
+        }
+        // an interrupt of this task should not affect the next
+        Thread.interrupted();
+      }
+    } finally {
+      synchronized (threadLock) {
+        thread = null;
+      }
+      Thread.interrupted();
+      scheduled.set(false);
+    }
+    // a task may have been added after the last poll but before scheduled was cleared
+    if (!shutdown) {
+      scheduleNext();
     }
   }
 
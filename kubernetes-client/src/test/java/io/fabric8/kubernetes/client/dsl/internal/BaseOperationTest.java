@@ -27,6 +27,7 @@ import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.internal.core.v1.PodOperationsImpl;
 import io.fabric8.kubernetes.client.extension.ExtensibleResource;
+import io.fabric8.kubernetes.client.http.AsyncBody;
 import io.fabric8.kubernetes.client.http.HttpClient;
 import io.fabric8.kubernetes.client.http.HttpRequest;
 import io.fabric8.kubernetes.client.http.HttpResponse;
@@ -41,7 +42,6 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashMap;
@@ -250,22 +250,22 @@ class BaseOperationTest {
     HttpRequest.Builder mockRequestBuilder = mock(HttpRequest.Builder.class, Mockito.RETURNS_SELF);
     when(mockClient.newHttpRequestBuilder()).thenReturn(mockRequestBuilder);
     when(mockRequestBuilder.build()).thenReturn(new StandardHttpRequest.Builder().uri("https://k8s.example.com").build());
-    when(mockClient.sendAsync(Mockito.any(), Mockito.eq(byte[].class))).thenAnswer(
+    when(mockClient.consumeBytes(Mockito.any(), Mockito.any())).thenAnswer(
         invocation -> {
           int count = httpExecutionCounter.getAndIncrement();
           if (count < numFailures) {
             // Altering the type of the error for each call:
             // even numbered calls (including the first call) fail with an IOException and odd numbered calls fail with HTTP response 500
             if (count % 2 == 0) {
-              CompletableFuture<HttpResponse<InputStream>> result = new CompletableFuture<>();
+              CompletableFuture<HttpResponse<AsyncBody>> result = new CompletableFuture<>();
               result.completeExceptionally(new IOException("For example java.net.ConnectException"));
               return result;
             }
-            return CompletableFuture.completedFuture(new TestHttpResponse<>().withCode(500));
+            return TestHttpResponse.consume(new TestHttpResponse<byte[]>().withCode(500), invocation.getArgument(1));
           }
           Pod podNoLabels = new PodBuilder().withNewMetadata().withName("pod1").withNamespace("test").and().build();
-          return CompletableFuture.completedFuture(
-              TestHttpResponse.from(200, Serialization.asJson(podNoLabels)));
+          return TestHttpResponse.consume(TestHttpResponse.from(200, Serialization.asJson(podNoLabels)),
+              invocation.getArgument(1));
         });
     return mockClient;
   }
@@ -105,6 +105,22 @@ class BaseOperationWatchTest {
     }
   }
 
+  @Test
+  @DisplayName("watch, with a multiplexed http client, should use WatchHTTPManager without a websocket")
+  void watchWithMultiplexedClient() {
+    Mockito.when(operationContext.getHttpClient().isMultiplexed()).thenReturn(true);
+    baseOperation = new BaseOperation<>(operationContext);
+    try (
+        final MockedConstruction<WatchConnectionManager> m = mockConstruction(WatchConnectionManager.class);
+        final MockedConstruction<WatchHTTPManager> mHttp = mockConstruction(WatchHTTPManager.class)) {
+      // When
+      final Watch result = baseOperation.watch(watcher);
+      // Then
+      assertThat(result).isInstanceOf(WatchHTTPManager.class).isSameAs(mHttp.constructed().get(0));
+      assertThat(m.constructed()).isEmpty();
+    }
+  }
+
   private CompletableFuture failedFuture(KubernetesClientException kubernetesClientException) {
     CompletableFuture result = new CompletableFuture();
     result.completeExceptionally(kubernetesClientException);
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl.internal;
+
+import io.fabric8.kubernetes.client.http.AsyncBody;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers a body a few bytes at a time, so that tokens span buffers.
+ */
+class ChunkedBody implements AsyncBody {
+
+  private final AsyncBody.Consumer<List<ByteBuffer>> consumer;
+  private final byte[] bytes;
+  private final int chunkSize;
+  private final CompletableFuture<Void> done = new CompletableFuture<>();
+  private int position;
+  boolean cancelled;
+
+  ChunkedBody(AsyncBody.Consumer<List<ByteBuffer>> consumer, byte[] bytes, int chunkSize) {
+    this.consumer = consumer;
+    this.bytes = bytes;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void consume() {
+    if (position >= bytes.length) {
+      done.complete(null);
+      return;
+    }
+    int length = Math.min(chunkSize, bytes.length - position);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, position, length);
+    position += length;
+    try {
+      consumer.consume(Collections.singletonList(buffer), this);
+    } catch (Exception e) {
+      done.completeExceptionally(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> done() {
+    return done;
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    done.cancel(false);
+  }
+}
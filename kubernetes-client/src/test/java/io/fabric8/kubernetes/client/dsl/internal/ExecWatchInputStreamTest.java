@@ -16,6 +16,8 @@
 
 package io.fabric8.kubernetes.client.dsl.internal;
 
+import io.fabric8.kubernetes.client.http.BufferPool;
+import io.fabric8.kubernetes.client.http.PooledBuffer;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 
@@ -105,4 +107,38 @@ public class ExecWatchInputStreamTest {
     Awaitility.await().atMost(1, TimeUnit.SECONDS).until(() -> execWatchInputStream.read() == -1);
   }
 
+  @Test
+  void testPooledBufferReleasedOnceRead() throws IOException {
+    BufferPool pool = new BufferPool(16, 2);
+    AtomicInteger count = new AtomicInteger();
+    ExecWatchInputStream is = new ExecWatchInputStream(() -> count.getAndIncrement());
+    PooledBuffer pooled = pool.copyOf(ByteBuffer.wrap(new byte[] { 1, 2 }));
+    is.consume(pooled.buffer(), pooled);
+
+    byte[] bytes = new byte[2];
+    assertEquals(2, is.read(bytes, 0, 2));
+    assertEquals(0, pool.getFree());
+
+    is.onExit(0, null);
+    assertEquals(-1, is.read());
+    assertEquals(1, pool.getFree());
+  }
+
+  @Test
+  void testPooledBufferReleasedOnClose() throws IOException {
+    BufferPool pool = new BufferPool(16, 2);
+    AtomicInteger count = new AtomicInteger();
+    ExecWatchInputStream is = new ExecWatchInputStream(() -> count.getAndIncrement());
+    PooledBuffer pooled = pool.copyOf(ByteBuffer.wrap(new byte[] { 1, 2 }));
+    is.consume(pooled.buffer(), pooled);
+
+    is.close();
+    assertEquals(1, pool.getFree());
+
+    PooledBuffer afterClose = pool.acquire(1);
+    is.consume(afterClose.buffer(), afterClose);
+    assertEquals(1, pool.getFree());
+    assertEquals(1, count.get());
+  }
+
 }
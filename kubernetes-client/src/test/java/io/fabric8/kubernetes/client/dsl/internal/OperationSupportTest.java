@@ -15,34 +15,44 @@
  */
 package io.fabric8.kubernetes.client.dsl.internal;
 
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.RequestConfigBuilder;
+import io.fabric8.kubernetes.client.http.HttpClient;
 import io.fabric8.kubernetes.client.http.HttpRequest;
 import io.fabric8.kubernetes.client.http.HttpResponse;
 import io.fabric8.kubernetes.client.http.StandardHttpRequest;
 import io.fabric8.kubernetes.client.http.TestHttpResponse;
+import io.fabric8.kubernetes.client.impl.KubernetesClientImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mockito;
 
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class OperationSupportTest {
@@ -188,4 +198,90 @@ class OperationSupportTest {
             .hasFieldOrPropertyWithValue("requestTimeout", 1337);
   }
 
+  @Test
+  @DisplayName("handleResponse, with a codec for the type, accepts and decodes its media type")
+  void handleResponseWithCodecDecodesMediaType() {
+    // Given
+    HttpRequest.Builder builder = mock(HttpRequest.Builder.class, Mockito.RETURNS_SELF);
+    KubernetesClient client = clientResponding(builder, TestMediaTypeCodec.MEDIA_TYPE, "foo");
+    // When
+    Foo foo = client.resources(Foo.class).inNamespace("ns").withName("foo").get();
+    // Then
+    assertThat(foo.getMetadata().getName()).isEqualTo("foo");
+    verify(builder).setHeader("Accept", TestMediaTypeCodec.MEDIA_TYPE + ", application/json");
+  }
+
+  @Test
+  @DisplayName("handleResponse, with a codec for the list type, accepts and decodes its media type")
+  void handleResponseWithCodecDecodesListMediaType() {
+    // Given
+    HttpRequest.Builder builder = mock(HttpRequest.Builder.class, Mockito.RETURNS_SELF);
+    KubernetesClient client = clientResponding(builder, TestMediaTypeCodec.MEDIA_TYPE, "foo,bar");
+    // When
+    FooList list = client.resources(Foo.class, FooList.class).inNamespace("ns").list();
+    // Then
+    assertThat(list.getItems()).extracting(foo -> foo.getMetadata().getName()).containsExactly("foo", "bar");
+    verify(builder).setHeader("Accept", TestMediaTypeCodec.MEDIA_TYPE + ", application/json");
+  }
+
+  @Test
+  @DisplayName("handleResponse, with a codec for the type, falls back to json")
+  void handleResponseWithCodecFallsBackToJson() {
+    // Given
+    HttpRequest.Builder builder = mock(HttpRequest.Builder.class, Mockito.RETURNS_SELF);
+    KubernetesClient client = clientResponding(builder, "application/json", "{\"metadata\":{\"name\":\"foo\"}}");
+    // When
+    Foo foo = client.resources(Foo.class).inNamespace("ns").withName("foo").get();
+    // Then
+    assertThat(foo.getMetadata().getName()).isEqualTo("foo");
+  }
+
+  @Test
+  @DisplayName("handleResponse, with a codec for the type, decodes an error Status in its media type")
+  void handleResponseWithCodecDecodesErrorStatus() {
+    // Given
+    HttpRequest.Builder builder = mock(HttpRequest.Builder.class, Mockito.RETURNS_SELF);
+    KubernetesClient client = clientResponding(builder, new StandardHttpRequest.Builder()
+        .uri("https://localhost:8443/").build(), 403, TestMediaTypeCodec.MEDIA_TYPE, "forbidden");
+    // When
+    KubernetesClientException exception = assertThrows(KubernetesClientException.class,
+        () -> client.resources(Foo.class).inNamespace("ns").withName("foo").get());
+    // Then
+    assertThat(exception.getCode()).isEqualTo(403);
+    assertThat(exception.getStatus().getMessage()).isEqualTo("forbidden");
+  }
+
+  @Test
+  @DisplayName("handleResponse, with a codec for the type, does not accept its media type for writes")
+  void handleResponseWithCodecOnlyForReads() {
+    // Given
+    HttpRequest.Builder builder = mock(HttpRequest.Builder.class, Mockito.RETURNS_SELF);
+    KubernetesClient client = clientResponding(builder, new StandardHttpRequest.Builder()
+        .uri("https://localhost:8443/").post("application/json", "{}").build(), 200, "application/json",
+        "{\"metadata\":{\"name\":\"foo\"}}");
+    Foo foo = new Foo();
+    foo.setMetadata(new ObjectMetaBuilder().withName("foo").build());
+    // When
+    client.resources(Foo.class).inNamespace("ns").resource(foo).create();
+    // Then
+    verify(builder, never()).setHeader("Accept", TestMediaTypeCodec.MEDIA_TYPE + ", application/json");
+  }
+
+  private static KubernetesClient clientResponding(HttpRequest.Builder builder, String contentType, String body) {
+    return clientResponding(builder, new StandardHttpRequest.Builder().uri("https://localhost:8443/").build(), 200,
+        contentType, body);
+  }
+
+  private static KubernetesClient clientResponding(HttpRequest.Builder builder, HttpRequest request, int code,
+      String contentType, String body) {
+    HttpClient httpClient = mock(HttpClient.class, RETURNS_DEEP_STUBS);
+    when(httpClient.newHttpRequestBuilder()).thenReturn(builder);
+    when(builder.build()).thenReturn(request);
+    when(httpClient.consumeBytes(any(), any())).thenAnswer(invocation -> TestHttpResponse.consume(
+        new TestHttpResponse<byte[]>(Collections.singletonMap("Content-Type", Collections.singletonList(contentType)))
+            .withCode(code).withBody(body.getBytes(StandardCharsets.UTF_8)),
+        invocation.getArgument(1)));
+    return new KubernetesClientImpl(httpClient, new ConfigBuilder().withMasterUrl("https://localhost:8443/").build());
+  }
+
 }
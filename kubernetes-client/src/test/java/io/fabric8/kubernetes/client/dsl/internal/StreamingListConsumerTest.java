@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl.internal;
+
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingListConsumerTest {
+
+  @Test
+  void itemsAreConsumedIncrementally() {
+    PodList list = new PodListBuilder()
+        .withNewMetadata().withResourceVersion("5").withContinue("next").endMetadata()
+        .addToItems(pod("a"), pod("b"), pod("c"))
+        .build();
+    byte[] bytes = Serialization.asJson(list).getBytes(StandardCharsets.UTF_8);
+
+    List<Pod> items = new ArrayList<>();
+    StreamingListConsumer<Pod> consumer = new StreamingListConsumer<>(Pod.class, items::add);
+    // deliver a few bytes at a time so that tokens and items span buffers
+    ListMeta listMeta = consumer.streamItems(new ChunkedBody(consumer, bytes, 7)).join();
+
+    assertThat(listMeta.getResourceVersion()).isEqualTo("5");
+    assertThat(listMeta.getContinue()).isEqualTo("next");
+    assertThat(items).containsExactlyElementsOf(list.getItems());
+  }
+
+  @Test
+  void nestedItemsFieldsAreIgnored() {
+    String json = "{\"kind\":\"PodList\",\"items\":[{\"metadata\":{\"name\":\"a\",\"labels\":{\"items\":\"x\"}},"
+        + "\"spec\":{\"containers\":[{\"name\":\"c\"}]}}],\"metadata\":{\"resourceVersion\":\"1\"}}";
+
+    List<Pod> items = new ArrayList<>();
+    StreamingListConsumer<Pod> consumer = new StreamingListConsumer<>(Pod.class, items::add);
+    ListMeta listMeta = consumer.streamItems(new ChunkedBody(consumer, json.getBytes(StandardCharsets.UTF_8), 3))
+        .join();
+
+    assertThat(listMeta.getResourceVersion()).isEqualTo("1");
+    assertThat(items).singleElement().satisfies(p -> {
+      assertThat(p.getMetadata().getName()).isEqualTo("a");
+      assertThat(p.getSpec().getContainers()).hasSize(1);
+    });
+  }
+
+  @Test
+  void consumerExceptionCancelsBody() {
+    byte[] bytes = Serialization.asJson(new PodListBuilder().addToItems(pod("a"), pod("b")).build())
+        .getBytes(StandardCharsets.UTF_8);
+
+    StreamingListConsumer<Pod> consumer = new StreamingListConsumer<>(Pod.class, p -> {
+      throw new IllegalStateException("failed");
+    });
+    ChunkedBody body = new ChunkedBody(consumer, bytes, bytes.length);
+    CompletableFuture<ListMeta> result = consumer.streamItems(body);
+
+    assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(body.cancelled).isTrue();
+  }
+
+  @Test
+  void collectBodyReturnsRawBytes() {
+    String json = "{\"kind\":\"Status\",\"code\":410}";
+
+    StreamingListConsumer<Pod> consumer = new StreamingListConsumer<>(Pod.class, p -> {
+    });
+    byte[] bytes = consumer.collectBody(new ChunkedBody(consumer, json.getBytes(StandardCharsets.UTF_8), 4)).join();
+
+    assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(json);
+  }
+
+  private static Pod pod(String name) {
+    return new PodBuilder().withNewMetadata().withName(name).withNamespace("ns").endMetadata()
+        .withNewSpec().addNewContainer().withName(name).withImage("image").endContainer().endSpec().build();
+  }
+
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl.internal;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.Status;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.client.MediaTypeCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Decodes a {@link Foo} from a body holding just its name, a {@link FooList} from a body holding the comma separated
+ * names of its items, or a {@link Status} from a body holding just its message.
+ */
+public class TestMediaTypeCodec implements MediaTypeCodec {
+
+  static final String MEDIA_TYPE = "application/vnd.test.foo";
+
+  @Override
+  public String getMediaType() {
+    return MEDIA_TYPE;
+  }
+
+  @Override
+  public boolean supports(Class<?> type) {
+    return type == Foo.class || type == FooList.class || type == Status.class;
+  }
+
+  @Override
+  public <T> T decode(InputStream body, Class<T> type) throws IOException {
+    ByteArrayOutputStream name = new ByteArrayOutputStream();
+    byte[] buffer = new byte[64];
+    int read;
+    while ((read = body.read(buffer)) != -1) {
+      name.write(buffer, 0, read);
+    }
+    String text = new String(name.toByteArray(), StandardCharsets.UTF_8);
+    if (type == Status.class) {
+      return type.cast(new StatusBuilder().withMessage(text).build());
+    }
+    if (type == FooList.class) {
+      FooList list = new FooList();
+      list.setItems(Arrays.stream(text.split(",")).map(TestMediaTypeCodec::foo).collect(Collectors.toList()));
+      return type.cast(list);
+    }
+    return type.cast(foo(text));
+  }
+
+  private static Foo foo(String name) {
+    Foo foo = new Foo();
+    foo.setMetadata(new ObjectMetaBuilder().withName(name).build());
+    return foo;
+  }
+
+}
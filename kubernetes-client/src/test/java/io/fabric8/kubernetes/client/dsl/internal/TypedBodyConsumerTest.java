@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.dsl.internal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.fabric8.kubernetes.api.model.KubernetesResource;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TypedBodyConsumerTest {
+
+  @Test
+  void valueIsDecodedAcrossBuffers() {
+    PodList list = new PodListBuilder()
+        .withNewMetadata().withResourceVersion("5").endMetadata()
+        .addToItems(pod("a"), pod("b"))
+        .build();
+    byte[] bytes = Serialization.asJson(list).getBytes(StandardCharsets.UTF_8);
+
+    TypedBodyConsumer<PodList> consumer = new TypedBodyConsumer<>(new TypeReference<PodList>() {
+    });
+    PodList result = consumer.readValue(new ChunkedBody(consumer, bytes, 5)).join();
+
+    assertThat(result).isEqualTo(list);
+  }
+
+  @Test
+  void kindIsResolvedForKubernetesResource() {
+    byte[] bytes = Serialization.asJson(pod("a")).getBytes(StandardCharsets.UTF_8);
+
+    TypedBodyConsumer<KubernetesResource> consumer = new TypedBodyConsumer<>(new TypeReference<KubernetesResource>() {
+    });
+    KubernetesResource result = consumer.readValue(new ChunkedBody(consumer, bytes, 16)).join();
+
+    assertThat(result).isEqualTo(pod("a"));
+  }
+
+  @Test
+  void yamlIsUnmarshalled() {
+    String yaml = "  \napiVersion: v1\nkind: Pod\nmetadata:\n  name: a\n  namespace: ns\n";
+
+    TypedBodyConsumer<Pod> consumer = new TypedBodyConsumer<>(new TypeReference<Pod>() {
+    });
+    Pod result = consumer.readValue(new ChunkedBody(consumer, yaml.getBytes(StandardCharsets.UTF_8), 2)).join();
+
+    assertThat(result.getMetadata().getName()).isEqualTo("a");
+  }
+
+  @Test
+  void emptyBodyIsNull() {
+    TypedBodyConsumer<Pod> consumer = new TypedBodyConsumer<>(new TypeReference<Pod>() {
+    });
+
+    assertThat(consumer.readValue(new ChunkedBody(consumer, new byte[0], 1)).join()).isNull();
+  }
+
+  @Test
+  void malformedBodyFails() {
+    byte[] bytes = "{\"kind\":}".getBytes(StandardCharsets.UTF_8);
+
+    TypedBodyConsumer<Pod> consumer = new TypedBodyConsumer<>(new TypeReference<Pod>() {
+    });
+    CompletableFuture<Pod> result = consumer.readValue(new ChunkedBody(consumer, bytes, 3));
+
+    assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(KubernetesClientException.class);
+  }
+
+  @Test
+  void collectBodyReturnsRawBytes() {
+    String json = "{\"kind\":\"Status\",\"code\":404}";
+
+    TypedBodyConsumer<Pod> consumer = new TypedBodyConsumer<>(new TypeReference<Pod>() {
+    });
+    byte[] bytes = consumer.collectBody(new ChunkedBody(consumer, json.getBytes(StandardCharsets.UTF_8), 4)).join();
+
+    assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(json);
+  }
+
+  private static Pod pod(String name) {
+    return new PodBuilder().withNewMetadata().withName(name).withNamespace("ns").endMetadata()
+        .withNewSpec().addNewContainer().withName(name).withImage("image").endContainer().endSpec().build();
+  }
+
+}
@@ -19,17 +19,25 @@ package io.fabric8.kubernetes.client.dsl.internal;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.http.AsyncBody;
 import io.fabric8.kubernetes.client.http.HttpClient;
 import io.fabric8.kubernetes.client.http.HttpClient.DerivedClientBuilder;
 import io.fabric8.kubernetes.client.http.HttpResponse;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -63,4 +71,35 @@ class WatchHttpManagerTest {
     assertTrue(reconnect.await(1, TimeUnit.SECONDS));
   }
 
+  @Test
+  void eventsAreSplitFromBytes() throws Exception {
+    HttpClient client = Mockito.mock(HttpClient.class, Mockito.RETURNS_DEEP_STUBS);
+    DerivedClientBuilder builder = Mockito.mock(HttpClient.DerivedClientBuilder.class, Mockito.RETURNS_SELF);
+    Mockito.when(client.newBuilder()).thenReturn(builder);
+    Mockito.when(builder.build()).thenReturn(client);
+    BaseOperation baseOperation = AbstractWatchManagerTest.mockOperation();
+    Mockito.when(baseOperation.getNamespacedUrl()).thenReturn(new URL("http://localhost"));
+    Mockito.when(baseOperation.getType()).thenReturn(Pod.class);
+    Mockito.when(client.consumeBytes(Mockito.any(), Mockito.any())).thenReturn(new CompletableFuture<>());
+    Watcher<Pod> watcher = Mockito.mock(Watcher.class);
+
+    new WatchHTTPManager(client, baseOperation, Mockito.mock(ListOptions.class), watcher, 1, 0);
+    ArgumentCaptor<AsyncBody.Consumer<List<ByteBuffer>>> consumer = ArgumentCaptor.forClass(AsyncBody.Consumer.class);
+    Mockito.verify(client).consumeBytes(Mockito.any(), consumer.capture());
+
+    String first = "{\"type\":\"ADDED\",\"object\":{\"kind\":\"Pod\",\"metadata\":{\"name\":\"a\"}}}\n";
+    // the object may precede the type
+    String second = "{\"object\":{\"kind\":\"Pod\",\"metadata\":{\"name\":\"b\"}},\"type\":\"MODIFIED\"}\n";
+    byte[] bytes = (first + second).getBytes(StandardCharsets.UTF_8);
+    int split = first.length() + 10;
+    AsyncBody body = Mockito.mock(AsyncBody.class);
+    consumer.getValue().consume(Arrays.asList(ByteBuffer.wrap(bytes, 0, 10), ByteBuffer.wrap(bytes, 10, split - 10)), body);
+    consumer.getValue().consume(Collections.singletonList(ByteBuffer.wrap(bytes, split, bytes.length - split)), body);
+
+    Mockito.verify(watcher).eventReceived(Watcher.Action.ADDED,
+        new PodBuilder().withNewMetadata().withName("a").endMetadata().build());
+    Mockito.verify(watcher).eventReceived(Watcher.Action.MODIFIED,
+        new PodBuilder().withNewMetadata().withName("b").endMetadata().build());
+  }
+
 }
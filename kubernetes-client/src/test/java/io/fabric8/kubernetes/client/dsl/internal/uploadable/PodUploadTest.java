@@ -99,8 +99,9 @@ class PodUploadTest {
 
     this.operation = (PodOperationsImpl) new PodOperationsImpl(
         new PodOperationContext(), new OperationContext().withClient(client)).resource(item);
-    when(mockClient.sendAsync(Mockito.any(), Mockito.eq(byte[].class)))
-        .thenReturn(CompletableFuture.completedFuture(TestHttpResponse.from(200, Serialization.asJson(item))));
+    when(mockClient.consumeBytes(Mockito.any(), Mockito.any()))
+        .thenAnswer(invocation -> TestHttpResponse.consume(TestHttpResponse.from(200, Serialization.asJson(item)),
+            invocation.getArgument(1)));
   }
 
   @Test
@@ -15,26 +15,38 @@
  */
 package io.fabric8.kubernetes.client.impl;
 
+import io.fabric8.kubernetes.api.model.APIResource;
 import io.fabric8.kubernetes.api.model.APIResourceList;
 import io.fabric8.kubernetes.api.model.APIResourceListBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.networking.v1.Ingress;
 import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.DiscoveryCache;
 import io.fabric8.kubernetes.client.RequestConfig;
 import io.fabric8.kubernetes.client.dsl.internal.OperationSupport;
 import io.fabric8.kubernetes.client.http.HttpClient;
+import io.fabric8.kubernetes.client.http.HttpResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedConstruction;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class BaseClientTest {
@@ -139,4 +151,99 @@ class BaseClientTest {
     }
   }
 
+  @Test
+  @DisplayName("supports Pod, with discovery cache, should check API server once")
+  void supportsPodWithDiscoveryCache() {
+    final BaseClient cachingClient = newCachingClient(new DiscoveryCache());
+    try (MockedConstruction<OperationSupport> operationSupport = mockConstruction(OperationSupport.class,
+        (mock, ctx) -> when(mock.restCall(APIResourceList.class, "api", "v1"))
+            .thenReturn(new APIResourceListBuilder().addNewResource().withKind("Pod").endResource().build()))) {
+      // When
+      final boolean first = cachingClient.supports(Pod.class);
+      final boolean second = cachingClient.supports(Pod.class);
+      // Then
+      assertThat(first).isTrue();
+      assertThat(second).isTrue();
+      verify(operationSupport.constructed().get(0), times(1)).restCall(APIResourceList.class, "api", "v1");
+    }
+  }
+
+  @Test
+  @DisplayName("supports Ingress, with discovery cache and aggregated discovery, should not request the group version")
+  void supportsIngressWithAggregatedDiscovery() {
+    final BaseClient cachingClient = newCachingClient(new DiscoveryCache());
+    final HttpResponse<byte[]> response = mock(HttpResponse.class);
+    when(response.headers("Content-Type"))
+        .thenReturn(Collections.singletonList("application/json;g=apidiscovery.k8s.io;v=v2beta1;as=APIGroupDiscoveryList"));
+    when(response.body()).thenReturn(("{\"kind\":\"APIGroupDiscoveryList\",\"items\":[{\"metadata\":{\"name\":\"networking.k8s.io\"},"
+        + "\"versions\":[{\"version\":\"v1\",\"resources\":[{\"resource\":\"ingresses\",\"scope\":\"Namespaced\","
+        + "\"responseKind\":{\"group\":\"networking.k8s.io\",\"version\":\"v1\",\"kind\":\"Ingress\"},"
+        + "\"subresources\":[{\"subresource\":\"status\",\"responseKind\":{\"group\":\"networking.k8s.io\","
+        + "\"version\":\"v1\",\"kind\":\"Ingress\"}}]}]}]}]}")
+        .getBytes(StandardCharsets.UTF_8));
+    try (MockedConstruction<OperationSupport> operationSupport = mockConstruction(OperationSupport.class,
+        (mock, ctx) -> when(mock.getRaw(anyString(), eq("/apis"))).thenReturn(response))) {
+      // When
+      final boolean result = cachingClient.supports(Ingress.class);
+      // Then
+      assertThat(result).isTrue();
+      assertThat(cachingClient.hasApiGroup("networking.k8s.io", true)).isTrue();
+      assertThat(cachingClient.getApiResources("networking.k8s.io/v1").getResources())
+          .extracting(APIResource::getName)
+          .containsExactly("ingresses", "ingresses/status");
+      verify(operationSupport.constructed().get(0), never()).restCall(APIResourceList.class, "/apis", "networking.k8s.io/v1");
+    }
+  }
+
+  @Test
+  @DisplayName("supports, with discovery cache and a kind missing from cached resources, should refresh once")
+  void supportsWithDiscoveryCacheRefreshesOnMiss() throws InterruptedException {
+    final DiscoveryCache cache = new DiscoveryCache(DiscoveryCache.DEFAULT_TTL, Duration.ZERO, null);
+    cache.putApiResources("https://localhost:8443", "v1", new APIResourceListBuilder().build());
+    Thread.sleep(2);
+    final BaseClient cachingClient = newCachingClient(cache);
+    try (MockedConstruction<OperationSupport> operationSupport = mockConstruction(OperationSupport.class,
+        (mock, ctx) -> when(mock.restCall(APIResourceList.class, "api", "v1"))
+            .thenReturn(new APIResourceListBuilder().addNewResource().withKind("Pod").endResource().build()))) {
+      // When
+      final boolean result = cachingClient.supports(Pod.class);
+      // Then
+      assertThat(result).isTrue();
+      verify(operationSupport.constructed().get(0), times(1)).restCall(APIResourceList.class, "api", "v1");
+    }
+  }
+
+  @Test
+  @DisplayName("supports, with discovery cache and a kind missing from recently cached resources, should not refresh")
+  void supportsWithDiscoveryCacheDoesNotRefreshRecentOnMiss() {
+    final BaseClient cachingClient = newCachingClient(new DiscoveryCache());
+    try (MockedConstruction<OperationSupport> operationSupport = mockConstruction(OperationSupport.class,
+        (mock, ctx) -> when(mock.restCall(APIResourceList.class, "api", "v1"))
+            .thenReturn(new APIResourceListBuilder().addNewResource().withKind("Pod").endResource().build()))) {
+      // When
+      final boolean first = cachingClient.supports("v1", "Missing");
+      final boolean second = cachingClient.supports("v1", "Missing");
+      // Then
+      assertThat(first).isFalse();
+      assertThat(second).isFalse();
+      verify(operationSupport.constructed().get(0), times(1)).restCall(APIResourceList.class, "api", "v1");
+    }
+  }
+
+  private BaseClient newCachingClient(DiscoveryCache cache) {
+    return new BaseClient(httpClient, new ConfigBuilder(Config.empty()).withMasterUrl("https://localhost:8443").build(),
+        () -> Runnable::run, cache) {
+
+      @Override
+      BaseClient copy() {
+        return this;
+      }
+
+      @Override
+      public Client newClient(RequestConfig requestConfig) {
+        return this;
+      }
+    };
+  }
+
 }
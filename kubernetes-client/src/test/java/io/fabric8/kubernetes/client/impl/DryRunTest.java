@@ -38,7 +38,6 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -58,9 +57,9 @@ class DryRunTest {
     builders = new ArrayList<>();
     this.mockClient = Mockito.mock(HttpClient.class, Mockito.RETURNS_DEEP_STUBS);
     Config config = new ConfigBuilder().withMasterUrl("https://localhost:8443/").build();
-    when(mockClient.sendAsync(any(), Mockito.eq(byte[].class)))
-        .thenReturn(CompletableFuture.completedFuture(TestHttpResponse.from(200,
-            "{\"kind\":\"Pod\", \"apiVersion\":\"v1\"}")));
+    when(mockClient.consumeBytes(any(), any()))
+        .thenAnswer(invocation -> TestHttpResponse.consume(TestHttpResponse.from(200,
+            "{\"kind\":\"Pod\", \"apiVersion\":\"v1\"}"), invocation.getArgument(1)));
     kubernetesClient = new KubernetesClientImpl(mockClient, config);
     Mockito.when(mockClient.newHttpRequestBuilder()).thenAnswer(answer -> {
       HttpRequest.Builder result = Mockito.mock(HttpRequest.Builder.class, Mockito.RETURNS_SELF);
@@ -80,7 +79,7 @@ class DryRunTest {
     // When
     Pod pod = kubernetesClient.pods().inNamespace("ns1").withName("foo").dryRun(false).create(withPod("pod1"));
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("POST", "/api/v1/namespaces/ns1/pods", null);
     assertNotNull(pod);
   }
@@ -90,7 +89,7 @@ class DryRunTest {
     // When
     Pod pod = kubernetesClient.pods().inNamespace("ns1").withName("foo").dryRun(true).create(withPod("pod1"));
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("POST", "/api/v1/namespaces/ns1/pods", "dryRun=All");
     assertNotNull(pod);
   }
@@ -100,7 +99,7 @@ class DryRunTest {
     // When
     Pod pod = kubernetesClient.pods().inNamespace("ns1").withName("foo").dryRun().create(withPod("pod1"));
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("POST", "/api/v1/namespaces/ns1/pods", "dryRun=All");
     assertNotNull(pod);
   }
@@ -110,7 +109,7 @@ class DryRunTest {
     // When
     Pod pod = kubernetesClient.pods().inNamespace("ns1").dryRun().createOrReplace(withPod("pod1"));
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertNotNull(pod);
     assertRequest("POST", "/api/v1/namespaces/ns1/pods", "dryRun=All");
   }
@@ -120,7 +119,7 @@ class DryRunTest {
     // When
     kubernetesClient.pods().inNamespace("ns1").withName("pod1").dryRun().patch(withPod("pod1"));
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest(1, "PATCH", "/api/v1/namespaces/ns1/pods/pod1", "dryRun=All");
   }
 
@@ -129,7 +128,7 @@ class DryRunTest {
     // When
     kubernetesClient.pods().inNamespace("ns1").withName("pod-replace").dryRun().replace(withPod("pod-replace"));
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest(1, "PUT", "/api/v1/namespaces/ns1/pods/pod-replace", "dryRun=All");
   }
 
@@ -139,7 +138,7 @@ class DryRunTest {
     kubernetesClient.pods().inNamespace("ns1").withName("pod1").dryRun().withPropagationPolicy(DeletionPropagation.BACKGROUND)
         .delete();
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("DELETE", "/api/v1/namespaces/ns1/pods/pod1", "dryRun=All");
   }
 
@@ -148,7 +147,7 @@ class DryRunTest {
     // When
     kubernetesClient.resource(withPod("pod1")).inNamespace("ns1").dryRun().createOrReplace();
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("POST", "/api/v1/namespaces/ns1/pods", "dryRun=All");
   }
 
@@ -158,7 +157,7 @@ class DryRunTest {
     kubernetesClient.resource(withPod("pod1")).inNamespace("ns1").dryRun().withPropagationPolicy(DeletionPropagation.BACKGROUND)
         .delete();
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("DELETE", "/api/v1/namespaces/ns1/pods/pod1", "dryRun=All");
   }
 
@@ -170,7 +169,7 @@ class DryRunTest {
     // When
     kubernetesClient.resourceList(pod, svc).inNamespace("ns1").dryRun().createOrReplace();
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest("POST", "/api/v1/namespaces/ns1/pods", "dryRun=All");
     assertRequest(1, "POST", "/api/v1/namespaces/ns1/services", "dryRun=All");
   }
@@ -186,7 +185,7 @@ class DryRunTest {
         .delete();
 
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest("DELETE", "/api/v1/namespaces/ns1/pods/pod1", "dryRun=All");
     assertRequest(1, "DELETE", "/api/v1/namespaces/ns1/services/svc1", "dryRun=All");
   }
@@ -196,7 +195,7 @@ class DryRunTest {
     // When
     Pod pod = kubernetesClient.resource(withPod("pod1")).fieldValidation(Validation.WARN).create();
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("POST", "/api/v1/namespaces/default/pods", "fieldValidation=Warn");
 
     assertNotNull(pod);
@@ -207,7 +206,7 @@ class DryRunTest {
     // When
     kubernetesClient.resourceList(withPod("pod1")).fieldValidation(Validation.IGNORE).create();
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("POST", "/api/v1/namespaces/default/pods", "fieldValidation=Ignore");
   }
 
@@ -216,7 +215,7 @@ class DryRunTest {
     // When
     kubernetesClient.resource(withPod("pod1")).fieldValidation(Validation.STRICT).patch();
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest(1, "PATCH", "/api/v1/namespaces/default/pods/pod1", "fieldValidation=Strict");
   }
 
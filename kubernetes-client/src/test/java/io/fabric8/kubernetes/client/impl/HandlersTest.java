@@ -15,9 +15,12 @@
  */
 package io.fabric8.kubernetes.client.impl;
 
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.client.Client;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.dsl.internal.HasMetadataOperation;
 import io.fabric8.kubernetes.client.dsl.internal.HasMetadataOperationsImpl;
@@ -27,6 +30,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class HandlersTest {
 
@@ -56,4 +61,28 @@ public class HandlersTest {
 
     assertThat(handlers.get(new MyPod(), null).operation(mock, null), Matchers.instanceOf(HasMetadataOperationsImpl.class));
   }
+
+  @Test
+  public void testBuiltInDefinitionWithoutClient() {
+    Handlers handlers = new Handlers();
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setApiVersion("apps/v1");
+    resource.setKind("Deployment");
+
+    ResourceDefinitionContext rdc = handlers.getResourceDefinitionContext(resource, null);
+
+    assertEquals(ResourceDefinitionContext.fromResourceType(Deployment.class).getPlural(), rdc.getPlural());
+    assertEquals("apps", rdc.getGroup());
+    assertEquals("v1", rdc.getVersion());
+  }
+
+  @Test
+  public void testUnknownDefinitionWithoutClient() {
+    Handlers handlers = new Handlers();
+    GenericKubernetesResource resource = new GenericKubernetesResource();
+    resource.setApiVersion("example.com/v1");
+    resource.setKind("Unknown");
+
+    assertNull(handlers.getResourceDefinitionContext(resource, null));
+  }
 }
@@ -40,7 +40,6 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -59,8 +58,8 @@ class PatchTest {
     // TODO: fully mocking makes this logic more difficult and basically copied in other tests, we may want to rely on an actual implementation instead
     builders = new ArrayList<>();
     this.mockClient = Mockito.mock(HttpClient.class, Mockito.RETURNS_DEEP_STUBS);
-    when(mockClient.sendAsync(any(), Mockito.eq(byte[].class)))
-        .thenReturn(CompletableFuture.completedFuture(TestHttpResponse.from(200, "{}")));
+    when(mockClient.consumeBytes(any(), any()))
+        .thenAnswer(invocation -> TestHttpResponse.consume(TestHttpResponse.from(200, "{}"), invocation.getArgument(1)));
     Config config = new ConfigBuilder().withMasterUrl("https://localhost:8443/").build();
     kubernetesClient = new KubernetesClientImpl(mockClient, config);
     when(mockClient.newHttpRequestBuilder()).thenAnswer(answer -> {
@@ -80,7 +79,7 @@ class PatchTest {
         .patch("{\"metadata\":{\"annotations\":{\"bob\":\"martin\"}}}");
 
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest("GET", "/api/v1/namespaces/ns1/pods/foo", null);
     assertRequest(1, "PATCH", "/api/v1/namespaces/ns1/pods/foo", null, OperationSupport.STRATEGIC_MERGE_JSON_PATCH);
   }
@@ -97,7 +96,7 @@ class PatchTest {
         .patch(patchContext, "{\"metadata\":{\"annotations\":{\"bob\":\"martin\"}}}");
 
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest("GET", "/api/v1/namespaces/ns1/pods/foo", null);
     assertRequest(1, "PATCH", "/api/v1/namespaces/ns1/pods/foo", null, OperationSupport.JSON_MERGE_PATCH);
   }
@@ -110,7 +109,7 @@ class PatchTest {
     kubernetesClient.pods().inNamespace("ns1").withName("foo").patch("metadata:\n  annotations:\n    bob: martin");
 
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest("GET", "/api/v1/namespaces/ns1/pods/foo", null);
     assertRequest(1, "PATCH", "/api/v1/namespaces/ns1/pods/foo", null, OperationSupport.STRATEGIC_MERGE_JSON_PATCH);
   }
@@ -118,8 +117,9 @@ class PatchTest {
   @Test
   void testPatchThrowExceptionWhenResourceNotFound() {
     // Given
-    when(mockClient.sendAsync(any(), Mockito.eq(byte[].class)))
-        .thenReturn(CompletableFuture.completedFuture(new TestHttpResponse<byte[]>().withCode(404)));
+    when(mockClient.consumeBytes(any(), any()))
+        .thenAnswer(invocation -> TestHttpResponse.consume(new TestHttpResponse<byte[]>().withCode(404),
+            invocation.getArgument(1)));
 
     // When
     PodResource podResource = kubernetesClient.pods()
@@ -129,7 +129,7 @@ class PatchTest {
         () -> podResource.patch("{\"metadata\":{\"annotations\":{\"bob\":\"martin\"}}}"));
 
     // Then
-    verify(mockClient).sendAsync(any(), any());
+    verify(mockClient).consumeBytes(any(), any());
     assertRequest("GET", "/api/v1/namespaces/ns1/pods/foo", null);
     assertEquals(HttpURLConnection.HTTP_NOT_FOUND, e.getCode());
   }
@@ -145,7 +145,7 @@ class PatchTest {
             "[{\"op\": \"replace\", \"path\":\"/spec/containers/0/image\", \"value\":\"foo/gb-frontend:v4\"}]");
 
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest("GET", "/api/v1/namespaces/ns1/pods/foo", null);
     assertRequest(1, "PATCH", "/api/v1/namespaces/ns1/pods/foo", null, OperationSupport.JSON_PATCH);
   }
@@ -162,7 +162,7 @@ class PatchTest {
             .build(), "{\"metadata\":{\"annotations\":{\"bob\":\"martin\"}}}");
 
     // Then
-    verify(mockClient, times(2)).sendAsync(any(), any());
+    verify(mockClient, times(2)).consumeBytes(any(), any());
     assertRequest("GET", "/api/v1/namespaces/ns1/pods/foo", null);
     assertRequest(1, "PATCH", "/api/v1/namespaces/ns1/pods/foo", "fieldManager=fabric8&dryRun=All",
         OperationSupport.STRATEGIC_MERGE_JSON_PATCH);
@@ -178,7 +178,7 @@ class PatchTest {
         .fieldManager("x").forceConflicts().serverSideApply();
 
     // Then
-    verify(mockClient, times(1)).sendAsync(any(), any());
+    verify(mockClient, times(1)).consumeBytes(any(), any());
     assertRequest(0, "PATCH", "/api/v1/namespaces/ns1/pods/pod1", "fieldManager=x&force=true",
         PatchType.SERVER_SIDE_APPLY.getContentType());
   }
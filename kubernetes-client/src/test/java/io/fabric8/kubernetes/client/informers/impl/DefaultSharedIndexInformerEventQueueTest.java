@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.impl;
+
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.dsl.internal.AbstractWatchManager;
+import io.fabric8.kubernetes.client.informers.OverflowPolicy;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultSharedIndexInformerEventQueueTest {
+  private abstract static class AbstractPodListerWatcher implements ListerWatcher<Pod, PodList> {
+  };
+
+  private final ListerWatcher<Pod, PodList> listerWatcher = Mockito.mock(AbstractPodListerWatcher.class,
+      Mockito.RETURNS_DEEP_STUBS);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ExecutorService executor;
+  private DefaultSharedIndexInformer<Pod, PodList> informer;
+
+  @BeforeEach
+  void beforeEach() {
+    executor = Executors.newCachedThreadPool();
+    informer = new DefaultSharedIndexInformer<>(Pod.class, listerWatcher, 0, executor);
+    Mockito.doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(listerWatcher).submitWatch(Mockito.any(), Mockito.any());
+    Mockito.when(listerWatcher.submitList(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+      Consumer<Pod> items = invocation.getArgument(1);
+      for (int i = 0; i < 3; i++) {
+        items.accept(new PodBuilder().withNewMetadata().withNamespace("ns").withName("pod" + i)
+            .withResourceVersion("1").endMetadata().build());
+      }
+      return CompletableFuture.completedFuture(new ListMeta());
+    });
+  }
+
+  @AfterEach
+  void afterEach() {
+    release.countDown();
+    informer.stop();
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("batched delivery applies to handlers added before it, a blocked handler does not delay the others")
+  void batchedDeliveryAppliesToExistingHandlers() throws Exception {
+    CountDownLatch received = new CountDownLatch(3);
+    informer.addEventHandler(new BlockingHandler());
+    informer.addEventHandler(new BlockingHandler() {
+      @Override
+      public void onAdd(Pod obj) {
+        received.countDown();
+      }
+    });
+
+    informer.batchedEventDelivery(true);
+    informer.start();
+
+    assertThat(received.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("event queue bounds apply to handlers added before them")
+  void eventQueueAppliesToExistingHandlers() throws Exception {
+    BlockingHandler handler = new BlockingHandler();
+    informer.addEventHandler(handler);
+
+    informer.eventQueue(1, OverflowPolicy.DROP_AND_RESYNC);
+    informer.start().get(10, TimeUnit.SECONDS);
+
+    assertThat(informer.getEventQueueDepths().get(handler)).isLessThanOrEqualTo(1);
+  }
+
+  private class BlockingHandler implements ResourceEventHandler<Pod> {
+
+    @Override
+    public void onAdd(Pod obj) {
+      await();
+    }
+
+    @Override
+    public void onUpdate(Pod oldObj, Pod newObj) {
+      await();
+    }
+
+    @Override
+    public void onDelete(Pod obj, boolean deletedFinalStateUnknown) {
+      await();
+    }
+
+    private void await() {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+}
@@ -51,11 +51,11 @@ class DefaultSharedIndexInformerResyncTest {
 
   @BeforeEach
   void beforeEach() {
-    Mockito.when(listerWatcher.submitWatch(Mockito.any(), Mockito.any()))
-        .thenReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)));
+    Mockito.doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(listerWatcher).submitWatch(Mockito.any(), Mockito.any());
     PodList result = new PodListBuilder().withNewMetadata().endMetadata().build();
-    Mockito.when(listerWatcher.submitList(Mockito.any()))
-        .thenReturn(CompletableFuture.completedFuture(result));
+    Mockito.when(listerWatcher.submitList(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(result.getMetadata()));
   }
 
   @AfterEach
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.impl;
+
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ListMetaBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.internal.AbstractWatchManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedWatchListerWatcherTest {
+  private abstract static class AbstractPodListerWatcher implements ListerWatcher<Pod, PodList> {
+  };
+
+  private final ListerWatcher<Pod, PodList> sourceListerWatcher = Mockito.mock(AbstractPodListerWatcher.class,
+      Mockito.RETURNS_DEEP_STUBS);
+  private final List<String> sourceNamespaces = new ArrayList<>();
+  private SharedWatchListerWatcher.Group<Pod> group;
+
+  private static Pod pod(String namespace, String name, String resourceVersion) {
+    return new PodBuilder().withNewMetadata()
+        .withNamespace(namespace)
+        .withName(name)
+        .withResourceVersion(resourceVersion)
+        .endMetadata()
+        .build();
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    Mockito.doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(sourceListerWatcher).submitWatch(Mockito.any(), Mockito.any());
+    Mockito.when(sourceListerWatcher.submitList(Mockito.any(), Mockito.any(), Mockito.any())).then(invocation -> {
+      Consumer<Pod> items = invocation.getArgument(1);
+      items.accept(pod("a", "p1", "1"));
+      items.accept(pod("b", "p2", "1"));
+      return CompletableFuture.completedFuture(new ListMetaBuilder().withResourceVersion("1").build());
+    });
+    group = new SharedWatchListerWatcher.Group<>(namespace -> {
+      sourceNamespaces.add(namespace);
+      return new DefaultSharedIndexInformer<>(Pod.class, sourceListerWatcher, 0, Runnable::run);
+    });
+  }
+
+  private ListerWatcher<Pod, PodList> ownListerWatcher() {
+    ListerWatcher<Pod, PodList> result = Mockito.mock(AbstractPodListerWatcher.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(result).submitWatch(Mockito.any(), Mockito.any());
+    Mockito.when(result.submitList(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(new ListMeta()));
+    return result;
+  }
+
+  @Test
+  void overlappingInformersShareOneWatch() {
+    ListerWatcher<Pod, PodList> ownA = ownListerWatcher();
+    ListerWatcher<Pod, PodList> ownB = ownListerWatcher();
+    DefaultSharedIndexInformer<Pod, PodList> informerA = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownA, "a", null), 0, Runnable::run);
+    DefaultSharedIndexInformer<Pod, PodList> informerB = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownB, "b", null), 0, Runnable::run);
+
+    informerA.run();
+    informerB.run();
+
+    // a single watch for all namespaces
+    assertThat(sourceNamespaces).containsExactly((String) null);
+    ArgumentCaptor<Watcher<Pod>> watcher = ArgumentCaptor.forClass(Watcher.class);
+    Mockito.verify(sourceListerWatcher).submitWatch(Mockito.any(), watcher.capture());
+    Mockito.verify(ownA, Mockito.never()).submitList(Mockito.any(), Mockito.any(), Mockito.any());
+    Mockito.verify(ownB, Mockito.never()).submitWatch(Mockito.any(), Mockito.any());
+    assertThat(informerA.getStore().listKeys()).containsExactly("a/p1");
+    assertThat(informerB.getStore().listKeys()).containsExactly("b/p2");
+    assertThat(informerA.hasSynced()).isTrue();
+
+    // events are filtered into each view
+    watcher.getValue().eventReceived(Watcher.Action.ADDED, pod("a", "p3", "2"));
+    watcher.getValue().eventReceived(Watcher.Action.DELETED, pod("a", "p1", "3"));
+    watcher.getValue().eventReceived(Watcher.Action.MODIFIED, pod("b", "p2", "4"));
+
+    assertThat(informerA.getStore().listKeys()).containsExactly("a/p3");
+    assertThat(informerB.getStore().getByKey("b/p2").getMetadata().getResourceVersion()).isEqualTo("4");
+
+    // a stopped view no longer receives events
+    informerA.stop();
+    watcher.getValue().eventReceived(Watcher.Action.ADDED, pod("a", "p4", "5"));
+    assertThat(informerA.getStore().getByKey("a/p4")).isNull();
+
+    informerB.stop();
+    group.stop();
+  }
+
+  @Test
+  void commonNamespaceIsWatchedAndUncoveredInformersUseTheirOwnWatch() {
+    ListerWatcher<Pod, PodList> ownA1 = ownListerWatcher();
+    ListerWatcher<Pod, PodList> ownA2 = ownListerWatcher();
+    DefaultSharedIndexInformer<Pod, PodList> informerA1 = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownA1, "a", null), 0, Runnable::run);
+    DefaultSharedIndexInformer<Pod, PodList> informerA2 = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownA2, "a", "p1"), 0, Runnable::run);
+
+    informerA1.run();
+    ListerWatcher<Pod, PodList> ownB = ownListerWatcher();
+    DefaultSharedIndexInformer<Pod, PodList> informerB = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownB, "b", null), 0, Runnable::run);
+    informerA2.run();
+    informerB.run();
+
+    assertThat(sourceNamespaces).containsExactly("a");
+    assertThat(informerA2.getStore().listKeys()).containsExactly("a/p1");
+    Mockito.verify(ownA2, Mockito.never()).submitList(Mockito.any(), Mockito.any(), Mockito.any());
+    // registered after the sharing was decided and not covered by the namespace
+    Mockito.verify(ownB).submitList(Mockito.any(), Mockito.any(), Mockito.any());
+    Mockito.verify(ownB).submitWatch(Mockito.any(), Mockito.any());
+
+    informerA1.stop();
+    informerA2.stop();
+    informerB.stop();
+    group.stop();
+  }
+
+  @Test
+  void informersStartedAfterAStopShareANewWatch() {
+    DefaultSharedIndexInformer<Pod, PodList> informerA = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownListerWatcher(), "a", null), 0, Runnable::run);
+    DefaultSharedIndexInformer<Pod, PodList> informerB = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownListerWatcher(), "b", null), 0, Runnable::run);
+    informerA.run();
+    informerB.run();
+    informerA.stop();
+    informerB.stop();
+    group.stop();
+
+    ListerWatcher<Pod, PodList> ownA = ownListerWatcher();
+    DefaultSharedIndexInformer<Pod, PodList> restartedA = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownA, "a", null), 0, Runnable::run);
+    DefaultSharedIndexInformer<Pod, PodList> restartedB = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, ownListerWatcher(), "b", null), 0, Runnable::run);
+    restartedA.run();
+    restartedB.run();
+
+    // a new backing informer rather than the stopped one
+    assertThat(sourceNamespaces).containsExactly(null, null);
+    ArgumentCaptor<Watcher<Pod>> watcher = ArgumentCaptor.forClass(Watcher.class);
+    Mockito.verify(sourceListerWatcher, Mockito.times(2)).submitWatch(Mockito.any(), watcher.capture());
+    Mockito.verify(ownA, Mockito.never()).submitList(Mockito.any(), Mockito.any(), Mockito.any());
+    assertThat(restartedA.getStore().listKeys()).containsExactly("a/p1");
+    assertThat(restartedA.hasSynced()).isTrue();
+
+    watcher.getValue().eventReceived(Watcher.Action.ADDED, pod("a", "p3", "2"));
+    assertThat(restartedA.getStore().listKeys()).containsExactlyInAnyOrder("a/p1", "a/p3");
+
+    restartedA.stop();
+    restartedB.stop();
+    group.stop();
+  }
+
+  @Test
+  void singleInformerUsesItsOwnWatch() {
+    ListerWatcher<Pod, PodList> own = ownListerWatcher();
+    DefaultSharedIndexInformer<Pod, PodList> informer = new DefaultSharedIndexInformer<>(Pod.class,
+        new SharedWatchListerWatcher<>(group, own, "a", null), 0, Runnable::run);
+
+    informer.run();
+
+    assertThat(sourceNamespaces).isEmpty();
+    Mockito.verify(own).submitList(Mockito.any(), Mockito.any(), Mockito.any());
+    Mockito.verify(own).submitWatch(Mockito.any(), Mockito.any());
+
+    informer.stop();
+    group.stop();
+  }
+
+}
@@ -17,18 +17,27 @@ package io.fabric8.kubernetes.client.informers.impl.cache;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.informers.cache.BasicItemStore;
 import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.IndexMode;
+import io.fabric8.kubernetes.client.informers.cache.RelistMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CacheTest {
 
@@ -149,6 +158,91 @@ class CacheTest {
     assertEquals(1, clusterNameIndexedPods.size());
   }
 
+  @ParameterizedTest
+  @EnumSource(IndexMode.class)
+  void testIndexModes(IndexMode indexMode) {
+    CacheImpl<Pod> podCache = new CacheImpl<>();
+    podCache.setIndexMode(indexMode);
+    String nodeIndex = "node-index";
+    podCache.addIndexers(Collections.singletonMap(nodeIndex, pod -> Collections.singletonList(pod.getSpec().getNodeName())));
+
+    Pod testPod = new PodBuilder()
+        .withNewMetadata().withNamespace("test").withName("test-pod").withResourceVersion("1").endMetadata()
+        .withNewSpec().withNodeName("test-node").endSpec()
+        .build();
+    podCache.put(testPod);
+
+    Pod movedPod = new PodBuilder(testPod)
+        .editMetadata().withResourceVersion("2").endMetadata()
+        .editSpec().withNodeName("other-node").endSpec()
+        .build();
+    podCache.put(movedPod);
+
+    assertEquals(Collections.singletonList(movedPod), podCache.byIndex(Cache.NAMESPACE_INDEX, "test"));
+    assertEquals(Collections.singletonList(movedPod), podCache.byIndex(nodeIndex, "other-node"));
+    assertEquals(Collections.singletonList(movedPod), podCache.index(nodeIndex, movedPod));
+    assertEquals(Collections.singletonList("test/test-pod"), podCache.indexKeys(nodeIndex, "other-node"));
+    assertTrue(podCache.byIndex(nodeIndex, "test-node").isEmpty());
+    assertTrue(podCache.indexKeys(nodeIndex, "test-node").isEmpty());
+
+    Map<String, String> indexKeys = new HashMap<>();
+    indexKeys.put(Cache.NAMESPACE_INDEX, "test");
+    indexKeys.put(nodeIndex, "other-node");
+    assertEquals(Collections.singletonList(movedPod), podCache.byIndexes(indexKeys));
+    indexKeys.put(nodeIndex, "test-node");
+    assertTrue(podCache.byIndexes(indexKeys).isEmpty());
+
+    podCache.remove(movedPod);
+    assertTrue(podCache.byIndex(Cache.NAMESPACE_INDEX, "test").isEmpty());
+    assertTrue(podCache.index(nodeIndex, movedPod).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> podCache.byIndex("missing", "test"));
+  }
+
+  @Test
+  void testSetIndexModeRebuildsIndexes() {
+    CacheImpl<Pod> podCache = new CacheImpl<>();
+    Pod testPod = new PodBuilder().withNewMetadata().withNamespace("test").withName("test-pod").endMetadata().build();
+    podCache.put(testPod);
+
+    podCache.setIndexMode(IndexMode.CONCURRENT);
+
+    assertEquals(IndexMode.CONCURRENT, podCache.getIndexMode());
+    assertEquals(Collections.singletonList(testPod), podCache.byIndex(Cache.NAMESPACE_INDEX, "test"));
+  }
+
+  @Test
+  void testRemoveUnsyncedNotifiesWithoutHoldingTheMonitor() throws Exception {
+    CacheImpl<Pod> podCache = new CacheImpl<>();
+    podCache.setRelistMode(RelistMode.SYNC_GENERATION);
+    Pod kept = new PodBuilder().withNewMetadata().withNamespace("test").withName("kept").endMetadata().build();
+    Pod removed = new PodBuilder().withNewMetadata().withNamespace("test").withName("removed").endMetadata().build();
+    podCache.put(kept);
+    podCache.put(removed);
+
+    podCache.startSyncGeneration();
+    podCache.put(kept);
+    List<Pod> notified = new ArrayList<>();
+    podCache.removeUnsynced(pod -> {
+      // a handler blocked here must not block readers of the cache
+      CompletableFuture<List<Pod>> read = CompletableFuture
+          .supplyAsync(() -> podCache.byIndex(Cache.NAMESPACE_INDEX, "test"));
+      assertEquals(Collections.singletonList(kept), read.join());
+      notified.add(pod);
+    });
+
+    assertEquals(Collections.singletonList(removed), notified);
+    assertEquals(Collections.singletonList("test/kept"), podCache.listKeys());
+  }
+
+  @Test
+  void testSyncGenerationRequiresTheDefaultItemStore() {
+    CacheImpl<Pod> podCache = new CacheImpl<>();
+    podCache.setItemStore(new BasicItemStore<Pod>(Cache::metaNamespaceKeyFunc) {
+    });
+
+    assertThrows(IllegalStateException.class, () -> podCache.setRelistMode(RelistMode.SYNC_GENERATION));
+  }
+
   private static List<String> mockIndexFunction(Object obj) {
     if (obj == null) {
       return Collections.singletonList("null");
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.fabric8.kubernetes.client.informers.impl.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactKeySetTest {
+
+  @Test
+  void testAddRemove() {
+    KeyDictionary dictionary = new KeyDictionary();
+    CompactKeySet set = new CompactKeySet(dictionary);
+
+    assertTrue(set.add("ns/a"));
+    assertFalse(set.add("ns/a"));
+    assertTrue(set.add("ns/b"));
+    assertTrue(set.contains("ns/a"));
+    assertFalse(set.contains("ns/c"));
+    assertEquals(2, set.size());
+
+    assertTrue(set.remove("ns/a"));
+    assertFalse(set.remove("ns/a"));
+    assertFalse(set.contains("ns/a"));
+    assertEquals(1, dictionary.size());
+  }
+
+  @Test
+  void testSharedDictionaryReleasesUnreferencedKeys() {
+    KeyDictionary dictionary = new KeyDictionary();
+    CompactKeySet first = new CompactKeySet(dictionary);
+    CompactKeySet second = new CompactKeySet(dictionary);
+
+    first.add("ns/a");
+    second.add("ns/a");
+    assertEquals(1, dictionary.size());
+
+    first.remove("ns/a");
+    assertEquals(1, dictionary.size());
+    assertTrue(second.contains("ns/a"));
+
+    second.remove("ns/a");
+    assertEquals(0, dictionary.size());
+    assertEquals(-1, dictionary.idOf("ns/a"));
+  }
+
+  @Test
+  void testRetainedIn() {
+    KeyDictionary dictionary = new KeyDictionary();
+    CompactKeySet first = new CompactKeySet(dictionary);
+    CompactKeySet second = new CompactKeySet(dictionary);
+    CompactKeySet third = new CompactKeySet(dictionary);
+    first.addAll(Arrays.asList("ns/a", "ns/b", "ns/c"));
+    second.addAll(Arrays.asList("ns/b", "ns/c", "ns/d"));
+    third.addAll(Arrays.asList("ns/c", "ns/d"));
+
+    assertEquals(new HashSet<>(Arrays.asList("ns/b", "ns/c")),
+        new HashSet<>(first.retainedIn(Collections.singletonList(second))));
+    assertEquals(Collections.singletonList("ns/c"), first.retainedIn(Arrays.asList(second, third)));
+    assertEquals(new HashSet<>(first), new HashSet<>(first.retainedIn(Collections.emptyList())));
+  }
+
+  @Test
+  void testRandomOperationsMatchHashSet() {
+    KeyDictionary dictionary = new KeyDictionary();
+    CompactKeySet set = new CompactKeySet(dictionary);
+    Set<String> expected = new HashSet<>();
+    Random random = new Random(0);
+
+    for (int i = 0; i < 20000; i++) {
+      String key = "ns/pod-" + random.nextInt(500);
+      if (random.nextBoolean()) {
+        assertEquals(expected.add(key), set.add(key));
+      } else {
+        assertEquals(expected.remove(key), set.remove(key));
+      }
+    }
+
+    assertEquals(expected, set);
+    assertEquals(expected.size(), dictionary.size());
+  }
+
+}
@@ -22,13 +22,17 @@ import io.fabric8.kubernetes.client.informers.impl.cache.ProcessorListener.AddNo
 import io.fabric8.kubernetes.client.informers.impl.cache.ProcessorListener.DeleteNotification;
 import io.fabric8.kubernetes.client.informers.impl.cache.ProcessorListener.Notification;
 import io.fabric8.kubernetes.client.informers.impl.cache.ProcessorListener.UpdateNotification;
+import io.fabric8.kubernetes.client.informers.cache.RelistMode;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -118,4 +122,53 @@ class ProcessorStoreTest {
     assertTrue(syncCaptor.getAllValues().subList(4, 6).stream().allMatch(s -> !s.booleanValue()));
   }
 
+  @ParameterizedTest
+  @EnumSource(RelistMode.class)
+  void testListSyncEvents(RelistMode relistMode) {
+    ArgumentCaptor<Notification<Pod>> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
+    CacheImpl<Pod> podCache = new CacheImpl<>();
+    podCache.setRelistMode(relistMode);
+    SharedProcessor<Pod> processor = Mockito.mock(SharedProcessor.class);
+
+    ProcessorStore<Pod> processorStore = new ProcessorStore<>(podCache, processor);
+
+    Pod pod = new PodBuilder().withNewMetadata().withName("pod1").withResourceVersion("1").endMetadata().build();
+    Pod pod2 = new PodBuilder().withNewMetadata().withName("pod2").withResourceVersion("2").endMetadata().build();
+
+    // initial list - the adds are deferred until the sync completes
+    processorStore.startSync();
+    processorStore.update(pod);
+    processorStore.update(pod2);
+    processorStore.endSync();
+
+    // relist without pod1
+    processorStore.startSync();
+    processorStore.update(pod2);
+    processorStore.endSync();
+
+    assertThat(podCache.listKeys()).containsExactly("pod2");
+
+    // relist with nothing
+    processorStore.startSync();
+    processorStore.endSync();
+
+    assertThat(podCache.list()).isEmpty();
+
+    // relist with nothing again
+    processorStore.startSync();
+    processorStore.endSync();
+
+    Mockito.verify(processor, Mockito.times(4)).distribute(notificationCaptor.capture(), Mockito.anyBoolean());
+    Mockito.verify(processor, Mockito.times(1)).distribute(Mockito.any(Consumer.class), Mockito.anyBoolean());
+
+    List<Notification<Pod>> notifications = notificationCaptor.getAllValues();
+
+    assertThat(notifications.get(0)).isInstanceOf(AddNotification.class);
+    assertThat(notifications.get(1)).isInstanceOf(AddNotification.class);
+    assertThat(notifications.get(2)).isInstanceOf(DeleteNotification.class);
+    assertThat(notifications.get(2).getOldObject()).isEqualTo(pod);
+    assertThat(notifications.get(3)).isInstanceOf(DeleteNotification.class);
+    assertThat(notifications.get(3).getOldObject()).isEqualTo(pod2);
+  }
+
 }
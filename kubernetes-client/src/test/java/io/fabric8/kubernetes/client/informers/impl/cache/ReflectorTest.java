@@ -16,23 +16,34 @@
 
 package io.fabric8.kubernetes.client.informers.impl.cache;
 
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ListMetaBuilder;
+import io.fabric8.kubernetes.api.model.ListOptions;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.PodListBuilder;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.WatcherException;
 import io.fabric8.kubernetes.client.dsl.internal.AbstractWatchManager;
+import io.fabric8.kubernetes.client.informers.InformerMetrics;
 import io.fabric8.kubernetes.client.informers.impl.ListerWatcher;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.exceptions.verification.TooFewActualInvocations;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.atLeast;
@@ -43,7 +54,8 @@ class ReflectorTest {
   void testStateFlags() {
     ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
     PodList list = new PodListBuilder().withNewMetadata().withResourceVersion("1").endMetadata().build();
-    Mockito.when(mock.submitList(Mockito.any())).thenReturn(CompletableFuture.completedFuture(list));
+    Mockito.when(mock.submitList(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(list.getMetadata()));
 
     SyncableStore<Pod> mockStore = Mockito.mock(SyncableStore.class);
     Reflector<Pod, PodList> reflector = new Reflector<Pod, PodList>(mock, mockStore) {
@@ -58,9 +70,9 @@ class ReflectorTest {
     assertFalse(reflector.isStopped());
 
     // throw an exception, then watch normally
-    Mockito.when(mock.submitWatch(Mockito.any(), Mockito.any()))
-        .thenThrow(new KubernetesClientException("error"))
-        .thenReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)));
+    Mockito.doThrow(new KubernetesClientException("error"))
+        .doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(mock).submitWatch(Mockito.any(), Mockito.any());
 
     CompletableFuture<Void> future = reflector.start();
 
@@ -90,7 +102,8 @@ class ReflectorTest {
   void testNotRunningAfterStartError() {
     ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
     PodList list = new PodListBuilder().withNewMetadata().withResourceVersion("1").endMetadata().build();
-    Mockito.when(mock.submitList(Mockito.any())).thenReturn(CompletableFuture.completedFuture(list));
+    Mockito.when(mock.submitList(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(list.getMetadata()));
 
     Reflector<Pod, PodList> reflector = new Reflector<Pod, PodList>(mock, Mockito.mock(SyncableStore.class));
 
@@ -110,12 +123,13 @@ class ReflectorTest {
   void testNonHttpGone() {
     ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
     PodList list = new PodListBuilder().withNewMetadata().withResourceVersion("1").endMetadata().build();
-    Mockito.when(mock.submitList(Mockito.any())).thenReturn(CompletableFuture.completedFuture(list));
+    Mockito.when(mock.submitList(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(list.getMetadata()));
 
     Reflector<Pod, PodList> reflector = new Reflector<>(mock, Mockito.mock(SyncableStore.class));
 
-    Mockito.when(mock.submitWatch(Mockito.any(), Mockito.any()))
-        .thenReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)));
+    Mockito.doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(mock).submitWatch(Mockito.any(), Mockito.any());
 
     reflector.start();
 
@@ -132,14 +146,15 @@ class ReflectorTest {
   void testTimeout() {
     ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
     PodList list = new PodListBuilder().withNewMetadata().withResourceVersion("1").endMetadata().build();
-    Mockito.when(mock.submitList(Mockito.any())).thenReturn(CompletableFuture.completedFuture(list));
+    Mockito.when(mock.submitList(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(list.getMetadata()));
 
     Reflector<Pod, PodList> reflector = new Reflector<>(mock, Mockito.mock(SyncableStore.class));
     reflector.setMinTimeout(1);
 
     AbstractWatchManager manager = Mockito.mock(AbstractWatchManager.class);
-    Mockito.when(mock.submitWatch(Mockito.any(), Mockito.any()))
-        .thenReturn(CompletableFuture.completedFuture(manager));
+    Mockito.doReturn(CompletableFuture.completedFuture(manager))
+        .when(mock).submitWatch(Mockito.any(), Mockito.any());
 
     reflector.start();
 
@@ -156,4 +171,136 @@ class ReflectorTest {
     });
   }
 
+  @Test
+  void testListedItemsAppliedToStore() {
+    ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
+    PodList list = new PodListBuilder().withNewMetadata().withResourceVersion("2").endMetadata()
+        .addToItems(new PodBuilder().withNewMetadata().withName("a").withNamespace("ns").endMetadata().build())
+        .build();
+    Mockito.when(mock.submitList(Mockito.any(), Mockito.any(), Mockito.any())).then(invocation -> {
+      Consumer<Pod> consumer = invocation.getArgument(1);
+      list.getItems().forEach(consumer);
+      return CompletableFuture.completedFuture(list.getMetadata());
+    });
+    Mockito.doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(mock).submitWatch(Mockito.any(), Mockito.any());
+
+    SyncableStore<Pod> mockStore = Mockito.mock(SyncableStore.class);
+    Reflector<Pod, PodList> reflector = new Reflector<>(mock, mockStore);
+
+    reflector.start().join();
+
+    InOrder inOrder = Mockito.inOrder(mockStore);
+    inOrder.verify(mockStore).startSync();
+    inOrder.verify(mockStore).update(list.getItems().get(0));
+    inOrder.verify(mockStore).endSync();
+    assertEquals("2", reflector.getLastSyncResourceVersion());
+    reflector.stop();
+  }
+
+  @Test
+  void testWatchListCompletesOnInitialEventsEnd() {
+    ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
+    Mockito.doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(mock).submitWatch(Mockito.any(), Mockito.any());
+
+    SyncableStore<Pod> mockStore = Mockito.mock(SyncableStore.class);
+    Reflector<Pod, PodList> reflector = new Reflector<>(mock, mockStore);
+    reflector.setWatchList(true);
+
+    CompletableFuture<Void> future = reflector.start();
+
+    ArgumentCaptor<ListOptions> options = ArgumentCaptor.forClass(ListOptions.class);
+    Mockito.verify(mock).submitWatch(options.capture(), Mockito.any());
+    assertEquals("NotOlderThan", options.getValue().getResourceVersionMatch());
+    assertEquals(true, options.getValue().getAdditionalProperties().get(AbstractWatchManager.SEND_INITIAL_EVENTS));
+    assertFalse(future.isDone());
+
+    Pod pod = new PodBuilder().withNewMetadata().withName("a").withNamespace("ns").withResourceVersion("3").endMetadata()
+        .build();
+    reflector.getWatcher().eventReceived(Watcher.Action.ADDED, pod);
+    assertFalse(future.isDone());
+    assertNull(reflector.getLastSyncResourceVersion());
+
+    reflector.getWatcher().eventReceived(Watcher.Action.BOOKMARK, new PodBuilder().withNewMetadata()
+        .withResourceVersion("5").addToAnnotations(AbstractWatchManager.INITIAL_EVENTS_END_ANNOTATION, "true").endMetadata()
+        .build());
+
+    assertTrue(future.isDone());
+    assertTrue(reflector.isWatching());
+    assertEquals("5", reflector.getLastSyncResourceVersion());
+    InOrder inOrder = Mockito.inOrder(mockStore);
+    inOrder.verify(mockStore).startSync();
+    inOrder.verify(mockStore).add(pod);
+    inOrder.verify(mockStore).endSync();
+    Mockito.verify(mock, Mockito.never()).submitList(Mockito.any(), Mockito.any(), Mockito.any());
+    reflector.stop();
+  }
+
+  @Test
+  void testWatchListFallsBackToList() {
+    ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
+    PodList list = new PodListBuilder().withNewMetadata().withResourceVersion("2").endMetadata().build();
+    Mockito.when(mock.submitList(Mockito.any(), Mockito.any(), Mockito.any()))
+        .thenReturn(CompletableFuture.completedFuture(list.getMetadata()));
+    CompletableFuture<AbstractWatchManager<Pod>> rejected = new CompletableFuture<>();
+    rejected.completeExceptionally(new KubernetesClientException("sendInitialEvents is not supported", 422, null));
+    Mockito.doReturn(rejected)
+        .doReturn(CompletableFuture.completedFuture(Mockito.mock(AbstractWatchManager.class)))
+        .when(mock).submitWatch(Mockito.any(), Mockito.any());
+
+    Reflector<Pod, PodList> reflector = new Reflector<>(mock, Mockito.mock(SyncableStore.class));
+    reflector.setWatchList(true);
+
+    reflector.start().join();
+
+    assertTrue(reflector.isWatching());
+    assertEquals("2", reflector.getLastSyncResourceVersion());
+    Mockito.verify(mock).submitList(Mockito.any(), Mockito.any(), Mockito.any());
+    Mockito.verify(mock, Mockito.times(2)).submitWatch(Mockito.any(), Mockito.any());
+    reflector.stop();
+  }
+
+  @Test
+  void testMetrics() {
+    ListerWatcher<Pod, PodList> mock = Mockito.mock(ListerWatcher.class);
+    Pod pod = new PodBuilder().withNewMetadata().withName("a").withNamespace("ns").withResourceVersion("3").endMetadata()
+        .build();
+    Mockito.when(mock.submitList(Mockito.any(), Mockito.any(), Mockito.any())).then(invocation -> {
+      Consumer<Pod> consumer = invocation.getArgument(1);
+      Consumer<ListMeta> pageConsumer = invocation.getArgument(2);
+      consumer.accept(pod);
+      pageConsumer.accept(new ListMetaBuilder().withContinue("x").build());
+      consumer.accept(pod);
+      ListMeta last = new ListMetaBuilder().withResourceVersion("2").build();
+      pageConsumer.accept(last);
+      return CompletableFuture.completedFuture(last);
+    });
+    AbstractWatchManager<Pod> manager = Mockito.mock(AbstractWatchManager.class);
+    Mockito.doReturn(CompletableFuture.completedFuture(manager))
+        .when(mock).submitWatch(Mockito.any(), Mockito.any());
+
+    InformerMetrics metrics = Mockito.mock(InformerMetrics.class);
+    Reflector<Pod, PodList> reflector = new Reflector<Pod, PodList>(mock, Mockito.mock(SyncableStore.class)) {
+      @Override
+      protected void reconnect() {
+        // do nothing
+      }
+    };
+    reflector.setMetrics(metrics);
+
+    reflector.start().join();
+
+    Mockito.verify(metrics).listCompleted(Mockito.any(), Mockito.eq(2), Mockito.eq(2L));
+    Mockito.verify(metrics).watchStarted();
+    Mockito.verify(manager).setReconnectListener(Mockito.any());
+
+    reflector.getWatcher().eventReceived(Watcher.Action.MODIFIED, pod);
+    Mockito.verify(metrics).eventReceived(Watcher.Action.MODIFIED);
+
+    reflector.getWatcher().onClose(new WatcherException("gone", new KubernetesClientException("gone", 410, null)));
+    Mockito.verify(metrics).httpGone();
+    reflector.stop();
+  }
+
 }
@@ -17,10 +17,24 @@ package io.fabric8.kubernetes.client.informers.impl.cache;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.informers.OverflowPolicy;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import static junit.framework.TestCase.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class SharedProcessorTest {
   @Test
@@ -62,6 +76,189 @@ class SharedProcessorTest {
     sharedProcessor.distribute(addNotification, false);
   }
 
+  @Test
+  void testBatchedDeliveryCoalescesPendingUpdates() {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    SharedProcessor<Pod> sharedProcessor = new SharedProcessor<>(tasks::add, "informer", Cache::metaNamespaceKeyFunc);
+    sharedProcessor.setBatched(true);
+
+    RecordingHandler coalescing = new RecordingHandler(true);
+    RecordingHandler all = new RecordingHandler(false);
+    sharedProcessor.addProcessorListener(coalescing, 0, Collections::emptyList);
+    sharedProcessor.addProcessorListener(all, 0, Collections::emptyList);
+
+    Pod v1 = pod("1");
+    Pod v2 = pod("2");
+    Pod v3 = pod("3");
+    sharedProcessor.distribute(new ProcessorListener.AddNotification<>(v1), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(v1, v2), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(v2, v3), false);
+    sharedProcessor.distribute(new ProcessorListener.DeleteNotification<>(v3), false);
+    sharedProcessor.distribute(new ProcessorListener.AddNotification<>(v1), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(v1, v2), false);
+
+    Map<ResourceEventHandler<? super Pod>, Integer> depths = sharedProcessor.getQueueDepths();
+    assertEquals(5, depths.get(coalescing));
+    assertEquals(6, depths.get(all));
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    assertEquals(Arrays.asList("add 1", "update 1 3", "delete 3", "add 1", "update 1 2"), coalescing.events);
+    assertEquals(Arrays.asList("add 1", "update 1 2", "update 2 3", "delete 3", "add 1", "update 1 2"), all.events);
+    assertEquals(0, sharedProcessor.getQueueDepths().get(coalescing));
+  }
+
+  @Test
+  void testDropAndResyncOnOverflow() {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    SharedProcessor<Pod> sharedProcessor = new SharedProcessor<>(tasks::add, "informer", Cache::metaNamespaceKeyFunc);
+    sharedProcessor.setBatched(true);
+    sharedProcessor.setQueueBounds(2, OverflowPolicy.DROP_AND_RESYNC);
+
+    Pod current = pod("4");
+    RecordingHandler handler = new RecordingHandler(false);
+    ProcessorListener<Pod> listener = sharedProcessor.addProcessorListener(handler, 0,
+        () -> Collections.singletonList(current));
+    // the initial items are not yet delivered
+    assertEquals(1, sharedProcessor.getQueueDepths().get(handler));
+
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(pod("1"), pod("2")), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(pod("2"), pod("3")), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(pod("3"), current), false);
+
+    assertEquals(1, sharedProcessor.getQueueDepths().get(handler));
+    assertEquals(3, listener.getDroppedCount());
+
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    // the initial add was dropped as well
+    assertEquals(Collections.singletonList("add 4"), handler.events);
+  }
+
+  @Test
+  void testDropAndResyncDeliversDroppedAddsAndDeletes() {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    SharedProcessor<Pod> sharedProcessor = new SharedProcessor<>(tasks::add, "informer", Cache::metaNamespaceKeyFunc);
+    sharedProcessor.setBatched(true);
+    sharedProcessor.setQueueBounds(1, OverflowPolicy.DROP_AND_RESYNC);
+
+    List<Pod> state = new ArrayList<>(Arrays.asList(pod("a", "a1"), pod("b", "b1")));
+    RecordingHandler handler = new RecordingHandler(false);
+    ProcessorListener<Pod> listener = sharedProcessor.addProcessorListener(handler, 0, () -> new ArrayList<>(state));
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+    assertEquals(Arrays.asList("add a1", "add b1"), handler.events);
+
+    // a is deleted, b is updated and c is added while the handler is behind
+    state.clear();
+    state.addAll(Arrays.asList(pod("b", "b2"), pod("c", "c1")));
+    sharedProcessor.distribute(new ProcessorListener.DeleteNotification<>(pod("a", "a1")), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(pod("b", "b1"), pod("b", "b2")), false);
+    sharedProcessor.distribute(new ProcessorListener.AddNotification<>(pod("c", "c1")), false);
+    assertEquals(2, listener.getDroppedCount());
+
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    assertEquals(Arrays.asList("add a1", "add b1", "update b1 b2", "add c1", "delete a1 unknown"), handler.events);
+  }
+
+  @Test
+  void testCoalesceOnOverflow() {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    SharedProcessor<Pod> sharedProcessor = new SharedProcessor<>(tasks::add, "informer", Cache::metaNamespaceKeyFunc);
+    sharedProcessor.setBatched(true);
+    sharedProcessor.setQueueBounds(1, OverflowPolicy.COALESCE);
+
+    RecordingHandler handler = new RecordingHandler(false);
+    ProcessorListener<Pod> listener = sharedProcessor.addProcessorListener(handler, 0, Collections::emptyList);
+
+    sharedProcessor.distribute(new ProcessorListener.AddNotification<>(pod("1")), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(pod("1"), pod("2")), false);
+    sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(pod("2"), pod("3")), false);
+    Pod other = new PodBuilder(pod("1")).editMetadata().withName("foo2").endMetadata().build();
+    sharedProcessor.distribute(new ProcessorListener.AddNotification<>(other), false);
+    sharedProcessor.distribute(new ProcessorListener.DeleteNotification<>(other), false);
+
+    // the cancelled add of foo2 still occupies the queue
+    assertEquals(2, sharedProcessor.getQueueDepths().get(handler));
+    assertEquals(3, listener.getCoalescedCount());
+    assertTrue(sharedProcessor.getLags().get(handler).compareTo(Duration.ZERO) > 0);
+
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+
+    assertEquals(Collections.singletonList("add 3"), handler.events);
+  }
+
+  @Test
+  void testBlockOnOverflowReleasedByStop() throws InterruptedException {
+    Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    SharedProcessor<Pod> sharedProcessor = new SharedProcessor<>(tasks::add, "informer", Cache::metaNamespaceKeyFunc);
+    sharedProcessor.setBatched(true);
+    sharedProcessor.setQueueBounds(1, OverflowPolicy.BLOCK);
+
+    RecordingHandler slow = new RecordingHandler(false);
+    sharedProcessor.addProcessorListener(slow, 0, Collections::emptyList);
+
+    Thread producer = new Thread(() -> {
+      sharedProcessor.distribute(new ProcessorListener.AddNotification<>(pod("1")), false);
+      sharedProcessor.distribute(new ProcessorListener.UpdateNotification<>(pod("1"), pod("2")), false);
+    });
+    producer.start();
+    producer.join(200);
+    assertTrue(producer.isAlive());
+
+    sharedProcessor.stop();
+    producer.join(10000);
+    assertFalse(producer.isAlive());
+  }
+
+  private static Pod pod(String resourceVersion) {
+    return new PodBuilder().withNewMetadata().withName("foo1").withNamespace("default")
+        .withResourceVersion(resourceVersion).endMetadata().build();
+  }
+
+  private static Pod pod(String name, String resourceVersion) {
+    return new PodBuilder().withNewMetadata().withName(name).withNamespace("default")
+        .withResourceVersion(resourceVersion).endMetadata().build();
+  }
+
+  private static class RecordingHandler implements ResourceEventHandler<Pod> {
+    private final boolean coalesce;
+    private final List<String> events = new ArrayList<>();
+
+    RecordingHandler(boolean coalesce) {
+      this.coalesce = coalesce;
+    }
+
+    @Override
+    public void onAdd(Pod obj) {
+      events.add("add " + obj.getMetadata().getResourceVersion());
+    }
+
+    @Override
+    public void onUpdate(Pod oldObj, Pod newObj) {
+      events.add("update " + oldObj.getMetadata().getResourceVersion() + " " + newObj.getMetadata().getResourceVersion());
+    }
+
+    @Override
+    public void onDelete(Pod obj, boolean deletedFinalStateUnknown) {
+      events.add("delete " + obj.getMetadata().getResourceVersion() + (deletedFinalStateUnknown ? " unknown" : ""));
+    }
+
+    @Override
+    public boolean coalesceUpdates() {
+      return coalesce;
+    }
+  }
+
   private static class ExpectingNotificationHandler<T> extends ProcessorListener<T> {
     ExpectingNotificationHandler(Notification<T> notification) {
       this(new ResourceEventHandler<T>() {
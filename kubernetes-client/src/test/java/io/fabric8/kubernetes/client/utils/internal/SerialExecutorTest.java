@@ -23,6 +23,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -83,4 +84,71 @@ class SerialExecutorTest {
     }
   }
 
+  @Test
+  void queuedTasksAreDrainedInBatches() throws InterruptedException {
+    final ExecutorService es = Executors.newSingleThreadExecutor();
+    try {
+      AtomicInteger submissions = new AtomicInteger();
+      final SerialExecutor se = new SerialExecutor(r -> {
+        submissions.incrementAndGet();
+        es.execute(r);
+      });
+      final CountDownLatch blocked = new CountDownLatch(1);
+      se.execute(() -> {
+        try {
+          blocked.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      AtomicInteger count = new AtomicInteger();
+      final CountDownLatch latch = new CountDownLatch(1);
+      for (int i = 0; i < SerialExecutor.MAX_BATCH * 2; i++) {
+        se.execute(count::incrementAndGet);
+      }
+      se.execute(latch::countDown);
+      blocked.countDown();
+      assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+      assertThat(count).hasValue(SerialExecutor.MAX_BATCH * 2);
+      // the 2 * MAX_BATCH + 2 tasks queued behind a single drain are run by just 3 submissions
+      assertThat(submissions).hasValue(3);
+    } finally {
+      es.shutdownNow();
+    }
+  }
+
+  @Test
+  void tasksFromManyProducersRunSeriallyInOrderOfEachProducer() throws Exception {
+    final ExecutorService es = Executors.newCachedThreadPool();
+    try {
+      final SerialExecutor se = new SerialExecutor(es);
+      final int producers = 8;
+      final int tasks = 10000;
+      final int[] last = new int[producers];
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger failures = new AtomicInteger();
+      final CountDownLatch latch = new CountDownLatch(producers * tasks);
+      for (int p = 0; p < producers; p++) {
+        final int producer = p;
+        es.execute(() -> {
+          for (int i = 1; i <= tasks; i++) {
+            final int value = i;
+            se.execute(() -> {
+              if (running.incrementAndGet() != 1 || last[producer] != value - 1) {
+                failures.incrementAndGet();
+              }
+              last[producer] = value;
+              running.decrementAndGet();
+              latch.countDown();
+            });
+          }
+        });
+      }
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(failures).hasValue(0);
+    } finally {
+      es.shutdownNow();
+    }
+  }
+
 }
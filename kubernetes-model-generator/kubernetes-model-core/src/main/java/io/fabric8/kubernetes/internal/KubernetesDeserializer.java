@@ -141,6 +141,18 @@ public class KubernetesDeserializer extends JsonDeserializer<KubernetesResource>
         kind != null ? kind.textValue() : null);
   }
 
+  /**
+   * Returns the class that objects with the given apiVersion and kind are deserialized to, without
+   * deserializing anything.
+   *
+   * @param apiVersion the apiVersion
+   * @param kind the kind
+   * @return the registered class, or null if there is none
+   */
+  public static Class<? extends KubernetesResource> getRegisteredType(String apiVersion, String kind) {
+    return mapping.getForKey(mapping.createKey(apiVersion, kind));
+  }
+
   /**
    * Registers a Custom Resource Definition Kind
    */
@@ -36,6 +36,13 @@ class KubernetesDeserializerTest {
     this.mapping = new KubernetesDeserializer.Mapping();
   }
 
+  @Test
+  void shouldReturnRegisteredType() {
+    assertThat(KubernetesDeserializer.getRegisteredType("v1", "Pod")).isEqualTo(Pod.class);
+    assertThat(KubernetesDeserializer.getRegisteredType("v1", "NoSuchKind")).isNull();
+    assertThat(KubernetesDeserializer.getRegisteredType(null, "Pod")).isNull();
+  }
+
   @Test
   void shouldRegisterKind() {
     // given
@@ -22,6 +22,8 @@ import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.IntOrString;
 import io.fabric8.kubernetes.api.model.KubernetesList;
 import io.fabric8.kubernetes.api.model.KubernetesListBuilder;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodListBuilder;
@@ -29,10 +31,12 @@ import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceBuilder;
 import io.fabric8.kubernetes.api.model.Status;
 import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.StatusDetails;
 import io.fabric8.kubernetes.api.model.WatchEvent;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
+import io.fabric8.kubernetes.client.dsl.BulkResult;
 import io.fabric8.kubernetes.client.dsl.ListVisitFromServerGetDeleteRecreateWaitApplicable;
 import io.fabric8.kubernetes.client.dsl.NamespaceListVisitFromServerGetDeleteRecreateWaitApplicable;
 import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
@@ -49,6 +53,7 @@ import java.util.function.Predicate;
 
 import static java.net.HttpURLConnection.HTTP_CONFLICT;
 import static java.net.HttpURLConnection.HTTP_CREATED;
+import static java.net.HttpURLConnection.HTTP_FORBIDDEN;
 import static java.net.HttpURLConnection.HTTP_GONE;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
@@ -104,6 +109,61 @@ public class ResourceListTest {
     assertThrows(KubernetesClientException.class, listOp::createOrReplace);
   }
 
+  @Test
+  void testInParallelCreatesInKindOrder() throws InterruptedException {
+    Namespace namespace = new NamespaceBuilder().withNewMetadata().withName("test").endMetadata().build();
+    Pod pod1 = new PodBuilder().withNewMetadata().withName("pod1").withNamespace("test").and().build();
+    Pod pod2 = new PodBuilder().withNewMetadata().withName("pod2").withNamespace("test").and().build();
+    ConfigMap config = new ConfigMapBuilder().withNewMetadata().withName("config").withNamespace("test").and().build();
+
+    server.expect().post().withPath("/api/v1/namespaces").andReturn(HTTP_CREATED, namespace).once();
+    server.expect().post().withPath("/api/v1/namespaces/test/configmaps").andReturn(HTTP_CREATED, config).once();
+    server.expect().post().withPath("/api/v1/namespaces/test/pods").andReturn(HTTP_CREATED, pod1).times(2);
+
+    List<BulkResult<HasMetadata, HasMetadata>> results = client.resourceList(pod1, config, pod2, namespace)
+        .inParallel(2)
+        .create();
+
+    assertThat(results).extracting(BulkResult::getItem).containsExactly(pod1, config, pod2, namespace);
+    assertThat(results).allMatch(BulkResult::isSuccessful);
+    assertEquals("/api/v1/namespaces", server.takeRequest(10, SECONDS).getPath());
+    assertEquals("/api/v1/namespaces/test/configmaps", server.takeRequest(10, SECONDS).getPath());
+    assertEquals("/api/v1/namespaces/test/pods", server.takeRequest(10, SECONDS).getPath());
+    assertEquals("/api/v1/namespaces/test/pods", server.takeRequest(10, SECONDS).getPath());
+  }
+
+  @Test
+  void testInParallelReturnsFailuresPerItem() {
+    Pod pod1 = new PodBuilder().withNewMetadata().withName("pod1").withNamespace("test").and().build();
+    Pod pod2 = new PodBuilder().withNewMetadata().withName("pod2").withNamespace("ns1").and().build();
+
+    server.expect().post().withPath("/api/v1/namespaces/test/pods").andReturn(HTTP_CREATED, pod1).once();
+    server.expect().post().withPath("/api/v1/namespaces/ns1/pods").andReturn(HTTP_FORBIDDEN, pod2).once();
+
+    List<BulkResult<HasMetadata, HasMetadata>> results = client.resourceList(pod1, pod2).inParallel(4).create();
+
+    assertTrue(results.get(0).isSuccessful());
+    assertEquals("pod1", results.get(0).getResult().getMetadata().getName());
+    assertThat(results.get(1).getError()).isInstanceOf(KubernetesClientException.class);
+    assertEquals(HTTP_FORBIDDEN, ((KubernetesClientException) results.get(1).getError()).getCode());
+  }
+
+  @Test
+  void testInParallelDeletesInReverseKindOrder() throws InterruptedException {
+    Namespace namespace = new NamespaceBuilder().withNewMetadata().withName("test").endMetadata().build();
+    Pod pod1 = new PodBuilder().withNewMetadata().withName("pod1").withNamespace("test").and().build();
+
+    server.expect().delete().withPath("/api/v1/namespaces/test/pods/pod1").andReturn(HTTP_OK, pod1).once();
+    server.expect().delete().withPath("/api/v1/namespaces/test").andReturn(HTTP_OK, namespace).once();
+
+    List<BulkResult<HasMetadata, List<StatusDetails>>> results = client.resourceList(namespace, pod1).inParallel(2)
+        .delete();
+
+    assertThat(results).allMatch(BulkResult::isSuccessful);
+    assertEquals("/api/v1/namespaces/test/pods/pod1", server.takeRequest(10, SECONDS).getPath());
+    assertEquals("/api/v1/namespaces/test", server.takeRequest(10, SECONDS).getPath());
+  }
+
   @Test
   void testCreateWithExplicitNamespace() throws InterruptedException {
     Pod pod1 = new PodBuilder().withNewMetadata().withName("pod1").withNamespace("test").and().build();
@@ -29,6 +29,7 @@ import io.fabric8.openshift.api.model.RoleBindingList;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import static io.fabric8.openshift.client.OpenShiftAPIGroups.AUTHORIZATION;
@@ -54,8 +55,8 @@ public class RoleBindingOperationsImpl extends HasMetadataOperation<RoleBinding,
   }
 
   @Override
-  protected RoleBinding handleCreate(RoleBinding resource) throws InterruptedException, IOException {
-    return super.handleCreate(enrichRoleBinding(resource));
+  protected CompletableFuture<RoleBinding> submitCreate(RoleBinding resource) throws IOException {
+    return super.submitCreate(enrichRoleBinding(resource));
   }
 
   @Override
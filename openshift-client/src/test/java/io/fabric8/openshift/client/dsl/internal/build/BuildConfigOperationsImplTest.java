@@ -17,9 +17,11 @@ package io.fabric8.openshift.client.dsl.internal.build;
 
 import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.http.AsyncBody;
 import io.fabric8.kubernetes.client.http.HttpClient;
 import io.fabric8.kubernetes.client.http.HttpRequest;
 import io.fabric8.kubernetes.client.http.HttpResponse;
+import io.fabric8.kubernetes.client.http.TestHttpResponse;
 import io.fabric8.kubernetes.client.impl.BaseClient;
 import io.fabric8.openshift.client.OpenShiftConfigBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,7 +39,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -106,9 +107,9 @@ class BuildConfigOperationsImplTest {
 
     // When
     ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[0]);
-    CompletableFuture<HttpResponse<byte[]>> future = new CompletableFuture<>();
+    CompletableFuture<HttpResponse<AsyncBody>> future = new CompletableFuture<>();
     future.completeExceptionally(new IOException());
-    when(httpClient.sendAsync(any(), eq(byte[].class))).thenReturn(future);
+    when(httpClient.consumeBytes(any(), any())).thenReturn(future);
 
     KubernetesClientException exception = assertThrows(KubernetesClientException.class,
         () -> impl.submitToApiServer(inputStream, 0));
@@ -127,11 +128,10 @@ class BuildConfigOperationsImplTest {
       };
     };
 
-    HttpResponse<byte[]> response = mock(HttpResponse.class, Mockito.CALLS_REAL_METHODS);
-    when(response.code()).thenReturn(200);
-    when(response.body()).thenReturn(new byte[0]);
+    HttpResponse<byte[]> response = Mockito.spy(TestHttpResponse.from(200, ""));
 
-    when(httpClient.sendAsync(any(), eq(byte[].class))).thenReturn(CompletableFuture.completedFuture(response));
+    when(httpClient.consumeBytes(any(), any()))
+        .thenAnswer(invocation -> TestHttpResponse.consume(response, invocation.getArgument(1)));
     impl.submitToApiServer(new ByteArrayInputStream(new byte[0]), 0);
 
     Mockito.verify(response, Mockito.times(1)).body();